@@ -3,6 +3,7 @@ from flask import Flask, request, jsonify
 from flask_cors import CORS
 from transformers import pipeline
 import logging
+import os
 
 app = Flask(__name__)
 CORS(app)  # CORS desteği ekle
@@ -18,14 +19,22 @@ label_map = {
     "LABEL_2": "Negative"
 }
 
+MODEL_NAME = "saribasmetehan/bert-base-turkish-sentiment-analysis"
+
 # Modeli yükle (bir kere)
 try:
-    pipe = pipeline("text-classification", model="saribasmetehan/bert-base-turkish-sentiment-analysis")
+    pipe = pipeline("text-classification", model=MODEL_NAME)
     logger.info("Model başarıyla yüklendi")
 except Exception as e:
     logger.error(f"Model yüklenirken hata: {e}")
     pipe = None
 
+# Model sürümü: Java tarafı önbelleği sürüm değiştiğinde geçersiz kılar
+# MODEL_VERSION ortam değişkeni ile elle de belirlenebilir
+MODEL_VERSION = os.environ.get("MODEL_VERSION") or (
+    f"{MODEL_NAME}@{getattr(pipe.model.config, '_commit_hash', None) or 'local'}" if pipe else None
+)
+
 
 @app.route("/predict", methods=["POST"])
 def predict():
@@ -55,7 +64,8 @@ def predict():
             "input": text,
             "label": result["label"],
             "sentiment": label_map.get(result["label"], result["label"]),
-            "score": round(result["score"], 4)
+            "score": round(result["score"], 4),
+            "model_version": MODEL_VERSION
         }
 
         logger.info(f"Response: {response}")
@@ -66,9 +76,59 @@ def predict():
         return jsonify({"error": f"Internal server error: {str(e)}"}), 500
 
 
+# Batch tahmin: {"texts": ["...", "..."]} -> {"results": [{label, sentiment, score}, ...]}
+# Sonuçlar gönderilen metinlerle aynı sıradadır
+MAX_BATCH_SIZE = 64
+
+
+@app.route("/predict_batch", methods=["POST"])
+def predict_batch():
+    try:
+        if not request.is_json:
+            return jsonify({"error": "Request must be JSON"}), 400
+
+        data = request.get_json()
+        if not data or not isinstance(data.get("texts"), list):
+            return jsonify({"error": "Missing 'texts' list in request"}), 400
+
+        texts = [str(t).strip() for t in data["texts"]]
+        if not texts:
+            return jsonify({"results": []})
+        if len(texts) > MAX_BATCH_SIZE:
+            return jsonify({"error": f"Batch size cannot exceed {MAX_BATCH_SIZE}"}), 400
+        if any(not t for t in texts):
+            return jsonify({"error": "Texts cannot be empty"}), 400
+
+        if pipe is None:
+            logger.error("Model yüklü değil")
+            return jsonify({"error": "Model not loaded"}), 500
+
+        # Tüm metinler tek bir forward pass ile işlenir
+        results = pipe(texts, batch_size=len(texts), truncation=True)
+
+        response = {
+            "results": [
+                {
+                    "label": r["label"],
+                    "sentiment": label_map.get(r["label"], r["label"]),
+                    "score": round(r["score"], 4)
+                }
+                for r in results
+            ],
+            "model_version": MODEL_VERSION
+        }
+
+        logger.info(f"Batch tahmin tamamlandı: {len(texts)} metin")
+        return jsonify(response)
+
+    except Exception as e:
+        logger.error(f"Predict batch endpoint hatası: {e}")
+        return jsonify({"error": f"Internal server error: {str(e)}"}), 500
+
+
 @app.route("/health", methods=["GET"])
 def health():
-    return jsonify({"status": "healthy", "model_loaded": pipe is not None})
+    return jsonify({"status": "healthy", "model_loaded": pipe is not None, "model_version": MODEL_VERSION})
 
 
 if __name__ == "__main__":
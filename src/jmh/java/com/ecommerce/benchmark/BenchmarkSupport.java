@@ -0,0 +1,111 @@
+package com.ecommerce.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Benchmark'lar için ortak yardımcılar: Türkçe yorum korpusu ve Python servisini taklit eden yerel HTTP sunucusu
+ */
+final class BenchmarkSupport {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String STUB_RESULT =
+        "{\"label\":\"LABEL_1\",\"sentiment\":\"Positive\",\"score\":0.9512,\"model_version\":\"benchmark-stub\"}";
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * src/jmh/resources/benchmark/comments-tr.txt içindeki gerçekçi Türkçe yorumları yükler
+     */
+    static List<String> loadCorpus() {
+        List<String> comments = new ArrayList<>();
+        try (InputStream in = BenchmarkSupport.class.getResourceAsStream("/benchmark/comments-tr.txt");
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    comments.add(line.trim());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Benchmark corpus could not be loaded", e);
+        }
+        return comments;
+    }
+
+    /**
+     * /health, /predict ve /predict_batch uçlarına sabit pozitif sonuç dönen yerel sunucu başlatır
+     */
+    static HttpServer startSentimentStub() throws IOException {
+        return startSentimentStub(0);
+    }
+
+    /**
+     * Model çıkarım süresini taklit eden sunucu: /predict ve /predict_batch yanıtları latencyMillis gecikir,
+     * istekler eş zamanlı işlenir
+     */
+    static HttpServer startSentimentStub(long latencyMillis) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        if (latencyMillis > 0) {
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        server.createContext("/health", exchange ->
+            respond(exchange, "{\"status\":\"healthy\",\"model_loaded\":true,\"model_version\":\"benchmark-stub\"}"));
+        server.createContext("/predict", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            simulateInference(latencyMillis);
+            respond(exchange, STUB_RESULT);
+        });
+        server.createContext("/predict_batch", exchange -> {
+            JsonNode request = OBJECT_MAPPER.readTree(exchange.getRequestBody());
+            simulateInference(latencyMillis);
+            StringBuilder body = new StringBuilder("{\"results\":[");
+            for (int i = 0; i < request.get("texts").size(); i++) {
+                body.append(i == 0 ? "" : ",").append(STUB_RESULT);
+            }
+            body.append("],\"model_version\":\"benchmark-stub\"}");
+            respond(exchange, body.toString());
+        });
+        server.start();
+        return server;
+    }
+
+    static String baseUrl(HttpServer server) {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static void simulateInference(long latencyMillis) {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ecommerce.EcommerceAiReviewApplication;
+import com.ecommerce.dto.ReviewRequest;
+import com.ecommerce.dto.ReviewResponse;
+import com.ecommerce.entity.Product;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.service.ProductScoreUpdateCoalescer;
+import com.ecommerce.service.ReviewService;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tek bir ürüne eş zamanlı yorum yazma (kampanya anı): 16 thread aynı ürüne createReview çağırır.
+ * Birleştirme kapalıyken her yazma ürün satırını kilitleyip günceller; açıkken yazmalar ürün satırına
+ * dokunmaz ve puanlar pencere başına bir kez yeniden hesaplanır.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = "-Dspring.devtools.restart.enabled=false")
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+public class HotProductWriteBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotProductWriteBenchmark.class);
+
+    @Param({"false", "true"})
+    private boolean coalescing;
+
+    private HttpServer sentimentStub;
+    private ConfigurableApplicationContext context;
+    private ReviewService reviewService;
+    private Long productId;
+    private List<String> corpus;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        sentimentStub = BenchmarkSupport.startSentimentStub();
+        context = new SpringApplicationBuilder(EcommerceAiReviewApplication.class).run(
+            "--spring.main.web-application-type=none",
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:hotproduct;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=30000",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.datasource.hikari.maximum-pool-size=20",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.format_sql=false",
+            "--logging.level.com.ecommerce=WARN",
+            "--logging.level.com.ecommerce.benchmark=INFO",
+            "--logging.level.org.springframework.web=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+            "--product.scores.coalescing.enabled=" + coalescing,
+            "--python.api.url=" + BenchmarkSupport.baseUrl(sentimentStub));
+
+        reviewService = context.getBean(ReviewService.class);
+        corpus = BenchmarkSupport.loadCorpus();
+
+        Product product = new Product();
+        product.setName("Kampanya Ürünü");
+        product.setCategory("elektronik");
+        productId = context.getBean(ProductRepository.class).save(product).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // Deneme boyunca (ısınma dahil) birikmiş birleştirme istatistikleri
+        logger.info("coalescing={} {}", coalescing, context.getBean(ProductScoreUpdateCoalescer.class).getStats());
+        context.close();
+        sentimentStub.stop(0);
+    }
+
+    @Benchmark
+    public ReviewResponse createReviewOnHotProduct() {
+        int next = cursor.getAndIncrement();
+        ReviewRequest request = new ReviewRequest();
+        request.setProductId(productId);
+        request.setComment(corpus.get(next % corpus.size()) + " #" + next);
+        request.setStarRating(1 + next % 5);
+        return reviewService.createReview(request);
+    }
+}
@@ -0,0 +1,80 @@
+package com.ecommerce.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ecommerce.service.HybridScoreService;
+import com.ecommerce.service.HybridWeights;
+import com.ecommerce.service.ScoreMath;
+
+/**
+ * HybridScoreService: tek yorum ve ürün seviyesi hibrit puan hesaplama maliyeti,
+ * toplu yeniden puanlamada kullanılan BigDecimal'siz (yüzde birlik) yol dahil
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HybridScoreBenchmark {
+
+    private static final int INPUTS = 1024;
+    private static final String[] LABELS = {"Positive", "Negative", "Neutral"};
+
+    private final HybridScoreService hybridScoreService = new HybridScoreService();
+    private final HybridWeights weights = hybridScoreService.getWeights();
+
+    private Integer[] starRatings;
+    private BigDecimal[] sentimentScores;
+    private long[] sentimentScoreUnits;
+    private String[] sentimentLabels;
+    private BigDecimal[] averageStarRatings;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        starRatings = new Integer[INPUTS];
+        sentimentScores = new BigDecimal[INPUTS];
+        sentimentScoreUnits = new long[INPUTS];
+        sentimentLabels = new String[INPUTS];
+        averageStarRatings = new BigDecimal[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            starRatings[i] = 1 + i % 5;
+            sentimentScores[i] = BigDecimal.valueOf(i % 101, 2);
+            sentimentScoreUnits[i] = ScoreMath.toUnits(sentimentScores[i]);
+            sentimentLabels[i] = LABELS[i % LABELS.length];
+            averageStarRatings[i] = BigDecimal.valueOf(100 + (i * 7) % 401, 2);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calculateHybridScore() {
+        int i = cursor++ & (INPUTS - 1);
+        return hybridScoreService.calculateHybridScore(starRatings[i], sentimentScores[i], sentimentLabels[i]);
+    }
+
+    @Benchmark
+    public int calculateHybridScoreHundredths() {
+        int i = cursor++ & (INPUTS - 1);
+        return hybridScoreService.calculateHybridScoreHundredths(weights, starRatings[i], sentimentScoreUnits[i],
+                                                                 sentimentLabels[i]);
+    }
+
+    @Benchmark
+    public BigDecimal calculateProductHybridScore() {
+        int i = cursor++ & (INPUTS - 1);
+        return hybridScoreService.calculateProductHybridScore(averageStarRatings[i], sentimentScores[i]);
+    }
+}
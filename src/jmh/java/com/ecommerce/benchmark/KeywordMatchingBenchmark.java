@@ -0,0 +1,91 @@
+package com.ecommerce.benchmark;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.ecommerce.service.KeywordService;
+
+/**
+ * Yorum kategorilendirme: Türkçe yorum korpusu üzerinde anahtar kelime eşleştirme maliyeti (yorum başına)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OperationsPerInvocation(KeywordMatchingBenchmark.CORPUS_SIZE)
+public class KeywordMatchingBenchmark {
+
+    static final int CORPUS_SIZE = 50;
+
+    private static final String[] CATEGORIES = {"quality_durability", "usage_performance", "service_delivery"};
+
+    private KeywordService keywordService;
+    private Map<String, List<String>> categoryKeywords;
+    private String[] comments;
+
+    @Setup
+    public void setUp() {
+        keywordService = new KeywordService();
+        keywordService.loadKeywords();
+        categoryKeywords = keywordService.getAllCategoryKeywords();
+
+        List<String> corpus = BenchmarkSupport.loadCorpus();
+        comments = new String[CORPUS_SIZE];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            comments[i] = corpus.get(i % corpus.size());
+        }
+    }
+
+    /**
+     * ReviewService.determineCategory yolu: tüm kategoriler tek taramada
+     */
+    @Benchmark
+    public void determineCategory(Blackhole blackhole) {
+        for (String comment : comments) {
+            List<String> matched = keywordService.getMatchedCategories(comment);
+            blackhole.consume(matched.isEmpty() ? "general" : String.join(",", matched));
+        }
+    }
+
+    /**
+     * Kategori başına ayrı containsKeyword çağrısı
+     */
+    @Benchmark
+    public void containsKeywordPerCategory(Blackhole blackhole) {
+        for (String comment : comments) {
+            for (String category : CATEGORIES) {
+                blackhole.consume(keywordService.containsKeyword(category, comment));
+            }
+        }
+    }
+
+    /**
+     * Karşılaştırma tabanı: yorumu küçük harfe çevirip her anahtar kelimeyi String.contains ile arama
+     */
+    @Benchmark
+    public void substringScanBaseline(Blackhole blackhole) {
+        for (String comment : comments) {
+            String lowerComment = comment.toLowerCase(Locale.ROOT);
+            for (String category : CATEGORIES) {
+                blackhole.consume(categoryKeywords.get(category).stream().anyMatch(lowerComment::contains));
+            }
+        }
+    }
+}
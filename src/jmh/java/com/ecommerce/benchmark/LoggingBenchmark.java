@@ -0,0 +1,331 @@
+package com.ecommerce.benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ecommerce.entity.Product;
+import com.ecommerce.entity.Review;
+import com.ecommerce.entity.ReviewCategory;
+import com.ecommerce.entity.ScoringStatus;
+import com.ecommerce.service.ReviewEventLog;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.JsonEncoder;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+
+/**
+ * Bir yorumun oluşturulup puanlanması boyunca yazılan logların istek başına maliyeti.
+ *
+ * - legacyReviewLogging: Eski davranış; controller'daki System.out satırları, INFO/DEBUG seviyesindeki
+ *   servis logları (yorum metni dahil), show-sql + format_sql ile Hibernate SQL logları, senkron düz metin
+ * - structuredReviewLogging: Prod profili; INFO seviyesi, yorum başına tek review.scored olayı,
+ *   %1 örneklenen ayrıntılı iz, JsonEncoder ve asenkron appender (neverBlock=false, geri basınç ölçülür)
+ *
+ * Çıktı boş bir akışa yazılır: ölçülen değer biçimlendirme/kodlama maliyetidir, konsol veya disk G/Ç'si değildir.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LoggingBenchmark {
+
+    // Spring Boot'un varsayılan (renksiz) konsol deseni
+    private static final String BOOT_PATTERN =
+        "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p 4242 --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    private static final String SELECT_PRODUCT_FOR_UPDATE = """
+
+        select
+            p1_0.id,
+            p1_0.average_rating,
+            p1_0.category,
+            p1_0.hybrid_score,
+            p1_0.name,
+            p1_0.star_rating_sum,
+            p1_0.sentiment_score_sum,
+            p1_0.total_reviews
+        from
+            products p1_0
+        where
+            p1_0.id=? for update""";
+
+    private static final String INSERT_REVIEW = """
+
+        insert
+        into
+            reviews
+            (category, comment, created_at, hybrid_score, product_id, scoring_attempts, scoring_config_version, scoring_status, sentiment_label, sentiment_score, star_rating, id)
+        values
+            (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String SELECT_REVIEW = """
+
+        select
+            r1_0.id,
+            r1_0.category,
+            r1_0.comment,
+            r1_0.created_at,
+            r1_0.hybrid_score,
+            r1_0.product_id,
+            r1_0.scoring_attempts,
+            r1_0.scoring_status,
+            r1_0.sentiment_label,
+            r1_0.sentiment_score,
+            r1_0.star_rating
+        from
+            reviews r1_0
+        where
+            r1_0.id=?""";
+
+    private static final String UPDATE_REVIEW = """
+
+        update
+            reviews
+        set
+            category=?,
+            comment=?,
+            hybrid_score=?,
+            scoring_attempts=?,
+            scoring_config_version=?,
+            scoring_status=?,
+            sentiment_label=?,
+            sentiment_score=?
+        where
+            id=?""";
+
+    private static final String UPDATE_PRODUCT_SCORES = """
+
+        update
+            products
+        set
+            star_rating_sum=star_rating_sum+?,
+            sentiment_score_sum=sentiment_score_sum+?,
+            total_reviews=total_reviews+?
+        where
+            id=?""";
+
+    @State(Scope.Benchmark)
+    public static class LegacyLogging {
+
+        private final Logger reviewService = LoggerFactory.getLogger("com.ecommerce.service.ReviewService");
+        private final Logger sentimentService = LoggerFactory.getLogger("com.ecommerce.service.SentimentAnalysisService");
+        private final Logger hybridScoreService = LoggerFactory.getLogger("com.ecommerce.service.HybridScoreService");
+        private final Logger sql = LoggerFactory.getLogger("org.hibernate.SQL");
+
+        private PrintStream originalOut;
+        private PrintStream originalErr;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            LoggerContext context = resetContext();
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setContext(context);
+            encoder.setPattern(BOOT_PATTERN);
+            encoder.start();
+            OutputStreamAppender<ILoggingEvent> appender = nullAppender(context, "CONSOLE", encoder);
+            attach(context, appender, ch.qos.logback.classic.Level.INFO);
+            context.getLogger("com.ecommerce").setLevel(ch.qos.logback.classic.Level.DEBUG);
+            context.getLogger("org.hibernate.SQL").setLevel(ch.qos.logback.classic.Level.DEBUG);
+
+            // System.out / show-sql satırları da boş akışa
+            originalOut = System.out;
+            originalErr = System.err;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+            ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        }
+
+        private void sql(String statement) {
+            // show-sql=true: Hibernate her ifadeyi hem System.out'a hem org.hibernate.SQL logger'ına yazar
+            System.out.println("Hibernate: " + statement);
+            sql.debug(statement);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class StructuredLogging {
+
+        private final ReviewEventLog reviewEventLog = new ReviewEventLog();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            LoggerContext context = resetContext();
+            JsonEncoder encoder = new JsonEncoder();
+            encoder.setContext(context);
+            encoder.start();
+            OutputStreamAppender<ILoggingEvent> json = nullAppender(context, "JSON_CONSOLE", encoder);
+
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setNeverBlock(false);
+            async.addAppender(json);
+            async.start();
+            attach(context, async, ch.qos.logback.classic.Level.INFO);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Reviews {
+
+        private List<String> comments;
+        private Product product;
+        private long nextId;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            comments = BenchmarkSupport.loadCorpus();
+            product = new Product();
+            product.setId(42L);
+        }
+
+        Review next() {
+            long id = ++nextId;
+            Review review = new Review();
+            review.setId(id);
+            review.setProduct(product);
+            review.setComment(comments.get((int) (id % comments.size())));
+            review.setStarRating(1 + (int) (id % 5));
+            review.setCategories(EnumSet.of(ReviewCategory.QUALITY_DURABILITY, ReviewCategory.SERVICE_DELIVERY));
+            review.setSentimentLabel("Positive");
+            review.setSentimentScore(new BigDecimal("0.9512"));
+            review.setHybridScore(new BigDecimal("4.31"));
+            review.setScoringStatus(ScoringStatus.SCORED);
+            review.setScoringAttempts(1);
+            review.setScoringConfigVersion(1L);
+            review.setCreatedAt(LocalDateTime.now());
+            return review;
+        }
+    }
+
+    /**
+     * Eski log satırları, oluşturma ve puanlama akışındaki sırasıyla
+     */
+    @Benchmark
+    public Review legacyReviewLogging(LegacyLogging log, Reviews reviews) {
+        Review review = reviews.next();
+        Long productId = review.getProduct().getId();
+
+        // ReviewController.createReview
+        System.out.println("Received review request - Product: " + productId +
+                         ", Stars: " + review.getStarRating() +
+                         ", Comment: " + review.getComment());
+        log.reviewService.info("Creating review for product ID: {}", productId);
+        log.sql(SELECT_PRODUCT_FOR_UPDATE);
+        log.hybridScoreService.debug("Hibrit skor hesaplama ({}): Yıldız={}, Sentiment={}, Hibrit={}",
+                                     "unknown", review.getStarRating(), review.getSentimentScore(), review.getHybridScore());
+        log.sql(INSERT_REVIEW);
+        log.reviewService.info("Review created successfully with ID: {}", review.getId());
+        log.sql(UPDATE_PRODUCT_SCORES);
+        log.reviewService.debug("📋 Converting Review to Response:");
+        log.reviewService.debug("   - ID: {}", review.getId());
+        log.reviewService.debug("   - Sentiment Label: {}", review.getSentimentLabel());
+        log.reviewService.debug("   - Sentiment Score: {}", review.getSentimentScore());
+        log.reviewService.debug("   - Hybrid Score: {}", review.getHybridScore());
+        System.out.println("Review created successfully!");
+
+        // SentimentScoringWorker -> SentimentAnalysisService -> ReviewService.applySentimentResult
+        log.sql(SELECT_REVIEW);
+        log.sentimentService.info("Python API'ye gönderilen metin: {}", review.getComment());
+        log.sentimentService.debug("📊 Positive sentiment detected (LABEL_1), using score directly: {}",
+                                   review.getSentimentScore());
+        log.sentimentService.info("✅ Python API Sonucu - Label: {}, Sentiment: {}, Skor: {}, Normalize: {}",
+                                  "LABEL_1", "Positive", 0.9512, review.getSentimentScore());
+        log.sql(SELECT_REVIEW);
+        log.hybridScoreService.debug("Hibrit skor hesaplama ({}): Yıldız={}, Sentiment={}, Hibrit={}",
+                                     review.getSentimentLabel(), review.getStarRating(), review.getSentimentScore(),
+                                     review.getHybridScore());
+        log.sql(UPDATE_REVIEW);
+        log.reviewService.info("✅ Sentiment scored for review {}: label={}, sentiment={}, hybrid={}",
+                               review.getId(), review.getSentimentLabel(), review.getSentimentScore(),
+                               review.getHybridScore());
+        log.sql(SELECT_PRODUCT_FOR_UPDATE);
+        log.sql(UPDATE_PRODUCT_SCORES);
+        return review;
+    }
+
+    /**
+     * Yeni davranış: örneklenen yorumlar için iz satırları, her yorum için tek review.scored olayı
+     */
+    @Benchmark
+    public Review structuredReviewLogging(StructuredLogging log, Reviews reviews) {
+        Review review = reviews.next();
+        ReviewEventLog events = log.reviewEventLog;
+        if (events.isTraced(review.getId())) {
+            events.trace(review.getId(), "review.created",
+                         "productId", review.getProduct().getId(), "starRating", review.getStarRating(),
+                         "category", review.getCategory(), "comment", review.getComment(),
+                         "tempHybridScore", review.getHybridScore());
+        }
+        if (events.isTraced(review.getId())) {
+            events.trace(review.getId(), "review.hybrid",
+                         "modelScore", 0.9512, "sentimentScore", review.getSentimentScore(),
+                         "hybridScore", review.getHybridScore());
+        }
+        events.scored(review, review.getProduct().getId());
+        return review;
+    }
+
+    private static LoggerContext resetContext() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        return context;
+    }
+
+    private static OutputStreamAppender<ILoggingEvent> nullAppender(LoggerContext context, String name,
+                                                                    Encoder<ILoggingEvent> encoder) {
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setName(name);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+
+    private static void attach(LoggerContext context, Appender<ILoggingEvent> appender,
+                               ch.qos.logback.classic.Level rootLevel) {
+        ch.qos.logback.classic.Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(rootLevel);
+        root.addAppender(appender);
+    }
+}
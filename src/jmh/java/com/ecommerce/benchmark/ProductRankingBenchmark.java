@@ -0,0 +1,150 @@
+package com.ecommerce.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecommerce.EcommerceAiReviewApplication;
+import com.ecommerce.dto.ProductRankingResponse;
+import com.ecommerce.service.ProductRankingIndex;
+
+/**
+ * Bellek içi ürün sıralama indeksi ile aynı soruların products tablosuna SQL olarak sorulması
+ * (bellek içi H2): kategoride ilk 10, bir ürünün sırası ve bir puanın yüzdeliği/ortalaması.
+ * Ürün sayısı parametredir; indeks sorgularının maliyeti ondan neredeyse bağımsız olmalı.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Dspring.devtools.restart.enabled=false")
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class ProductRankingBenchmark {
+
+    private static final int CATEGORIES = 20;
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @Param({"10000", "100000"})
+    private int products;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private ProductRankingIndex rankingIndex;
+    private long[] productIds;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(EcommerceAiReviewApplication.class).run(
+            "--spring.main.web-application-type=none",
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:ranking;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.format_sql=false",
+            "--logging.level.com.ecommerce=WARN",
+            "--logging.level.org.hibernate.SQL=WARN");
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        rankingIndex = context.getBean(ProductRankingIndex.class);
+        seedProducts();
+        // Açılıştaki yükleme boş tabloyu gördü
+        rankingIndex.rebuild();
+        productIds = jdbcTemplate.queryForList("SELECT id FROM products ORDER BY id", Long.class).stream()
+            .mapToLong(Long::longValue).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductRankingResponse> indexTopTenInCategory() {
+        return rankingIndex.top(nextCategory(), 10);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> sqlTopTenInCategory() {
+        return jdbcTemplate.queryForList("SELECT id, name, category, hybrid_score, total_reviews FROM products "
+            + "WHERE category = ? ORDER BY hybrid_score DESC, id LIMIT 10", nextCategory());
+    }
+
+    @Benchmark
+    public ProductRankingResponse indexRankOfProduct() {
+        return rankingIndex.rankOf(nextProductId());
+    }
+
+    @Benchmark
+    public Long sqlRankOfProduct() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) + 1 FROM products WHERE hybrid_score > "
+            + "(SELECT hybrid_score FROM products WHERE id = ?)", Long.class, nextProductId());
+    }
+
+    @Benchmark
+    public Map<String, Object> indexScorePercentile() {
+        return rankingIndex.describeScore(null, nextScore());
+    }
+
+    @Benchmark
+    public Map<String, Object> sqlScorePercentile() {
+        return jdbcTemplate.queryForMap("SELECT COUNT(*) AS ranked, "
+            + "SUM(CASE WHEN hybrid_score < ? THEN 1 ELSE 0 END) AS below, "
+            + "SUM(CASE WHEN hybrid_score = ? THEN 1 ELSE 0 END) AS equal, AVG(hybrid_score) AS average "
+            + "FROM products WHERE hybrid_score IS NOT NULL", nextScore(), nextScore());
+    }
+
+    private String nextCategory() {
+        return "kategori-" + (cursor++ % CATEGORIES);
+    }
+
+    private Long nextProductId() {
+        return productIds[cursor++ % productIds.length];
+    }
+
+    private BigDecimal nextScore() {
+        return BigDecimal.valueOf(cursor++ % 100, 2);
+    }
+
+    private void seedProducts() {
+        String sql = "INSERT INTO products (name, category, hybrid_score, total_reviews) VALUES (?, ?, ?, ?)";
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < products; i++) {
+            batch.add(new Object[] {
+                "Ürün " + i, "kategori-" + (i % CATEGORIES), BigDecimal.valueOf(random.nextInt(101), 2), 1 + random.nextInt(500)
+            });
+            if (batch.size() == SEED_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.ecommerce.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecommerce.EcommerceAiReviewApplication;
+import com.ecommerce.dto.ReviewRequest;
+import com.ecommerce.dto.ReviewResponse;
+import com.ecommerce.entity.Product;
+import com.ecommerce.entity.ReviewCategory;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.service.ReviewService;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Uçtan uca yorum yazma yolu: bellek içi H2 veritabanı ve yerel sahte sentiment servisi ile
+ * gerçek Spring context üzerinde createReview ve tam ürün puanı yeniden hesaplama maliyeti.
+ * Ürünün mevcut yorum sayısı (1k/10k/100k) parametredir; createReview maliyeti bundan bağımsız olmalı.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Dspring.devtools.restart.enabled=false")
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class ReviewWriteBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+    // Tohum yorumlar ID'lerini kendisi verir; sıranın dağıttığı ID'lerle çakışmaması için yüksek aralıktan
+    private static final long SEED_ID_BASE = 1_000_000_000L;
+    private static final int[] SEED_CATEGORY_MASKS = {
+        ReviewCategory.QUALITY_DURABILITY.getBit(), ReviewCategory.USAGE_PERFORMANCE.getBit(),
+        ReviewCategory.SERVICE_DELIVERY.getBit(),
+        ReviewCategory.QUALITY_DURABILITY.getBit() | ReviewCategory.SERVICE_DELIVERY.getBit(), 0
+    };
+
+    @Param({"1000", "10000", "100000"})
+    private int existingReviews;
+
+    private HttpServer sentimentStub;
+    private ConfigurableApplicationContext context;
+    private ReviewService reviewService;
+    private Long productId;
+    private List<String> corpus;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        sentimentStub = BenchmarkSupport.startSentimentStub();
+        context = new SpringApplicationBuilder(EcommerceAiReviewApplication.class).run(
+            "--spring.main.web-application-type=none",
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=30000",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.format_sql=false",
+            "--logging.level.com.ecommerce=WARN",
+            "--logging.level.org.springframework.web=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+            // Tekil yazmanın artımlı (delta) güncelleme maliyeti ölçülür; birleştirme HotProductWriteBenchmark'ta
+            "--product.scores.coalescing.enabled=false",
+            "--python.api.url=" + BenchmarkSupport.baseUrl(sentimentStub));
+
+        reviewService = context.getBean(ReviewService.class);
+        corpus = BenchmarkSupport.loadCorpus();
+
+        Product product = new Product();
+        product.setName("Benchmark Ürünü");
+        product.setCategory("elektronik");
+        productId = context.getBean(ProductRepository.class).save(product).getId();
+
+        seedReviews(context.getBean(JdbcTemplate.class));
+        reviewService.updateProductScores(productId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        sentimentStub.stop(0);
+    }
+
+    @Benchmark
+    public ReviewResponse createReview() {
+        ReviewRequest request = new ReviewRequest();
+        request.setProductId(productId);
+        request.setComment(corpus.get(cursor % corpus.size()) + " #" + cursor);
+        request.setStarRating(1 + cursor % 5);
+        cursor++;
+        return reviewService.createReview(request);
+    }
+
+    /**
+     * Ürün puanlarının tüm yorumlardan baştan hesaplanması (mutabakat/yeniden oluşturma yolu)
+     */
+    @Benchmark
+    public void recalculateProductScores() {
+        reviewService.updateProductScores(productId);
+    }
+
+    private void seedReviews(JdbcTemplate jdbcTemplate) {
+        String sql = "INSERT INTO reviews (id, product_id, comment, star_rating, sentiment_score, sentiment_label, "
+            + "hybrid_score, category_mask, created_at, scoring_status, scoring_attempts) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'SCORED', 1)";
+        String categorySql = "INSERT INTO review_categories (review_id, category) VALUES (?, ?)";
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now().minusDays(30));
+
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        List<Object[]> categoryBatch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < existingReviews; i++) {
+            int stars = 1 + i % 5;
+            long id = SEED_ID_BASE + i;
+            int categoryMask = SEED_CATEGORY_MASKS[i % SEED_CATEGORY_MASKS.length];
+            batch.add(new Object[] {
+                id, productId, corpus.get(i % corpus.size()), stars, 0.5 + (i % 50) / 100.0,
+                "Positive", stars / 10.0 + 0.25, categoryMask, createdAt
+            });
+            for (ReviewCategory category : ReviewCategory.fromMask(categoryMask)) {
+                categoryBatch.add(new Object[] { id, category.name() });
+            }
+            if (batch.size() == SEED_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                jdbcTemplate.batchUpdate(categorySql, categoryBatch);
+                batch.clear();
+                categoryBatch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            jdbcTemplate.batchUpdate(categorySql, categoryBatch);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.ecommerce.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecommerce.EcommerceAiReviewApplication;
+import com.ecommerce.entity.Product;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.service.SentimentScoringWorker;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Platform ve sanal thread modlarının (spring.threads.virtual.enabled) yük altında karşılaştırması.
+ * Gerçek Spring context, Tomcat, bellek içi H2 ve 50 ms gecikmeli sahte sentiment servisi ile:
+ *
+ * - createReviewOverHttp: 64 eş zamanlı istemciyle POST /api/reviews (gecikme dağılımı ve istek/sn).
+ *   Platform modunda Tomcat havuzu 32 thread'dir, istekler boş thread bekler
+ * - drainScoringBacklog: PENDING durumdaki 1000 yorumun duygu analizi ile puanlanma süresi (işçi havuzu verimi)
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Dspring.devtools.restart.enabled=false")
+public class VirtualThreadLoadBenchmark {
+
+    private static final int PRODUCTS = 100;
+    private static final int BACKLOG = 1000;
+    private static final long INFERENCE_LATENCY_MS = 50;
+    // Tohum yorumlar ID'lerini kendisi verir; sıranın dağıttığı ID'lerle çakışmaması için yüksek aralıktan
+    private static final long SEED_ID_BASE = 1_000_000_000L;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private HttpServer sentimentStub;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private SentimentScoringWorker scoringWorker;
+    private HttpClient httpClient;
+    private URI reviewsUri;
+    private List<Long> productIds;
+    private List<String> corpus;
+    private long nextSeedId = SEED_ID_BASE;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        sentimentStub = BenchmarkSupport.startSentimentStub(INFERENCE_LATENCY_MS);
+        context = new SpringApplicationBuilder(EcommerceAiReviewApplication.class).run(
+            "--server.port=0",
+            "--server.tomcat.threads.max=32",
+            "--spring.threads.virtual.enabled=" + virtualThreads,
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:load;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=30000",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.format_sql=false",
+            "--logging.level.com.ecommerce=WARN",
+            "--logging.level.org.springframework.web=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+            "--sentiment.cache.enabled=false",
+            "--sentiment.scoring.queue-capacity=" + (2 * BACKLOG),
+            "--python.api.url=" + BenchmarkSupport.baseUrl(sentimentStub));
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        scoringWorker = context.getBean(SentimentScoringWorker.class);
+        corpus = BenchmarkSupport.loadCorpus();
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        productIds = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setName("Yük Testi Ürünü " + i);
+            product.setCategory("elektronik");
+            productIds.add(productRepository.save(product).getId());
+        }
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        reviewsUri = URI.create("http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port")
+            + "/api/reviews");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        sentimentStub.stop(0);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(64)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 5)
+    public int createReviewOverHttp() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String comment = corpus.get(random.nextInt(corpus.size())).replace("\\", "\\\\").replace("\"", "\\\"");
+        String body = "{\"productId\":" + productIds.get(random.nextInt(PRODUCTS))
+            + ",\"starRating\":" + (1 + random.nextInt(5))
+            + ",\"comment\":\"" + comment + " #" + random.nextInt() + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(reviewsUri)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("POST /api/reviews returned HTTP " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    /**
+     * Her ölçümden önce BACKLOG kadar PENDING yorum eklenir; ölçülen süre hepsi puanlanana kadar geçen süredir
+     */
+    @State(Scope.Thread)
+    public static class Backlog {
+
+        private List<Long> reviewIds;
+
+        @Setup(Level.Invocation)
+        public void seed(VirtualThreadLoadBenchmark benchmark) {
+            reviewIds = benchmark.seedPendingReviews();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public long drainScoringBacklog(Backlog backlog) throws InterruptedException {
+        scoringWorker.submitAll(backlog.reviewIds);
+        Long first = backlog.reviewIds.get(0);
+        Long last = backlog.reviewIds.get(backlog.reviewIds.size() - 1);
+        long pending;
+        do {
+            Thread.sleep(10);
+            pending = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reviews WHERE id BETWEEN ? AND ? AND scoring_status = 'PENDING'",
+                Long.class, first, last);
+        } while (pending > 0);
+        return pending;
+    }
+
+    private List<Long> seedPendingReviews() {
+        String sql = "INSERT INTO reviews (id, product_id, comment, star_rating, sentiment_score, sentiment_label, "
+            + "hybrid_score, category_mask, created_at, scoring_status, scoring_attempts) "
+            + "VALUES (?, ?, ?, ?, ?, 'neutral', ?, 0, ?, 'PENDING', 0)";
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> rows = new ArrayList<>(BACKLOG);
+        List<Long> ids = new ArrayList<>(BACKLOG);
+        for (int i = 0; i < BACKLOG; i++) {
+            long id = nextSeedId++;
+            int stars = 1 + i % 5;
+            // Yorum metinleri benzersiz: duygu analizi önbelleği ve tekilleştirme devre dışı kalır
+            rows.add(new Object[] {
+                id, productIds.get(i % PRODUCTS), corpus.get(i % corpus.size()) + " #" + id, stars,
+                (stars - 1) / 4.0, stars / 10.0 + 0.25, createdAt
+            });
+            ids.add(id);
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+        return ids;
+    }
+}
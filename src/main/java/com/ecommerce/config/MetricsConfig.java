@@ -0,0 +1,17 @@
+// Micrometer metrikleri: @Timed anotasyonlu servis metotlarının ölçümü (Actuator /actuator/prometheus üzerinden yayınlanır)
+package com.ecommerce.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,60 @@
+// Yorum ID sırasını mevcut kayıtların ötesine taşır (IDENTITY'den havuzlu sıraya geçişte çakışmayı önler)
+package com.ecommerce.config;
+
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.entity.Review;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+@Component
+public class ReviewIdSequenceInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewIdSequenceInitializer.class);
+
+    static final String SEQUENCE_NAME = "review_id_seq";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Sıranın vereceği ilk blok en büyük mevcut ID'nin üzerinde başlamalı. Eski AUTO_INCREMENT ile
+     * eklenmiş yorumlar varken sıra 1'den başlarsa ilk eklemeler birincil anahtar çakışmasıyla düşer.
+     */
+    @PostConstruct
+    public void alignWithExistingIds() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM reviews", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // Havuzlu optimizer bloğu [değer - blok + 1, değer] aralığından dağıtır
+        long floor = maxId + Review.ID_ALLOCATION_SIZE + 1;
+
+        SequenceSupport sequenceSupport = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices().getDialect().getSequenceSupport();
+        if (sequenceSupport.supportsSequences()) {
+            Long next = jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString(SEQUENCE_NAME), Long.class);
+            if (next != null && next < floor) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE_NAME + " RESTART WITH " + floor);
+                logger.info("Review ID sequence restarted at {} (max existing ID: {})", floor, maxId);
+            }
+        } else {
+            // Sırası olmayan veritabanlarında (MySQL) Hibernate sırayı tek satırlı bir tabloyla taklit eder
+            int updated = jdbcTemplate.update(
+                "UPDATE " + SEQUENCE_NAME + " SET next_val = ? WHERE next_val < ?", floor, floor);
+            if (updated > 0) {
+                logger.info("Review ID sequence table moved to {} (max existing ID: {})", floor, maxId);
+            }
+        }
+    }
+}
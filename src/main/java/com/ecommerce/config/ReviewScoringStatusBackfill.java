@@ -0,0 +1,40 @@
+// scoring_status sütunu eklenmeden önce kaydedilmiş yorumlara puanlama durumu atar (tek seferlik geçiş)
+package com.ecommerce.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.entity.ScoringStatus;
+
+import jakarta.annotation.PostConstruct;
+
+@Component
+public class ReviewScoringStatusBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewScoringStatusBackfill.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Eski yorumlar eşzamanlı analizle kaydedilmişti: duygu skoru olanlar SCORED, analizi başarısız olanlar
+     * (sentiment_score NULL) PENDING olur ve SentimentScoringWorker taramasıyla puanlanır.
+     * Durumu dolu satırlara dokunulmaz; geçiş tamamlandıktan sonra güncellenecek satır kalmaz.
+     */
+    @PostConstruct
+    public void backfillScoringStatus() {
+        int scored = jdbcTemplate.update(
+            "UPDATE reviews SET scoring_status = ? WHERE scoring_status IS NULL AND sentiment_score IS NOT NULL",
+            ScoringStatus.SCORED.name());
+        int pending = jdbcTemplate.update(
+            "UPDATE reviews SET scoring_status = ?, scoring_attempts = 0 WHERE scoring_status IS NULL",
+            ScoringStatus.PENDING.name());
+        if (scored > 0 || pending > 0) {
+            logger.info("Backfilled review scoring status: {} SCORED, {} PENDING (queued for sentiment analysis)",
+                       scored, pending);
+        }
+    }
+}
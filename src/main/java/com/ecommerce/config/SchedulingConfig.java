@@ -0,0 +1,10 @@
+// Zamanlanmış arka plan işleri (bekleyen yorumların yeniden kuyruğa alınması vb.) için
+package com.ecommerce.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,36 @@
+// Duygu analizi servisine HTTP taşımasının seçimi (sentiment.http.transport)
+package com.ecommerce.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ecommerce.service.JdkHttpSentimentTransport;
+import com.ecommerce.service.SentimentHttpSettings;
+import com.ecommerce.service.SentimentTransport;
+import com.ecommerce.service.UrlConnectionSentimentTransport;
+
+@Configuration
+public class SentimentTransportConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SentimentTransportConfig.class);
+
+    @Bean
+    public SentimentTransport sentimentTransport(SentimentHttpSettings settings,
+                                                 @Value("${sentiment.http.transport:jdk}") String transport) {
+        switch (transport.trim().toLowerCase()) {
+            case "jdk":
+                logger.info("Sentiment HTTP transport: JDK HttpClient (http2={}, maxConnections={})",
+                           settings.isHttp2(), settings.getMaxConnections());
+                return new JdkHttpSentimentTransport(settings);
+            case "url-connection":
+                logger.info("Sentiment HTTP transport: HttpURLConnection");
+                return new UrlConnectionSentimentTransport(settings);
+            default:
+                throw new IllegalStateException("Unknown sentiment.http.transport: " + transport
+                    + " (expected jdk or url-connection)");
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package com.ecommerce.controller;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ecommerce.service.KeywordDictionary;
+import com.ecommerce.service.KeywordDictionaryWatcher;
 import com.ecommerce.service.KeywordService;
+import com.ecommerce.service.ReviewRecategorizationService;
 
 @RestController
 @RequestMapping("/api/keywords")
@@ -18,29 +24,25 @@ public class KeywordController {
     @Autowired
     private KeywordService keywordService;
     
+    @Autowired
+    private KeywordDictionaryWatcher keywordDictionaryWatcher;
+    
+    @Autowired
+    private ReviewRecategorizationService reviewRecategorizationService;
+    
+    /**
+     * Sözlük yüklenirken serileştirilmiş gövde döner; If-None-Match ETag'le eşleşirse 304 (gövdesiz)
+     */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllKeywords() {
+    public ResponseEntity<byte[]> getAllKeywords() {
         try {
-            Map<String, Object> response = new HashMap<>();
-            response.put("categories", Map.of(
-                "quality_durability", Map.of(
-                    "name", keywordService.getCategoryName("quality_durability"),
-                    "description", keywordService.getCategoryDescription("quality_durability"),
-                    "keywords", keywordService.getKeywordsForCategory("quality_durability")
-                ),
-                "usage_performance", Map.of(
-                    "name", keywordService.getCategoryName("usage_performance"),
-                    "description", keywordService.getCategoryDescription("usage_performance"),
-                    "keywords", keywordService.getKeywordsForCategory("usage_performance")
-                ),
-                "service_delivery", Map.of(
-                    "name", keywordService.getCategoryName("service_delivery"),
-                    "description", keywordService.getCategoryDescription("service_delivery"),
-                    "keywords", keywordService.getKeywordsForCategory("service_delivery")
-                )
-            ));
-            
-            return ResponseEntity.ok(response);
+            KeywordDictionary dictionary = keywordService.getDictionary();
+            // If-None-Match kontrolü ResponseEntity işlenirken ETag başlığına göre yapılır
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(dictionary.getEtag())
+                .body(dictionary.getBody());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -54,4 +56,28 @@ public class KeywordController {
             return ResponseEntity.internalServerError().build();
         }
     }
+    
+    /**
+     * Sözlük sürümü, dosya izleme ve yeniden kategorilendirme durumu
+     */
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>(keywordDictionaryWatcher.getStats());
+        status.put("recategorization", reviewRecategorizationService.getStats());
+        return ResponseEntity.ok(status);
+    }
+    
+    /**
+     * Sözlüğü kaynağından hemen yeniden yükler; dosya geçersizse 400 döner ve mevcut sözlük kalır
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<Map<String, Object>> reload() {
+        try {
+            return ResponseEntity.ok(keywordDictionaryWatcher.reload());
+        } catch (Exception e) {
+            Map<String, Object> error = new LinkedHashMap<>(keywordDictionaryWatcher.getStats());
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
 }
@@ -1,9 +1,17 @@
 //uygulamanın ürünlerle ilgili tüm REST API uç noktalarını yöneten controller
 package com.ecommerce.controller;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,24 +19,54 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ecommerce.dto.ProductRankingResponse;
 import com.ecommerce.dto.ProductResponse;
-import com.ecommerce.dto.ReviewResponse;
+import com.ecommerce.dto.ReviewPageResponse;
+import com.ecommerce.dto.SentimentTrendResponse;
 import com.ecommerce.entity.Product;
+import com.ecommerce.event.ProductRankingChangedEvent;
 import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.ProductSummary;
+import com.ecommerce.service.ProductRankingIndex;
+import com.ecommerce.service.ProductResponseCache;
+import com.ecommerce.service.ProductScoreUpdateCoalescer;
+import com.ecommerce.service.ReviewService;
+import com.ecommerce.service.ReviewTrendRollupService;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
     
+    private static final Logger logger = LoggerFactory.getLogger(ProductController.class);
+    
     @Autowired
     private ProductRepository productRepository;
     
+    @Autowired
+    private ReviewService reviewService;
+    
+    @Autowired
+    private ProductRankingIndex productRankingIndex;
+    
+    @Autowired
+    private ProductResponseCache productResponseCache;
+    
+    @Autowired
+    private ProductScoreUpdateCoalescer productScoreUpdateCoalescer;
+    
+    @Autowired
+    private ReviewTrendRollupService reviewTrendRollupService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     @GetMapping
     public ResponseEntity<List<ProductResponse>> getAllProducts() {
         try {
-            List<Product> products = productRepository.findAll();
+            List<ProductSummary> products = productRepository.findAllSummaries();
             List<ProductResponse> responses = products.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
@@ -38,12 +76,27 @@ public class ProductController {
         }
     }
     
+    /**
+     * Ürün detayı; yorumlar yalnızca ?include=reviews ile en yeniden başlayarak ilk sayfa kadar eklenir
+     * (devamı için reviewsNextCursor değeri /api/reviews/product/{productId} uç noktasına gönderilir).
+     * Yanıt ProductResponseCache'ten serileştirilmiş olarak döner; If-None-Match ETag'le eşleşirse 304 (gövdesiz).
+     */
     @GetMapping("/{productId}")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable("productId") Long productId) {
+    public ResponseEntity<byte[]> getProductById(@PathVariable("productId") Long productId,
+                                                 @RequestParam(required = false) String include,
+                                                 @RequestParam(required = false) Integer limit) {
         try {
-            Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("Product not found"));
-            return ResponseEntity.ok(convertToResponse(product));
+            boolean includeReviews = parseInclude(include);
+            ProductResponseCache.CachedResponse cached = productResponseCache.get(productId,
+                "detail:" + includeReviews + ":" + limit, () -> loadProductDetail(productId, includeReviews, limit));
+            // If-None-Match kontrolü ResponseEntity işlenirken ETag başlığına göre yapılır
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(cached.getEtag())
+                .body(cached.getBody());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -52,7 +105,7 @@ public class ProductController {
     @GetMapping("/category/{category}")
     public ResponseEntity<List<ProductResponse>> getProductsByCategory(@PathVariable("category") String category) {
         try {
-            List<Product> products = productRepository.findByCategory(category);
+            List<ProductSummary> products = productRepository.findSummariesByCategory(category);
             List<ProductResponse> responses = products.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
@@ -66,6 +119,7 @@ public class ProductController {
     public ResponseEntity<ProductResponse> createProduct(@RequestBody Product product) {
         try {
             Product savedProduct = productRepository.save(product);
+            eventPublisher.publishEvent(ProductRankingChangedEvent.updated(savedProduct));
             return ResponseEntity.ok(convertToResponse(savedProduct));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -84,14 +138,143 @@ public class ProductController {
             
             // Cascade delete will automatically delete related reviews
             productRepository.delete(product);
+            eventPublisher.publishEvent(ProductRankingChangedEvent.removed(productId));
             return ResponseEntity.ok().build();
         } catch (Exception e) {
-            // Log the error instead of printing stack trace
-            System.err.println("Error deleting product: " + e.getMessage());
+            logger.error("Error deleting product {}: {}", productId, e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
     
+    /**
+     * Hibrit puana göre en iyi ürünler (bellek içi sıralama indeksinden; category verilmezse tüm ürünler)
+     */
+    @GetMapping("/ranking/top")
+    public ResponseEntity<List<ProductRankingResponse>> getTopProducts(@RequestParam(required = false) String category,
+                                                                       @RequestParam(defaultValue = "10") int limit) {
+        if (!productRankingIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        try {
+            return ResponseEntity.ok(productRankingIndex.top(category, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Bir puanın yüzdelik sırası, o puan ve üstündeki ürün sayısı ve ortalama hibrit puan
+     */
+    @GetMapping("/ranking/percentile")
+    public ResponseEntity<Map<String, Object>> getScorePercentile(@RequestParam BigDecimal score,
+                                                                  @RequestParam(required = false) String category) {
+        if (!productRankingIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        try {
+            return ResponseEntity.ok(productRankingIndex.describeScore(category, score));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Ürünün tüm ürünler ve kendi kategorisi içindeki sırası ve yüzdeliği
+     */
+    @GetMapping("/{productId}/rank")
+    public ResponseEntity<ProductRankingResponse> getProductRank(@PathVariable("productId") Long productId) {
+        if (!productRankingIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        ProductRankingResponse response = productRankingIndex.rankOf(productId);
+        if (response == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Ürün detayı / yorum listesi yanıt önbelleğinin isabet, ıska ve geçersiz kılma sayaçları
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getResponseCacheStats() {
+        return ResponseEntity.ok(productResponseCache.getStats());
+    }
+    
+    /**
+     * Ürün puanı yazma birleştirme durumu: bekleyen ürünler, birleştirme oranı ve gecikme (staleness)
+     */
+    @GetMapping("/scores/coalescing/stats")
+    public ResponseEntity<Map<String, Object>> getScoreCoalescingStats() {
+        return ResponseEntity.ok(productScoreUpdateCoalescer.getStats());
+    }
+    
+    /**
+     * Ürünün saatlik, günlük veya haftalık duygu eğilimi (yalnızca eğilim özetlerinden; yorumu olmayan dilimler dönmez)
+     */
+    @GetMapping("/{productId}/trends")
+    public ResponseEntity<SentimentTrendResponse> getProductTrend(@PathVariable("productId") Long productId,
+                                                                  @RequestParam(required = false) String granularity,
+                                                                  @RequestParam(required = false) Integer days) {
+        try {
+            return ResponseEntity.ok(reviewTrendRollupService.getTrend(productId, granularity, days));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * Eğilim özetlerinin durumu: kirli saatler, yeniden hesaplanan dilimler ve doldurma ilerlemesi
+     */
+    @GetMapping("/trends/rollups")
+    public ResponseEntity<Map<String, Object>> getTrendRollupStats() {
+        return ResponseEntity.ok(reviewTrendRollupService.getStats());
+    }
+    
+    /**
+     * Eğilim özetlerini reviews tablosundan arka planda baştan oluşturur
+     */
+    @PostMapping("/trends/rollups/backfill")
+    public ResponseEntity<Map<String, Object>> backfillTrendRollups() {
+        try {
+            reviewTrendRollupService.requestBackfill();
+            return ResponseEntity.accepted().body(reviewTrendRollupService.getStats());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    private ProductResponse loadProductDetail(Long productId, boolean includeReviews, Integer limit) {
+        Product product = productRepository.findById(productId)
+            .orElseThrow(() -> new RuntimeException("Product not found"));
+        ProductResponse response = convertToResponse(product);
+        if (includeReviews) {
+            ReviewPageResponse reviews = reviewService.getReviewsByProductId(productId, null, limit, null);
+            response.setReviews(reviews.getContent());
+            response.setReviewsNextCursor(reviews.getNextCursor());
+        }
+        return response;
+    }
+    
+    // Desteklenen tek genişletme: reviews (virgülle ayrılmış liste kabul edilir)
+    private static boolean parseInclude(String include) {
+        if (include == null || include.isBlank()) {
+            return false;
+        }
+        boolean reviews = false;
+        for (String part : include.split(",")) {
+            String value = part.trim();
+            if (value.equalsIgnoreCase("reviews")) {
+                reviews = true;
+            } else if (!value.isEmpty()) {
+                throw new IllegalArgumentException("Unsupported include: " + value);
+            }
+        }
+        return reviews;
+    }
+    
     private ProductResponse convertToResponse(Product product) {
         ProductResponse response = new ProductResponse();
         response.setId(product.getId());
@@ -106,26 +289,23 @@ public class ProductController {
         response.setShippingScore(product.getShippingScore());
         response.setQualityScore(product.getQualityScore());
         response.setPerformanceScore(product.getPerformanceScore());
-        
-        // Reviews'ları da ekle
-        if (product.getReviews() != null) {
-            response.setReviews(product.getReviews().stream()
-                .map(review -> {
-                    ReviewResponse reviewResponse = new ReviewResponse();
-                    reviewResponse.setId(review.getId());
-                    reviewResponse.setProductId(review.getProduct().getId());
-                    reviewResponse.setComment(review.getComment());
-                    reviewResponse.setStarRating(review.getStarRating());
-                    reviewResponse.setSentimentScore(review.getSentimentScore());
-                    reviewResponse.setSentimentLabel(review.getSentimentLabel());
-                    reviewResponse.setHybridScore(review.getHybridScore());
-                    reviewResponse.setCategory(review.getCategory());
-                    reviewResponse.setCreatedAt(review.getCreatedAt());
-                    return reviewResponse;
-                })
-                .collect(Collectors.toList()));
-        }
-        
         return response;
     }
-} 
\ No newline at end of file
+    
+    private ProductResponse convertToResponse(ProductSummary product) {
+        ProductResponse response = new ProductResponse();
+        response.setId(product.getId());
+        response.setName(product.getName());
+        response.setDescription(product.getDescription());
+        response.setPrice(product.getPrice());
+        response.setCategory(product.getCategory());
+        response.setImageUrl(product.getImageUrl());
+        response.setAverageRating(product.getAverageRating());
+        response.setHybridScore(product.getHybridScore());
+        response.setTotalReviews(product.getTotalReviews());
+        response.setShippingScore(product.getShippingScore());
+        response.setQualityScore(product.getQualityScore());
+        response.setPerformanceScore(product.getPerformanceScore());
+        return response;
+    }
+}
\ No newline at end of file
@@ -1,9 +1,19 @@
 //Bu controller, kullanıcıların ürünlere yorum yapmasını, yorumları görmesini ve silmesini sağlar.
 package com.ecommerce.controller;
 
-import java.util.List;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,10 +21,22 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.ecommerce.dto.BulkReviewResponse;
+import com.ecommerce.dto.ReviewExportFormat;
+import com.ecommerce.dto.ReviewPageResponse;
 import com.ecommerce.dto.ReviewRequest;
 import com.ecommerce.dto.ReviewResponse;
+import com.ecommerce.dto.ReviewSearchResponse;
+import com.ecommerce.repository.ReviewExportFilter;
+import com.ecommerce.service.ReviewBulkIngestionService;
+import com.ecommerce.service.ProductResponseCache;
+import com.ecommerce.service.ReviewCategoryMigration;
+import com.ecommerce.service.ReviewExportService;
+import com.ecommerce.service.ReviewSearchIndex;
 import com.ecommerce.service.ReviewService;
 
 import jakarta.validation.Valid;
@@ -23,48 +45,183 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/reviews")
 public class ReviewController {
     
+    private static final Logger logger = LoggerFactory.getLogger(ReviewController.class);
+    
     @Autowired
     private ReviewService reviewService;
     
+    @Autowired
+    private ReviewBulkIngestionService reviewBulkIngestionService;
+    
+    @Autowired
+    private ReviewExportService reviewExportService;
+    
+    @Autowired
+    private ProductResponseCache productResponseCache;
+    
+    @Autowired
+    private ReviewCategoryMigration reviewCategoryMigration;
+    
+    @Autowired
+    private ReviewSearchIndex reviewSearchIndex;
+    
+    /**
+     * syncScores=true: ürün puanları yanıt dönmeden güncellenir (read-your-writes); varsayılan olarak
+     * puanlar yazma birleştirme penceresi sonunda güncellenir
+     */
     @PostMapping
-    public ResponseEntity<ReviewResponse> createReview(@Valid @RequestBody ReviewRequest request) {
+    public ResponseEntity<ReviewResponse> createReview(@Valid @RequestBody ReviewRequest request,
+                                                       @RequestParam(defaultValue = "false") boolean syncScores) {
         try {
-            System.out.println("Received review request - Product: " + request.getProductId() +
-                             ", Stars: " + request.getStarRating() + 
-                             ", Comment: " + request.getComment());
-            
-            ReviewResponse response = reviewService.createReview(request);
-            
-            System.out.println("Review created successfully!");
+            ReviewResponse response = reviewService.createReview(request, syncScores);
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            System.err.println("Review creation error: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Review creation failed for product {}: {}", request.getProductId(), e.getMessage());
             return ResponseEntity.badRequest().body(null);
         }
     }
     
+    /**
+     * Toplu yorum ekleme: JSON dizisi (application/json) veya NDJSON (application/x-ndjson) akışı.
+     * Hatalı öğeler atlanır ve yanıtta girdi sırasındaki indeksleriyle raporlanır.
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<BulkReviewResponse> createReviewsBulk(InputStream body) {
+        try {
+            return ResponseEntity.ok(reviewBulkIngestionService.ingest(body));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Analitik dışa aktarma: filtreye uyan yorumlar NDJSON (varsayılan) veya CSV olarak akış halinde yazılır.
+     * Tarihler ISO-8601 (2024-01-31T00:00:00); createdTo hariçtir.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReviews(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) String sentimentLabel,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minHybridScore,
+            @RequestParam(required = false) BigDecimal maxHybridScore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        try {
+            ReviewExportFormat exportFormat = ReviewExportFormat.from(format);
+            ReviewExportFilter filter = new ReviewExportFilter();
+            filter.setProductId(productId);
+            filter.setSentimentLabel(sentimentLabel);
+            filter.setCategory(category);
+            filter.setMinHybridScore(minHybridScore);
+            filter.setMaxHybridScore(maxHybridScore);
+            filter.setCreatedFrom(createdFrom);
+            filter.setCreatedTo(createdTo);
+            
+            StreamingResponseBody body = reviewExportService.prepareExport(filter, exportFormat);
+            return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reviews." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            logger.warn("Review export rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
+    /**
+     * Ürün yorumları (sayfalı); yanıt ProductResponseCache'ten döner, If-None-Match ETag'le eşleşirse 304
+     */
     @GetMapping("/product/{productId}")
-    public ResponseEntity<List<ReviewResponse>> getReviewsByProductId(@PathVariable Long productId) {
+    public ResponseEntity<byte[]> getReviewsByProductId(@PathVariable Long productId,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        @RequestParam(required = false) String sort) {
         try {
-            List<ReviewResponse> reviews = reviewService.getReviewsByProductId(productId);
-            return ResponseEntity.ok(reviews);
+            ProductResponseCache.CachedResponse cached = productResponseCache.get(productId,
+                "reviews:" + sort + ":" + limit + ":" + cursor,
+                () -> reviewService.getReviewsByProductId(productId, cursor, limit, sort));
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(cached.getEtag())
+                .body(cached.getBody());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
     }
     
     @GetMapping("/sentiment/{sentimentLabel}")
-    public ResponseEntity<List<ReviewResponse>> getReviewsBySentimentLabel(@PathVariable String sentimentLabel) {
+    public ResponseEntity<ReviewPageResponse> getReviewsBySentimentLabel(@PathVariable String sentimentLabel,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer limit,
+                                                                         @RequestParam(required = false) String sort) {
         try {
-            List<ReviewResponse> reviews = reviewService.getReviewsBySentimentLabel(sentimentLabel);
+            ReviewPageResponse reviews = reviewService.getReviewsBySentimentLabel(sentimentLabel, cursor, limit, sort);
             return ResponseEntity.ok(reviews);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
+    /**
+     * Eski virgülle ayrılmış kategorilerin category_mask ve review_categories'e taşınma durumu
+     */
+    @GetMapping("/categories/migration")
+    public ResponseEntity<Map<String, Object>> getCategoryMigrationStats() {
+        return ResponseEntity.ok(reviewCategoryMigration.getStats());
+    }
+    
+    /**
+     * Yorum metinlerinde tam metin arama (BM25 sıralı); indeks ilk kez oluşturulurken 503
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ReviewSearchResponse> searchReviews(@RequestParam String q,
+                                                              @RequestParam(required = false) Long productId,
+                                                              @RequestParam(required = false) String sentimentLabel,
+                                                              @RequestParam(required = false) String category,
+                                                              @RequestParam(required = false) Integer minStars,
+                                                              @RequestParam(required = false) Integer maxStars,
+                                                              @RequestParam(defaultValue = "20") int limit,
+                                                              @RequestParam(defaultValue = "0") int offset) {
+        if (!reviewSearchIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        try {
+            return ResponseEntity.ok(reviewSearchIndex.search(q, productId, sentimentLabel, category,
+                                                              minStars, maxStars, limit, offset));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Review search failed for '{}': {}", q, e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    @GetMapping("/search/status")
+    public ResponseEntity<Map<String, Object>> getSearchIndexStats() {
+        return ResponseEntity.ok(reviewSearchIndex.getStats());
+    }
+    
+    /**
+     * Arama indeksini tablodan arka planda yeniden oluşturur (arama bu sırada mevcut içerikle yanıtlanır)
+     */
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildSearchIndex() {
+        try {
+            reviewSearchIndex.requestRebuild();
+            return ResponseEntity.accepted().body(reviewSearchIndex.getStats());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
     @GetMapping("/{reviewId}")
     public ResponseEntity<ReviewResponse> getReviewById(@PathVariable Long reviewId) {
         try {
@@ -76,9 +233,10 @@ public class ReviewController {
     }
     
     @DeleteMapping("/{reviewId}")
-    public ResponseEntity<Void> deleteReview(@PathVariable Long reviewId) {
+    public ResponseEntity<Void> deleteReview(@PathVariable Long reviewId,
+                                             @RequestParam(defaultValue = "false") boolean syncScores) {
         try {
-            reviewService.deleteReview(reviewId);
+            reviewService.deleteReview(reviewId, syncScores);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
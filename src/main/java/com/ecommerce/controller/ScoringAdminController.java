@@ -0,0 +1,160 @@
+//Hibrit puan ağırlıklarının çalışma zamanında değiştirilmesi ve toplu yeniden puanlama işinin yönetimi
+package com.ecommerce.controller;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.dto.RescoringJobResponse;
+import com.ecommerce.dto.ScoringConfigRequest;
+import com.ecommerce.dto.ScoringConfigResponse;
+import com.ecommerce.entity.RescoringJob;
+import com.ecommerce.entity.ScoringConfig;
+import com.ecommerce.service.HybridWeights;
+import com.ecommerce.service.ReviewRescoringService;
+import com.ecommerce.service.ScoringConfigService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/admin/scoring")
+public class ScoringAdminController {
+
+    @Autowired
+    private ScoringConfigService scoringConfigService;
+
+    @Autowired
+    private ReviewRescoringService reviewRescoringService;
+
+    @GetMapping("/config")
+    public ResponseEntity<ScoringConfigResponse> getActiveConfig() {
+        try {
+            return ResponseEntity.ok(convertToResponse(scoringConfigService.getActiveWeights()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/config/history")
+    public ResponseEntity<List<ScoringConfigResponse>> getConfigHistory() {
+        try {
+            long activeVersion = scoringConfigService.getActiveWeights().getVersion();
+            List<ScoringConfigResponse> responses = scoringConfigService.getHistory().stream()
+                .map(config -> convertToResponse(config, activeVersion))
+                .collect(Collectors.toList());
+            return ResponseEntity.ok(responses);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Yeni ağırlıkları kaydeder ve etkinleştirir; yeniden puanlama arka planda başlar.
+     * Geçersiz ağırlıklar GlobalExceptionHandler tarafından 400 ve hata mesajıyla döner.
+     */
+    @PutMapping("/config")
+    public ResponseEntity<ScoringConfigResponse> updateConfig(@Valid @RequestBody ScoringConfigRequest request) {
+        HybridWeights previous = scoringConfigService.getActiveWeights();
+        HybridWeights weights = scoringConfigService.updateConfig(
+            request.getStarRatingWeight(), request.getSentimentWeight(), request.getNeutralPolicy());
+
+        ScoringConfigResponse response = convertToResponse(weights);
+        if (weights.getVersion() != previous.getVersion()) {
+            response.setRescoringJob(convertToResponse(reviewRescoringService.getLatestJob()));
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/rescoring")
+    public ResponseEntity<RescoringJobResponse> getRescoringProgress() {
+        try {
+            RescoringJob job = reviewRescoringService.getLatestJob();
+            if (job == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(convertToResponse(job));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PostMapping("/rescoring/cancel")
+    public ResponseEntity<RescoringJobResponse> cancelRescoring() {
+        try {
+            return ResponseEntity.ok(convertToResponse(reviewRescoringService.cancel()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/rescoring/resume")
+    public ResponseEntity<RescoringJobResponse> resumeRescoring() {
+        try {
+            return ResponseEntity.ok(convertToResponse(reviewRescoringService.resume()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private ScoringConfigResponse convertToResponse(HybridWeights weights) {
+        ScoringConfigResponse response = new ScoringConfigResponse();
+        response.setVersion(weights.getVersion());
+        response.setStarRatingWeight(weights.getStarRatingWeightDecimal());
+        response.setSentimentWeight(weights.getSentimentWeightDecimal());
+        response.setNeutralPolicy(weights.getNeutralPolicy());
+        response.setActive(true);
+        return response;
+    }
+
+    private ScoringConfigResponse convertToResponse(ScoringConfig config, long activeVersion) {
+        ScoringConfigResponse response = new ScoringConfigResponse();
+        response.setVersion(config.getVersion());
+        response.setStarRatingWeight(config.getStarRatingWeight());
+        response.setSentimentWeight(config.getSentimentWeight());
+        response.setNeutralPolicy(config.getNeutralPolicy());
+        response.setActive(config.getVersion() == activeVersion);
+        response.setCreatedAt(config.getCreatedAt());
+        return response;
+    }
+
+    private RescoringJobResponse convertToResponse(RescoringJob job) {
+        if (job == null) {
+            return null;
+        }
+        RescoringJobResponse response = new RescoringJobResponse();
+        response.setId(job.getId());
+        response.setConfigVersion(job.getConfigVersion());
+        response.setStatus(job.getStatus());
+        response.setPhase(job.getPhase().name());
+        response.setReviewPass(job.getReviewPass());
+        response.setTotalReviews(job.getTotalReviews());
+        response.setProcessedReviews(job.getProcessedReviews());
+        response.setChangedReviews(job.getChangedReviews());
+        response.setTotalProducts(job.getTotalProducts());
+        response.setProcessedProducts(job.getProcessedProducts());
+        boolean reviewsDone = job.getPhase() == RescoringJob.Phase.PRODUCTS;
+        response.setReviewProgressPercent(reviewsDone ? 100.0 : percent(job.getProcessedReviews(), job.getTotalReviews()));
+        response.setProductProgressPercent(percent(job.getProcessedProducts(), job.getTotalProducts()));
+        response.setErrorMessage(job.getErrorMessage());
+        response.setStartedAt(job.getStartedAt());
+        response.setUpdatedAt(job.getUpdatedAt());
+        response.setFinishedAt(job.getFinishedAt());
+        return response;
+    }
+
+    private static double percent(long done, long total) {
+        if (total <= 0) {
+            return 100.0;
+        }
+        // Tekrar taramalarda işlenen sayı toplamı geçebilir
+        return Math.min(100.0, Math.round(done * 1000.0 / total) / 10.0);
+    }
+}
@@ -0,0 +1,56 @@
+//Duygu analizi altyapısının (önbellek, devre kesici vb.) durumunu izleme ve yönetme uç noktaları
+package com.ecommerce.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.service.SentimentAnalysisService;
+import com.ecommerce.service.SentimentResultCache;
+
+@RestController
+@RequestMapping("/api/sentiment")
+public class SentimentController {
+    
+    @Autowired
+    private SentimentResultCache sentimentResultCache;
+    
+    @Autowired
+    private SentimentAnalysisService sentimentAnalysisService;
+    
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        try {
+            return ResponseEntity.ok(sentimentResultCache.getStats());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * Devre kesici durumu ve geçiş sayıları, bulkhead doluluğu ve uyarlamalı zaman aşımları
+     */
+    @GetMapping("/resilience")
+    public ResponseEntity<Map<String, Object>> getResilienceStats() {
+        try {
+            return ResponseEntity.ok(sentimentAnalysisService.getResilienceStats());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> clearCache() {
+        try {
+            sentimentResultCache.clear();
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
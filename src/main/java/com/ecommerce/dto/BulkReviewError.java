@@ -0,0 +1,32 @@
+package com.ecommerce.dto;
+
+public class BulkReviewError {
+    private Integer index;
+    private String message;
+
+    public BulkReviewError() {
+    }
+
+    public BulkReviewError(Integer index, String message) {
+        this.index = index;
+        this.message = message;
+    }
+
+    // Getter methods
+    public Integer getIndex() {
+        return index;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    // Setter methods
+    public void setIndex(Integer index) {
+        this.index = index;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
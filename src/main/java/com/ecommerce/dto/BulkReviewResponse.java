@@ -0,0 +1,90 @@
+package com.ecommerce.dto;
+
+import java.util.List;
+
+public class BulkReviewResponse {
+    private Integer received;
+    private Integer accepted;
+    private Integer rejected;
+    private Integer batches;
+    private Integer affectedProducts;
+    private Integer queuedForScoring;
+    // false: girdi bozuk olduğu için okuma yarıda kesildi (received sonrası öğeler işlenmedi)
+    private Boolean completed;
+    private List<BulkReviewError> errors;
+    private Boolean errorsTruncated;
+
+    // Getter methods
+    public Integer getReceived() {
+        return received;
+    }
+
+    public Integer getAccepted() {
+        return accepted;
+    }
+
+    public Integer getRejected() {
+        return rejected;
+    }
+
+    public Integer getBatches() {
+        return batches;
+    }
+
+    public Integer getAffectedProducts() {
+        return affectedProducts;
+    }
+
+    public Integer getQueuedForScoring() {
+        return queuedForScoring;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public List<BulkReviewError> getErrors() {
+        return errors;
+    }
+
+    public Boolean getErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    // Setter methods
+    public void setReceived(Integer received) {
+        this.received = received;
+    }
+
+    public void setAccepted(Integer accepted) {
+        this.accepted = accepted;
+    }
+
+    public void setRejected(Integer rejected) {
+        this.rejected = rejected;
+    }
+
+    public void setBatches(Integer batches) {
+        this.batches = batches;
+    }
+
+    public void setAffectedProducts(Integer affectedProducts) {
+        this.affectedProducts = affectedProducts;
+    }
+
+    public void setQueuedForScoring(Integer queuedForScoring) {
+        this.queuedForScoring = queuedForScoring;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    public void setErrors(List<BulkReviewError> errors) {
+        this.errors = errors;
+    }
+
+    public void setErrorsTruncated(Boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+}
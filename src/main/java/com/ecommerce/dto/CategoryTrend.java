@@ -0,0 +1,38 @@
+package com.ecommerce.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Eğilim dilimindeki bir kategorinin yorum sayısı ve ortalamaları
+ */
+public class CategoryTrend {
+    private Long reviewCount;
+    private BigDecimal averageStarRating;
+    private BigDecimal averageSentimentScore;
+
+    // Getter methods
+    public Long getReviewCount() {
+        return reviewCount;
+    }
+
+    public BigDecimal getAverageStarRating() {
+        return averageStarRating;
+    }
+
+    public BigDecimal getAverageSentimentScore() {
+        return averageSentimentScore;
+    }
+
+    // Setter methods
+    public void setReviewCount(Long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public void setAverageStarRating(BigDecimal averageStarRating) {
+        this.averageStarRating = averageStarRating;
+    }
+
+    public void setAverageSentimentScore(BigDecimal averageSentimentScore) {
+        this.averageSentimentScore = averageSentimentScore;
+    }
+}
@@ -0,0 +1,115 @@
+package com.ecommerce.dto;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Sıralama indeksinden dönen ürün sırası.
+ *
+ * Sıra yarışma sıralamasıdır: aynı hibrit puanı alan ürünler aynı sırayı paylaşır (1, 2, 2, 4).
+ * Yüzdelik, ürünün puanının kapsamdaki (tüm ürünler veya kategori) yüzdelik sırasıdır.
+ * Hibrit puanı olmayan ürünler sıralamaya girmez; sıra alanları boş döner.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductRankingResponse {
+    private Long productId;
+    private String name;
+    private String category;
+    private BigDecimal hybridScore;
+    private Integer totalReviews;
+    private Integer rank;
+    private Integer rankedProducts;
+    private Double percentile;
+    private Integer categoryRank;
+    private Integer categoryRankedProducts;
+    private Double categoryPercentile;
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public BigDecimal getHybridScore() {
+        return hybridScore;
+    }
+
+    public void setHybridScore(BigDecimal hybridScore) {
+        this.hybridScore = hybridScore;
+    }
+
+    public Integer getTotalReviews() {
+        return totalReviews;
+    }
+
+    public void setTotalReviews(Integer totalReviews) {
+        this.totalReviews = totalReviews;
+    }
+
+    public Integer getRank() {
+        return rank;
+    }
+
+    public void setRank(Integer rank) {
+        this.rank = rank;
+    }
+
+    public Integer getRankedProducts() {
+        return rankedProducts;
+    }
+
+    public void setRankedProducts(Integer rankedProducts) {
+        this.rankedProducts = rankedProducts;
+    }
+
+    public Double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(Double percentile) {
+        this.percentile = percentile;
+    }
+
+    public Integer getCategoryRank() {
+        return categoryRank;
+    }
+
+    public void setCategoryRank(Integer categoryRank) {
+        this.categoryRank = categoryRank;
+    }
+
+    public Integer getCategoryRankedProducts() {
+        return categoryRankedProducts;
+    }
+
+    public void setCategoryRankedProducts(Integer categoryRankedProducts) {
+        this.categoryRankedProducts = categoryRankedProducts;
+    }
+
+    public Double getCategoryPercentile() {
+        return categoryPercentile;
+    }
+
+    public void setCategoryPercentile(Double categoryPercentile) {
+        this.categoryPercentile = categoryPercentile;
+    }
+}
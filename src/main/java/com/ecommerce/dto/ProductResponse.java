@@ -3,6 +3,8 @@ package com.ecommerce.dto;
 import java.math.BigDecimal;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class ProductResponse {
     private Long id;
     private String name;
@@ -16,7 +18,11 @@ public class ProductResponse {
     private BigDecimal shippingScore;
     private BigDecimal qualityScore;
     private BigDecimal performanceScore;
+    // Yalnızca ürün detayında ?include=reviews ile doldurulur
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<ReviewResponse> reviews;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String reviewsNextCursor;
 
     // Getter methods
     public Long getId() {
@@ -71,6 +77,10 @@ public class ProductResponse {
         return reviews;
     }
 
+    public String getReviewsNextCursor() {
+        return reviewsNextCursor;
+    }
+
     // Setter methods
     public void setId(Long id) {
         this.id = id;
@@ -123,4 +133,8 @@ public class ProductResponse {
     public void setReviews(List<ReviewResponse> reviews) {
         this.reviews = reviews;
     }
+
+    public void setReviewsNextCursor(String reviewsNextCursor) {
+        this.reviewsNextCursor = reviewsNextCursor;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.ecommerce.dto;
+
+import java.time.LocalDateTime;
+
+import com.ecommerce.entity.RescoringJobStatus;
+
+public class RescoringJobResponse {
+    private Long id;
+    private Long configVersion;
+    private RescoringJobStatus status;
+    private String phase;
+    private Integer reviewPass;
+    private Long totalReviews;
+    private Long processedReviews;
+    private Long changedReviews;
+    private Long totalProducts;
+    private Long processedProducts;
+    private Double reviewProgressPercent;
+    private Double productProgressPercent;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    // Getter methods
+    public Long getId() {
+        return id;
+    }
+
+    public Long getConfigVersion() {
+        return configVersion;
+    }
+
+    public RescoringJobStatus getStatus() {
+        return status;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public Integer getReviewPass() {
+        return reviewPass;
+    }
+
+    public Long getTotalReviews() {
+        return totalReviews;
+    }
+
+    public Long getProcessedReviews() {
+        return processedReviews;
+    }
+
+    public Long getChangedReviews() {
+        return changedReviews;
+    }
+
+    public Long getTotalProducts() {
+        return totalProducts;
+    }
+
+    public Long getProcessedProducts() {
+        return processedProducts;
+    }
+
+    public Double getReviewProgressPercent() {
+        return reviewProgressPercent;
+    }
+
+    public Double getProductProgressPercent() {
+        return productProgressPercent;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    // Setter methods
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public void setConfigVersion(Long configVersion) {
+        this.configVersion = configVersion;
+    }
+
+    public void setStatus(RescoringJobStatus status) {
+        this.status = status;
+    }
+
+    public void setPhase(String phase) {
+        this.phase = phase;
+    }
+
+    public void setReviewPass(Integer reviewPass) {
+        this.reviewPass = reviewPass;
+    }
+
+    public void setTotalReviews(Long totalReviews) {
+        this.totalReviews = totalReviews;
+    }
+
+    public void setProcessedReviews(Long processedReviews) {
+        this.processedReviews = processedReviews;
+    }
+
+    public void setChangedReviews(Long changedReviews) {
+        this.changedReviews = changedReviews;
+    }
+
+    public void setTotalProducts(Long totalProducts) {
+        this.totalProducts = totalProducts;
+    }
+
+    public void setProcessedProducts(Long processedProducts) {
+        this.processedProducts = processedProducts;
+    }
+
+    public void setReviewProgressPercent(Double reviewProgressPercent) {
+        this.reviewProgressPercent = reviewProgressPercent;
+    }
+
+    public void setProductProgressPercent(Double productProgressPercent) {
+        this.productProgressPercent = productProgressPercent;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.dto;
+
+import java.util.Locale;
+
+/**
+ * Yorum dışa aktarma biçimi: satır başına bir JSON nesnesi (NDJSON) veya başlık satırlı CSV
+ */
+public enum ReviewExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv;charset=UTF-8", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ReviewExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static ReviewExportFormat from(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid export format: " + value + " (expected ndjson or csv)");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.dto;
+
+import java.util.List;
+
+public class ReviewPageResponse {
+    private List<ReviewResponse> content;
+    private Integer limit;
+    private ReviewSortOrder sort;
+    private Boolean hasMore;
+    private String nextCursor;
+
+    // Getter methods
+    public List<ReviewResponse> getContent() {
+        return content;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public ReviewSortOrder getSort() {
+        return sort;
+    }
+
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    // Setter methods
+    public void setContent(List<ReviewResponse> content) {
+        this.content = content;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public void setSort(ReviewSortOrder sort) {
+        this.sort = sort;
+    }
+
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -3,6 +3,8 @@ package com.ecommerce.dto;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.ecommerce.entity.ScoringStatus;
+
 public class ReviewResponse {
     private Long id;
     private Long productId;
@@ -13,6 +15,7 @@ public class ReviewResponse {
     private BigDecimal hybridScore;
     private String category;
     private LocalDateTime createdAt;
+    private ScoringStatus scoringStatus;
 
     // Getter methods
     public Long getId() {
@@ -51,6 +54,10 @@ public class ReviewResponse {
         return createdAt;
     }
 
+    public ScoringStatus getScoringStatus() {
+        return scoringStatus;
+    }
+
     // Setter methods
     public void setId(Long id) {
         this.id = id;
@@ -87,4 +94,8 @@ public class ReviewResponse {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public void setScoringStatus(ScoringStatus scoringStatus) {
+        this.scoringStatus = scoringStatus;
+    }
 } 
\ No newline at end of file
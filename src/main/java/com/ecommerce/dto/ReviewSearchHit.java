@@ -0,0 +1,83 @@
+package com.ecommerce.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Arama sonucundaki yorum; score BM25 alaka puanıdır (yalnızca aynı sorgunun sonuçları arasında karşılaştırılabilir)
+ */
+public class ReviewSearchHit {
+    private Long reviewId;
+    private Long productId;
+    private Float score;
+    private String comment;
+    private Integer starRating;
+    private String sentimentLabel;
+    private String category;
+    private LocalDateTime createdAt;
+
+    // Getter methods
+    public Long getReviewId() {
+        return reviewId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Float getScore() {
+        return score;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public Integer getStarRating() {
+        return starRating;
+    }
+
+    public String getSentimentLabel() {
+        return sentimentLabel;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    // Setter methods
+    public void setReviewId(Long reviewId) {
+        this.reviewId = reviewId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public void setScore(Float score) {
+        this.score = score;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+
+    public void setStarRating(Integer starRating) {
+        this.starRating = starRating;
+    }
+
+    public void setSentimentLabel(String sentimentLabel) {
+        this.sentimentLabel = sentimentLabel;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecommerce.dto;
+
+import java.util.List;
+
+/**
+ * Yorum araması yanıtı. totalHitsExact false ise totalHits bir alt sınırdır (çok sonuçlu sorgularda sayım erken kesilir)
+ */
+public class ReviewSearchResponse {
+    private String query;
+    private Long totalHits;
+    private Boolean totalHitsExact;
+    private Integer limit;
+    private Integer offset;
+    private Long tookMs;
+    private List<ReviewSearchHit> results;
+
+    // Getter methods
+    public String getQuery() {
+        return query;
+    }
+
+    public Long getTotalHits() {
+        return totalHits;
+    }
+
+    public Boolean getTotalHitsExact() {
+        return totalHitsExact;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public Integer getOffset() {
+        return offset;
+    }
+
+    public Long getTookMs() {
+        return tookMs;
+    }
+
+    public List<ReviewSearchHit> getResults() {
+        return results;
+    }
+
+    // Setter methods
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public void setTotalHits(Long totalHits) {
+        this.totalHits = totalHits;
+    }
+
+    public void setTotalHitsExact(Boolean totalHitsExact) {
+        this.totalHitsExact = totalHitsExact;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public void setOffset(Integer offset) {
+        this.offset = offset;
+    }
+
+    public void setTookMs(Long tookMs) {
+        this.tookMs = tookMs;
+    }
+
+    public void setResults(List<ReviewSearchHit> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.dto;
+
+import java.util.Locale;
+
+/**
+ * Yorum listelerinin sıralaması: (createdAt, id) anahtarına göre yeniden eskiye veya eskiden yeniye
+ */
+public enum ReviewSortOrder {
+    NEWEST,
+    OLDEST;
+
+    public static ReviewSortOrder from(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return NEWEST;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sort option: " + value + " (expected newest or oldest)");
+        }
+    }
+}
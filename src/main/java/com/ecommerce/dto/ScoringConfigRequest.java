@@ -0,0 +1,46 @@
+package com.ecommerce.dto;
+//puanlama ağırlıkları değişikliği isteği (verilmeyen alanlar geçerli yapılandırmadan alınır)
+import java.math.BigDecimal;
+
+import com.ecommerce.entity.NeutralSentimentPolicy;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+
+public class ScoringConfigRequest {
+    @DecimalMin(value = "0.0", message = "Star rating weight must be at least 0.0")
+    @DecimalMax(value = "1.0", message = "Star rating weight must be at most 1.0")
+    private BigDecimal starRatingWeight;
+    
+    @DecimalMin(value = "0.0", message = "Sentiment weight must be at least 0.0")
+    @DecimalMax(value = "1.0", message = "Sentiment weight must be at most 1.0")
+    private BigDecimal sentimentWeight;
+    
+    private NeutralSentimentPolicy neutralPolicy;
+
+    // Getter methods
+    public BigDecimal getStarRatingWeight() {
+        return starRatingWeight;
+    }
+
+    public BigDecimal getSentimentWeight() {
+        return sentimentWeight;
+    }
+
+    public NeutralSentimentPolicy getNeutralPolicy() {
+        return neutralPolicy;
+    }
+
+    // Setter methods
+    public void setStarRatingWeight(BigDecimal starRatingWeight) {
+        this.starRatingWeight = starRatingWeight;
+    }
+
+    public void setSentimentWeight(BigDecimal sentimentWeight) {
+        this.sentimentWeight = sentimentWeight;
+    }
+
+    public void setNeutralPolicy(NeutralSentimentPolicy neutralPolicy) {
+        this.neutralPolicy = neutralPolicy;
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecommerce.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.ecommerce.entity.NeutralSentimentPolicy;
+
+public class ScoringConfigResponse {
+    private Long version;
+    private BigDecimal starRatingWeight;
+    private BigDecimal sentimentWeight;
+    private NeutralSentimentPolicy neutralPolicy;
+    private Boolean active;
+    private LocalDateTime createdAt;
+    private RescoringJobResponse rescoringJob;
+
+    // Getter methods
+    public Long getVersion() {
+        return version;
+    }
+
+    public BigDecimal getStarRatingWeight() {
+        return starRatingWeight;
+    }
+
+    public BigDecimal getSentimentWeight() {
+        return sentimentWeight;
+    }
+
+    public NeutralSentimentPolicy getNeutralPolicy() {
+        return neutralPolicy;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public RescoringJobResponse getRescoringJob() {
+        return rescoringJob;
+    }
+
+    // Setter methods
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public void setStarRatingWeight(BigDecimal starRatingWeight) {
+        this.starRatingWeight = starRatingWeight;
+    }
+
+    public void setSentimentWeight(BigDecimal sentimentWeight) {
+        this.sentimentWeight = sentimentWeight;
+    }
+
+    public void setNeutralPolicy(NeutralSentimentPolicy neutralPolicy) {
+        this.neutralPolicy = neutralPolicy;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public void setRescoringJob(RescoringJobResponse rescoringJob) {
+        this.rescoringJob = rescoringJob;
+    }
+}
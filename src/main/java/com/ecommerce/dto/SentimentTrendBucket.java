@@ -0,0 +1,104 @@
+package com.ecommerce.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Eğilim dilimi. Ortalamalar dilimdeki toplamlardan, hibrit puan ürün puanıyla aynı formülle geçerli ağırlıklarla
+ * hesaplanır; etiket sayıları puanlanmış yorumları, pendingCount duygu analizi bekleyenleri sayar
+ */
+public class SentimentTrendBucket {
+    private LocalDateTime start;
+    private Long reviewCount;
+    private BigDecimal averageStarRating;
+    private BigDecimal averageSentimentScore;
+    private BigDecimal hybridScore;
+    private Long positiveCount;
+    private Long negativeCount;
+    private Long neutralCount;
+    private Long pendingCount;
+    private Map<String, CategoryTrend> categories;
+
+    // Getter methods
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public Long getReviewCount() {
+        return reviewCount;
+    }
+
+    public BigDecimal getAverageStarRating() {
+        return averageStarRating;
+    }
+
+    public BigDecimal getAverageSentimentScore() {
+        return averageSentimentScore;
+    }
+
+    public BigDecimal getHybridScore() {
+        return hybridScore;
+    }
+
+    public Long getPositiveCount() {
+        return positiveCount;
+    }
+
+    public Long getNegativeCount() {
+        return negativeCount;
+    }
+
+    public Long getNeutralCount() {
+        return neutralCount;
+    }
+
+    public Long getPendingCount() {
+        return pendingCount;
+    }
+
+    public Map<String, CategoryTrend> getCategories() {
+        return categories;
+    }
+
+    // Setter methods
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+
+    public void setReviewCount(Long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public void setAverageStarRating(BigDecimal averageStarRating) {
+        this.averageStarRating = averageStarRating;
+    }
+
+    public void setAverageSentimentScore(BigDecimal averageSentimentScore) {
+        this.averageSentimentScore = averageSentimentScore;
+    }
+
+    public void setHybridScore(BigDecimal hybridScore) {
+        this.hybridScore = hybridScore;
+    }
+
+    public void setPositiveCount(Long positiveCount) {
+        this.positiveCount = positiveCount;
+    }
+
+    public void setNegativeCount(Long negativeCount) {
+        this.negativeCount = negativeCount;
+    }
+
+    public void setNeutralCount(Long neutralCount) {
+        this.neutralCount = neutralCount;
+    }
+
+    public void setPendingCount(Long pendingCount) {
+        this.pendingCount = pendingCount;
+    }
+
+    public void setCategories(Map<String, CategoryTrend> categories) {
+        this.categories = categories;
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.ecommerce.entity.TrendGranularity;
+
+/**
+ * Bir ürünün duygu eğilimi: [from, to) aralığındaki dilimler, yalnızca yorum içerenler (review_trend_rollups'tan)
+ */
+public class SentimentTrendResponse {
+    private Long productId;
+    private TrendGranularity granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<SentimentTrendBucket> buckets;
+
+    // Getter methods
+    public Long getProductId() {
+        return productId;
+    }
+
+    public TrendGranularity getGranularity() {
+        return granularity;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public List<SentimentTrendBucket> getBuckets() {
+        return buckets;
+    }
+
+    // Setter methods
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public void setGranularity(TrendGranularity granularity) {
+        this.granularity = granularity;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public void setBuckets(List<SentimentTrendBucket> buckets) {
+        this.buckets = buckets;
+    }
+}
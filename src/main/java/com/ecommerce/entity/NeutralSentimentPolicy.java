@@ -0,0 +1,11 @@
+package com.ecommerce.entity;
+
+/**
+ * Nötr duygu etiketli yorumların hibrit puanının nasıl hesaplanacağı
+ * STAR_ONLY: Sadece yıldız puanı kullanılır (AI emin değil, kullanıcıya güven)
+ * WEIGHTED: Pozitif/negatif yorumlar gibi yıldız ve duygu skoru ağırlıklı ortalaması kullanılır
+ */
+public enum NeutralSentimentPolicy {
+    STAR_ONLY,
+    WEIGHTED
+}
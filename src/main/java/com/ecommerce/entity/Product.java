@@ -45,6 +45,34 @@ public class Product {
     @Column(name = "performance_score", precision = 3, scale = 2)
     private BigDecimal performanceScore;
     
+    // Artımlı puan hesaplaması için toplamlar (yorum ekleme/silme/yeniden puanlamada delta ile güncellenir)
+    @Column(name = "star_rating_sum")
+    private Long starRatingSum;
+    
+    @Column(name = "sentiment_score_sum", precision = 19, scale = 2)
+    private BigDecimal sentimentScoreSum;
+    
+    @Column(name = "sentiment_score_count")
+    private Long sentimentScoreCount;
+    
+    @Column(name = "quality_hybrid_sum", precision = 19, scale = 2)
+    private BigDecimal qualityHybridSum;
+    
+    @Column(name = "quality_review_count")
+    private Long qualityReviewCount;
+    
+    @Column(name = "performance_hybrid_sum", precision = 19, scale = 2)
+    private BigDecimal performanceHybridSum;
+    
+    @Column(name = "performance_review_count")
+    private Long performanceReviewCount;
+    
+    @Column(name = "shipping_hybrid_sum", precision = 19, scale = 2)
+    private BigDecimal shippingHybridSum;
+    
+    @Column(name = "shipping_review_count")
+    private Long shippingReviewCount;
+    
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Review> reviews;
 
@@ -124,6 +152,42 @@ public class Product {
         return reviews;
     }
 
+    public Long getStarRatingSum() {
+        return starRatingSum;
+    }
+
+    public BigDecimal getSentimentScoreSum() {
+        return sentimentScoreSum;
+    }
+
+    public Long getSentimentScoreCount() {
+        return sentimentScoreCount;
+    }
+
+    public BigDecimal getQualityHybridSum() {
+        return qualityHybridSum;
+    }
+
+    public Long getQualityReviewCount() {
+        return qualityReviewCount;
+    }
+
+    public BigDecimal getPerformanceHybridSum() {
+        return performanceHybridSum;
+    }
+
+    public Long getPerformanceReviewCount() {
+        return performanceReviewCount;
+    }
+
+    public BigDecimal getShippingHybridSum() {
+        return shippingHybridSum;
+    }
+
+    public Long getShippingReviewCount() {
+        return shippingReviewCount;
+    }
+
     // Setter methods
     public void setId(Long id) {
         this.id = id;
@@ -176,4 +240,40 @@ public class Product {
     public void setReviews(List<Review> reviews) {
         this.reviews = reviews;
     }
+
+    public void setStarRatingSum(Long starRatingSum) {
+        this.starRatingSum = starRatingSum;
+    }
+
+    public void setSentimentScoreSum(BigDecimal sentimentScoreSum) {
+        this.sentimentScoreSum = sentimentScoreSum;
+    }
+
+    public void setSentimentScoreCount(Long sentimentScoreCount) {
+        this.sentimentScoreCount = sentimentScoreCount;
+    }
+
+    public void setQualityHybridSum(BigDecimal qualityHybridSum) {
+        this.qualityHybridSum = qualityHybridSum;
+    }
+
+    public void setQualityReviewCount(Long qualityReviewCount) {
+        this.qualityReviewCount = qualityReviewCount;
+    }
+
+    public void setPerformanceHybridSum(BigDecimal performanceHybridSum) {
+        this.performanceHybridSum = performanceHybridSum;
+    }
+
+    public void setPerformanceReviewCount(Long performanceReviewCount) {
+        this.performanceReviewCount = performanceReviewCount;
+    }
+
+    public void setShippingHybridSum(BigDecimal shippingHybridSum) {
+        this.shippingHybridSum = shippingHybridSum;
+    }
+
+    public void setShippingReviewCount(Long shippingReviewCount) {
+        this.shippingReviewCount = shippingReviewCount;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,248 @@
+package com.ecommerce.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+/**
+ * Puanlama yapılandırması değiştiğinde tüm yorumların ve ürün puanlarının yeniden hesaplanması işi.
+ *
+ * İlerleme (son işlenen yorum/ürün ID'si) her parça ile aynı transaction'da kaydedilir;
+ * böylece iş yeniden başlatmada kaldığı parçadan devam eder.
+ */
+@Entity
+@Table(name = "rescoring_jobs", indexes = {
+    @Index(name = "idx_rescoring_jobs_status", columnList = "status")
+})
+public class RescoringJob {
+
+    /**
+     * REVIEWS: Yorumların hibrit puanları yeniden hesaplanıyor
+     * PRODUCTS: Ürün toplamları ve puanları yeniden hesaplanıyor
+     */
+    public enum Phase {
+        REVIEWS,
+        PRODUCTS
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "config_version", nullable = false)
+    private Long configVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private RescoringJobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "phase", length = 20, nullable = false)
+    private Phase phase;
+
+    // Yorum aşamasında kaçıncı tarama (eş zamanlı yazımlardan kalan yorumlar için tekrar taranır)
+    @Column(name = "review_pass", nullable = false)
+    private Integer reviewPass;
+
+    @Column(name = "last_review_id", nullable = false)
+    private Long lastReviewId;
+
+    @Column(name = "last_product_id", nullable = false)
+    private Long lastProductId;
+
+    @Column(name = "total_reviews", nullable = false)
+    private Long totalReviews;
+
+    @Column(name = "processed_reviews", nullable = false)
+    private Long processedReviews;
+
+    @Column(name = "changed_reviews", nullable = false)
+    private Long changedReviews;
+
+    @Column(name = "total_products", nullable = false)
+    private Long totalProducts;
+
+    @Column(name = "processed_products", nullable = false)
+    private Long processedProducts;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        startedAt = LocalDateTime.now();
+        updatedAt = startedAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public RescoringJob() {
+    }
+
+    public RescoringJob(Long configVersion, long totalReviews, long totalProducts) {
+        this.configVersion = configVersion;
+        this.status = RescoringJobStatus.RUNNING;
+        this.phase = Phase.REVIEWS;
+        this.reviewPass = 1;
+        this.lastReviewId = 0L;
+        this.lastProductId = 0L;
+        this.totalReviews = totalReviews;
+        this.processedReviews = 0L;
+        this.changedReviews = 0L;
+        this.totalProducts = totalProducts;
+        this.processedProducts = 0L;
+    }
+
+    // Getter methods
+    public Long getId() {
+        return id;
+    }
+
+    public Long getConfigVersion() {
+        return configVersion;
+    }
+
+    public RescoringJobStatus getStatus() {
+        return status;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public Integer getReviewPass() {
+        return reviewPass;
+    }
+
+    public Long getLastReviewId() {
+        return lastReviewId;
+    }
+
+    public Long getLastProductId() {
+        return lastProductId;
+    }
+
+    public Long getTotalReviews() {
+        return totalReviews;
+    }
+
+    public Long getProcessedReviews() {
+        return processedReviews;
+    }
+
+    public Long getChangedReviews() {
+        return changedReviews;
+    }
+
+    public Long getTotalProducts() {
+        return totalProducts;
+    }
+
+    public Long getProcessedProducts() {
+        return processedProducts;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    // Setter methods
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public void setConfigVersion(Long configVersion) {
+        this.configVersion = configVersion;
+    }
+
+    public void setStatus(RescoringJobStatus status) {
+        this.status = status;
+    }
+
+    public void setPhase(Phase phase) {
+        this.phase = phase;
+    }
+
+    public void setReviewPass(Integer reviewPass) {
+        this.reviewPass = reviewPass;
+    }
+
+    public void setLastReviewId(Long lastReviewId) {
+        this.lastReviewId = lastReviewId;
+    }
+
+    public void setLastProductId(Long lastProductId) {
+        this.lastProductId = lastProductId;
+    }
+
+    public void setTotalReviews(Long totalReviews) {
+        this.totalReviews = totalReviews;
+    }
+
+    public void setProcessedReviews(Long processedReviews) {
+        this.processedReviews = processedReviews;
+    }
+
+    public void setChangedReviews(Long changedReviews) {
+        this.changedReviews = changedReviews;
+    }
+
+    public void setTotalProducts(Long totalProducts) {
+        this.totalProducts = totalProducts;
+    }
+
+    public void setProcessedProducts(Long processedProducts) {
+        this.processedProducts = processedProducts;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.entity;
+
+/**
+ * Toplu yeniden puanlama işinin durumu
+ * RUNNING: İş devam ediyor (uygulama yeniden başlatılırsa kaldığı yerden sürdürülür)
+ * COMPLETED: Tüm yorumlar ve ürün puanları yeni ağırlıklarla güncellendi
+ * CANCELLED: Yönetici tarafından durduruldu, tekrar başlatılabilir
+ * SUPERSEDED: Yeni bir puanlama yapılandırması kaydedildiği için yerini yeni işe bıraktı
+ * FAILED: Beklenmeyen hata, tekrar başlatılabilir
+ */
+public enum RescoringJobStatus {
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    SUPERSEDED,
+    FAILED
+}
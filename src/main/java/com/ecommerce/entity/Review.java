@@ -2,24 +2,41 @@ package com.ecommerce.entity;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
 
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+    // Sayfalı yorum listeleri için (createdAt, id) anahtar kümesi sıralamasını karşılayan bileşik indeksler
+    @Index(name = "idx_reviews_product_created_id", columnList = "product_id, created_at, id"),
+    @Index(name = "idx_reviews_sentiment_created_id", columnList = "sentiment_label, created_at, id")
+})
 public class Review {
     
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
+    // IDENTITY yerine havuzlu sıra: ID'ler 50'lik bloklar halinde ayrılır, toplu eklemede Hibernate JDBC batch kullanabilir
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_id_generator")
+    @SequenceGenerator(name = "review_id_generator", sequenceName = "review_id_seq", allocationSize = Review.ID_ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -41,12 +58,38 @@ public class Review {
     @Column(name = "hybrid_score", precision = 3, scale = 2)
     private BigDecimal hybridScore;
     
-    @Column(name = "category", length = 50)
-    private String category;
+    // Eşleşen kategorilerin bitleri (ReviewCategory); 0 genel kategori, null ise satır henüz taşınmamış.
+    // Oluşturulduktan sonra yalnızca toplu geçiş/yeniden kategorilendirme JDBC ile yazar: entity güncellemeleri
+    // eski değeri geri yazmasın diye UPDATE'e katılmaz
+    @Column(name = "category_mask", updatable = false)
+    private Integer categoryMask;
+    
+    // Kategori filtreli sorgular için normalize kopya: (category, review_id) indeksiyle yalnızca ilgili satırlar okunur
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "review_categories", joinColumns = @JoinColumn(name = "review_id"),
+                     indexes = @Index(name = "idx_review_categories_category_review", columnList = "category, review_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", length = 30, nullable = false)
+    private Set<ReviewCategory> categories = EnumSet.noneOf(ReviewCategory.class);
+    
+    // Eski virgülle ayrılmış kategori sütunu; yalnızca ReviewCategoryMigration'ın henüz taşımadığı satırlarda dolu
+    @Column(name = "category", length = 100, updatable = false)
+    private String legacyCategory;
     
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scoring_status", length = 20)
+    private ScoringStatus scoringStatus;
+    
+    @Column(name = "scoring_attempts")
+    private Integer scoringAttempts;
+    
+    // Hibrit puanın hesaplandığı puanlama yapılandırması sürümü (ScoringConfig)
+    @Column(name = "scoring_config_version")
+    private Long scoringConfigVersion;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -66,7 +109,7 @@ public class Review {
         this.sentimentScore = sentimentScore;
         this.sentimentLabel = sentimentLabel;
         this.hybridScore = hybridScore;
-        this.category = category;
+        setCategories(ReviewCategory.fromMask(ReviewCategory.parseLegacy(category)));
         this.createdAt = createdAt;
     }
 
@@ -99,14 +142,36 @@ public class Review {
         return hybridScore;
     }
 
+    /**
+     * @return "quality_durability,service_delivery" biçiminde kategoriler; hiçbiri yoksa "general"
+     */
     public String getCategory() {
-        return category;
+        return ReviewCategory.label(getCategoryMask());
+    }
+
+    /**
+     * Taşınmamış satırlarda maske eski sütundan türetilir
+     */
+    public int getCategoryMask() {
+        return categoryMask != null ? categoryMask : ReviewCategory.parseLegacy(legacyCategory);
     }
 
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
 
+    public ScoringStatus getScoringStatus() {
+        return scoringStatus;
+    }
+
+    public Integer getScoringAttempts() {
+        return scoringAttempts;
+    }
+
+    public Long getScoringConfigVersion() {
+        return scoringConfigVersion;
+    }
+
     // Setter methods
     public void setId(Long id) {
         this.id = id;
@@ -136,11 +201,26 @@ public class Review {
         this.hybridScore = hybridScore;
     }
 
-    public void setCategory(String category) {
-        this.category = category;
+    public void setCategories(Collection<ReviewCategory> categories) {
+        this.categories.clear();
+        this.categories.addAll(categories);
+        this.categoryMask = ReviewCategory.mask(categories);
+        this.legacyCategory = null;
     }
 
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public void setScoringStatus(ScoringStatus scoringStatus) {
+        this.scoringStatus = scoringStatus;
+    }
+
+    public void setScoringAttempts(Integer scoringAttempts) {
+        this.scoringAttempts = scoringAttempts;
+    }
+
+    public void setScoringConfigVersion(Long scoringConfigVersion) {
+        this.scoringConfigVersion = scoringConfigVersion;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.ecommerce.entity;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Yorum kategorileri ve category_mask sütunundaki bitleri
+ * QUALITY_DURABILITY: Kalite & Dayanıklılık
+ * USAGE_PERFORMANCE: Kullanım & Performans
+ * SERVICE_DELIVERY: Hizmet & Teslimat
+ *
+ * Bir yorum birden fazla kategoriye ait olabilir; maske eşleşen kategorilerin bitlerinin VEYA'sıdır,
+ * 0 genel (general) kategoridir. Bitler veritabanında saklandığı için değiştirilmemeli, yeni kategori
+ * yeni bitle eklenmelidir. Anahtar kelime yapılandırmasındaki burada tanımlı olmayan kategoriler saklanmaz.
+ */
+public enum ReviewCategory {
+    QUALITY_DURABILITY("quality_durability", 1),
+    USAGE_PERFORMANCE("usage_performance", 2),
+    SERVICE_DELIVERY("service_delivery", 4);
+
+    public static final String GENERAL = "general";
+
+    private final String key;
+    private final int bit;
+
+    ReviewCategory(String key, int bit) {
+        this.key = key;
+        this.bit = bit;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getBit() {
+        return bit;
+    }
+
+    public boolean isIn(int mask) {
+        return (mask & bit) != 0;
+    }
+
+    /**
+     * @return Anahtara karşılık gelen kategori; tanımlı değilse (general dahil) null
+     */
+    public static ReviewCategory fromKey(String key) {
+        for (ReviewCategory category : values()) {
+            if (category.key.equals(key)) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    public static int mask(Collection<ReviewCategory> categories) {
+        int mask = 0;
+        for (ReviewCategory category : categories) {
+            mask |= category.bit;
+        }
+        return mask;
+    }
+
+    /**
+     * Anahtarların maskesi; tanımlı olmayan anahtarlar yok sayılır
+     */
+    public static int maskOfKeys(Collection<String> keys) {
+        int mask = 0;
+        for (String key : keys) {
+            ReviewCategory category = fromKey(key);
+            if (category != null) {
+                mask |= category.bit;
+            }
+        }
+        return mask;
+    }
+
+    public static Set<ReviewCategory> fromMask(int mask) {
+        Set<ReviewCategory> categories = EnumSet.noneOf(ReviewCategory.class);
+        for (ReviewCategory category : values()) {
+            if (category.isIn(mask)) {
+                categories.add(category);
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * Eski virgülle ayrılmış kategori değerinin maskesi: "quality_durability,service_delivery" -> 5
+     */
+    public static int parseLegacy(String categories) {
+        if (categories == null) {
+            return 0;
+        }
+        return maskOfKeys(Arrays.asList(categories.split(",")));
+    }
+
+    /**
+     * API'deki kategori gösterimi: kategoriler tanım sırasıyla virgülle birleştirilir, maske 0 ise "general"
+     */
+    public static String label(int mask) {
+        StringJoiner label = new StringJoiner(",");
+        for (ReviewCategory category : values()) {
+            if (category.isIn(mask)) {
+                label.add(category.key);
+            }
+        }
+        return label.length() == 0 ? GENERAL : label.toString();
+    }
+}
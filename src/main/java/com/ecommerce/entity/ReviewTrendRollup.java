@@ -0,0 +1,208 @@
+package com.ecommerce.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Bir ürünün bir saatlik veya günlük dilimdeki yorum toplamları (duygu eğilimi özetleri).
+ *
+ * Satırlar ReviewTrendRollupService tarafından JDBC ile yazılır: saatlik satır o saatte oluşturulan yorumlardan,
+ * günlük satır günün saatlik satırlarından hesaplanır. Ortalamalar okurken toplam / sayı olarak türetilir.
+ * Etiket sayıları yalnızca puanlanmış yorumları sayar; duygu analizi bekleyenler pendingCount'tadır
+ * (duygu toplamlarına ürün puanlarındaki gibi geçici değerleriyle katılırlar).
+ * Kategori sütunları ürün puanlarıyla aynı adlandırmayı izler: quality, performance, shipping.
+ */
+@Entity
+@Table(name = "review_trend_rollups", indexes = {
+    // Eğilim sorguları ürün + dilim türü + zaman aralığı okur; aynı dilim iki kez yazılamaz
+    @Index(name = "uk_review_trend_rollups_bucket", columnList = "product_id, granularity, bucket_start", unique = true)
+})
+public class ReviewTrendRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    
+    // HOUR veya DAY (haftalık eğilim günlük satırlardan toplanır)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", length = 10, nullable = false)
+    private TrendGranularity granularity;
+    
+    // Dilimin başlangıcı (sunucu saat dilimi, created_at ile aynı)
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(name = "review_count", nullable = false)
+    private Long reviewCount;
+    
+    @Column(name = "star_rating_sum", nullable = false)
+    private Long starRatingSum;
+    
+    @Column(name = "sentiment_score_sum", precision = 19, scale = 2, nullable = false)
+    private BigDecimal sentimentScoreSum;
+    
+    @Column(name = "sentiment_score_count", nullable = false)
+    private Long sentimentScoreCount;
+    
+    @Column(name = "positive_count", nullable = false)
+    private Long positiveCount;
+    
+    @Column(name = "negative_count", nullable = false)
+    private Long negativeCount;
+    
+    @Column(name = "neutral_count", nullable = false)
+    private Long neutralCount;
+    
+    @Column(name = "pending_count", nullable = false)
+    private Long pendingCount;
+    
+    @Column(name = "quality_review_count", nullable = false)
+    private Long qualityReviewCount;
+    
+    @Column(name = "quality_star_rating_sum", nullable = false)
+    private Long qualityStarRatingSum;
+    
+    @Column(name = "quality_sentiment_score_sum", precision = 19, scale = 2, nullable = false)
+    private BigDecimal qualitySentimentScoreSum;
+    
+    @Column(name = "quality_sentiment_score_count", nullable = false)
+    private Long qualitySentimentScoreCount;
+    
+    @Column(name = "performance_review_count", nullable = false)
+    private Long performanceReviewCount;
+    
+    @Column(name = "performance_star_rating_sum", nullable = false)
+    private Long performanceStarRatingSum;
+    
+    @Column(name = "performance_sentiment_score_sum", precision = 19, scale = 2, nullable = false)
+    private BigDecimal performanceSentimentScoreSum;
+    
+    @Column(name = "performance_sentiment_score_count", nullable = false)
+    private Long performanceSentimentScoreCount;
+    
+    @Column(name = "shipping_review_count", nullable = false)
+    private Long shippingReviewCount;
+    
+    @Column(name = "shipping_star_rating_sum", nullable = false)
+    private Long shippingStarRatingSum;
+    
+    @Column(name = "shipping_sentiment_score_sum", precision = 19, scale = 2, nullable = false)
+    private BigDecimal shippingSentimentScoreSum;
+    
+    @Column(name = "shipping_sentiment_score_count", nullable = false)
+    private Long shippingSentimentScoreCount;
+    
+    // Constructors
+    public ReviewTrendRollup() {
+    }
+
+    // Getter methods
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public TrendGranularity getGranularity() {
+        return granularity;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public Long getReviewCount() {
+        return reviewCount;
+    }
+
+    public Long getStarRatingSum() {
+        return starRatingSum;
+    }
+
+    public BigDecimal getSentimentScoreSum() {
+        return sentimentScoreSum;
+    }
+
+    public Long getSentimentScoreCount() {
+        return sentimentScoreCount;
+    }
+
+    public Long getPositiveCount() {
+        return positiveCount;
+    }
+
+    public Long getNegativeCount() {
+        return negativeCount;
+    }
+
+    public Long getNeutralCount() {
+        return neutralCount;
+    }
+
+    public Long getPendingCount() {
+        return pendingCount;
+    }
+
+    public Long getQualityReviewCount() {
+        return qualityReviewCount;
+    }
+
+    public Long getQualityStarRatingSum() {
+        return qualityStarRatingSum;
+    }
+
+    public BigDecimal getQualitySentimentScoreSum() {
+        return qualitySentimentScoreSum;
+    }
+
+    public Long getQualitySentimentScoreCount() {
+        return qualitySentimentScoreCount;
+    }
+
+    public Long getPerformanceReviewCount() {
+        return performanceReviewCount;
+    }
+
+    public Long getPerformanceStarRatingSum() {
+        return performanceStarRatingSum;
+    }
+
+    public BigDecimal getPerformanceSentimentScoreSum() {
+        return performanceSentimentScoreSum;
+    }
+
+    public Long getPerformanceSentimentScoreCount() {
+        return performanceSentimentScoreCount;
+    }
+
+    public Long getShippingReviewCount() {
+        return shippingReviewCount;
+    }
+
+    public Long getShippingStarRatingSum() {
+        return shippingStarRatingSum;
+    }
+
+    public BigDecimal getShippingSentimentScoreSum() {
+        return shippingSentimentScoreSum;
+    }
+
+    public Long getShippingSentimentScoreCount() {
+        return shippingSentimentScoreCount;
+    }
+}
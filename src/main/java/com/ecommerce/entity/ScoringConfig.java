@@ -0,0 +1,98 @@
+package com.ecommerce.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+/**
+ * Hibrit puan yapılandırmasının bir sürümü (ağırlıklar ve nötr duygu kuralı).
+ * Kayıtlar değiştirilmez; her değişiklik yeni bir sürüm ekler ve en son sürüm geçerlidir.
+ * Yorumlar hangi sürümle puanlandıklarını scoring_config_version sütununda tutar.
+ */
+@Entity
+@Table(name = "scoring_config")
+public class ScoringConfig {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long version;
+
+    @Column(name = "star_rating_weight", precision = 5, scale = 4, nullable = false)
+    private BigDecimal starRatingWeight;
+
+    @Column(name = "sentiment_weight", precision = 5, scale = 4, nullable = false)
+    private BigDecimal sentimentWeight;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "neutral_policy", length = 20, nullable = false)
+    private NeutralSentimentPolicy neutralPolicy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public ScoringConfig() {
+    }
+
+    public ScoringConfig(BigDecimal starRatingWeight, BigDecimal sentimentWeight, NeutralSentimentPolicy neutralPolicy) {
+        this.starRatingWeight = starRatingWeight;
+        this.sentimentWeight = sentimentWeight;
+        this.neutralPolicy = neutralPolicy;
+    }
+
+    // Getter methods
+    public Long getVersion() {
+        return version;
+    }
+
+    public BigDecimal getStarRatingWeight() {
+        return starRatingWeight;
+    }
+
+    public BigDecimal getSentimentWeight() {
+        return sentimentWeight;
+    }
+
+    public NeutralSentimentPolicy getNeutralPolicy() {
+        return neutralPolicy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    // Setter methods
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public void setStarRatingWeight(BigDecimal starRatingWeight) {
+        this.starRatingWeight = starRatingWeight;
+    }
+
+    public void setSentimentWeight(BigDecimal sentimentWeight) {
+        this.sentimentWeight = sentimentWeight;
+    }
+
+    public void setNeutralPolicy(NeutralSentimentPolicy neutralPolicy) {
+        this.neutralPolicy = neutralPolicy;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.entity;
+
+/**
+ * Bir yorumun duygu analizi (sentiment) puanlama durumu
+ * PENDING: Yorum kaydedildi, Python API sonucu bekleniyor
+ * SCORED: Duygu analizi tamamlandı ve hibrit puan güncellendi
+ * FAILED: Tüm denemeler başarısız oldu, yıldız bazlı geçici puan kullanılıyor
+ */
+public enum ScoringStatus {
+    PENDING,
+    SCORED,
+    FAILED
+}
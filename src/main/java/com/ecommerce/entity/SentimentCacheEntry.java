@@ -0,0 +1,104 @@
+package com.ecommerce.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Duygu analizi önbelleğinin kalıcı katmanı: normalize edilmiş metin hash'i → model sonucu
+ * Uygulama yeniden başlatıldığında önbellek isabetlerinin korunmasını sağlar
+ */
+@Entity
+@Table(name = "sentiment_cache", indexes = {
+    @Index(name = "idx_sentiment_cache_model_version", columnList = "model_version")
+})
+public class SentimentCacheEntry {
+
+    @Id
+    @Column(name = "text_hash", length = 64)
+    private String textHash;
+
+    @Column(name = "label", length = 20, nullable = false)
+    private String label;
+
+    @Column(name = "original_score", precision = 5, scale = 4)
+    private BigDecimal originalScore;
+
+    @Column(name = "normalized_score", precision = 5, scale = 4)
+    private BigDecimal normalizedScore;
+
+    @Column(name = "model_version", length = 200)
+    private String modelVersion;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public SentimentCacheEntry() {
+    }
+
+    public SentimentCacheEntry(String textHash, String label, BigDecimal originalScore,
+                               BigDecimal normalizedScore, String modelVersion, LocalDateTime createdAt) {
+        this.textHash = textHash;
+        this.label = label;
+        this.originalScore = originalScore;
+        this.normalizedScore = normalizedScore;
+        this.modelVersion = modelVersion;
+        this.createdAt = createdAt;
+    }
+
+    // Getter methods
+    public String getTextHash() {
+        return textHash;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public BigDecimal getOriginalScore() {
+        return originalScore;
+    }
+
+    public BigDecimal getNormalizedScore() {
+        return normalizedScore;
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    // Setter methods
+    public void setTextHash(String textHash) {
+        this.textHash = textHash;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public void setOriginalScore(BigDecimal originalScore) {
+        this.originalScore = originalScore;
+    }
+
+    public void setNormalizedScore(BigDecimal normalizedScore) {
+        this.normalizedScore = normalizedScore;
+    }
+
+    public void setModelVersion(String modelVersion) {
+        this.modelVersion = modelVersion;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.entity;
+
+import java.util.Locale;
+
+/**
+ * Duygu eğilimi dilimleri. HOUR ve DAY review_trend_rollups tablosunda saklanır; WEEK (pazartesi başlangıçlı)
+ * okurken günlük satırlardan toplanır.
+ */
+public enum TrendGranularity {
+    HOUR,
+    DAY,
+    WEEK;
+
+    public static TrendGranularity from(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return DAY;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid granularity: " + value + " (expected hour, day or week)");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.event;
+
+/**
+ * Anahtar kelime sözlüğü yeniden yüklendi ve kategori eşleştirmesi değişti (anahtar kelime veya kategori
+ * eklendi/çıkarıldı). Yeniden kategorilendirme açıksa ReviewRecategorizationService mevcut yorumları yeni
+ * sözlükle tarar.
+ */
+public class KeywordDictionaryChangedEvent {
+
+    private final long previousVersion;
+    private final long version;
+
+    public KeywordDictionaryChangedEvent(long previousVersion, long version) {
+        this.previousVersion = previousVersion;
+        this.version = version;
+    }
+
+    public long getPreviousVersion() {
+        return previousVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecommerce.event;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ecommerce.entity.Product;
+
+/**
+ * Bir ürünün sıralamaya giren alanları (hibrit puan, kategori, ad, yorum sayısı) değişti ya da ürün silindi.
+ * Transaction commit edildikten sonra ProductRankingIndex ve ProductResponseCache (ürünün kayıtlarını siler)
+ * tarafından işlenir.
+ *
+ * Olaylar ürün satırı kilitliyken oluşturulur; sıra numarası aynı ürüne ait commit'lerin sırasını taşır,
+ * böylece commit sonrası dinleyiciler farklı sırayla çalışsa bile eski değer yenisinin üzerine yazılmaz.
+ */
+public class ProductRankingChangedEvent {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final Long productId;
+    private final String name;
+    private final String category;
+    private final BigDecimal hybridScore;
+    private final Integer totalReviews;
+    private final boolean removed;
+    private final long sequence;
+
+    private ProductRankingChangedEvent(Long productId, String name, String category, BigDecimal hybridScore,
+                                       Integer totalReviews, boolean removed) {
+        this.productId = productId;
+        this.name = name;
+        this.category = category;
+        this.hybridScore = hybridScore;
+        this.totalReviews = totalReviews;
+        this.removed = removed;
+        this.sequence = SEQUENCE.incrementAndGet();
+    }
+
+    public static ProductRankingChangedEvent updated(Product product) {
+        return new ProductRankingChangedEvent(product.getId(), product.getName(), product.getCategory(),
+                                              product.getHybridScore(), product.getTotalReviews(), false);
+    }
+
+    public static ProductRankingChangedEvent removed(Long productId) {
+        return new ProductRankingChangedEvent(productId, null, null, null, null, true);
+    }
+
+    /**
+     * Şimdiye kadar verilen en büyük sıra numarası (yeniden yüklemenin başlangıç noktası)
+     */
+    public static long currentSequence() {
+        return SEQUENCE.get();
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public BigDecimal getHybridScore() {
+        return hybridScore;
+    }
+
+    public Integer getTotalReviews() {
+        return totalReviews;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.event;
+
+/**
+ * Bir ürünün yorumları ürün puanlarına dokunmadan değişti (ör. puanlama denemesi FAILED ile bitti,
+ * yeniden puanlamada yorumun hibrit puanı güncellendi). Ürün satırındaki değişiklikler
+ * ProductRankingChangedEvent ile bildirilir; ikisi de commit sonrası ProductResponseCache'i geçersiz kılar.
+ */
+public class ProductReviewsChangedEvent {
+
+    private final Long productId;
+
+    public ProductReviewsChangedEvent(Long productId) {
+        this.productId = productId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+}
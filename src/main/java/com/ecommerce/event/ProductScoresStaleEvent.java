@@ -0,0 +1,20 @@
+package com.ecommerce.event;
+
+/**
+ * Bir ürünün yorumları değişti ancak ürün satırındaki puanlar henüz güncellenmedi (yazma birleştirme açıkken
+ * yorum ekleme, silme ve puanlama). Commit sonrası ProductScoreUpdateCoalescer ürünü kirli olarak işaretler;
+ * puanlar bir sonraki boşaltmada yeniden hesaplanır ve ProductRankingChangedEvent ile bildirilir.
+ * ProductResponseCache ürünün yorum listesini hemen geçersiz kılar.
+ */
+public class ProductScoresStaleEvent {
+
+    private final Long productId;
+
+    public ProductScoresStaleEvent(Long productId) {
+        this.productId = productId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.event;
+
+/**
+ * Yeni kaydedilen bir yorumun arka planda duygu analizine gönderilmesi gerektiğini bildirir.
+ * Transaction commit edildikten sonra SentimentScoringWorker tarafından işlenir.
+ */
+public class ReviewScoringRequestedEvent {
+
+    private final Long reviewId;
+
+    public ReviewScoringRequestedEvent(Long reviewId) {
+        this.reviewId = reviewId;
+    }
+
+    public Long getReviewId() {
+        return reviewId;
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.event;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Bir ürünün verilen zamanlarda oluşturulmuş yorumları eklendi, silindi veya duygu sonucu/kategorisi değişti.
+ * Commit sonrası ReviewTrendRollupService bu yorumların saatlik dilimlerini kirli olarak işaretler; dilimler ve
+ * günleri bir sonraki boşaltmada reviews tablosundan yeniden hesaplanır.
+ */
+public class ReviewTrendsStaleEvent {
+
+    private final Long productId;
+    private final List<LocalDateTime> createdAt;
+
+    public ReviewTrendsStaleEvent(Long productId, Collection<LocalDateTime> createdAt) {
+        this.productId = productId;
+        // created_at'i olmayan eski yorumlar hiçbir dilime girmez
+        this.createdAt = createdAt.stream().filter(Objects::nonNull).toList();
+    }
+
+    public static ReviewTrendsStaleEvent of(Long productId, LocalDateTime createdAt) {
+        return new ReviewTrendsStaleEvent(productId, Collections.singletonList(createdAt));
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public List<LocalDateTime> getCreatedAt() {
+        return createdAt;
+    }
+}
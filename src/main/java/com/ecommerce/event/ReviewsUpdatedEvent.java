@@ -0,0 +1,26 @@
+package com.ecommerce.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Yorumların arama indeksinde tutulan alanları değişti (yorum eklendi/silindi, duygu sonucu uygulandı,
+ * kategorisi değişti). ReviewSearchIndex commit sonrası yorumları veritabanından yeniden okuyup indeksler;
+ * artık bulunmayan yorumlar indeksten silinir.
+ */
+public class ReviewsUpdatedEvent {
+
+    private final List<Long> reviewIds;
+
+    public ReviewsUpdatedEvent(Collection<Long> reviewIds) {
+        this.reviewIds = List.copyOf(reviewIds);
+    }
+
+    public static ReviewsUpdatedEvent of(Long reviewId) {
+        return new ReviewsUpdatedEvent(List.of(reviewId));
+    }
+
+    public List<Long> getReviewIds() {
+        return reviewIds;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.event;
+
+import com.ecommerce.service.SentimentCircuitBreaker;
+
+/**
+ * Duygu analizi servisi devre kesicisinin durum değiştirdiğini bildirir.
+ * Devre yarı açıktan kapalıya geçtiğinde SentimentScoringWorker bekleyen yorumları tekrar kuyruğa alır.
+ */
+public class SentimentCircuitStateChangedEvent {
+
+    private final SentimentCircuitBreaker.State previousState;
+    private final SentimentCircuitBreaker.State state;
+
+    public SentimentCircuitStateChangedEvent(SentimentCircuitBreaker.State previousState,
+                                             SentimentCircuitBreaker.State state) {
+        this.previousState = previousState;
+        this.state = state;
+    }
+
+    public SentimentCircuitBreaker.State getPreviousState() {
+        return previousState;
+    }
+
+    public SentimentCircuitBreaker.State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.repository;
+
+import java.math.BigDecimal;
+
+import com.ecommerce.entity.ReviewCategory;
+
+/**
+ * Bir ürünün belirli bir kategoriye ait yorumlarının hibrit puan toplamı ve sayısı
+ */
+public interface CategoryScoreTotals {
+
+    // Yalnızca kategoriye göre gruplanan sorguda dolu
+    ReviewCategory getCategory();
+
+    Long getReviewCount();
+
+    BigDecimal getHybridScoreSum();
+}
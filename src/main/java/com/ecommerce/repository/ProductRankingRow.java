@@ -0,0 +1,19 @@
+package com.ecommerce.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Sıralama indeksinin açılışta yüklediği ürün alanları
+ */
+public interface ProductRankingRow {
+
+    Long getId();
+
+    String getName();
+
+    String getCategory();
+
+    BigDecimal getHybridScore();
+
+    Integer getTotalReviews();
+}
@@ -1,18 +1,37 @@
 package com.ecommerce.repository;
 
 import com.ecommerce.entity.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
-    List<Product> findByCategory(String category);
+    String SUMMARY_SELECT = "SELECT p.id AS id, p.name AS name, p.description AS description, p.price AS price, " +
+                            "p.category AS category, p.imageUrl AS imageUrl, p.averageRating AS averageRating, " +
+                            "p.hybridScore AS hybridScore, p.totalReviews AS totalReviews, p.shippingScore AS shippingScore, " +
+                            "p.qualityScore AS qualityScore, p.performanceScore AS performanceScore FROM Product p";
+    
+    // Liste uç noktaları: yorumlar yüklenmeden ürün başına tek satır
+    @Query(SUMMARY_SELECT + " ORDER BY p.id")
+    List<ProductSummary> findAllSummaries();
+    
+    @Query(SUMMARY_SELECT + " WHERE p.category = :category ORDER BY p.id")
+    List<ProductSummary> findSummariesByCategory(@Param("category") String category);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :productId")
+    Optional<Product> findByIdForUpdate(@Param("productId") Long productId);
     
     @Query("SELECT p FROM Product p WHERE p.averageRating >= :minRating")
     List<Product> findByAverageRatingGreaterThanEqual(@Param("minRating") BigDecimal minRating);
@@ -22,4 +41,12 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     
     @Query("SELECT AVG(p.hybridScore) FROM Product p")
     BigDecimal getAverageHybridScore();
-} 
\ No newline at end of file
+
+    @Query("SELECT p.id FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Sıralama indeksinin yeniden yüklenmesi: ID sırasıyla sayfa sayfa
+    @Query("SELECT p.id AS id, p.name AS name, p.category AS category, p.hybridScore AS hybridScore, " +
+           "p.totalReviews AS totalReviews FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductRankingRow> findRankingRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
\ No newline at end of file
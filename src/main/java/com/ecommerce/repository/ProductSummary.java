@@ -0,0 +1,33 @@
+package com.ecommerce.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Ürün listeleri için hafif izdüşüm: ürün alanları ve toplu puanlar, yorumlar olmadan tek sorguda
+ */
+public interface ProductSummary {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    BigDecimal getPrice();
+
+    String getCategory();
+
+    String getImageUrl();
+
+    BigDecimal getAverageRating();
+
+    BigDecimal getHybridScore();
+
+    Integer getTotalReviews();
+
+    BigDecimal getShippingScore();
+
+    BigDecimal getQualityScore();
+
+    BigDecimal getPerformanceScore();
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.entity.RescoringJob;
+import com.ecommerce.entity.RescoringJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.LockModeType;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RescoringJobRepository extends JpaRepository<RescoringJob, Long> {
+
+    Optional<RescoringJob> findTopByOrderByIdDesc();
+
+    List<RescoringJob> findByStatusOrderByIdDesc(RescoringJobStatus status);
+
+    // İş satırı her parça boyunca kilitlenir; iptal/yerine geçme güncellemeleri parça bitince uygulanır
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM RescoringJob j WHERE j.id = :jobId")
+    Optional<RescoringJob> findByIdForUpdate(@Param("jobId") Long jobId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE RescoringJob j SET j.status = :newStatus, j.finishedAt = CURRENT_TIMESTAMP " +
+           "WHERE j.id = :jobId AND j.status = :status")
+    int updateStatus(@Param("jobId") Long jobId,
+                     @Param("status") RescoringJobStatus status,
+                     @Param("newStatus") RescoringJobStatus newStatus);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE RescoringJob j SET j.status = :newStatus, j.finishedAt = CURRENT_TIMESTAMP " +
+           "WHERE j.status = :status AND j.id <> :exceptId")
+    int updateStatusExcept(@Param("status") RescoringJobStatus status,
+                           @Param("newStatus") RescoringJobStatus newStatus,
+                           @Param("exceptId") Long exceptId);
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Yorum dışa aktarma filtreleri; boş bırakılan alan filtrelenmez.
+ * Hibrit puan aralığı kapalı ([min, max]), oluşturulma zamanı aralığı yarı açıktır ([from, to)).
+ */
+public class ReviewExportFilter {
+
+    private Long productId;
+    private String sentimentLabel;
+    private String category;
+    private BigDecimal minHybridScore;
+    private BigDecimal maxHybridScore;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+
+    /**
+     * @throws IllegalArgumentException Aralık sınırları ters verilmişse
+     */
+    public void validate() {
+        if (minHybridScore != null && maxHybridScore != null && minHybridScore.compareTo(maxHybridScore) > 0) {
+            throw new IllegalArgumentException("minHybridScore must not be greater than maxHybridScore");
+        }
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new IllegalArgumentException("createdFrom must be before createdTo");
+        }
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getSentimentLabel() {
+        return sentimentLabel;
+    }
+
+    public void setSentimentLabel(String sentimentLabel) {
+        this.sentimentLabel = sentimentLabel;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public BigDecimal getMinHybridScore() {
+        return minHybridScore;
+    }
+
+    public void setMinHybridScore(BigDecimal minHybridScore) {
+        this.minHybridScore = minHybridScore;
+    }
+
+    public BigDecimal getMaxHybridScore() {
+        return maxHybridScore;
+    }
+
+    public void setMaxHybridScore(BigDecimal maxHybridScore) {
+        this.maxHybridScore = maxHybridScore;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+}
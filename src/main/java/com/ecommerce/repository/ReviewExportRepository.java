@@ -0,0 +1,15 @@
+package com.ecommerce.repository;
+
+import java.util.stream.Stream;
+
+/**
+ * ReviewRepository parçası: yorumların ileri yönlü JDBC imleciyle akış olarak okunması
+ */
+public interface ReviewExportRepository {
+
+    /**
+     * Filtreye uyan yorumları akış olarak döndürür. Akış açık bir transaction içinde tüketilmeli ve kapatılmalıdır;
+     * satırlar fetchSize'lık parçalar halinde (MySQL'de Integer.MIN_VALUE ile satır satır) okunur.
+     */
+    Stream<ReviewExportRow> streamForExport(ReviewExportFilter filter, int fetchSize);
+}
@@ -0,0 +1,102 @@
+package com.ecommerce.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.ecommerce.entity.ReviewCategory;
+import com.ecommerce.service.ReviewCategoryMigration;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Filtreler sorguya yalnızca verildiklerinde eklenir; böylece "(:p IS NULL OR ...)" kalıbının indeks kullanımını
+ * engellemesi önlenir. Ürün veya duygu filtresinde sıralama (createdAt, id) bileşik indeksleriyle, diğer durumlarda
+ * birincil anahtarla yapılır; iki durumda da ilk satır tüm sonuç sıralanmadan gelir. Kategori filtresi
+ * review_categories (category, review_id) indeksiyle çözülür.
+ */
+public class ReviewExportRepositoryImpl implements ReviewExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ReviewCategoryMigration reviewCategoryMigration;
+
+    @Override
+    public Stream<ReviewExportRow> streamForExport(ReviewExportFilter filter, int fetchSize) {
+        StringBuilder jpql = new StringBuilder(
+            "SELECT new com.ecommerce.repository.ReviewExportRow(r.id, r.product.id, r.starRating, r.sentimentLabel, "
+            + "r.sentimentScore, r.hybridScore, r.categoryMask, r.legacyCategory, r.scoringStatus, r.createdAt, r.comment) "
+            + "FROM Review r WHERE 1 = 1");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        if (filter.getProductId() != null) {
+            jpql.append(" AND r.product.id = :productId");
+            parameters.put("productId", filter.getProductId());
+        }
+        if (filter.getSentimentLabel() != null) {
+            jpql.append(" AND r.sentimentLabel = :sentimentLabel");
+            parameters.put("sentimentLabel", filter.getSentimentLabel());
+        }
+        if (filter.getCategory() != null) {
+            appendCategoryFilter(jpql, parameters, filter.getCategory());
+        }
+        if (filter.getMinHybridScore() != null) {
+            jpql.append(" AND r.hybridScore >= :minHybridScore");
+            parameters.put("minHybridScore", filter.getMinHybridScore());
+        }
+        if (filter.getMaxHybridScore() != null) {
+            jpql.append(" AND r.hybridScore <= :maxHybridScore");
+            parameters.put("maxHybridScore", filter.getMaxHybridScore());
+        }
+        if (filter.getCreatedFrom() != null) {
+            jpql.append(" AND r.createdAt >= :createdFrom");
+            parameters.put("createdFrom", filter.getCreatedFrom());
+        }
+        if (filter.getCreatedTo() != null) {
+            jpql.append(" AND r.createdAt < :createdTo");
+            parameters.put("createdTo", filter.getCreatedTo());
+        }
+        boolean indexedByCreatedAt = filter.getProductId() != null || filter.getSentimentLabel() != null;
+        jpql.append(indexedByCreatedAt ? " ORDER BY r.createdAt, r.id" : " ORDER BY r.id");
+
+        TypedQuery<ReviewExportRow> query = entityManager.createQuery(jpql.toString(), ReviewExportRow.class)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true);
+        parameters.forEach(query::setParameter);
+        return query.getResultStream();
+    }
+
+    private void appendCategoryFilter(StringBuilder jpql, Map<String, Object> parameters, String key) {
+        boolean legacyRows = !reviewCategoryMigration.isComplete();
+        if (ReviewCategory.GENERAL.equals(key)) {
+            jpql.append(legacyRows
+                ? " AND (r.categoryMask = 0 OR (r.categoryMask IS NULL AND (r.legacyCategory IS NULL OR r.legacyCategory = 'general')))"
+                : " AND r.categoryMask = 0");
+            return;
+        }
+
+        ReviewCategory category = ReviewCategory.fromKey(key);
+        if (category == null) {
+            // Tanımsız kategoriye ait yorum saklanmaz
+            jpql.append(" AND 1 = 0");
+            return;
+        }
+        jpql.append(" AND (:category MEMBER OF r.categories");
+        if (legacyRows) {
+            // Taşınmamış satırlarda eski sütun virgülle ayrılmış olabilir: "quality_durability,service_delivery"
+            jpql.append(" OR (r.categoryMask IS NULL AND (r.legacyCategory = :categoryKey "
+                + "OR r.legacyCategory LIKE CONCAT(:categoryKey, ',%') OR r.legacyCategory LIKE CONCAT('%,', :categoryKey) "
+                + "OR r.legacyCategory LIKE CONCAT('%,', :categoryKey, ',%')))");
+            parameters.put("categoryKey", key);
+        }
+        jpql.append(")");
+        parameters.put("category", category);
+    }
+}
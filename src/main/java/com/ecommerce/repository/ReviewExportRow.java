@@ -0,0 +1,81 @@
+package com.ecommerce.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.ecommerce.entity.ReviewCategory;
+import com.ecommerce.entity.ScoringStatus;
+
+/**
+ * Dışa aktarılan yorum satırı. JPQL yapıcı ifadesiyle (SELECT new ...) okunur; yönetilen entity olmadığı için
+ * kalıcılık bağlamında birikmez ve akış boyunca bellek kullanımı sabit kalır.
+ */
+public class ReviewExportRow {
+
+    private final Long id;
+    private final Long productId;
+    private final Integer starRating;
+    private final String sentimentLabel;
+    private final BigDecimal sentimentScore;
+    private final BigDecimal hybridScore;
+    private final String category;
+    private final ScoringStatus scoringStatus;
+    private final LocalDateTime createdAt;
+    private final String comment;
+
+    public ReviewExportRow(Long id, Long productId, Integer starRating, String sentimentLabel,
+                           BigDecimal sentimentScore, BigDecimal hybridScore, Integer categoryMask,
+                           String legacyCategory, ScoringStatus scoringStatus, LocalDateTime createdAt, String comment) {
+        this.id = id;
+        this.productId = productId;
+        this.starRating = starRating;
+        this.sentimentLabel = sentimentLabel;
+        this.sentimentScore = sentimentScore;
+        this.hybridScore = hybridScore;
+        // Taşınmamış satırlarda kategori eski sütundan türetilir
+        this.category = ReviewCategory.label(categoryMask != null ? categoryMask : ReviewCategory.parseLegacy(legacyCategory));
+        this.scoringStatus = scoringStatus;
+        this.createdAt = createdAt;
+        this.comment = comment;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Integer getStarRating() {
+        return starRating;
+    }
+
+    public String getSentimentLabel() {
+        return sentimentLabel;
+    }
+
+    public BigDecimal getSentimentScore() {
+        return sentimentScore;
+    }
+
+    public BigDecimal getHybridScore() {
+        return hybridScore;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public ScoringStatus getScoringStatus() {
+        return scoringStatus;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+}
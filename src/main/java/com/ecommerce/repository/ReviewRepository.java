@@ -1,18 +1,21 @@
 package com.ecommerce.repository;
 
 import com.ecommerce.entity.Review;
+import com.ecommerce.entity.ScoringStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ReviewRepository extends JpaRepository<Review, Long> {
-    
-    List<Review> findByProductId(Long productId);
+public interface ReviewRepository extends JpaRepository<Review, Long>, ReviewExportRepository {
     
     @Query("SELECT AVG(r.starRating) FROM Review r WHERE r.product.id = :productId")
     BigDecimal getAverageStarRatingByProductId(@Param("productId") Long productId);
@@ -26,8 +29,95 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT COUNT(r) FROM Review r WHERE r.product.id = :productId")
     Long getReviewCountByProductId(@Param("productId") Long productId);
     
-    List<Review> findBySentimentLabel(String sentimentLabel);
+    // Anahtar kümesi sayfalaması: (createdAt, id) imlecinden sonraki yorumlar; idx_reviews_product_created_id ile taranır
+    @Query("SELECT r FROM Review r WHERE r.product.id = :productId " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findPageByProductIdNewestFirst(@Param("productId") Long productId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
+    @Query("SELECT r FROM Review r WHERE r.product.id = :productId " +
+           "AND (r.createdAt > :createdAt OR (r.createdAt = :createdAt AND r.id > :id)) " +
+           "ORDER BY r.createdAt ASC, r.id ASC")
+    List<Review> findPageByProductIdOldestFirst(@Param("productId") Long productId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
+    // idx_reviews_sentiment_created_id ile taranır
+    @Query("SELECT r FROM Review r WHERE r.sentimentLabel = :sentimentLabel " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findPageBySentimentLabelNewestFirst(@Param("sentimentLabel") String sentimentLabel,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
+
+    @Query("SELECT r FROM Review r WHERE r.sentimentLabel = :sentimentLabel " +
+           "AND (r.createdAt > :createdAt OR (r.createdAt = :createdAt AND r.id > :id)) " +
+           "ORDER BY r.createdAt ASC, r.id ASC")
+    List<Review> findPageBySentimentLabelOldestFirst(@Param("sentimentLabel") String sentimentLabel,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
 
     @Query("SELECT r FROM Review r WHERE r.hybridScore >= :minScore")
     List<Review> findByHybridScoreGreaterThanEqual(@Param("minScore") BigDecimal minScore);
-} 
\ No newline at end of file
+
+    @Query("SELECT r.id FROM Review r WHERE r.scoringStatus = :status AND r.createdAt < :before ORDER BY r.id")
+    List<Long> findIdsByScoringStatusCreatedBefore(@Param("status") ScoringStatus status,
+                                                   @Param("before") LocalDateTime before,
+                                                   Pageable pageable);
+
+    @Query("SELECT COUNT(r) AS reviewCount, COALESCE(SUM(r.starRating), 0) AS starRatingSum, " +
+           "COALESCE(SUM(r.sentimentScore), 0) AS sentimentScoreSum, COUNT(r.sentimentScore) AS sentimentScoreCount " +
+           "FROM Review r WHERE r.product.id = :productId")
+    ReviewScoreTotals getScoreTotalsByProductId(@Param("productId") Long productId);
+
+    // Tüm kategorilerin toplamları tek gruplu sorguyla (review_categories); kategorisiz yorumlar satır üretmez
+    @Query("SELECT c AS category, COUNT(r) AS reviewCount, COALESCE(SUM(r.hybridScore), 0) AS hybridScoreSum " +
+           "FROM Review r JOIN r.categories c WHERE r.product.id = :productId GROUP BY c")
+    List<CategoryScoreTotals> getCategoryScoreTotalsByProductId(@Param("productId") Long productId);
+
+    // Henüz taşınmamış satırlar (category_mask NULL): eski sütun virgülle ayrılmış olabilir, "quality_durability,service_delivery"
+    @Query("SELECT COUNT(r) AS reviewCount, COALESCE(SUM(r.hybridScore), 0) AS hybridScoreSum " +
+           "FROM Review r WHERE r.product.id = :productId AND r.categoryMask IS NULL AND (r.legacyCategory = :category " +
+           "OR r.legacyCategory LIKE CONCAT(:category, ',%') OR r.legacyCategory LIKE CONCAT('%,', :category) " +
+           "OR r.legacyCategory LIKE CONCAT('%,', :category, ',%'))")
+    CategoryScoreTotals getLegacyCategoryScoreTotals(@Param("productId") Long productId, @Param("category") String category);
+
+    // Toplu yeniden puanlama: verilen yapılandırma sürümüyle puanlanmamış yorumlar, ID sırasıyla parça parça
+    @Query("SELECT r.id AS id, r.product.id AS productId, r.starRating AS starRating, r.sentimentScore AS sentimentScore, " +
+           "r.sentimentLabel AS sentimentLabel, r.hybridScore AS hybridScore, r.scoringAttempts AS scoringAttempts " +
+           "FROM Review r WHERE r.id > :afterId " +
+           "AND (r.scoringConfigVersion IS NULL OR r.scoringConfigVersion <> :version) ORDER BY r.id")
+    List<ReviewScoringInputs> findScoringInputsForRescoring(@Param("afterId") Long afterId,
+                                                            @Param("version") Long version,
+                                                            Pageable pageable);
+
+    @Query("SELECT COUNT(r) FROM Review r WHERE r.scoringConfigVersion IS NULL OR r.scoringConfigVersion <> :version")
+    long countNotScoredWithConfigVersion(@Param("version") Long version);
+
+    // Arama indeksi: değişen yorumların indekslenen alanları (yönetilen entity yüklenmez)
+    @Query("SELECT new com.ecommerce.repository.ReviewExportRow(r.id, r.product.id, r.starRating, r.sentimentLabel, " +
+           "r.sentimentScore, r.hybridScore, r.categoryMask, r.legacyCategory, r.scoringStatus, r.createdAt, r.comment) " +
+           "FROM Review r WHERE r.id IN :ids")
+    List<ReviewExportRow> findSearchRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // Arama indeksinin yeniden oluşturulması: ID sırasıyla parça parça
+    @Query("SELECT new com.ecommerce.repository.ReviewExportRow(r.id, r.product.id, r.starRating, r.sentimentLabel, " +
+           "r.sentimentScore, r.hybridScore, r.categoryMask, r.legacyCategory, r.scoringStatus, r.createdAt, r.comment) " +
+           "FROM Review r WHERE r.id > :afterId ORDER BY r.id")
+    List<ReviewExportRow> findSearchRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Sadece hibrit puan ve sürüm yazılır; okuma sonrası duygu sonucu uygulanmışsa (deneme sayısı değişir) satır atlanır
+    @Modifying
+    @Query("UPDATE Review r SET r.hybridScore = :hybridScore, r.scoringConfigVersion = :version " +
+           "WHERE r.id = :reviewId AND COALESCE(r.scoringAttempts, 0) = :scoringAttempts")
+    int updateHybridScoreIfUnchanged(@Param("reviewId") Long reviewId,
+                                     @Param("hybridScore") BigDecimal hybridScore,
+                                     @Param("version") Long version,
+                                     @Param("scoringAttempts") int scoringAttempts);
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.ecommerce.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Bir ürünün yorumları üzerinden tek sorguda hesaplanan toplamlar (mutabakat/yeniden oluşturma için)
+ */
+public interface ReviewScoreTotals {
+
+    Long getReviewCount();
+
+    Long getStarRatingSum();
+
+    BigDecimal getSentimentScoreSum();
+
+    Long getSentimentScoreCount();
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Bir yorumun hibrit puanını yeniden hesaplamak için gereken alanlar (toplu yeniden puanlama, entity yüklemeden)
+ */
+public interface ReviewScoringInputs {
+
+    Long getId();
+
+    Long getProductId();
+
+    Integer getStarRating();
+
+    BigDecimal getSentimentScore();
+
+    String getSentimentLabel();
+
+    BigDecimal getHybridScore();
+
+    Integer getScoringAttempts();
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.entity.ScoringConfig;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ScoringConfigRepository extends JpaRepository<ScoringConfig, Long> {
+
+    // En son kaydedilen sürüm geçerli yapılandırmadır
+    Optional<ScoringConfig> findTopByOrderByVersionDesc();
+
+    List<ScoringConfig> findAllByOrderByVersionDesc();
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.entity.SentimentCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SentimentCacheRepository extends JpaRepository<SentimentCacheEntry, String> {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SentimentCacheEntry e WHERE e.modelVersion IS NULL OR e.modelVersion <> :modelVersion")
+    int deleteByModelVersionNot(@Param("modelVersion") String modelVersion);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SentimentCacheEntry e WHERE e.createdAt < :before")
+    int deleteByCreatedAtBefore(@Param("before") LocalDateTime before);
+}
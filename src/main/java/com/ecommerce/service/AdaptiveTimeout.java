@@ -0,0 +1,103 @@
+package com.ecommerce.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gözlenen gecikmenin p99 değerinden türetilen okuma zaman aşımı.
+ *
+ * Son windowSize çağrının süresi halka tamponda tutulur; en az minSamples örnek biriktikten sonra
+ * her RECOMPUTE_EVERY örnekte bir zaman aşımı p99 * multiplier olarak yeniden hesaplanır ve
+ * [min, max] aralığına sınırlanır. Yeterli örnek yokken yapılandırılmış üst sınır (max) kullanılır.
+ *
+ * Zaman aşımına uğrayan çağrılar uygulanan zaman aşımı süresiyle örneklenir: servis kalıcı olarak
+ * yavaşladığında p99 yükselir ve zaman aşımı kendiliğinden genişler.
+ */
+final class AdaptiveTimeout {
+
+    private static final int RECOMPUTE_EVERY = 50;
+
+    private final long[] samples;
+    private final int minSamples;
+    private final double multiplier;
+    private final long minMillis;
+    private final long maxMillis;
+
+    private int count;
+    private int next;
+    private int sinceRecompute;
+
+    private volatile long currentMillis;
+    private volatile long p99Millis = -1;
+
+    AdaptiveTimeout(int windowSize, int minSamples, double multiplier, Duration min, Duration max) {
+        if (windowSize < 1 || minSamples < 1 || minSamples > windowSize || multiplier < 1.0 || min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("Invalid adaptive timeout settings: window=" + windowSize
+                + ", minSamples=" + minSamples + ", multiplier=" + multiplier + ", min=" + min + ", max=" + max);
+        }
+        this.samples = new long[windowSize];
+        this.minSamples = minSamples;
+        this.multiplier = multiplier;
+        this.minMillis = min.toMillis();
+        this.maxMillis = max.toMillis();
+        this.currentMillis = maxMillis;
+    }
+
+    Duration current() {
+        return Duration.ofMillis(currentMillis);
+    }
+
+    Duration max() {
+        return Duration.ofMillis(maxMillis);
+    }
+
+    void recordSuccess(long elapsedMillis) {
+        record(elapsedMillis, false);
+    }
+
+    /**
+     * Başarısız çağrı yalnızca zaman aşımına uğradıysa örneklenir (bağlantı reddi gibi hızlı hatalar gecikme değildir).
+     * Zaman aşımı çok dar kalmışsa denemeler boşa harcanmasın diye zaman aşımı hemen yeniden hesaplanır.
+     */
+    void recordFailure(long elapsedMillis, Duration appliedTimeout) {
+        if (elapsedMillis >= appliedTimeout.toMillis()) {
+            record(appliedTimeout.toMillis(), true);
+        }
+    }
+
+    private synchronized void record(long elapsedMillis, boolean recomputeNow) {
+        samples[next] = elapsedMillis;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        sinceRecompute++;
+        if (count >= minSamples && (recomputeNow || p99Millis < 0 || sinceRecompute >= RECOMPUTE_EVERY)) {
+            recompute();
+        }
+    }
+
+    private void recompute() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        long p99 = sorted[(int) Math.ceil(count * 0.99) - 1];
+        long timeout = (long) Math.ceil(p99 * multiplier);
+        p99Millis = p99;
+        currentMillis = Math.max(minMillis, Math.min(maxMillis, timeout));
+        sinceRecompute = 0;
+    }
+
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long p99 = p99Millis;
+        stats.put("p99Ms", p99 < 0 ? null : p99);
+        stats.put("timeoutMs", currentMillis);
+        stats.put("maxTimeoutMs", maxMillis);
+        synchronized (this) {
+            stats.put("samples", count);
+        }
+        return stats;
+    }
+}
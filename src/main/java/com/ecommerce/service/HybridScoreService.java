@@ -7,77 +7,132 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
 public class HybridScoreService {
     
     private static final Logger logger = LoggerFactory.getLogger(HybridScoreService.class);
     
-    // Hibrit skor hesaplama: Yıldız puanı ve sentiment puanının aritmetik ortalaması
-    // Ağırlık faktörleri - eşit ağırlık (0.5 - 0.5)
-    private static final double STAR_RATING_WEIGHT = 0.5; // Yıldız puanının ağırlığı
-    private static final double SENTIMENT_WEIGHT = 0.5;   // Duygu analizinin ağırlığı
+    // Hibrit skor hesaplama: Yıldız puanı ve sentiment puanının ağırlıklı ortalaması
+    // Ağırlıklar ve nötr duygu kuralı çalışma zamanında değiştirilebilir (ScoringConfigService);
+    // her hesaplama tek bir anlık görüntüyü okur, böylece değişiklik sırasında karışık ağırlık kullanılmaz
+    private volatile HybridWeights weights = HybridWeights.DEFAULT;
+    
+    /**
+     * Geçerli ağırlıklar ve nötr duygu kuralı
+     */
+    public HybridWeights getWeights() {
+        return weights;
+    }
+    
+    /**
+     * Yeni ağırlıkları etkinleştirir (bundan sonraki tüm hesaplamalar yeni değerleri kullanır)
+     */
+    public void applyWeights(HybridWeights newWeights) {
+        if (newWeights == null) {
+            throw new IllegalArgumentException("Weights cannot be null");
+        }
+        this.weights = newWeights;
+        logger.info("Hybrid score weights applied: {}", newWeights);
+    }
     
     /**
-     * Tek bir yorum için hibrit puan hesaplar
-     * Pozitif/Negatif duygu: Yıldız puanı ve sentiment puanının aritmetik ortalaması
-     * Nötr duygu: Sadece yıldız puanı (AI emin değil, kullanıcıya güven)
+     * Tek bir yorum için hibrit puan hesaplar (geçerli ağırlıklarla)
+     * Pozitif/Negatif duygu: Yıldız puanı ve sentiment puanının ağırlıklı ortalaması
+     * Nötr duygu: Varsayılan olarak sadece yıldız puanı (AI emin değil, kullanıcıya güven)
      * 
      * @param starRating Kullanıcının verdiği yıldız puanı (1-5)
      * @param sentimentScore AI modelinin normalize edilmiş duygu skoru (0.0-1.0)
      * @param sentimentLabel Duygu etiketi (positive, negative, neutral)
      * @return Hibrit puan (0.0-1.0 arası)
      */
+    @Timed(value = "scoring.hybrid", description = "Hibrit puan hesaplamaları")
     public BigDecimal calculateHybridScore(Integer starRating, BigDecimal sentimentScore, String sentimentLabel) {
+        return calculateHybridScore(weights, starRating, sentimentScore, sentimentLabel);
+    }
+    
+    /**
+     * Tek bir yorum için verilen ağırlıklarla hibrit puan hesaplar
+     * (puanı hangi yapılandırma sürümüyle hesapladığını kaydetmesi gerekenler için)
+     */
+    @Timed(value = "scoring.hybrid", description = "Hibrit puan hesaplamaları")
+    public BigDecimal calculateHybridScore(HybridWeights weights, Integer starRating, BigDecimal sentimentScore,
+                                           String sentimentLabel) {
         // Null kontrolü
         if (starRating == null) {
             throw new IllegalArgumentException("Star rating cannot be null");
         }
         
         // Yıldız puanını 0-1 aralığına normalize et
-        BigDecimal normalizedStarRating = normalizeStarRating(starRating);
+        long normalizedStarRating = ScoreMath.normalizeStarRating(starRating.intValue());
         
-        // Nötr duygu durumunda sadece yıldız puanını kullan
-        if ("neutral".equalsIgnoreCase(sentimentLabel)) {
-            logger.debug("Neutral sentiment detected, using only star rating: {}", normalizedStarRating);
-            return normalizedStarRating;
+        // Nötr duygu durumunda (STAR_ONLY kuralı) sadece yıldız puanını kullan
+        if (weights.isStarOnly(sentimentLabel)) {
+            logger.debug("Neutral sentiment detected, using only star rating: {}", starRating);
+            return ScoreMath.normalizedStarToDecimal(normalizedStarRating);
         }
         
         // Sentiment score null kontrolü (pozitif/negatif için)
         if (sentimentScore == null) {
             logger.warn("Sentiment score is null for non-neutral sentiment, using only star rating");
-            return normalizedStarRating;
+            return ScoreMath.normalizedStarToDecimal(normalizedStarRating);
         }
         
-        // Pozitif/Negatif duygu durumunda hibrit puan hesapla (eşit ağırlık: 0.5 - 0.5)
-        BigDecimal weightedStar = normalizedStarRating.multiply(BigDecimal.valueOf(STAR_RATING_WEIGHT));
-        BigDecimal weightedSentiment = sentimentScore.multiply(BigDecimal.valueOf(SENTIMENT_WEIGHT));
-        
-        BigDecimal hybridScore = weightedStar.add(weightedSentiment);
-        
-        // 0-1 aralığında sınırla
-        hybridScore = clampScore(hybridScore);
+        // Pozitif/Negatif duygu durumunda hibrit puan hesapla (varsayılan eşit ağırlık: 0.5 - 0.5)
+        long sentimentUnits = ScoreMath.toUnits(sentimentScore);
+        if (sentimentUnits == ScoreMath.NOT_REPRESENTABLE) {
+            return calculateWeightedScoreExact(weights, ScoreMath.normalizedStarToDecimal(normalizedStarRating),
+                                               sentimentScore);
+        }
+        int hybridScore = ScoreMath.weightedScoreHundredths(normalizedStarRating, sentimentUnits,
+                                                            weights.getStarRatingWeight(), weights.getSentimentWeight());
         
         logger.debug("Hibrit skor hesaplama ({}): Yıldız={}, Sentiment={}, Hibrit={}", 
-                    sentimentLabel, normalizedStarRating, sentimentScore, hybridScore);
+                    sentimentLabel, starRating, sentimentScore, hybridScore);
         
-        return hybridScore.setScale(2, RoundingMode.HALF_UP);
+        return ScoreMath.hundredthsToDecimal(hybridScore);
+    }
+    
+    /**
+     * Toplu yeniden puanlama için BigDecimal oluşturmayan hibrit puan hesabı
+     * 
+     * @param weights Kullanılacak ağırlıklar ve nötr duygu kuralı
+     * @param starRating Yıldız puanı (1-5)
+     * @param sentimentScoreUnits 10^-10 birimli normalize duygu skoru ({@link ScoreMath#toUnits})
+     * @param sentimentLabel Duygu etiketi
+     * @return Yüzde birlik birimde hibrit puan (0-100)
+     *
+     * Satır başına çağrıldığı için @Timed yoktur; süre yeniden puanlama parçası başına ölçülür (scoring.rescore.chunk).
+     */
+    public int calculateHybridScoreHundredths(HybridWeights weights, int starRating, long sentimentScoreUnits,
+                                              String sentimentLabel) {
+        long normalizedStarRating = ScoreMath.normalizeStarRating(starRating);
+        if (weights.isStarOnly(sentimentLabel)) {
+            // Tam sayı yıldızların normalize değeri (0.2, 0.4, ...) yüzde birlikle tam ifade edilir
+            return ScoreMath.weightedScoreHundredths(normalizedStarRating, 0, ScoreMath.WEIGHT_ONE, 0);
+        }
+        return ScoreMath.weightedScoreHundredths(normalizedStarRating, sentimentScoreUnits,
+                                                 weights.getStarRatingWeight(), weights.getSentimentWeight());
     }
     
     /**
      * Geriye uyumluluk için eski metod (sentimentLabel olmadan)
      */
+    @Timed(value = "scoring.hybrid", description = "Hibrit puan hesaplamaları")
     public BigDecimal calculateHybridScore(Integer starRating, BigDecimal sentimentScore) {
         return calculateHybridScore(starRating, sentimentScore, "unknown");
     }
     
     /**
      * Ürün için genel hibrit puan hesaplar (tüm yorumların ortalaması)
-     * Yıldız puanı ve sentiment puanının aritmetik ortalaması
+     * Yıldız puanı ve sentiment puanının ağırlıklı ortalaması (geçerli ağırlıklarla)
      * 
      * @param averageStarRating Ortalama yıldız puanı
      * @param averageSentimentScore Ortalama duygu skoru
      * @return Ürün hibrit puanı (0.0-1.0 arası)
      */
+    @Timed(value = "scoring.hybrid", description = "Hibrit puan hesaplamaları")
     public BigDecimal calculateProductHybridScore(BigDecimal averageStarRating, BigDecimal averageSentimentScore) {
         // Null kontrolü
         if (averageStarRating == null) {
@@ -88,42 +143,43 @@ public class HybridScoreService {
         if (averageSentimentScore == null) {
             // Duygu analizi yapılamadıysa sadece yıldız puanını kullan
             logger.warn("Average sentiment score is null, using only star rating");
-            return normalizeStarRating(averageStarRating);
+            return ScoreMath.normalizedStarToDecimal(ScoreMath.normalizeStarRating(averageStarRating.doubleValue()));
         }
         
         // Yıldız puanını 0-1 aralığına normalize et
-        BigDecimal normalizedStarRating = normalizeStarRating(averageStarRating);
-        
-        // Aritmetik ortalama hesapla (eşit ağırlık: 0.5 - 0.5)
-        BigDecimal weightedStar = normalizedStarRating.multiply(BigDecimal.valueOf(STAR_RATING_WEIGHT));
-        BigDecimal weightedSentiment = averageSentimentScore.multiply(BigDecimal.valueOf(SENTIMENT_WEIGHT));
-        
-        BigDecimal hybridScore = weightedStar.add(weightedSentiment);
-        
-        // 0-1 aralığında sınırla
-        hybridScore = clampScore(hybridScore);
+        long normalizedStarRating = ScoreMath.normalizeStarRating(averageStarRating.doubleValue());
+        
+        // Ağırlıklı ortalama hesapla (varsayılan eşit ağırlık: 0.5 - 0.5)
+        HybridWeights weights = this.weights;
+        long sentimentUnits = ScoreMath.toUnits(averageSentimentScore);
+        if (sentimentUnits == ScoreMath.NOT_REPRESENTABLE) {
+            return calculateWeightedScoreExact(weights, ScoreMath.normalizedStarToDecimal(normalizedStarRating),
+                                               averageSentimentScore);
+        }
+        int hybridScore = ScoreMath.weightedScoreHundredths(normalizedStarRating, sentimentUnits,
+                                                            weights.getStarRatingWeight(), weights.getSentimentWeight());
         
         logger.debug("Ürün hibrit skor hesaplama: Ortalama Yıldız={}, Ortalama Sentiment={}, Hibrit={}", 
-                    normalizedStarRating, averageSentimentScore, hybridScore);
+                    averageStarRating, averageSentimentScore, hybridScore);
         
-        return hybridScore.setScale(2, RoundingMode.HALF_UP);
+        return ScoreMath.hundredthsToDecimal(hybridScore);
     }
     
     /**
-     * Yıldız puanını 0-1 aralığına normalize eder
+     * 10 basamaktan fazla ondalık içeren (sabit noktaya tam dönüşmeyen) skorlar için BigDecimal hesabı
      * 
-     * @param starRating Yıldız puanı (1-5 veya 0-5 arası)
-     * @return Normalize edilmiş puan (0.0-1.0)
+     * @param normalizedStarRating Normalize yıldız puanı (4 basamak)
+     * @param sentimentScore Duygu skoru
+     * @return Hibrit puan (2 basamak, HALF_UP)
      */
-    private BigDecimal normalizeStarRating(Number starRating) {
-        double rating = starRating.doubleValue();
-        
-        // 1-5 aralığında sınırla
-        if (rating < 1) rating = 1;
-        if (rating > 5) rating = 5;
+    private BigDecimal calculateWeightedScoreExact(HybridWeights weights, BigDecimal normalizedStarRating,
+                                                   BigDecimal sentimentScore) {
+        BigDecimal weightedStar = normalizedStarRating.multiply(weights.getStarRatingWeightDecimal());
+        BigDecimal weightedSentiment = sentimentScore.multiply(weights.getSentimentWeightDecimal());
         
-        // 0-1 aralığına normalize et
-        return BigDecimal.valueOf(rating).divide(BigDecimal.valueOf(5), 4, RoundingMode.HALF_UP);
+        // 0-1 aralığında sınırla
+        BigDecimal hybridScore = clampScore(weightedStar.add(weightedSentiment));
+        return hybridScore.setScale(2, RoundingMode.HALF_UP);
     }
     
     /**
@@ -142,22 +198,19 @@ public class HybridScoreService {
     }
     
     /**
-     * Ağırlık faktörlerini dinamik olarak ayarlar
+     * Ağırlık faktörlerini dinamik olarak ayarlar (sadece bellekte, sürüm ve nötr kural korunur).
+     * Kalıcı değişiklik ve mevcut puanların yeniden hesaplanması için ScoringConfigService kullanılmalı.
      * 
-     * @param starRatingWeight Yıldız puanı ağırlığı (0.0-1.0)
-     * @param sentimentWeight Duygu analizi ağırlığı (0.0-1.0)
+     * @param starRatingWeight Yıldız puanı ağırlığı (0.0-1.0, en fazla 4 ondalık basamak)
+     * @param sentimentWeight Duygu analizi ağırlığı (0.0-1.0, en fazla 4 ondalık basamak)
      */
     public void setWeights(double starRatingWeight, double sentimentWeight) {
         if (starRatingWeight < 0 || starRatingWeight > 1 || sentimentWeight < 0 || sentimentWeight > 1) {
             throw new IllegalArgumentException("Weights must be between 0.0 and 1.0");
         }
         
-        if (Math.abs(starRatingWeight + sentimentWeight - 1.0) > 0.001) {
-            throw new IllegalArgumentException("Weights must sum to 1.0");
-        }
-        
-        // Bu değerler runtime'da değiştirilebilir
-        // Şimdilik sabit değerler kullanıyoruz
-        logger.info("Weight adjustment requested: star={}, sentiment={}", starRatingWeight, sentimentWeight);
+        HybridWeights current = weights;
+        applyWeights(new HybridWeights(current.getVersion(), ScoreMath.toWeightUnits(starRatingWeight),
+                                       ScoreMath.toWeightUnits(sentimentWeight), current.getNeutralPolicy()));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.ecommerce.service;
+
+import java.math.BigDecimal;
+
+import com.ecommerce.entity.NeutralSentimentPolicy;
+
+/**
+ * Hibrit puan hesaplamasında kullanılan ağırlıkların ve nötr duygu kuralının değişmez anlık görüntüsü.
+ * Ağırlıklar 10^-4 birimlidir (5000 = 0.5); toplamları tam olarak 1.0 olmalıdır.
+ */
+public final class HybridWeights {
+
+    /** Hiç yapılandırma kaydedilmemişse kullanılan varsayılan: eşit ağırlık, nötr = sadece yıldız */
+    public static final HybridWeights DEFAULT = new HybridWeights(0L, 5_000, 5_000, NeutralSentimentPolicy.STAR_ONLY);
+
+    private final long version;
+    private final int starRatingWeight;
+    private final int sentimentWeight;
+    private final NeutralSentimentPolicy neutralPolicy;
+
+    public HybridWeights(long version, int starRatingWeight, int sentimentWeight, NeutralSentimentPolicy neutralPolicy) {
+        if (starRatingWeight < 0 || starRatingWeight > ScoreMath.WEIGHT_ONE
+                || sentimentWeight < 0 || sentimentWeight > ScoreMath.WEIGHT_ONE) {
+            throw new IllegalArgumentException("Weights must be between 0.0 and 1.0");
+        }
+        if (starRatingWeight + sentimentWeight != ScoreMath.WEIGHT_ONE) {
+            throw new IllegalArgumentException("Weights must sum to 1.0");
+        }
+        if (neutralPolicy == null) {
+            throw new IllegalArgumentException("Neutral policy cannot be null");
+        }
+        this.version = version;
+        this.starRatingWeight = starRatingWeight;
+        this.sentimentWeight = sentimentWeight;
+        this.neutralPolicy = neutralPolicy;
+    }
+
+    /**
+     * Ondalık ağırlıklardan oluşturur
+     *
+     * @throws IllegalArgumentException Ağırlıklar 0-1 dışında, 4 basamaktan fazla ondalıklı veya toplamı 1.0 değilse
+     */
+    public static HybridWeights of(long version, BigDecimal starRatingWeight, BigDecimal sentimentWeight,
+                                   NeutralSentimentPolicy neutralPolicy) {
+        if (starRatingWeight == null || sentimentWeight == null) {
+            throw new IllegalArgumentException("Weights cannot be null");
+        }
+        return new HybridWeights(version, ScoreMath.toWeightUnits(starRatingWeight),
+                                 ScoreMath.toWeightUnits(sentimentWeight), neutralPolicy);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /** 10^-4 birimli yıldız puanı ağırlığı */
+    public int getStarRatingWeight() {
+        return starRatingWeight;
+    }
+
+    /** 10^-4 birimli duygu skoru ağırlığı */
+    public int getSentimentWeight() {
+        return sentimentWeight;
+    }
+
+    public NeutralSentimentPolicy getNeutralPolicy() {
+        return neutralPolicy;
+    }
+
+    public BigDecimal getStarRatingWeightDecimal() {
+        return BigDecimal.valueOf(starRatingWeight, ScoreMath.WEIGHT_SCALE);
+    }
+
+    public BigDecimal getSentimentWeightDecimal() {
+        return BigDecimal.valueOf(sentimentWeight, ScoreMath.WEIGHT_SCALE);
+    }
+
+    /**
+     * Bu etiket için sadece yıldız puanı mı kullanılmalı
+     */
+    public boolean isStarOnly(String sentimentLabel) {
+        return neutralPolicy == NeutralSentimentPolicy.STAR_ONLY && "neutral".equalsIgnoreCase(sentimentLabel);
+    }
+
+    @Override
+    public String toString() {
+        return "v" + version + " (star=" + getStarRatingWeightDecimal() + ", sentiment=" + getSentimentWeightDecimal()
+            + ", neutral=" + neutralPolicy + ")";
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecommerce.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDK HttpClient tabanlı taşıma: HTTP/1.1 bağlantıları keep-alive ile havuzda tutulur, isteğe bağlı HTTP/2.
+ *
+ * HttpClient'ta bağlantı zaman aşımı istemci düzeyindedir; aynı bağlantı zaman aşımını kullanan uç noktalar
+ * tek istemciyi (ve bağlantı havuzunu) paylaşır. JDK havuz boyutu sınırı sunmadığı için servise eş zamanlı
+ * istek sayısı bir semafor ile max-connections değerinde tutulur; böylece açık bağlantı sayısı da sınırlanır.
+ */
+public class JdkHttpSentimentTransport implements SentimentTransport {
+
+    private final SentimentHttpSettings settings;
+    private final Map<Duration, HttpClient> clients = new ConcurrentHashMap<>();
+    private final Semaphore connections;
+
+    public JdkHttpSentimentTransport(SentimentHttpSettings settings) {
+        this.settings = settings;
+        this.connections = new Semaphore(settings.getMaxConnections());
+    }
+
+    @Override
+    public <T> T post(SentimentEndpoint endpoint, byte[] jsonBody, Duration readTimeout, ResponseHandler<T> handler)
+            throws IOException {
+        HttpRequest request = newRequest(endpoint, readTimeout)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(jsonBody))
+            .build();
+        return send(endpoint, request, handler);
+    }
+
+    @Override
+    public <T> T get(SentimentEndpoint endpoint, ResponseHandler<T> handler) throws IOException {
+        return send(endpoint, newRequest(endpoint, null).GET().build(), handler);
+    }
+
+    private HttpRequest.Builder newRequest(SentimentEndpoint endpoint, Duration readTimeout) {
+        // timeout: yanıt başlıkları gelene kadar beklenecek en uzun süre (okuma zaman aşımı)
+        return HttpRequest.newBuilder(settings.uri(endpoint))
+            .timeout(readTimeout != null ? readTimeout : settings.readTimeout(endpoint))
+            .header("Accept", "application/json");
+    }
+
+    private <T> T send(SentimentEndpoint endpoint, HttpRequest request, ResponseHandler<T> handler) throws IOException {
+        Duration connectTimeout = settings.connectTimeout(endpoint);
+        try {
+            if (!connections.tryAcquire(connectTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("Sentiment service connection limit reached (" + settings.getMaxConnections() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a sentiment service connection");
+        }
+
+        try {
+            HttpResponse<InputStream> response = client(connectTimeout)
+                .send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() / 100 != 2) {
+                    // Gövde sonuna kadar okunursa bağlantı havuza dönebilir
+                    body.transferTo(OutputStream.nullOutputStream());
+                    throw new IOException(endpoint.getPath() + " returned HTTP " + response.statusCode());
+                }
+                return handler.handle(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while calling " + endpoint.getPath());
+        } finally {
+            connections.release();
+        }
+    }
+
+    private HttpClient client(Duration connectTimeout) {
+        return clients.computeIfAbsent(connectTimeout, timeout -> {
+            HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(settings.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout);
+            if (settings.isVirtualThreads()) {
+                builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+            }
+            return builder.build();
+        });
+    }
+}
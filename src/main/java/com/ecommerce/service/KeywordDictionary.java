@@ -0,0 +1,117 @@
+package com.ecommerce.service;
+
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Anahtar kelime sözlüğünün değişmez anlık görüntüsü: kategoriler, derlenmiş eşleştirici (KeywordMatcher) ve
+ * GET /api/keywords yanıtının serileştirilmiş gövdesi ile ETag'i.
+ *
+ * KeywordService sözlük değiştiğinde yeni bir görüntü oluşturup tek referans atamasıyla değiştirir (copy-on-write);
+ * okuyucular kilit almaz ve bir çağrı boyunca hep aynı görüntüyü görür.
+ */
+public final class KeywordDictionary {
+
+    private final long version;
+    private final String source;
+    private final Map<String, List<String>> categoryKeywords;
+    private final Map<String, String> categoryNames;
+    private final Map<String, String> categoryDescriptions;
+    private final KeywordMatcher matcher;
+    private final byte[] body;
+    private final String etag;
+
+    KeywordDictionary(long version, String source, Map<String, List<String>> categoryKeywords,
+                      Map<String, String> categoryNames, Map<String, String> categoryDescriptions,
+                      KeywordMatcher.BoundaryMode boundaryMode, ObjectMapper objectMapper) {
+        this.version = version;
+        this.source = source;
+        // Kategori sırası korunur (eşleşen kategoriler bu sırayla döner)
+        Map<String, List<String>> keywords = new LinkedHashMap<>();
+        categoryKeywords.forEach((category, list) -> keywords.put(category, List.copyOf(list)));
+        this.categoryKeywords = Collections.unmodifiableMap(keywords);
+        this.categoryNames = Collections.unmodifiableMap(new LinkedHashMap<>(categoryNames));
+        this.categoryDescriptions = Collections.unmodifiableMap(new LinkedHashMap<>(categoryDescriptions));
+        this.matcher = KeywordMatcher.build(this.categoryKeywords, boundaryMode);
+
+        Map<String, Object> categories = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> entry : this.categoryKeywords.entrySet()) {
+            Map<String, Object> category = new LinkedHashMap<>();
+            category.put("name", getCategoryName(entry.getKey()));
+            category.put("description", getCategoryDescription(entry.getKey()));
+            category.put("keywords", entry.getValue());
+            categories.put(entry.getKey(), category);
+        }
+        try {
+            this.body = objectMapper.writeValueAsBytes(Map.of("categories", categories));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+
+    /**
+     * Her yüklemede artan sürüm (uygulama başlatıldığında 1)
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sözlüğün okunduğu dosya veya classpath kaynağı
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public Map<String, List<String>> getCategoryKeywords() {
+        return categoryKeywords;
+    }
+
+    public Map<String, String> getCategoryNames() {
+        return categoryNames;
+    }
+
+    public Map<String, String> getCategoryDescriptions() {
+        return categoryDescriptions;
+    }
+
+    public String getCategoryName(String category) {
+        return categoryNames.getOrDefault(category, category);
+    }
+
+    public String getCategoryDescription(String category) {
+        return categoryDescriptions.getOrDefault(category, "");
+    }
+
+    public KeywordMatcher getMatcher() {
+        return matcher;
+    }
+
+    /**
+     * {"categories": {anahtar: {name, description, keywords}}} JSON gövdesi
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Kategori anahtarları ve anahtar kelimeleri aynıysa true (ad ve açıklama farkı eşleştirmeyi değiştirmez)
+     */
+    public boolean sameKeywords(KeywordDictionary other) {
+        return other != null && categoryKeywords.equals(other.categoryKeywords)
+            && matcher.getBoundaryMode() == other.matcher.getBoundaryMode();
+    }
+}
@@ -0,0 +1,186 @@
+package com.ecommerce.service;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.event.KeywordDictionaryChangedEvent;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Harici anahtar kelime sözlüğü dosyasını (keywords.path) izler ve değiştiğinde KeywordService'i yeniden yükletir.
+ *
+ * - Dosyanın bulunduğu dizin izlenir: editörlerin geçici dosya + taşıma ile yazması ve Kubernetes ConfigMap'lerin
+ *   sembolik bağlantı değişimi (..data) de yakalanır; dizindeki diğer dosyalar yok sayılır, içerik değişmediyse
+ *   sözlük sürümü artmaz
+ * - Art arda gelen olaylar debounce-ms sessizlik bekledikten sonra tek yüklemeye indirgenir
+ * - Hatalı dosya reddedilir (keywords.dictionary.reloads{result=failure}), mevcut sözlük kullanılmaya devam eder
+ * - Eşleştirmeyi değiştiren yüklemeler KeywordDictionaryChangedEvent ile duyurulur
+ */
+@Component
+public class KeywordDictionaryWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeywordDictionaryWatcher.class);
+
+    @Autowired
+    private KeywordService keywordService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${keywords.watch.enabled:true}")
+    private boolean watchEnabled;
+
+    @Value("${keywords.watch.debounce-ms:500}")
+    private long debounceMs;
+
+    private final AtomicLong successfulReloads = new AtomicLong();
+    private final AtomicLong failedReloads = new AtomicLong();
+
+    private volatile String lastError;
+    private WatchService watchService;
+    private Thread watcher;
+
+    @PostConstruct
+    public void init() throws IOException {
+        FunctionCounter.builder("keywords.dictionary.reloads", successfulReloads, AtomicLong::get)
+            .tag("result", "success")
+            .description("Eşleştirmeyi değiştiren sözlük yüklemeleri")
+            .register(meterRegistry);
+        FunctionCounter.builder("keywords.dictionary.reloads", failedReloads, AtomicLong::get)
+            .tag("result", "failure")
+            .description("Okunamayan veya geçersiz olduğu için reddedilen sözlük dosyaları")
+            .register(meterRegistry);
+        Gauge.builder("keywords.dictionary.version", keywordService, service -> service.getDictionary().getVersion())
+            .description("Kullanılan anahtar kelime sözlüğünün sürümü")
+            .register(meterRegistry);
+
+        Path file = keywordService.getKeywordsFile();
+        if (file == null || !watchEnabled) {
+            return;
+        }
+        Path directory = file.getParent();
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                           StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        watcher = new Thread(this::watchLoop, "keyword-dictionary-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        logger.info("Watching keyword dictionary {} (debounce {} ms)", file, debounceMs);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Sözlüğü hemen yeniden yükler
+     *
+     * @return Yükleme sonrası durum (getStats)
+     * @throws IOException Dosya okunamadıysa (mevcut sözlük değişmez)
+     * @throws IllegalArgumentException Dosya geçerli bir sözlük değilse (mevcut sözlük değişmez)
+     */
+    public Map<String, Object> reload() throws IOException {
+        KeywordDictionary previous = keywordService.getDictionary();
+        KeywordDictionary loaded;
+        try {
+            loaded = keywordService.reload();
+        } catch (IOException | RuntimeException e) {
+            failedReloads.incrementAndGet();
+            lastError = e.getMessage();
+            throw e;
+        }
+        lastError = null;
+        if (loaded != previous) {
+            successfulReloads.incrementAndGet();
+            if (!loaded.sameKeywords(previous)) {
+                eventPublisher.publishEvent(new KeywordDictionaryChangedEvent(previous.getVersion(), loaded.getVersion()));
+            }
+        }
+        return getStats();
+    }
+
+    public Map<String, Object> getStats() {
+        KeywordDictionary dictionary = keywordService.getDictionary();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("version", dictionary.getVersion());
+        stats.put("source", dictionary.getSource());
+        stats.put("etag", dictionary.getEtag());
+        stats.put("categories", dictionary.getCategoryKeywords().size());
+        stats.put("watching", watcher != null && watcher.isAlive());
+        stats.put("reloads", successfulReloads.get());
+        stats.put("failedReloads", failedReloads.get());
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                if (!drain(watchService.take())) {
+                    continue;
+                }
+                // Dosya birkaç yazmada değişebilir: olaylar durulana kadar bekle
+                WatchKey next;
+                while ((next = watchService.poll(debounceMs, TimeUnit.MILLISECONDS)) != null) {
+                    drain(next);
+                }
+                try {
+                    reload();
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("Keyword dictionary reload rejected, keeping version {}: {}",
+                               keywordService.getDictionary().getVersion(), e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Uygulama kapanıyor
+        }
+    }
+
+    /**
+     * @return Olaylardan biri sözlük dosyasını (veya ConfigMap bağlantısını) ilgilendiriyorsa true
+     */
+    private boolean drain(WatchKey key) {
+        Path fileName = keywordService.getKeywordsFile().getFileName();
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(context)
+                || (context instanceof Path path && path.toString().startsWith(".."))) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+}
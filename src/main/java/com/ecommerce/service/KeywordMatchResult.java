@@ -0,0 +1,57 @@
+package com.ecommerce.service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bir yorumun anahtar kelime taraması sonucu: eşleşen kategoriler (sözlük sırasıyla) ve eşleşme konumları
+ */
+public class KeywordMatchResult {
+
+    private final List<String> matchedCategories;
+    private final List<Hit> hits;
+
+    public KeywordMatchResult(List<String> matchedCategories, List<Hit> hits) {
+        this.matchedCategories = Collections.unmodifiableList(matchedCategories);
+        this.hits = Collections.unmodifiableList(hits);
+    }
+
+    public List<String> getMatchedCategories() {
+        return matchedCategories;
+    }
+
+    public List<Hit> getHits() {
+        return hits;
+    }
+
+    public boolean hasCategory(String category) {
+        return matchedCategories.contains(category);
+    }
+
+    /**
+     * Yorumda bulunan bir anahtar kelime: [start, end) orijinal metindeki karakter aralığıdır
+     */
+    public static class Hit {
+        private final String category;
+        private final String keyword;
+        private final int start;
+        private final int end;
+
+        public Hit(String category, String keyword, int start, int end) {
+            this.category = category;
+            this.keyword = keyword;
+            this.start = start;
+            this.end = end;
+        }
+
+        public String getCategory() { return category; }
+        public String getKeyword() { return keyword; }
+        public int getStart() { return start; }
+        public int getEnd() { return end; }
+
+        @Override
+        public String toString() {
+            return category + ":" + keyword + "@" + start + "-" + end;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.ecommerce.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Tüm kategorilerin anahtar kelimelerinden bir kez oluşturulan Aho-Corasick otomatı.
+ *
+ * Yorum tek geçişte taranır; eşleşen kategoriler ve anahtar kelimelerin konumları birlikte döner.
+ * Maliyet yorum uzunluğu ile doğrusaldır (anahtar kelime sayısından bağımsız).
+ * Karşılaştırma Türkçe büyük/küçük harf kurallarıyla yapılır (I→ı, İ→i) ve karakter başına
+ * yapıldığı için bulunan konumlar orijinal metindeki konumlarla birebir aynıdır.
+ * Nesne değişmezdir, thread'ler arasında kilitsiz paylaşılabilir.
+ */
+public final class KeywordMatcher {
+
+    /**
+     * Kelime sınırı kuralı
+     * NONE: Alt metin eşleşmesi ("kargo", "kargonun" içinde de bulunur)
+     * WORD_START: Anahtar kelime bir kelimenin başında olmalı (Türkçe ekleri kabul eder)
+     * WHOLE_WORD: Anahtar kelime tam bir kelime olmalı
+     */
+    public enum BoundaryMode {
+        NONE,
+        WORD_START,
+        WHOLE_WORD
+    }
+
+    private static final int ROOT = 0;
+
+    private final List<String> categories;
+    private final Map<String, Integer> categoryIndexes;
+    private final String[] patterns;
+    private final int[][] patternCategories;
+    private final BoundaryMode boundaryMode;
+
+    // Sıkıştırılmış trie: her düğüm için sıralı karakterler ve karşılık gelen çocuk düğümler
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    // Düğümde (sonek bağlantıları dahil) biten kalıplar
+    private final int[][] outputs;
+
+    private KeywordMatcher(List<String> categories, String[] patterns, int[][] patternCategories,
+                           BoundaryMode boundaryMode, char[][] edgeChars, int[][] edgeTargets,
+                           int[] failure, int[][] outputs) {
+        this.categories = Collections.unmodifiableList(new ArrayList<>(categories));
+        this.categoryIndexes = new HashMap<>();
+        for (int i = 0; i < categories.size(); i++) {
+            categoryIndexes.put(categories.get(i), i);
+        }
+        this.patterns = patterns;
+        this.patternCategories = patternCategories;
+        this.boundaryMode = boundaryMode;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.failure = failure;
+        this.outputs = outputs;
+    }
+
+    /**
+     * Kategori → anahtar kelimeler sözlüğünden otomatı oluşturur.
+     * Kategori sırası, eşleşen kategorilerin döndürülme sırasını belirler.
+     */
+    public static KeywordMatcher build(Map<String, List<String>> categoryKeywords, BoundaryMode boundaryMode) {
+        List<String> categories = new ArrayList<>(categoryKeywords.keySet());
+
+        // Aynı anahtar kelime birden fazla kategoride olabilir ("hızlı" gibi)
+        Map<String, BitSet> keywordCategories = new LinkedHashMap<>();
+        for (int c = 0; c < categories.size(); c++) {
+            for (String keyword : categoryKeywords.get(categories.get(c))) {
+                String folded = fold(keyword.trim());
+                if (!folded.isEmpty()) {
+                    keywordCategories.computeIfAbsent(folded, k -> new BitSet()).set(c);
+                }
+            }
+        }
+
+        String[] patterns = keywordCategories.keySet().toArray(new String[0]);
+        int[][] patternCategories = new int[patterns.length][];
+        for (int p = 0; p < patterns.length; p++) {
+            patternCategories[p] = keywordCategories.get(patterns[p]).stream().toArray();
+        }
+
+        // 1. Trie oluştur
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<List<Integer>> nodeOutputs = new ArrayList<>();
+        children.add(new TreeMap<>());
+        nodeOutputs.add(new ArrayList<>());
+        for (int p = 0; p < patterns.length; p++) {
+            int node = ROOT;
+            for (char ch : patterns[p].toCharArray()) {
+                Integer next = children.get(node).get(ch);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    nodeOutputs.add(new ArrayList<>());
+                    children.get(node).put(ch, next);
+                }
+                node = next;
+            }
+            nodeOutputs.get(node).add(p);
+        }
+
+        int nodeCount = children.size();
+        char[][] edgeChars = new char[nodeCount][];
+        int[][] edgeTargets = new int[nodeCount][];
+        for (int n = 0; n < nodeCount; n++) {
+            TreeMap<Character, Integer> edges = children.get(n);
+            edgeChars[n] = new char[edges.size()];
+            edgeTargets[n] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeChars[n][i] = edge.getKey();
+                edgeTargets[n][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        // 2. Hata (failure) bağlantıları: genişlik öncelikli dolaşım
+        int[] failure = new int[nodeCount];
+        int[][] outputs = new int[nodeCount][];
+        outputs[ROOT] = new int[0];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[ROOT]) {
+            failure[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < edgeChars[node].length; i++) {
+                char ch = edgeChars[node][i];
+                int child = edgeTargets[node][i];
+                int fallback = failure[node];
+                while (fallback != ROOT && step(edgeChars, edgeTargets, fallback, ch) < 0) {
+                    fallback = failure[fallback];
+                }
+                int target = step(edgeChars, edgeTargets, fallback, ch);
+                failure[child] = target >= 0 && target != child ? target : ROOT;
+                queue.add(child);
+            }
+        }
+
+        // 3. Çıktıları sonek bağlantılarıyla birleştir (BFS sırası: ebeveynin çıktıları hazır)
+        List<Integer> order = new ArrayList<>();
+        queue.add(ROOT);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            order.add(node);
+            for (int child : edgeTargets[node]) {
+                queue.add(child);
+            }
+        }
+        for (int node : order) {
+            if (node == ROOT) {
+                continue;
+            }
+            int[] own = nodeOutputs.get(node).stream().mapToInt(Integer::intValue).toArray();
+            int[] inherited = outputs[failure[node]];
+            int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+            System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+            outputs[node] = merged;
+        }
+
+        return new KeywordMatcher(categories, patterns, patternCategories, boundaryMode,
+                                  edgeChars, edgeTargets, failure, outputs);
+    }
+
+    /**
+     * Yorumu tek geçişte tarar, eşleşen tüm kategorileri ve anahtar kelime konumlarını döndürür
+     */
+    public KeywordMatchResult match(String text) {
+        BitSet matched = new BitSet(categories.size());
+        List<KeywordMatchResult.Hit> hits = new ArrayList<>();
+        scan(text, -1, matched, hits);
+
+        List<String> matchedCategories = new ArrayList<>(matched.cardinality());
+        for (int c = matched.nextSetBit(0); c >= 0; c = matched.nextSetBit(c + 1)) {
+            matchedCategories.add(categories.get(c));
+        }
+        return new KeywordMatchResult(matchedCategories, hits);
+    }
+
+    /**
+     * Yorumun verilen kategoriden bir anahtar kelime içerip içermediğini döndürür (ilk eşleşmede durur)
+     */
+    public boolean matches(String text, String category) {
+        Integer categoryIndex = categoryIndexes.get(category);
+        if (categoryIndex == null) {
+            return false;
+        }
+        BitSet matched = new BitSet(categories.size());
+        scan(text, categoryIndex, matched, null);
+        return matched.get(categoryIndex);
+    }
+
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    public BoundaryMode getBoundaryMode() {
+        return boundaryMode;
+    }
+
+    /**
+     * @param stopCategory Bu kategori eşleşince taramayı bitir (-1: tüm metni tara)
+     * @param hits Konumların toplanacağı liste (null ise konum toplanmaz)
+     */
+    private void scan(String text, int stopCategory, BitSet matched, List<KeywordMatchResult.Hit> hits) {
+        if (text == null || text.isEmpty() || patterns.length == 0) {
+            return;
+        }
+
+        int node = ROOT;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char ch = fold(text.charAt(i));
+            int next;
+            while ((next = step(edgeChars, edgeTargets, node, ch)) < 0 && node != ROOT) {
+                node = failure[node];
+            }
+            node = next < 0 ? ROOT : next;
+
+            for (int pattern : outputs[node]) {
+                int end = i + 1;
+                int start = end - patterns[pattern].length();
+                if (!satisfiesBoundary(text, start, end)) {
+                    continue;
+                }
+                for (int category : patternCategories[pattern]) {
+                    matched.set(category);
+                    if (hits != null) {
+                        hits.add(new KeywordMatchResult.Hit(categories.get(category), patterns[pattern], start, end));
+                    }
+                }
+                if (stopCategory >= 0 && matched.get(stopCategory)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean satisfiesBoundary(String text, int start, int end) {
+        switch (boundaryMode) {
+            case WORD_START:
+                return start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1));
+            case WHOLE_WORD:
+                return (start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1)))
+                    && (end == text.length() || !Character.isLetterOrDigit(text.charAt(end)));
+            default:
+                return true;
+        }
+    }
+
+    private static int step(char[][] edgeChars, int[][] edgeTargets, int node, char ch) {
+        int index = Arrays.binarySearch(edgeChars[node], ch);
+        return index >= 0 ? edgeTargets[node][index] : -1;
+    }
+
+    /**
+     * Türkçe küçük harfe çevirme (uzunluğu değiştirmeden, karakter başına)
+     */
+    static char fold(char ch) {
+        if (ch == 'I') {
+            return 'ı';
+        }
+        if (ch == 'İ') {
+            return 'i';
+        }
+        return Character.toLowerCase(ch);
+    }
+
+    static String fold(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(chars[i]);
+        }
+        return new String(chars);
+    }
+}
@@ -1,68 +1,145 @@
 package com.ecommerce.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.annotation.Timed;
+
 import jakarta.annotation.PostConstruct;
 
+/**
+ * Anahtar kelime sözlüğü ve yorum kategorisi eşleştirmesi.
+ *
+ * Sözlük keywords.path verilmişse o dosyadan, yoksa classpath'teki static/keywords.json'dan okunur ve değişmez bir
+ * KeywordDictionary görüntüsüne derlenir. reload() yeni görüntüyü önce tamamen oluşturur, sonra tek volatile
+ * atamayla yayınlar; eşleştirme çağrıları kilit almaz. Hatalı dosya yeniden yüklemede reddedilir, mevcut sözlük kalır.
+ */
 @Service
 public class KeywordService {
     
     private static final Logger logger = LoggerFactory.getLogger(KeywordService.class);
     
-    private final Map<String, List<String>> categoryKeywords = new HashMap<>();
-    private final Map<String, String> categoryNames = new HashMap<>();
-    private final Map<String, String> categoryDescriptions = new HashMap<>();
+    private static final String CLASSPATH_KEYWORDS = "static/keywords.json";
+    
+    // Boşsa classpath'teki static/keywords.json (dosya izleme yalnızca harici dosyada çalışır)
+    @Value("${keywords.path:}")
+    private String keywordsPath = "";
+    
+    @Value("${keywords.match.boundary:NONE}")
+    private KeywordMatcher.BoundaryMode boundaryMode = KeywordMatcher.BoundaryMode.NONE;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private volatile KeywordDictionary dictionary;
     
     @PostConstruct
     public void loadKeywords() {
         try {
-            ClassPathResource resource = new ClassPathResource("static/keywords.json");
-            ObjectMapper objectMapper = new ObjectMapper();
-            JsonNode root = objectMapper.readTree(resource.getInputStream());
-            
-            JsonNode categories = root.get("categories");
+            dictionary = readDictionary(1);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Failed to load keywords from {}", describeSource(), e);
+            // Fallback: Varsayılan kelimeler
+            dictionary = defaultDictionary(1);
+        }
+        
+        logger.info("Keyword matcher built for {} categories (boundary mode: {}, version {})",
+                   dictionary.getMatcher().getCategories().size(), boundaryMode, dictionary.getVersion());
+    }
+    
+    /**
+     * Sözlüğü kaynağından yeniden okur ve derlenmiş görüntüyü atomik olarak değiştirir
+     *
+     * @return Yeni sözlük; içerik değişmediyse mevcut sözlük (sürüm artmaz)
+     * @throws IOException Dosya okunamadıysa (mevcut sözlük değişmez)
+     * @throws IllegalArgumentException Dosya geçerli bir sözlük değilse (mevcut sözlük değişmez)
+     */
+    public synchronized KeywordDictionary reload() throws IOException {
+        KeywordDictionary current = dictionary;
+        KeywordDictionary loaded = readDictionary(current.getVersion() + 1);
+        if (Arrays.equals(current.getBody(), loaded.getBody())) {
+            logger.debug("Keyword dictionary unchanged (version {})", current.getVersion());
+            return current;
+        }
+        dictionary = loaded;
+        logger.info("Keyword dictionary reloaded from {}: {} categories (version {})",
+                   loaded.getSource(), loaded.getCategoryKeywords().size(), loaded.getVersion());
+        return loaded;
+    }
+    
+    /**
+     * Harici sözlük dosyası; classpath kullanılıyorsa null
+     */
+    public Path getKeywordsFile() {
+        return keywordsPath.isBlank() ? null : Paths.get(keywordsPath.trim()).toAbsolutePath();
+    }
+    
+    public KeywordDictionary getDictionary() {
+        return dictionary;
+    }
+    
+    private KeywordDictionary readDictionary(long version) throws IOException {
+        Path file = getKeywordsFile();
+        try (InputStream in = file != null ? Files.newInputStream(file)
+                                           : new ClassPathResource(CLASSPATH_KEYWORDS).getInputStream()) {
+            return parse(objectMapper.readTree(in), describeSource(), version);
+        }
+    }
+    
+    private KeywordDictionary parse(JsonNode root, String source, long version) {
+        JsonNode categories = root == null ? null : root.get("categories");
+        if (categories == null || !categories.isObject() || categories.isEmpty()) {
+            throw new IllegalArgumentException("Keyword dictionary has no categories: " + source);
+        }
+        
+        Map<String, List<String>> categoryKeywords = new LinkedHashMap<>();
+        Map<String, String> categoryNames = new HashMap<>();
+        Map<String, String> categoryDescriptions = new HashMap<>();
+        categories.fieldNames().forEachRemaining(categoryKey -> {
+            JsonNode category = categories.get(categoryKey);
             
-            categories.fieldNames().forEachRemaining(categoryKey -> {
-                JsonNode category = categories.get(categoryKey);
-                
-                // Kategori adı ve açıklaması
-                categoryNames.put(categoryKey, category.get("name").asText());
-                categoryDescriptions.put(categoryKey, category.get("description").asText());
-                
-                // Anahtar kelimeler
-                List<String> keywords = new ArrayList<>();
-                JsonNode keywordsNode = category.get("keywords");
-                keywordsNode.forEach(keyword -> keywords.add(keyword.asText()));
-                
-                categoryKeywords.put(categoryKey, keywords);
-                
-                logger.info("Loaded {} keywords for category: {}", keywords.size(), categoryKey);
-            });
+            // Anahtar kelimeler
+            JsonNode keywordsNode = category.get("keywords");
+            if (keywordsNode == null || !keywordsNode.isArray()) {
+                throw new IllegalArgumentException("Category " + categoryKey + " has no keywords array: " + source);
+            }
+            List<String> keywords = new ArrayList<>();
+            keywordsNode.forEach(keyword -> keywords.add(keyword.asText()));
             
-            logger.info("Successfully loaded keywords for {} categories", categoryKeywords.size());
+            // Kategori adı ve açıklaması
+            categoryNames.put(categoryKey, category.path("name").asText(categoryKey));
+            categoryDescriptions.put(categoryKey, category.path("description").asText(""));
+            categoryKeywords.put(categoryKey, keywords);
             
-        } catch (IOException e) {
-            logger.error("Failed to load keywords from JSON file", e);
-            // Fallback: Varsayılan kelimeler
-            loadDefaultKeywords();
-        }
+            logger.info("Loaded {} keywords for category: {}", keywords.size(), categoryKey);
+        });
+        
+        return new KeywordDictionary(version, source, categoryKeywords, categoryNames,
+                                     categoryDescriptions, boundaryMode, objectMapper);
     }
     
-    private void loadDefaultKeywords() {
+    private KeywordDictionary defaultDictionary(long version) {
         logger.warn("Loading default keywords as fallback");
+        Map<String, List<String>> categoryKeywords = new LinkedHashMap<>();
+        Map<String, String> categoryNames = new HashMap<>();
+        Map<String, String> categoryDescriptions = new HashMap<>();
         
         // Kalite & Dayanıklılık
         categoryKeywords.put("quality_durability", Arrays.asList(
@@ -84,36 +161,55 @@ public class KeywordService {
         ));
         categoryNames.put("service_delivery", "Hizmet & Teslimat");
         categoryDescriptions.put("service_delivery", "Kargo hızı, paketleme kalitesi, müşteri desteği");
+        
+        return new KeywordDictionary(version, "defaults", categoryKeywords, categoryNames,
+                                     categoryDescriptions, boundaryMode, objectMapper);
+    }
+    
+    private String describeSource() {
+        Path file = getKeywordsFile();
+        return file != null ? file.toString() : "classpath:" + CLASSPATH_KEYWORDS;
     }
     
     public List<String> getKeywordsForCategory(String category) {
-        return categoryKeywords.getOrDefault(category, new ArrayList<>());
+        return dictionary.getCategoryKeywords().getOrDefault(category, new ArrayList<>());
     }
     
     public String getCategoryName(String category) {
-        return categoryNames.getOrDefault(category, category);
+        return dictionary.getCategoryName(category);
     }
     
     public String getCategoryDescription(String category) {
-        return categoryDescriptions.getOrDefault(category, "");
+        return dictionary.getCategoryDescription(category);
     }
     
     public Map<String, List<String>> getAllCategoryKeywords() {
-        return new HashMap<>(categoryKeywords);
+        return new HashMap<>(dictionary.getCategoryKeywords());
     }
     
     public Map<String, String> getAllCategoryNames() {
-        return new HashMap<>(categoryNames);
+        return new HashMap<>(dictionary.getCategoryNames());
     }
     
     public Map<String, String> getAllCategoryDescriptions() {
-        return new HashMap<>(categoryDescriptions);
+        return new HashMap<>(dictionary.getCategoryDescriptions());
     }
     
+    @Timed(value = "keywords.match", description = "Anahtar kelime eşleştirmeleri")
     public boolean containsKeyword(String category, String comment) {
-        List<String> keywords = getKeywordsForCategory(category);
-        String lowerComment = comment.toLowerCase();
-        
-        return keywords.stream().anyMatch(lowerComment::contains);
+        return dictionary.getMatcher().matches(comment, category);
+    }
+    
+    /**
+     * Yorumu tek geçişte tarar: eşleşen tüm kategoriler ve anahtar kelime konumları
+     */
+    @Timed(value = "keywords.match", description = "Anahtar kelime eşleştirmeleri")
+    public KeywordMatchResult match(String comment) {
+        return dictionary.getMatcher().match(comment);
+    }
+    
+    @Timed(value = "keywords.match", description = "Anahtar kelime eşleştirmeleri")
+    public List<String> getMatchedCategories(String comment) {
+        return dictionary.getMatcher().match(comment).getMatchedCategories();
     }
 }
@@ -0,0 +1,267 @@
+package com.ecommerce.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OnnxValue;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Duygu analizi modelinin (saribasmetehan/bert-base-turkish-sentiment-analysis) ONNX'e aktarılmış halini
+ * JVM içinde, CPU üzerinde ONNX Runtime ile çalıştırır; Python servisine HTTP çağrısı yapılmaz.
+ * sentiment.backend=onnx olduğunda etkinleşir.
+ *
+ * - Metinler WordPieceTokenizer ile token'lanır; batch en uzun metne göre [PAD] ile doldurulur,
+ *   max-batch-size'tan büyük listeler parçalara bölünür
+ * - Model girdileri input_ids, attention_mask ve (varsa) token_type_ids; çıktı [batch, etiket] logit'leri
+ * - Sonuç softmax sonrası en yüksek olasılıklı etiket ve olasılığıdır (pipeline'ın top-1 çıktısı)
+ * - Tek bir oturum (OrtSession) eş zamanlı çağrılarca paylaşılır; çağrı içi paralellik intra-op havuzuyla sağlanır
+ */
+@Component
+@ConditionalOnProperty(name = "sentiment.backend", havingValue = "onnx")
+public class OnnxSentimentEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(OnnxSentimentEngine.class);
+
+    private static final String INPUT_IDS = "input_ids";
+    private static final String ATTENTION_MASK = "attention_mask";
+    private static final String TOKEN_TYPE_IDS = "token_type_ids";
+    private static final String LOGITS = "logits";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sentiment.onnx.model-path:models/sentiment/model.onnx}")
+    private String modelPath;
+
+    // Boşsa modelin dizinindeki vocab.txt
+    @Value("${sentiment.onnx.vocab-path:}")
+    private String vocabPath;
+
+    // Boşsa modelin dizinindeki tokenizer_config.json'daki do_lower_case (dosya yoksa false)
+    @Value("${sentiment.onnx.lower-case:}")
+    private String lowerCase;
+
+    @Value("${sentiment.onnx.max-sequence-length:512}")
+    private int maxSequenceLength;
+
+    @Value("${sentiment.onnx.max-batch-size:32}")
+    private int maxBatchSize;
+
+    // 0: işlemci sayısı kadar
+    @Value("${sentiment.onnx.intra-op-threads:0}")
+    private int intraOpThreads;
+
+    // Boşsa model dosyasının adı ve SHA-256 özetinden türetilir (önbellek geçersiz kılma için)
+    @Value("${sentiment.onnx.model-version:}")
+    private String configuredModelVersion;
+
+    private OrtEnvironment environment;
+    private OrtSession session;
+    private WordPieceTokenizer tokenizer;
+    private boolean tokenTypeIdsInput;
+    private String modelVersion;
+
+    @PostConstruct
+    public void load() throws IOException, OrtException {
+        if (maxBatchSize < 1 || maxSequenceLength < 3 || intraOpThreads < 0) {
+            throw new IllegalStateException("Invalid ONNX sentiment settings: maxBatchSize=" + maxBatchSize
+                + ", maxSequenceLength=" + maxSequenceLength + ", intraOpThreads=" + intraOpThreads);
+        }
+        Path model = Paths.get(modelPath).toAbsolutePath();
+        if (!Files.isRegularFile(model)) {
+            throw new IllegalStateException("ONNX sentiment model not found: " + model);
+        }
+        Path modelDir = model.getParent();
+        Path vocab = vocabPath.isBlank() ? modelDir.resolve("vocab.txt") : Paths.get(vocabPath);
+        boolean lower = lowerCase.isBlank() ? readDoLowerCase(modelDir.resolve("tokenizer_config.json"))
+                                            : Boolean.parseBoolean(lowerCase.trim());
+        tokenizer = WordPieceTokenizer.load(vocab, lower, maxSequenceLength);
+
+        int threads = intraOpThreads > 0 ? intraOpThreads : Runtime.getRuntime().availableProcessors();
+        environment = OrtEnvironment.getEnvironment();
+        try (OrtSession.SessionOptions options = new OrtSession.SessionOptions()) {
+            options.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.ALL_OPT);
+            options.setExecutionMode(OrtSession.SessionOptions.ExecutionMode.SEQUENTIAL);
+            options.setIntraOpNumThreads(threads);
+            options.setInterOpNumThreads(1);
+            session = environment.createSession(model.toString(), options);
+        }
+        if (!session.getInputNames().contains(INPUT_IDS) || !session.getInputNames().contains(ATTENTION_MASK)) {
+            throw new IllegalStateException("ONNX sentiment model must take input_ids and attention_mask, got "
+                + session.getInputNames());
+        }
+        tokenTypeIdsInput = session.getInputNames().contains(TOKEN_TYPE_IDS);
+        modelVersion = configuredModelVersion.isBlank() ? "onnx:" + model.getFileName() + "@" + sha256Prefix(model)
+                                                        : configuredModelVersion;
+
+        logger.info("ONNX sentiment model loaded: {} (version={}, vocab={} tokens, lowerCase={}, intraOpThreads={}, maxBatch={})",
+                   model, modelVersion, tokenizer.vocabSize(), lower, threads, maxBatchSize);
+    }
+
+    @PreDestroy
+    public void close() throws OrtException {
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    /**
+     * Metinleri sınıflandırır
+     *
+     * @return Metinlerle aynı sırada en olası etiket indeksi (LABEL_n) ve olasılığı
+     */
+    public List<Classification> classify(List<String> texts) {
+        List<Classification> results = new ArrayList<>(texts.size());
+        for (int from = 0; from < texts.size(); from += maxBatchSize) {
+            List<String> chunk = texts.subList(from, Math.min(texts.size(), from + maxBatchSize));
+            long start = System.nanoTime();
+            try {
+                results.addAll(run(chunk));
+            } catch (OrtException e) {
+                throw new IllegalStateException("ONNX sentiment inference failed: " + e.getMessage(), e);
+            } finally {
+                meterRegistry.timer("sentiment.onnx.inference").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+        return results;
+    }
+
+    private List<Classification> run(List<String> texts) throws OrtException {
+        int batch = texts.size();
+        int[][] encoded = new int[batch][];
+        int width = 0;
+        for (int i = 0; i < batch; i++) {
+            encoded[i] = tokenizer.encode(texts.get(i));
+            width = Math.max(width, encoded[i].length);
+        }
+
+        // Satır satır düzleştirilmiş [batch, width] tensörler; kısa metinler sağdan [PAD] ile doldurulur
+        long[] inputIds = new long[batch * width];
+        long[] attentionMask = new long[batch * width];
+        for (int i = 0; i < batch; i++) {
+            int offset = i * width;
+            int[] ids = encoded[i];
+            for (int j = 0; j < width; j++) {
+                boolean token = j < ids.length;
+                inputIds[offset + j] = token ? ids[j] : tokenizer.padId();
+                attentionMask[offset + j] = token ? 1 : 0;
+            }
+        }
+        long[] shape = { batch, width };
+
+        Map<String, OnnxTensor> inputs = new HashMap<>();
+        try {
+            inputs.put(INPUT_IDS, OnnxTensor.createTensor(environment, LongBuffer.wrap(inputIds), shape));
+            inputs.put(ATTENTION_MASK, OnnxTensor.createTensor(environment, LongBuffer.wrap(attentionMask), shape));
+            if (tokenTypeIdsInput) {
+                inputs.put(TOKEN_TYPE_IDS, OnnxTensor.createTensor(environment, LongBuffer.wrap(new long[batch * width]), shape));
+            }
+            try (OrtSession.Result result = session.run(inputs)) {
+                OnnxValue output = result.get(LOGITS).orElse(result.get(0));
+                float[][] logits = (float[][]) output.getValue();
+                List<Classification> classifications = new ArrayList<>(batch);
+                for (float[] row : logits) {
+                    classifications.add(softmaxTop1(row));
+                }
+                return classifications;
+            }
+        } finally {
+            inputs.values().forEach(OnnxTensor::close);
+        }
+    }
+
+    /**
+     * En yüksek logit'li etiket (eşitlikte ilki, numpy argmax gibi) ve softmax olasılığı
+     */
+    static Classification softmaxTop1(float[] logits) {
+        int best = 0;
+        for (int i = 1; i < logits.length; i++) {
+            if (logits[i] > logits[best]) {
+                best = i;
+            }
+        }
+        double sum = 0;
+        for (float logit : logits) {
+            sum += Math.exp(logit - logits[best]);
+        }
+        return new Classification(best, 1.0 / sum);
+    }
+
+    private static boolean readDoLowerCase(Path tokenizerConfig) throws IOException {
+        if (!Files.isRegularFile(tokenizerConfig)) {
+            return false;
+        }
+        JsonNode config = new ObjectMapper().readTree(tokenizerConfig.toFile());
+        return config.path("do_lower_case").asBoolean(false);
+    }
+
+    private static String sha256Prefix(Path file) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Tek bir metnin sınıflandırma sonucu: en olası etiketin indeksi ve softmax olasılığı
+     */
+    public static final class Classification {
+        private final int labelIndex;
+        private final double score;
+
+        Classification(int labelIndex, double score) {
+            this.labelIndex = labelIndex;
+            this.score = score;
+        }
+
+        public int getLabelIndex() {
+            return labelIndex;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,469 @@
+package com.ecommerce.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ecommerce.dto.ProductRankingResponse;
+import com.ecommerce.event.ProductRankingChangedEvent;
+import com.ecommerce.repository.ProductRankingRow;
+import com.ecommerce.repository.ProductRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Ürünlerin hibrit puana göre bellek içi sıralaması: tüm ürünler ve her kategori için ayrı.
+ *
+ * Her sıralama iki yapıdan oluşur:
+ * - Puana göre azalan, eşit puanda ID'ye göre artan sıralı ağaç (TreeSet): ilk K ürün O(log n + K)
+ * - Yüzde birlik puan kovaları üzerinde Fenwick ağacı: bir puanın üstündeki/altındaki ürün sayısı,
+ *   dolayısıyla sıra ve yüzdelik O(log 1000)
+ *
+ * Açılışta ve her gece ürün tablosundan sayfa sayfa yüklenir; arada ProductScoreAggregator'ın ve ürün
+ * ekleme/silmenin yayınladığı ProductRankingChangedEvent olaylarıyla commit sonrası güncel tutulur.
+ * Yükleme sürerken gelen olaylar kaybolmaz: yüklemenin başlangıç sıra numarasından yeni bir olayla güncellenen
+ * ürün, veritabanından okunan (belki daha eski) değerle ezilmez. Birden çok uygulama örneğinde diğer örneklerin
+ * güncellemeleri bir sonraki yeniden yüklemeye kadar görünmez.
+ */
+@Component
+public class ProductRankingIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductRankingIndex.class);
+
+    // hybrid_score sütunu DECIMAL(3,2): 0.00 - 9.99 arası yüzde birlik kovalar
+    static final int SCORE_BUCKETS = 1000;
+
+    // Puana göre azalan, eşit puanda ID'ye göre artan
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt((Entry entry) -> -entry.bucket)
+        .thenComparing(entry -> entry.id);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${products.ranking.load-page-size:1000}")
+    private int loadPageSize;
+
+    @Value("${products.ranking.max-limit:100}")
+    private int maxLimit;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Ranking overall = new Ranking();
+    private final Map<String, Ranking> byCategory = new HashMap<>();
+    private long loadGeneration;
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void init() {
+        if (loadPageSize < 1 || maxLimit < 1) {
+            throw new IllegalStateException("Invalid product ranking settings: loadPageSize=" + loadPageSize
+                + ", maxLimit=" + maxLimit);
+        }
+        Gauge.builder("products.ranking.size", this, ProductRankingIndex::rankedProducts)
+            .description("Sıralama indeksindeki (hibrit puanı olan) ürünler")
+            .register(meterRegistry);
+    }
+
+    /**
+     * İndeksi ürün tablosundan yükler (açılışta ve products.ranking.rebuild-cron ile her gece).
+     * Canlı indeks yerinde güncellenir; yazma kilidi sayfa başına kısa süre tutulur, sorgular sayfalar arasında
+     * çalışır. Bu yüzden yükleme sürerken sorgular karışık içerik görür: yüklenmiş sayfalardaki ürünler yeni,
+     * kalanlar önceki değerleriyle sıralanır ve silinmiş ürünler yükleme sonuna kadar indekste kalır.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${products.ranking.rebuild-cron:0 45 3 * * *}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        long startSequence = ProductRankingChangedEvent.currentSequence();
+        long generation;
+        lock.writeLock().lock();
+        try {
+            generation = ++loadGeneration;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long loaded = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<ProductRankingRow> rows = productRepository.findRankingRowsAfter(afterId, PageRequest.of(0, loadPageSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+            lock.writeLock().lock();
+            try {
+                for (ProductRankingRow row : rows) {
+                    load(row, startSequence, generation);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            loaded += rows.size();
+            afterId = rows.get(rows.size() - 1).getId();
+        }
+
+        int dropped = 0;
+        lock.writeLock().lock();
+        try {
+            // Yükleme sırasında görülmeyen ve sonradan olayla güncellenmeyen ürünler silinmiştir
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.generation != generation && entry.sequence <= startSequence) {
+                    unrank(entry);
+                    iterator.remove();
+                    dropped++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+
+        long elapsed = System.nanoTime() - start;
+        meterRegistry.timer("products.ranking.rebuild").record(elapsed, TimeUnit.NANOSECONDS);
+        logger.info("Product ranking index loaded: {} products ({} ranked, {} categories, {} dropped) in {} ms",
+                   loaded, rankedProducts(), categoryCount(), dropped, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRankingChanged(ProductRankingChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(event.getProductId());
+            if (previous != null && previous.sequence > event.getSequence()) {
+                return;
+            }
+            Entry entry = event.isRemoved()
+                ? Entry.removed(event.getProductId())
+                : new Entry(event.getProductId(), event.getName(), event.getCategory(),
+                            event.getHybridScore(), event.getTotalReviews());
+            entry.sequence = event.getSequence();
+            entry.generation = previous != null ? previous.generation : 0;
+            replace(previous, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * İlk yükleme tamamlandı mı (öncesinde sorgular eksik sonuç döndürebilir)
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * En yüksek hibrit puanlı ürünler
+     *
+     * @param category Kategori; null ise tüm ürünler
+     * @param limit En fazla products.ranking.max-limit
+     */
+    public List<ProductRankingResponse> top(String category, int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        lock.readLock().lock();
+        try {
+            Ranking ranking = category == null ? overall : byCategory.get(category);
+            if (ranking == null) {
+                return Collections.emptyList();
+            }
+            List<ProductRankingResponse> result = new ArrayList<>(Math.min(limit, ranking.size()));
+            for (Entry entry : ranking.order) {
+                if (result.size() == limit) {
+                    break;
+                }
+                ProductRankingResponse response = toResponse(entry);
+                if (category == null) {
+                    fillOverall(response, entry);
+                } else {
+                    fillCategory(response, entry, ranking);
+                }
+                result.add(response);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ürünün tüm ürünler ve kendi kategorisi içindeki sırası
+     *
+     * @return İndekste olmayan ürün için null
+     */
+    public ProductRankingResponse rankOf(Long productId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(productId);
+            if (entry == null || entry.removed) {
+                return null;
+            }
+            ProductRankingResponse response = toResponse(entry);
+            if (entry.isRanked()) {
+                fillOverall(response, entry);
+                if (entry.category != null) {
+                    fillCategory(response, entry, byCategory.get(entry.category));
+                }
+            }
+            return response;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bir hibrit puanın kapsamdaki yüzdelik sırası, o puan ve üstündeki ürün sayısı ve ortalama hibrit puan
+     *
+     * @param category Kategori; null ise tüm ürünler
+     */
+    public Map<String, Object> describeScore(String category, BigDecimal score) {
+        if (score == null || score.signum() < 0) {
+            throw new IllegalArgumentException("score must be a non-negative number");
+        }
+        int bucket = toBucket(score);
+        lock.readLock().lock();
+        try {
+            Ranking ranking = category == null ? overall : byCategory.get(category);
+            int size = ranking == null ? 0 : ranking.size();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("category", category);
+            result.put("score", fromBucket(bucket));
+            result.put("rankedProducts", size);
+            result.put("productsAtOrAbove", size == 0 ? 0 : size - ranking.countBelow(bucket));
+            result.put("percentile", size == 0 ? null : ranking.percentile(bucket));
+            result.put("averageHybridScore", size == 0 ? null : ranking.average());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Yazma kilidi altında çağrılır
+    private void load(ProductRankingRow row, long startSequence, long generation) {
+        Entry previous = entries.get(row.getId());
+        // Yükleme başladıktan sonra olayla güncellenen ürün daha yeni: veritabanı okuması eski olabilir
+        if (previous != null && previous.sequence > startSequence) {
+            previous.generation = generation;
+            return;
+        }
+        Entry entry = new Entry(row.getId(), row.getName(), row.getCategory(), row.getHybridScore(), row.getTotalReviews());
+        entry.sequence = previous != null ? previous.sequence : 0;
+        entry.generation = generation;
+        replace(previous, entry);
+    }
+
+    // Yazma kilidi altında çağrılır
+    private void replace(Entry previous, Entry entry) {
+        if (previous != null) {
+            unrank(previous);
+        }
+        entries.put(entry.id, entry);
+        if (entry.isRanked()) {
+            overall.add(entry);
+            if (entry.category != null) {
+                byCategory.computeIfAbsent(entry.category, key -> new Ranking()).add(entry);
+            }
+        }
+    }
+
+    // Yazma kilidi altında çağrılır
+    private void unrank(Entry entry) {
+        if (!entry.isRanked()) {
+            return;
+        }
+        overall.remove(entry);
+        if (entry.category != null) {
+            Ranking ranking = byCategory.get(entry.category);
+            ranking.remove(entry);
+            if (ranking.size() == 0) {
+                byCategory.remove(entry.category);
+            }
+        }
+    }
+
+    private void fillOverall(ProductRankingResponse response, Entry entry) {
+        response.setRank(overall.rank(entry.bucket));
+        response.setRankedProducts(overall.size());
+        response.setPercentile(overall.percentile(entry.bucket));
+    }
+
+    private void fillCategory(ProductRankingResponse response, Entry entry, Ranking ranking) {
+        response.setCategoryRank(ranking.rank(entry.bucket));
+        response.setCategoryRankedProducts(ranking.size());
+        response.setCategoryPercentile(ranking.percentile(entry.bucket));
+    }
+
+    private static ProductRankingResponse toResponse(Entry entry) {
+        ProductRankingResponse response = new ProductRankingResponse();
+        response.setProductId(entry.id);
+        response.setName(entry.name);
+        response.setCategory(entry.category);
+        response.setHybridScore(entry.hybridScore);
+        response.setTotalReviews(entry.totalReviews);
+        return response;
+    }
+
+    private int rankedProducts() {
+        lock.readLock().lock();
+        try {
+            return overall.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int categoryCount() {
+        lock.readLock().lock();
+        try {
+            return byCategory.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static int toBucket(BigDecimal score) {
+        int hundredths = score.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValue();
+        return Math.max(0, Math.min(SCORE_BUCKETS - 1, hundredths));
+    }
+
+    private static BigDecimal fromBucket(int bucket) {
+        return BigDecimal.valueOf(bucket, 2);
+    }
+
+    /**
+     * İndeksteki ürün; silinen ürünler yeniden yüklemeye kadar sıra numarasıyla (removed) tutulur
+     */
+    private static final class Entry {
+        private final Long id;
+        private final String name;
+        private final String category;
+        private final BigDecimal hybridScore;
+        private final Integer totalReviews;
+        // Hibrit puanı olmayan veya silinen ürün için -1 (sıralamaya girmez)
+        private final int bucket;
+        private final boolean removed;
+        // Son uygulanan olayın sıra numarası (yalnızca yüklemeden gelen ürün için 0)
+        private long sequence;
+        // Ürünün görüldüğü son yükleme
+        private long generation;
+
+        Entry(Long id, String name, String category, BigDecimal hybridScore, Integer totalReviews) {
+            this(id, name, category, hybridScore, totalReviews, false);
+        }
+
+        private Entry(Long id, String name, String category, BigDecimal hybridScore, Integer totalReviews,
+                      boolean removed) {
+            this.id = id;
+            this.name = name;
+            this.category = category;
+            this.hybridScore = hybridScore;
+            this.totalReviews = totalReviews;
+            this.removed = removed;
+            this.bucket = removed || hybridScore == null ? -1 : toBucket(hybridScore);
+        }
+
+        static Entry removed(Long id) {
+            return new Entry(id, null, null, null, null, true);
+        }
+
+        boolean isRanked() {
+            return bucket >= 0;
+        }
+    }
+
+    /**
+     * Tek kapsamın (tüm ürünler veya bir kategori) sıralaması; indeks kilidi altında kullanılır
+     */
+    private static final class Ranking {
+        private final TreeSet<Entry> order = new TreeSet<>(ORDER);
+        // Fenwick ağacı (1 tabanlı): kova başına ürün sayısı
+        private final int[] tree = new int[SCORE_BUCKETS + 1];
+        private long bucketSum;
+
+        void add(Entry entry) {
+            order.add(entry);
+            update(entry.bucket, 1);
+            bucketSum += entry.bucket;
+        }
+
+        void remove(Entry entry) {
+            order.remove(entry);
+            update(entry.bucket, -1);
+            bucketSum -= entry.bucket;
+        }
+
+        int size() {
+            return order.size();
+        }
+
+        /**
+         * Yarışma sırası: bu kovadan yüksek puanlı ürün sayısı + 1
+         */
+        int rank(int bucket) {
+            return size() - countAtOrBelow(bucket) + 1;
+        }
+
+        int countBelow(int bucket) {
+            return countAtOrBelow(bucket - 1);
+        }
+
+        /**
+         * Yüzdelik sıra: (altındaki ürünler + aynı puandakilerin yarısı) / ürün sayısı
+         */
+        double percentile(int bucket) {
+            int below = countBelow(bucket);
+            int equal = countAtOrBelow(bucket) - below;
+            double value = 100.0 * (below + equal / 2.0) / size();
+            return Math.round(value * 10) / 10.0;
+        }
+
+        BigDecimal average() {
+            return BigDecimal.valueOf(bucketSum).divide(BigDecimal.valueOf(size()), 0, RoundingMode.HALF_UP)
+                .movePointLeft(2);
+        }
+
+        private void update(int bucket, int delta) {
+            for (int i = bucket + 1; i <= SCORE_BUCKETS; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        private int countAtOrBelow(int bucket) {
+            int count = 0;
+            for (int i = Math.min(bucket + 1, SCORE_BUCKETS); i > 0; i -= i & -i) {
+                count += tree[i];
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.ecommerce.service;
+
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import com.ecommerce.event.ProductRankingChangedEvent;
+import com.ecommerce.event.ProductReviewsChangedEvent;
+import com.ecommerce.event.ProductScoresStaleEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Ürün detayı ve ürün yorum listesi yanıtlarının JSON olarak serileştirilmiş önbelleği (read-through).
+ *
+ * - Kayıtlar ürün ID'si ve istek parametrelerinden oluşan anahtarla tutulur; boyut sınırı aşılınca
+ *   en uzun süredir erişilmeyen kayıt atılır (LRU)
+ * - Ürün satırı (ProductRankingChangedEvent) veya yorumları (ProductReviewsChangedEvent, puanları henüz
+ *   güncellenmediyse ProductScoresStaleEvent) değiştiğinde o ürünün tüm kayıtları commit sonrası silinir;
+ *   diğer ürünlerin kayıtları etkilenmez
+ * - Her kaydın ETag'i gövdenin MD5 özetidir; tarayıcı If-None-Match ile gövdeyi yeniden indirmez
+ *
+ * Geçersiz kılma ile eş zamanlı bir yükleme eski veriyi okumuş olabilir: yükleme başlamadan alınan ürün
+ * sürümü, kayıt eklenirken değişmişse sonuç önbelleğe yazılmaz (yalnızca o istek için kullanılır).
+ */
+@Component
+public class ProductResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductResponseCache.class);
+
+    // Ürün sürümleri sabit sayıda dilimde tutulur (ürün başına sayaç büyümez); çakışma yalnızca fazladan ıska yaratır
+    private static final int VERSION_STRIPES = 4096;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${products.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${products.response-cache.max-size:10000}")
+    private int maxSize;
+
+    private final LinkedHashMap<CacheKey, CachedResponse> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    private final Map<Long, Set<CacheKey>> keysByProduct = new HashMap<>();
+    private final long[] versions = new long[VERSION_STRIPES];
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong discardedLoads = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        if (maxSize < 1) {
+            throw new IllegalStateException("products.response-cache.max-size must be at least 1");
+        }
+        FunctionCounter.builder("products.response.cache.requests", hits, AtomicLong::get)
+            .tag("result", "hit")
+            .description("Önbellekten yanıtlanan ürün/yorum listesi istekleri")
+            .register(meterRegistry);
+        FunctionCounter.builder("products.response.cache.requests", misses, AtomicLong::get)
+            .tag("result", "miss")
+            .description("Veritabanından yüklenen ürün/yorum listesi istekleri")
+            .register(meterRegistry);
+        FunctionCounter.builder("products.response.cache.evictions", evictions, AtomicLong::get)
+            .description("Boyut sınırı nedeniyle atılan kayıtlar")
+            .register(meterRegistry);
+        FunctionCounter.builder("products.response.cache.invalidations", invalidations, AtomicLong::get)
+            .description("Yazma nedeniyle geçersiz kılınan ürünler")
+            .register(meterRegistry);
+        Gauge.builder("products.response.cache.size", this, ProductResponseCache::size)
+            .description("Önbellekteki yanıtlar")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Önbellekteki yanıtı döndürür; yoksa loader ile yükler, serileştirir ve ekler
+     *
+     * @param productId Yanıtın ait olduğu ürün (geçersiz kılma birimi)
+     * @param key Ürün içindeki anahtar (uç nokta ve istek parametreleri)
+     * @param loader Yanıt nesnesini üretir; fırlattığı hata çağırana aynen iletilir ve önbelleğe yazılmaz
+     */
+    public CachedResponse get(Long productId, String key, Supplier<?> loader) {
+        if (!enabled) {
+            return serialize(loader.get());
+        }
+
+        CacheKey cacheKey = new CacheKey(productId, key);
+        long version;
+        synchronized (entries) {
+            CachedResponse cached = entries.get(cacheKey);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            version = versions[stripe(productId)];
+        }
+
+        misses.incrementAndGet();
+        CachedResponse loaded = serialize(loader.get());
+
+        synchronized (entries) {
+            if (versions[stripe(productId)] != version) {
+                // Yükleme sırasında ürün değişti: okunan veri eski olabilir
+                discardedLoads.incrementAndGet();
+                return loaded;
+            }
+            entries.put(cacheKey, loaded);
+            keysByProduct.computeIfAbsent(productId, id -> new HashSet<>()).add(cacheKey);
+            // Boyut sınırı aşıldıysa en uzun süredir erişilmeyen kayıtları at
+            Iterator<CacheKey> iterator = entries.keySet().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                CacheKey eldest = iterator.next();
+                iterator.remove();
+                forgetKey(eldest);
+                evictions.incrementAndGet();
+            }
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductRankingChangedEvent event) {
+        invalidate(event.getProductId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReviewsChanged(ProductReviewsChangedEvent event) {
+        invalidate(event.getProductId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScoresStale(ProductScoresStaleEvent event) {
+        invalidate(event.getProductId());
+    }
+
+    /**
+     * Ürünün tüm önbellek kayıtlarını siler
+     */
+    public void invalidate(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        synchronized (entries) {
+            versions[stripe(productId)]++;
+            Set<CacheKey> keys = keysByProduct.remove(productId);
+            if (keys != null) {
+                for (CacheKey key : keys) {
+                    entries.remove(key);
+                }
+            }
+        }
+        invalidations.incrementAndGet();
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            for (int i = 0; i < versions.length; i++) {
+                versions[i]++;
+            }
+            entries.clear();
+            keysByProduct.clear();
+        }
+        logger.info("Product response cache cleared");
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long requestCount = hitCount + misses.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("size", size());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hitCount);
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("discardedLoads", discardedLoads.get());
+        stats.put("hitRate", requestCount == 0 ? 0.0 : (double) hitCount / requestCount);
+        return stats;
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // entries kilidi altında çağrılır
+    private void forgetKey(CacheKey key) {
+        Set<CacheKey> keys = keysByProduct.get(key.productId);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByProduct.remove(key.productId);
+            }
+        }
+    }
+
+    private CachedResponse serialize(Object response) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(response);
+            return new CachedResponse(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int stripe(Long productId) {
+        return Long.hashCode(productId) & (VERSION_STRIPES - 1);
+    }
+
+    /**
+     * Serileştirilmiş JSON gövdesi ve ETag'i
+     */
+    public static final class CachedResponse {
+        private final byte[] body;
+        private final String etag;
+
+        private CachedResponse(byte[] body, String etag) {
+            this.body = body;
+            this.etag = etag;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+
+    private static final class CacheKey {
+        private final Long productId;
+        private final String key;
+
+        CacheKey(Long productId, String key) {
+            this.productId = productId;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey that = (CacheKey) other;
+            return productId.equals(that.productId) && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * productId.hashCode() + key.hashCode();
+        }
+    }
+}
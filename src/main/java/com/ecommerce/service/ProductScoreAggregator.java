@@ -0,0 +1,447 @@
+package com.ecommerce.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.entity.Product;
+import com.ecommerce.entity.Review;
+import com.ecommerce.entity.ReviewCategory;
+import com.ecommerce.event.ProductRankingChangedEvent;
+import com.ecommerce.repository.CategoryScoreTotals;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.ReviewRepository;
+import com.ecommerce.repository.ReviewScoreTotals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Ürün puanlarını (ortalama yıldız, hibrit puan, kategori puanları) artımlı olarak günceller.
+ *
+ * Ürün satırında tutulan toplam/sayı alanları her yorum eklemede, silmede ve yeniden puanlamada
+ * yalnızca o yorumun katkısı kadar (delta) değiştirilir; ortalamalar bu toplamlardan hesaplanır.
+ * Böylece yorum başına maliyet ürünün yorum sayısından bağımsızdır. Toplamlar periyodik bir
+ * mutabakat işiyle reviews tablosundaki kaynak verilere karşı doğrulanır.
+ *
+ * Her güncelleme işlem türüne göre (delta, bulk, recalculate, reconcile) product.scores.update süresiyle ve
+ * toplanan yorum satırı sayısıyla (product.scores.rows.scanned; artımlı güncellemede 0) ölçülür.
+ * Kaydedilen her puan ProductRankingChangedEvent ile sıralama indeksine bildirilir.
+ * Yazma birleştirme açıkken tekil yorum yazmaları delta uygulamaz; ProductScoreUpdateCoalescer ürünü
+ * pencere başına bir kez recalculate eder.
+ */
+@Service
+public class ProductScoreAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductScoreAggregator.class);
+
+    // Ortalamaların hibrit puan hesaplamasına giden ara hassasiyeti
+    private static final int AVERAGE_SCALE = 10;
+    private static final int RECONCILE_PAGE_SIZE = 100;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private HybridScoreService hybridScoreService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ReviewCategoryMigration reviewCategoryMigration;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductScoreAggregator(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Bir yorumun ürün puanlarına katkısını değiştirir
+     *
+     * @param productId Ürün ID
+     * @param removed Çıkarılacak eski katkı (yeni yorumda null)
+     * @param added Eklenecek yeni katkı (silinen yorumda null)
+     */
+    @Transactional
+    public void applyDelta(Long productId, ScoreContribution removed, ScoreContribution added) {
+        long start = System.nanoTime();
+        long rowsScanned = 0;
+        try {
+            Product product = lockProduct(productId);
+
+            // Toplamlar henüz oluşturulmamışsa (eski kayıtlar) kaynak verilerden bir kez hesapla;
+            // sorgu öncesi flush sayesinde bu değişiklik zaten dahil olur
+            if (!hasAggregates(product)) {
+                rowsScanned = rebuildAggregates(product);
+                applyDerivedScores(product);
+                saveScores(product);
+                return;
+            }
+
+            if (removed != null) {
+                accumulate(product, removed, -1);
+            }
+            if (added != null) {
+                accumulate(product, added, 1);
+            }
+
+            applyDerivedScores(product);
+            saveScores(product);
+        } finally {
+            recordUpdate("delta", start, rowsScanned);
+        }
+    }
+
+    /**
+     * Aynı ürüne eklenen birden çok yorumun katkısını tek kilit ve tek güncellemeyle uygular (toplu ekleme)
+     *
+     * @param productId Ürün ID
+     * @param added Eklenen yorumların katkıları
+     */
+    @Transactional
+    public void applyAdded(Long productId, List<ScoreContribution> added) {
+        long start = System.nanoTime();
+        long rowsScanned = 0;
+        try {
+            Product product = lockProduct(productId);
+
+            if (!hasAggregates(product)) {
+                rowsScanned = rebuildAggregates(product);
+            } else {
+                for (ScoreContribution contribution : added) {
+                    accumulate(product, contribution, 1);
+                }
+            }
+
+            applyDerivedScores(product);
+            saveScores(product);
+        } finally {
+            recordUpdate("bulk", start, rowsScanned);
+        }
+    }
+
+    /**
+     * Ürünün toplamlarını reviews tablosundan baştan hesaplar (tam yeniden hesaplama)
+     */
+    @Transactional
+    public void recalculate(Long productId) {
+        long start = System.nanoTime();
+        long rowsScanned = 0;
+        try {
+            Product product = lockProduct(productId);
+            rowsScanned = rebuildAggregates(product);
+            applyDerivedScores(product);
+            saveScores(product);
+        } finally {
+            recordUpdate("recalculate", start, rowsScanned);
+        }
+    }
+
+    /**
+     * Tüm ürünlerin artımlı toplamlarını kaynak verilerle karşılaştırır, sapma varsa düzeltir.
+     * Her ürün kendi kısa transaction'ında işlenir.
+     */
+    @Scheduled(cron = "${product.scores.reconcile-cron:0 30 3 * * *}")
+    public void reconcileAll() {
+        long checked = 0;
+        long repaired = 0;
+        Long afterId = 0L;
+
+        while (true) {
+            List<Long> productIds = productRepository.findIdsAfter(afterId, PageRequest.of(0, RECONCILE_PAGE_SIZE));
+            if (productIds.isEmpty()) {
+                break;
+            }
+            for (Long productId : productIds) {
+                Boolean wasRepaired = transactionTemplate.execute(status -> reconcile(productId));
+                checked++;
+                if (Boolean.TRUE.equals(wasRepaired)) {
+                    repaired++;
+                }
+            }
+            afterId = productIds.get(productIds.size() - 1);
+        }
+
+        logger.info("Product score reconciliation finished: {} products checked, {} repaired", checked, repaired);
+    }
+
+    private boolean reconcile(Long productId) {
+        long start = System.nanoTime();
+        long rowsScanned = 0;
+        try {
+            Product product = entityManager.find(Product.class, productId, LockModeType.PESSIMISTIC_WRITE);
+            if (product == null) {
+                return false;
+            }
+
+            Product expected = new Product();
+            expected.setId(productId);
+            rowsScanned = rebuildAggregates(expected);
+
+            if (sameAggregates(product, expected)) {
+                return false;
+            }
+
+            logger.warn("Product {} aggregates drifted (reviews: stored={}, actual={}), repairing",
+                       productId, product.getTotalReviews(), expected.getTotalReviews());
+            meterRegistry.counter("product.scores.reconcile.repaired").increment();
+            copyAggregates(expected, product);
+            applyDerivedScores(product);
+            saveScores(product);
+            return true;
+        } finally {
+            recordUpdate("reconcile", start, rowsScanned);
+        }
+    }
+
+    private void saveScores(Product product) {
+        productRepository.save(product);
+        // Satır kilitliyken yayınlanır: olayın sıra numarası aynı ürünün commit sırasını izler
+        eventPublisher.publishEvent(ProductRankingChangedEvent.updated(product));
+    }
+
+    private void recordUpdate(String operation, long startNanos, long rowsScanned) {
+        meterRegistry.timer("product.scores.update", "operation", operation)
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.summary("product.scores.rows.scanned", "operation", operation).record(rowsScanned);
+    }
+
+    private Product lockProduct(Long productId) {
+        if (productId == null) {
+            throw new IllegalArgumentException("Product ID cannot be null");
+        }
+        // Aynı ürüne eş zamanlı delta yazımlarını sıraya sok ve güncel toplamları oku (SELECT ... FOR UPDATE).
+        // refresh kullanılmaz: Product.reviews üzerindeki cascade tüm yorumları yükler.
+        // Ürünü bu transaction'da daha önce yükleyen çağıranlar kilitli okumalıdır (findByIdForUpdate).
+        Product product = entityManager.find(Product.class, productId, LockModeType.PESSIMISTIC_WRITE);
+        if (product == null) {
+            throw new RuntimeException("Product not found with ID: " + productId);
+        }
+        return product;
+    }
+
+    /**
+     * @return Toplanan yorum satırı sayısı (genel toplam sorgusu; kategori sorgusu aynı satırların alt kümesini okur)
+     */
+    private long rebuildAggregates(Product product) {
+        Long productId = product.getId();
+        ReviewScoreTotals totals = reviewRepository.getScoreTotalsByProductId(productId);
+
+        product.setTotalReviews(totals.getReviewCount().intValue());
+        product.setStarRatingSum(totals.getStarRatingSum());
+        product.setSentimentScoreSum(totals.getSentimentScoreSum());
+        product.setSentimentScoreCount(totals.getSentimentScoreCount());
+
+        // Yorumu olmayan kategoriler gruplu sorguda satır üretmez
+        for (ReviewCategory category : ReviewCategory.values()) {
+            setCategoryTotals(product, category, BigDecimal.ZERO, 0L);
+        }
+        for (CategoryScoreTotals categoryTotals : reviewRepository.getCategoryScoreTotalsByProductId(productId)) {
+            setCategoryTotals(product, categoryTotals.getCategory(),
+                              categoryTotals.getHybridScoreSum(), categoryTotals.getReviewCount());
+        }
+
+        // Geçiş bitene kadar kategorileri yalnızca eski sütunda olan yorumlar
+        if (!reviewCategoryMigration.isComplete()) {
+            for (ReviewCategory category : ReviewCategory.values()) {
+                CategoryScoreTotals legacy = reviewRepository.getLegacyCategoryScoreTotals(productId, category.getKey());
+                if (legacy.getReviewCount() > 0) {
+                    addCategoryTotals(product, category, legacy.getHybridScoreSum(), legacy.getReviewCount());
+                }
+            }
+        }
+        return totals.getReviewCount();
+    }
+
+    private static void setCategoryTotals(Product product, ReviewCategory category, BigDecimal hybridSum, long count) {
+        switch (category) {
+            case QUALITY_DURABILITY -> {
+                product.setQualityHybridSum(hybridSum);
+                product.setQualityReviewCount(count);
+            }
+            case USAGE_PERFORMANCE -> {
+                product.setPerformanceHybridSum(hybridSum);
+                product.setPerformanceReviewCount(count);
+            }
+            case SERVICE_DELIVERY -> {
+                product.setShippingHybridSum(hybridSum);
+                product.setShippingReviewCount(count);
+            }
+        }
+    }
+
+    private static void addCategoryTotals(Product product, ReviewCategory category, BigDecimal hybridSum, long count) {
+        switch (category) {
+            case QUALITY_DURABILITY -> setCategoryTotals(product, category,
+                product.getQualityHybridSum().add(hybridSum), product.getQualityReviewCount() + count);
+            case USAGE_PERFORMANCE -> setCategoryTotals(product, category,
+                product.getPerformanceHybridSum().add(hybridSum), product.getPerformanceReviewCount() + count);
+            case SERVICE_DELIVERY -> setCategoryTotals(product, category,
+                product.getShippingHybridSum().add(hybridSum), product.getShippingReviewCount() + count);
+        }
+    }
+
+    private void accumulate(Product product, ScoreContribution contribution, int sign) {
+        product.setTotalReviews(product.getTotalReviews() + sign);
+        product.setStarRatingSum(product.getStarRatingSum() + (long) sign * contribution.starRating);
+
+        if (contribution.sentimentScore != null) {
+            product.setSentimentScoreSum(addSigned(product.getSentimentScoreSum(), contribution.sentimentScore, sign));
+            product.setSentimentScoreCount(product.getSentimentScoreCount() + sign);
+        }
+
+        BigDecimal hybrid = contribution.hybridScore != null ? contribution.hybridScore : BigDecimal.ZERO;
+        if (ReviewCategory.QUALITY_DURABILITY.isIn(contribution.categoryMask)) {
+            product.setQualityHybridSum(addSigned(product.getQualityHybridSum(), hybrid, sign));
+            product.setQualityReviewCount(product.getQualityReviewCount() + sign);
+        }
+        if (ReviewCategory.USAGE_PERFORMANCE.isIn(contribution.categoryMask)) {
+            product.setPerformanceHybridSum(addSigned(product.getPerformanceHybridSum(), hybrid, sign));
+            product.setPerformanceReviewCount(product.getPerformanceReviewCount() + sign);
+        }
+        if (ReviewCategory.SERVICE_DELIVERY.isIn(contribution.categoryMask)) {
+            product.setShippingHybridSum(addSigned(product.getShippingHybridSum(), hybrid, sign));
+            product.setShippingReviewCount(product.getShippingReviewCount() + sign);
+        }
+    }
+
+    /**
+     * Toplamlardan ortalama yıldız, hibrit ve kategori puanlarını hesaplar (O(1))
+     */
+    private void applyDerivedScores(Product product) {
+        int reviewCount = product.getTotalReviews();
+
+        // Eğer hiç yorum yoksa tüm puanları sıfırla
+        if (reviewCount <= 0) {
+            product.setAverageRating(BigDecimal.ZERO);
+            product.setHybridScore(BigDecimal.ZERO);
+            product.setShippingScore(BigDecimal.ZERO);
+            product.setQualityScore(BigDecimal.ZERO);
+            product.setPerformanceScore(BigDecimal.ZERO);
+            return;
+        }
+
+        BigDecimal avgStarRating = BigDecimal.valueOf(product.getStarRatingSum())
+            .divide(BigDecimal.valueOf(reviewCount), AVERAGE_SCALE, RoundingMode.HALF_UP);
+        product.setAverageRating(avgStarRating.setScale(2, RoundingMode.HALF_UP));
+
+        BigDecimal avgSentimentScore = product.getSentimentScoreCount() > 0
+            ? product.getSentimentScoreSum().divide(BigDecimal.valueOf(product.getSentimentScoreCount()),
+                                                  AVERAGE_SCALE, RoundingMode.HALF_UP)
+            : null;
+
+        // Hibrit puan hesapla (ürün seviyesinde eşit ağırlık kullan)
+        product.setHybridScore(hybridScoreService.calculateProductHybridScore(avgStarRating, avgSentimentScore));
+
+        // Eski alanlar yeni kategorilerle eşleşir (geriye uyumluluk için)
+        product.setQualityScore(average(product.getQualityHybridSum(), product.getQualityReviewCount()));
+        product.setPerformanceScore(average(product.getPerformanceHybridSum(), product.getPerformanceReviewCount()));
+        product.setShippingScore(average(product.getShippingHybridSum(), product.getShippingReviewCount()));
+    }
+
+    private static BigDecimal average(BigDecimal sum, long count) {
+        if (count <= 0) {
+            return BigDecimal.ZERO; // Kategori için yorum yoksa 0 döndür
+        }
+        return sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal addSigned(BigDecimal total, BigDecimal value, int sign) {
+        return sign > 0 ? total.add(value) : total.subtract(value);
+    }
+
+    private static boolean hasAggregates(Product product) {
+        return product.getTotalReviews() != null
+            && product.getStarRatingSum() != null
+            && product.getSentimentScoreSum() != null
+            && product.getSentimentScoreCount() != null
+            && product.getQualityHybridSum() != null
+            && product.getQualityReviewCount() != null
+            && product.getPerformanceHybridSum() != null
+            && product.getPerformanceReviewCount() != null
+            && product.getShippingHybridSum() != null
+            && product.getShippingReviewCount() != null;
+    }
+
+    private static boolean sameAggregates(Product stored, Product expected) {
+        return hasAggregates(stored)
+            && Objects.equals(stored.getTotalReviews(), expected.getTotalReviews())
+            && Objects.equals(stored.getStarRatingSum(), expected.getStarRatingSum())
+            && stored.getSentimentScoreSum().compareTo(expected.getSentimentScoreSum()) == 0
+            && Objects.equals(stored.getSentimentScoreCount(), expected.getSentimentScoreCount())
+            && stored.getQualityHybridSum().compareTo(expected.getQualityHybridSum()) == 0
+            && Objects.equals(stored.getQualityReviewCount(), expected.getQualityReviewCount())
+            && stored.getPerformanceHybridSum().compareTo(expected.getPerformanceHybridSum()) == 0
+            && Objects.equals(stored.getPerformanceReviewCount(), expected.getPerformanceReviewCount())
+            && stored.getShippingHybridSum().compareTo(expected.getShippingHybridSum()) == 0
+            && Objects.equals(stored.getShippingReviewCount(), expected.getShippingReviewCount());
+    }
+
+    private static void copyAggregates(Product source, Product target) {
+        target.setTotalReviews(source.getTotalReviews());
+        target.setStarRatingSum(source.getStarRatingSum());
+        target.setSentimentScoreSum(source.getSentimentScoreSum());
+        target.setSentimentScoreCount(source.getSentimentScoreCount());
+        target.setQualityHybridSum(source.getQualityHybridSum());
+        target.setQualityReviewCount(source.getQualityReviewCount());
+        target.setPerformanceHybridSum(source.getPerformanceHybridSum());
+        target.setPerformanceReviewCount(source.getPerformanceReviewCount());
+        target.setShippingHybridSum(source.getShippingHybridSum());
+        target.setShippingReviewCount(source.getShippingReviewCount());
+    }
+
+    /**
+     * Tek bir yorumun ürün toplamlarına katkısının anlık görüntüsü
+     * (yeniden puanlamada eski değerleri çıkarabilmek için alan değişmeden önce alınır)
+     */
+    public static final class ScoreContribution {
+        private final int starRating;
+        private final BigDecimal sentimentScore;
+        private final BigDecimal hybridScore;
+        private final int categoryMask;
+
+        private ScoreContribution(int starRating, BigDecimal sentimentScore, BigDecimal hybridScore, int categoryMask) {
+            this.starRating = starRating;
+            this.sentimentScore = sentimentScore;
+            this.hybridScore = hybridScore;
+            this.categoryMask = categoryMask;
+        }
+
+        public static ScoreContribution of(Review review) {
+            // Veritabanındaki sütun hassasiyetiyle (scale 2) aynı değerler toplanmalı, aksi halde mutabakatta sapma oluşur
+            return new ScoreContribution(review.getStarRating(), toColumnScale(review.getSentimentScore()),
+                                         toColumnScale(review.getHybridScore()), review.getCategoryMask());
+        }
+
+        private static BigDecimal toColumnScale(BigDecimal value) {
+            return value == null ? null : value.setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.ecommerce.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ecommerce.event.ProductScoresStaleEvent;
+import com.ecommerce.repository.ProductRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Ürün puanı güncellemelerini birleştirir (write-coalescing).
+ *
+ * Yazma birleştirme açıkken yorum ekleme, silme ve puanlama ürün satırını kilitleyip güncellemez; commit sonrası
+ * ürünü kirli kümeye ekler (ProductScoresStaleEvent). Bir boşaltıcı thread her flush-interval-ms'de bir
+ * (veya kirli ürün sayısı flush-threshold'a ulaşınca hemen) kümedeki her ürünün puanlarını reviews tablosundan
+ * tek transaction'da yeniden hesaplar. Saniyede yüzlerce yorum alan bir ürün böylece pencere başına en fazla
+ * bir kez kilitlenir ve yazılır.
+ *
+ * - Yeniden hesaplama kaynak veriden yapıldığından kaçırılan veya tekrarlanan işaret toplamları bozmaz;
+ *   işaret commit sonrası eklendiği için boşaltma işaretli her değişikliği görür
+ * - Boşaltma başarısız olursa ürün ilk işaret zamanıyla kümeye geri konur; silinmiş ürün atılır
+ * - Uygulama kapanırken küme son kez boşaltılır; çökme durumunda kalan sapmayı gece mutabakatı düzeltir
+ *
+ * Metrikler: işaretlenen yazmalar ve boşaltmalar (birleştirme oranı = yazma / boşaltma), ilk işaretten
+ * puanların yazılmasına kadar geçen süre (staleness) ve bekleyen en eski ürünün yaşı.
+ */
+@Component
+public class ProductScoreUpdateCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductScoreUpdateCoalescer.class);
+
+    @Autowired
+    private ProductScoreAggregator productScoreAggregator;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${product.scores.coalescing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${product.scores.coalescing.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${product.scores.coalescing.flush-threshold:500}")
+    private int flushThreshold;
+
+    private final ConcurrentHashMap<Long, DirtyProduct> dirtyProducts = new ConcurrentHashMap<>();
+
+    private final AtomicLong markedWrites = new AtomicLong();
+    private final AtomicLong flushedWrites = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private Timer staleness;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        if (flushIntervalMs < 1 || flushThreshold < 1) {
+            throw new IllegalStateException("Invalid product score coalescing settings: flushIntervalMs="
+                + flushIntervalMs + ", flushThreshold=" + flushThreshold);
+        }
+        FunctionCounter.builder("product.scores.coalescing.writes", markedWrites, AtomicLong::get)
+            .description("Ürün puanlarını bayatlatan ve kirli kümeye eklenen yazmalar")
+            .register(meterRegistry);
+        FunctionCounter.builder("product.scores.coalescing.flushes", flushes, AtomicLong::get)
+            .description("Ürün başına yeniden hesaplama (birleştirilmiş yazma)")
+            .register(meterRegistry);
+        FunctionCounter.builder("product.scores.coalescing.failures", failures, AtomicLong::get)
+            .description("Başarısız olup yeniden kuyruğa alınan boşaltmalar")
+            .register(meterRegistry);
+        Gauge.builder("product.scores.coalescing.ratio", this, ProductScoreUpdateCoalescer::coalescingRatio)
+            .description("Boşaltma başına birleştirilen yazma sayısı")
+            .register(meterRegistry);
+        Gauge.builder("product.scores.coalescing.dirty", dirtyProducts, Map::size)
+            .description("Puanları yeniden hesaplanmayı bekleyen ürünler")
+            .register(meterRegistry);
+        Gauge.builder("product.scores.coalescing.oldest.pending", this, coalescer -> coalescer.oldestPendingMillis())
+            .baseUnit("milliseconds")
+            .description("Bekleyen en eski ürünün ilk işaretinden bu yana geçen süre")
+            .register(meterRegistry);
+        staleness = Timer.builder("product.scores.coalescing.staleness")
+            .description("Ürünün ilk işaretinden puanlarının yazılmasına kadar geçen süre")
+            .register(meterRegistry);
+
+        if (enabled) {
+            running = true;
+            flusher = new Thread(this::flushLoop, "product-score-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+        logger.info("Product score write-coalescing: enabled={}, flushIntervalMs={}, flushThreshold={}",
+                   enabled, flushIntervalMs, flushThreshold);
+    }
+
+    /**
+     * Bean'ler yok edilmeden önce (puan olaylarının dinleyicileri hâlâ ayaktayken) boşaltıcıyı durdurur ve
+     * kapanıştan hemen önce gelen işaretleri son kez boşaltır
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        flush();
+    }
+
+    /**
+     * true ise yorum yazmaları ürün puanlarını hemen güncellemez, ProductScoresStaleEvent yayınlar
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScoresStale(ProductScoresStaleEvent event) {
+        markDirty(event.getProductId());
+    }
+
+    void markDirty(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        markedWrites.incrementAndGet();
+        dirtyProducts.compute(productId, (id, dirty) -> {
+            if (dirty == null) {
+                return new DirtyProduct(System.nanoTime(), 1);
+            }
+            dirty.writes++;
+            return dirty;
+        });
+        if (dirtyProducts.size() >= flushThreshold && flusher != null) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    /**
+     * Kirli kümedeki tüm ürünlerin puanlarını yeniden hesaplar
+     *
+     * @return Yeniden hesaplanan ürün sayısı
+     */
+    public int flush() {
+        int flushed = 0;
+        for (Long productId : dirtyProducts.keySet()) {
+            // Çıkarma atomiktir: eş zamanlı bir boşaltma aynı ürünü ikinci kez işlemez
+            DirtyProduct dirty = dirtyProducts.remove(productId);
+            if (dirty != null && flushProduct(productId, dirty)) {
+                flushed++;
+            }
+        }
+        return flushed;
+    }
+
+    private boolean flushProduct(Long productId, DirtyProduct dirty) {
+        try {
+            productScoreAggregator.recalculate(productId);
+        } catch (RuntimeException e) {
+            if (!productRepository.existsById(productId)) {
+                logger.debug("Product {} was deleted before its scores were flushed", productId);
+                return false;
+            }
+            failures.incrementAndGet();
+            logger.warn("Product {} score flush failed, retrying in next window: {}", productId, e.getMessage());
+            // İlk işaret zamanı korunur: staleness yeniden denemeleri de kapsar
+            dirtyProducts.merge(productId, dirty, (current, failed) ->
+                new DirtyProduct(Math.min(current.firstMarkedNanos, failed.firstMarkedNanos), current.writes + failed.writes));
+            return false;
+        }
+        flushes.incrementAndGet();
+        flushedWrites.addAndGet(dirty.writes);
+        staleness.record(System.nanoTime() - dirty.firstMarkedNanos, TimeUnit.NANOSECONDS);
+        return true;
+    }
+
+    private void flushLoop() {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (running) {
+            // Eşik aşılınca markDirty thread'i uyandırır
+            LockSupport.parkNanos(this, intervalNanos);
+            if (!running) {
+                break;
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                logger.error("Product score flush failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private double coalescingRatio() {
+        long flushCount = flushes.get();
+        return flushCount == 0 ? 0.0 : (double) flushedWrites.get() / flushCount;
+    }
+
+    private long oldestPendingMillis() {
+        long now = System.nanoTime();
+        long oldest = 0;
+        for (DirtyProduct dirty : dirtyProducts.values()) {
+            oldest = Math.max(oldest, now - dirty.firstMarkedNanos);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(oldest);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("flushIntervalMs", flushIntervalMs);
+        stats.put("flushThreshold", flushThreshold);
+        stats.put("dirtyProducts", dirtyProducts.size());
+        stats.put("oldestPendingMs", oldestPendingMillis());
+        stats.put("markedWrites", markedWrites.get());
+        stats.put("flushes", flushes.get());
+        stats.put("failures", failures.get());
+        stats.put("coalescingRatio", coalescingRatio());
+        stats.put("stalenessMeanMs", staleness.mean(TimeUnit.MILLISECONDS));
+        stats.put("stalenessMaxMs", staleness.max(TimeUnit.MILLISECONDS));
+        return stats;
+    }
+
+    /**
+     * Kirli bir ürünün ilk işaret zamanı ve o zamandan beri birleştirilen yazma sayısı
+     * (sayaç yalnızca ConcurrentHashMap.compute içinde değişir)
+     */
+    private static final class DirtyProduct {
+        private final long firstMarkedNanos;
+        private long writes;
+
+        DirtyProduct(long firstMarkedNanos, long writes) {
+            this.firstMarkedNanos = firstMarkedNanos;
+            this.writes = writes;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.ecommerce.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.dto.BulkReviewError;
+import com.ecommerce.dto.BulkReviewResponse;
+import com.ecommerce.dto.ReviewRequest;
+import com.ecommerce.entity.Product;
+import com.ecommerce.entity.Review;
+import com.ecommerce.event.ReviewTrendsStaleEvent;
+import com.ecommerce.event.ReviewsUpdatedEvent;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.ReviewRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Pazaryeri aktarımları için toplu yorum ekleme.
+ *
+ * Girdi (JSON dizisi veya NDJSON) akış olarak okunur ve sabit boyutlu parçalar halinde işlenir:
+ * - Her öğe tekil uç noktayla aynı kurallarla doğrulanır ve kategorilendirilir; hatalı öğeler atlanıp raporlanır
+ * - Her parça kendi transaction'ında JDBC batch ile eklenir (Review.id havuzlu sıra kullanır)
+ * - Ürün puanları parça başına her ürün için tek kilit ve tek güncellemeyle değiştirilir
+ * - Duygu analizi commit sonrası puanlama işçisine bırakılır, yorumlar o zamana kadar geçici puanla PENDING kalır
+ */
+@Service
+public class ReviewBulkIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewBulkIngestionService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private HybridScoreService hybridScoreService;
+
+    @Autowired
+    private ProductScoreAggregator productScoreAggregator;
+
+    @Autowired
+    private SentimentScoringWorker sentimentScoringWorker;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${reviews.bulk.batch-size:500}")
+    private int batchSize;
+
+    @Value("${reviews.bulk.max-errors:100}")
+    private int maxErrors;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ReviewBulkIngestionService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Yorumları akıştan okuyup parça parça ekler. Bellek kullanımı girdi boyutundan bağımsızdır (parça boyutu kadar).
+     * Hatalı JSON okumayı durdurur; o ana kadar eklenen parçalar korunur ve yanıtta completed=false döner.
+     *
+     * @param body JSON dizisi ([{...}, {...}]) veya satır başına bir nesne (NDJSON)
+     */
+    public BulkReviewResponse ingest(InputStream body) throws IOException {
+        IngestionReport report = new IngestionReport();
+        // Tüm istek aynı ağırlık sürümüyle puanlanır
+        HybridWeights weights = hybridScoreService.getWeights();
+        List<BulkItem> batch = new ArrayList<>(batchSize);
+
+        // Kökteki dizi MappingIterator tarafından açılır; NDJSON'da her satır ayrı kök değerdir
+        try (MappingIterator<ReviewRequest> items = objectMapper.readerFor(ReviewRequest.class).readValues(body)) {
+            while (items.hasNextValue()) {
+                int index = report.received;
+                ReviewRequest request = items.nextValue();
+                report.received++;
+
+                String error = validate(request);
+                if (error != null) {
+                    report.reject(index, error);
+                    continue;
+                }
+                batch.add(new BulkItem(index, request));
+                if (batch.size() == batchSize) {
+                    writeBatch(batch, weights, report);
+                    batch.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            report.completed = false;
+            report.reject(report.received, "Malformed input, reading stopped: " + e.getOriginalMessage());
+        }
+
+        if (!batch.isEmpty()) {
+            writeBatch(batch, weights, report);
+        }
+
+        logger.info("Bulk ingestion finished: received={}, accepted={}, rejected={}, batches={}, products={}",
+                   report.received, report.accepted, report.rejected, report.batches, report.affectedProducts.size());
+        return report.toResponse();
+    }
+
+    private String validate(ReviewRequest request) {
+        if (request == null) {
+            return "Review cannot be null";
+        }
+        Set<ConstraintViolation<ReviewRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    private void writeBatch(List<BulkItem> batch, HybridWeights weights, IngestionReport report) {
+        // Ürünler ID sırasıyla kilitlenir: eş zamanlı toplu yüklemeler birbirini kilitlemez
+        Map<Long, List<BulkItem>> itemsByProduct = new TreeMap<>();
+        for (BulkItem item : batch) {
+            itemsByProduct.computeIfAbsent(item.request.getProductId(), id -> new ArrayList<>()).add(item);
+        }
+
+        List<Long> reviewIds;
+        List<BulkItem> missingProductItems = new ArrayList<>();
+        try {
+            reviewIds = transactionTemplate.execute(status -> insertBatch(itemsByProduct, weights, missingProductItems));
+        } catch (RuntimeException e) {
+            logger.error("Bulk batch of {} reviews failed: {}", batch.size(), e.getMessage());
+            for (BulkItem item : batch) {
+                report.reject(item.index, "Batch insert failed: " + e.getMessage());
+            }
+            return;
+        }
+
+        Set<Long> missingProductIds = new HashSet<>();
+        for (BulkItem item : missingProductItems) {
+            missingProductIds.add(item.request.getProductId());
+            report.reject(item.index, "Product not found with ID: " + item.request.getProductId());
+        }
+        for (Long productId : itemsByProduct.keySet()) {
+            if (!missingProductIds.contains(productId)) {
+                report.affectedProducts.add(productId);
+            }
+        }
+        report.batches++;
+        report.accepted += reviewIds.size();
+        report.queuedForScoring += sentimentScoringWorker.submitAll(reviewIds);
+    }
+
+    private List<Long> insertBatch(Map<Long, List<BulkItem>> itemsByProduct, HybridWeights weights,
+                                   List<BulkItem> missingProductItems) {
+        List<Review> reviews = new ArrayList<>();
+        Map<Long, List<Review>> reviewsByProduct = new TreeMap<>();
+
+        for (Map.Entry<Long, List<BulkItem>> entry : itemsByProduct.entrySet()) {
+            Product product = productRepository.findByIdForUpdate(entry.getKey()).orElse(null);
+            if (product == null) {
+                missingProductItems.addAll(entry.getValue());
+                continue;
+            }
+            List<Review> productReviews = new ArrayList<>(entry.getValue().size());
+            for (BulkItem item : entry.getValue()) {
+                productReviews.add(reviewService.newPendingReview(product, item.request, weights));
+            }
+            reviews.addAll(productReviews);
+            reviewsByProduct.put(product.getId(), productReviews);
+        }
+
+        // INSERT'ler hibernate.jdbc.batch_size'lık gruplar halinde gönderilir
+        reviewRepository.saveAll(reviews);
+        reviewRepository.flush();
+
+        for (Map.Entry<Long, List<Review>> entry : reviewsByProduct.entrySet()) {
+            productScoreAggregator.applyAdded(entry.getKey(), entry.getValue().stream()
+                .map(ProductScoreAggregator.ScoreContribution::of)
+                .collect(Collectors.toList()));
+        }
+
+        List<Long> reviewIds = reviews.stream().map(Review::getId).collect(Collectors.toList());
+        // Parça commit edildikten sonra arama indeksine eklenir
+        eventPublisher.publishEvent(new ReviewsUpdatedEvent(reviewIds));
+        reviewsByProduct.forEach((productId, productReviews) -> eventPublisher.publishEvent(
+            new ReviewTrendsStaleEvent(productId, productReviews.stream().map(Review::getCreatedAt).toList())));
+
+        // Open-in-view açıkken persistence context tüm istek boyunca yaşar; parçanın varlıkları bırakılmazsa
+        // bellek girdi boyutuyla büyür
+        entityManager.flush();
+        entityManager.clear();
+        return reviewIds;
+    }
+
+    private static final class BulkItem {
+        private final int index;
+        private final ReviewRequest request;
+
+        private BulkItem(int index, ReviewRequest request) {
+            this.index = index;
+            this.request = request;
+        }
+    }
+
+    private final class IngestionReport {
+        private int received;
+        private int accepted;
+        private int rejected;
+        private int batches;
+        private int queuedForScoring;
+        private boolean completed = true;
+        private final Set<Long> affectedProducts = new HashSet<>();
+        // Sadece ilk maxErrors hata ayrıntısı tutulur
+        private final List<BulkReviewError> errors = new ArrayList<>();
+
+        private void reject(int index, String message) {
+            rejected++;
+            if (errors.size() < maxErrors) {
+                errors.add(new BulkReviewError(index, message));
+            }
+        }
+
+        private BulkReviewResponse toResponse() {
+            BulkReviewResponse response = new BulkReviewResponse();
+            response.setReceived(received);
+            response.setAccepted(accepted);
+            response.setRejected(rejected);
+            response.setBatches(batches);
+            response.setAffectedProducts(affectedProducts.size());
+            response.setQueuedForScoring(queuedForScoring);
+            response.setCompleted(completed);
+            response.setErrors(Collections.unmodifiableList(errors));
+            response.setErrorsTruncated(rejected > errors.size());
+            return response;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.ecommerce.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.entity.ReviewCategory;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Eski virgülle ayrılmış reviews.category değerlerini category_mask sütununa ve review_categories tablosuna
+ * taşır (çevrimiçi geçiş; uygulama çalışmaya devam eder).
+ *
+ * - Açılışta taşınmamış satır (category_mask NULL) varsa arka plan thread'inde ID sırasıyla parça parça
+ *   işlenir; her parça kendi kısa transaction'ındadır ve parçalar arasında beklenir
+ * - Satır yalnızca hâlâ taşınmamışsa güncellenir, eski sütun boşaltılır; kategori satırları önce silinip
+ *   yeniden eklendiği için aynı satırın tekrar işlenmesi zararsızdır
+ * - Tarama sırasında eski haliyle yeniden yazılan satırlar için tarama baştan tekrarlanır
+ *
+ * Geçiş bitene kadar puan toplamları ve dışa aktarma filtresi taşınmamış satırlar için eski sütunu da okur.
+ */
+@Component
+public class ReviewCategoryMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewCategoryMigration.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reviews.categories.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reviews.categories.migration.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${reviews.categories.migration.pause-ms:50}")
+    private long pauseMs;
+
+    @Value("${reviews.categories.migration.max-passes:3}")
+    private int maxPasses;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong migratedRows = new AtomicLong();
+
+    private volatile boolean complete;
+    private volatile boolean running;
+    private Thread worker;
+
+    public ReviewCategoryMigration(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (chunkSize < 1 || pauseMs < 0 || maxPasses < 1) {
+            throw new IllegalStateException("Invalid review category migration settings: chunkSize=" + chunkSize
+                + ", pauseMs=" + pauseMs + ", maxPasses=" + maxPasses);
+        }
+        FunctionCounter.builder("reviews.categories.migration.rows", migratedRows, AtomicLong::get)
+            .description("category_mask ve review_categories'e taşınan yorumlar")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!hasLegacyRows()) {
+            complete = true;
+            return;
+        }
+        if (!enabled) {
+            logger.warn("Review category migration is disabled; legacy category rows are still read with LIKE queries");
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "review-category-migration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void stop() {
+        // Yarım kalan geçiş yeniden başlatmada taşınmamış satırlardan devam eder
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * true ise tüm yorumların kategorileri category_mask ve review_categories'tedir
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("complete", complete);
+        stats.put("running", running);
+        stats.put("migratedRows", migratedRows.get());
+        return stats;
+    }
+
+    private void run() {
+        long start = System.currentTimeMillis();
+        try {
+            for (int pass = 1; pass <= maxPasses && running; pass++) {
+                long afterId = 0;
+                while (running) {
+                    Long lastId = migrateChunk(afterId);
+                    if (lastId == null) {
+                        break;
+                    }
+                    afterId = lastId;
+                    if (pauseMs > 0) {
+                        Thread.sleep(pauseMs);
+                    }
+                }
+                if (!running) {
+                    return;
+                }
+                if (!hasLegacyRows()) {
+                    complete = true;
+                    logger.info("Review category migration finished: {} rows in {} ms ({} passes)",
+                               migratedRows.get(), System.currentTimeMillis() - start, pass);
+                    return;
+                }
+                logger.info("Review category migration: legacy rows rewritten during pass {}, rescanning", pass);
+            }
+            logger.warn("Review category migration: legacy rows left after {} passes, resuming on next start", maxPasses);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Review category migration failed after {} rows: {}", migratedRows.get(), e.getMessage(), e);
+        } finally {
+            running = false;
+        }
+    }
+
+    /**
+     * @return Parçanın son yorum ID'si; taşınacak satır kalmadıysa null
+     */
+    private Long migrateChunk(long afterId) {
+        return transactionTemplate.execute(status -> {
+            List<Object[]> rows = jdbcTemplate.query(
+                "SELECT id, category FROM reviews WHERE category_mask IS NULL AND id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new Object[] { rs.getLong(1), ReviewCategory.parseLegacy(rs.getString(2)) },
+                afterId, chunkSize);
+            if (rows.isEmpty()) {
+                return null;
+            }
+
+            // Yalnızca hâlâ taşınmamış satırlar (bu arada yeni kodla yeniden yazılanlar atlanır)
+            int[] updated = jdbcTemplate.batchUpdate(
+                "UPDATE reviews SET category_mask = ?, category = NULL WHERE id = ? AND category_mask IS NULL",
+                rows.stream().map(row -> new Object[] { row[1], row[0] }).toList());
+
+            Map<Long, Integer> masks = new LinkedHashMap<>();
+            for (int i = 0; i < rows.size(); i++) {
+                // Sürücü etkilenen satır sayısını bildirmeyebilir (SUCCESS_NO_INFO); yeniden ekleme zaten zararsız
+                if (updated[i] != 0) {
+                    masks.put((Long) rows.get(i)[0], (Integer) rows.get(i)[1]);
+                }
+            }
+            replaceCategoryRows(jdbcTemplate, masks);
+
+            migratedRows.addAndGet(masks.size());
+            return (Long) rows.get(rows.size() - 1)[0];
+        });
+    }
+
+    /**
+     * Yorumların review_categories satırlarını maskelerine göre yeniden yazar (önce silinir, tekrar çalıştırmak zararsızdır)
+     */
+    static void replaceCategoryRows(JdbcTemplate jdbcTemplate, Map<Long, Integer> masks) {
+        List<Object[]> reviewIds = new ArrayList<>(masks.size());
+        List<Object[]> categoryRows = new ArrayList<>();
+        masks.forEach((reviewId, mask) -> {
+            reviewIds.add(new Object[] { reviewId });
+            for (ReviewCategory category : ReviewCategory.fromMask(mask)) {
+                categoryRows.add(new Object[] { reviewId, category.name() });
+            }
+        });
+        jdbcTemplate.batchUpdate("DELETE FROM review_categories WHERE review_id = ?", reviewIds);
+        jdbcTemplate.batchUpdate("INSERT INTO review_categories (review_id, category) VALUES (?, ?)", categoryRows);
+    }
+
+    private boolean hasLegacyRows() {
+        return !jdbcTemplate.queryForList("SELECT id FROM reviews WHERE category_mask IS NULL LIMIT 1", Long.class).isEmpty();
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.ecommerce.entity.Review;
+
+/**
+ * Yorum listelerinde anahtar kümesi (keyset) sayfalaması için opak imleç.
+ * Sayfanın son yorumunun (createdAt, id) çiftini taşır; istemci değeri yorumlamadan geri gönderir.
+ */
+public final class ReviewCursor {
+
+    // İlk sayfa için sınır değerler: MySQL DATETIME aralığının uçları, her gerçek kaydı kapsar
+    private static final ReviewCursor BEFORE_FIRST = new ReviewCursor(LocalDateTime.of(1000, 1, 1, 0, 0), 0L);
+    private static final ReviewCursor AFTER_LAST = new ReviewCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    private ReviewCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static ReviewCursor of(Review review) {
+        return new ReviewCursor(review.getCreatedAt(), review.getId());
+    }
+
+    /**
+     * İmleç yoksa sıralama yönüne göre ilk sayfanın başlangıç sınırını döndürür
+     *
+     * @throws IllegalArgumentException İmleç çözülemiyorsa
+     */
+    public static ReviewCursor decode(String cursor, boolean descending) {
+        if (cursor == null || cursor.isBlank()) {
+            return descending ? AFTER_LAST : BEFORE_FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new ReviewCursor(LocalDateTime.parse(value.substring(0, separator)),
+                                    Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        String value = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,105 @@
+package com.ecommerce.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.entity.Review;
+
+/**
+ * Yorum işlem hattının yapılandırılmış logları.
+ *
+ * - com.ecommerce.review.events: Her yorum için puanlama son duruma (SCORED/FAILED) ulaştığında tek bir olay;
+ *   alanlar anahtar-değer çiftleri olarak yazılır (prod profilinde JSON), yorum metni yazılmaz
+ * - com.ecommerce.review.trace: Ayrıntılı puanlama izi (yorum metni, model sonucu, hibrit hesap);
+ *   yalnızca örneklenen yorumlar için yazılır. Örnekleme yorum ID'sine göre belirlenir, böylece
+ *   örneklenen bir yorumun oluşturma ve puanlama adımlarının hepsi izlenir
+ */
+@Component
+public class ReviewEventLog {
+
+    private static final Logger events = LoggerFactory.getLogger("com.ecommerce.review.events");
+    private static final Logger trace = LoggerFactory.getLogger("com.ecommerce.review.trace");
+
+    // 0.0 (kapalı) - 1.0 (her yorum)
+    @Value("${logging.review.trace-sample-rate:0.01}")
+    private double traceSampleRate = 0.01;
+
+    /**
+     * Yorum puanlandı: yorum başına tek bilgi olayı
+     */
+    public void scored(Review review, Long productId) {
+        if (!events.isInfoEnabled()) {
+            return;
+        }
+        events.atInfo()
+            .setMessage("review.scored")
+            .addKeyValue("reviewId", review.getId())
+            .addKeyValue("productId", productId)
+            .addKeyValue("starRating", review.getStarRating())
+            .addKeyValue("category", review.getCategory())
+            .addKeyValue("sentimentLabel", review.getSentimentLabel())
+            .addKeyValue("sentimentScore", review.getSentimentScore())
+            .addKeyValue("hybridScore", review.getHybridScore())
+            .addKeyValue("configVersion", review.getScoringConfigVersion())
+            .addKeyValue("attempts", review.getScoringAttempts())
+            .addKeyValue("commentLength", review.getComment() != null ? review.getComment().length() : 0)
+            .addKeyValue("scoringDelayMs", sinceCreated(review))
+            .log();
+    }
+
+    /**
+     * Deneme hakkı bitti, yorum yıldız bazlı geçici puanıyla FAILED kaldı
+     */
+    public void failed(Review review, Long productId) {
+        events.atWarn()
+            .setMessage("review.failed")
+            .addKeyValue("reviewId", review.getId())
+            .addKeyValue("productId", productId)
+            .addKeyValue("starRating", review.getStarRating())
+            .addKeyValue("category", review.getCategory())
+            .addKeyValue("hybridScore", review.getHybridScore())
+            .addKeyValue("attempts", review.getScoringAttempts())
+            .addKeyValue("scoringDelayMs", sinceCreated(review))
+            .log();
+    }
+
+    /**
+     * Yorumun ayrıntılı izi yazılacak mı (ID'ye göre belirlenimci örnekleme)
+     */
+    public boolean isTraced(Long reviewId) {
+        if (reviewId == null || traceSampleRate <= 0 || !trace.isInfoEnabled()) {
+            return false;
+        }
+        if (traceSampleRate >= 1) {
+            return true;
+        }
+        // Ardışık ID'ler kovalara düzgün dağılsın diye karıştır (SplitMix64 son adımı)
+        long mixed = reviewId * 0x9E3779B97F4A7C15L;
+        mixed = (mixed ^ (mixed >>> 31)) * 0xBF58476D1CE4E5B9L;
+        mixed ^= mixed >>> 29;
+        return (mixed >>> 11) * 0x1.0p-53 < traceSampleRate;
+    }
+
+    /**
+     * Örneklenen yorum için iz satırı; çağıran önce isTraced ile kontrol eder
+     */
+    public void trace(Long reviewId, String step, Object... details) {
+        var builder = trace.atInfo()
+            .setMessage(step)
+            .addKeyValue("reviewId", reviewId);
+        for (int i = 0; i + 1 < details.length; i += 2) {
+            builder = builder.addKeyValue(String.valueOf(details[i]), details[i + 1]);
+        }
+        builder.log();
+    }
+
+    private static Long sinceCreated(Review review) {
+        LocalDateTime createdAt = review.getCreatedAt();
+        return createdAt == null ? null : Duration.between(createdAt, LocalDateTime.now()).toMillis();
+    }
+}
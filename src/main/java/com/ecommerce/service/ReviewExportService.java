@@ -0,0 +1,225 @@
+package com.ecommerce.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.ecommerce.dto.ReviewExportFormat;
+import com.ecommerce.repository.ReviewExportFilter;
+import com.ecommerce.repository.ReviewExportRow;
+import com.ecommerce.repository.ReviewRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Analitik için yorumların NDJSON veya CSV olarak akış halinde dışa aktarılması.
+ *
+ * Satırlar ileri yönlü bir JDBC imlecinden okunup tek tek yanıta yazılır; sonuç listesi hiçbir zaman bellekte
+ * toplanmaz, bu yüzden bellek kullanımı satır sayısından bağımsızdır. Her aktarma süresince bir DB bağlantısı
+ * tuttuğu için eş zamanlı aktarma sayısı max-concurrent ile sınırlıdır; sınır doluysa yeni istek reddedilir.
+ */
+@Service
+public class ReviewExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewExportService.class);
+
+    // Kök değerler arasına ayraç yazılmaz; her satır sonu açıkça yazılır
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .setRootValueSeparator(null);
+
+    private static final String CSV_HEADER =
+        "id,product_id,star_rating,sentiment_label,sentiment_score,hybrid_score,category,scoring_status,created_at,comment";
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    // İmleçten tek seferde okunan satır sayısı (MySQL'de useCursorFetch yoksa satır satır akış kullanılır)
+    @Value("${reviews.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${reviews.export.max-concurrent:2}")
+    private int maxConcurrent;
+
+    // İstemcinin ilerlemeyi görmesi için yanıt bu kadar satırda bir gönderilir
+    @Value("${reviews.export.flush-every:1000}")
+    private int flushEvery;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private Semaphore exportSlots;
+    private int effectiveFetchSize;
+
+    public ReviewExportService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (maxConcurrent < 1 || fetchSize < 1 || flushEvery < 1) {
+            throw new IllegalStateException("Invalid review export settings: maxConcurrent=" + maxConcurrent
+                + ", fetchSize=" + fetchSize + ", flushEvery=" + flushEvery);
+        }
+        exportSlots = new Semaphore(maxConcurrent);
+        // Connector/J pozitif fetch size'ı yalnızca useCursorFetch=true ile uygular; aksi halde tüm sonucu
+        // belleğe alır. Integer.MIN_VALUE sonucu sunucudan satır satır akıtır.
+        boolean mysql = datasourceUrl.startsWith("jdbc:mysql:");
+        effectiveFetchSize = mysql && !datasourceUrl.contains("useCursorFetch=true") ? Integer.MIN_VALUE : fetchSize;
+        logger.info("Review export: maxConcurrent={}, fetchSize={}", maxConcurrent,
+                   effectiveFetchSize == Integer.MIN_VALUE ? "streaming" : effectiveFetchSize);
+    }
+
+    /**
+     * Aktarmayı hazırlar: filtreyi doğrular ve bir aktarma slotu ayırır. Slot, dönen gövde yazılınca bırakılır.
+     *
+     * @throws IllegalArgumentException Filtre geçersizse
+     * @throws IllegalStateException Eş zamanlı aktarma sınırı doluysa
+     */
+    public StreamingResponseBody prepareExport(ReviewExportFilter filter, ReviewExportFormat format) {
+        filter.validate();
+        if (!exportSlots.tryAcquire()) {
+            throw new IllegalStateException("Too many concurrent review exports (" + maxConcurrent + ")");
+        }
+        return out -> {
+            try {
+                export(filter, format, out);
+            } finally {
+                exportSlots.release();
+            }
+        };
+    }
+
+    private void export(ReviewExportFilter filter, ReviewExportFormat format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        AtomicLong rowCount = new AtomicLong();
+        String outcome = "error";
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<ReviewExportRow> rows = reviewRepository.streamForExport(filter, effectiveFetchSize)) {
+                    if (format == ReviewExportFormat.CSV) {
+                        writeCsv(rows, out, rowCount);
+                    } else {
+                        writeNdjson(rows, out, rowCount);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outcome = "success";
+        } catch (UncheckedIOException e) {
+            // Genellikle istemci bağlantıyı kapatmıştır; imleç ve transaction kapatıldı
+            outcome = "aborted";
+            logger.info("Review export aborted after {} rows: {}", rowCount.get(), e.getCause().getMessage());
+            throw e.getCause();
+        } finally {
+            meterRegistry.timer("reviews.export", "format", format.getFileExtension(), "outcome", outcome)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meterRegistry.counter("reviews.export.rows", "format", format.getFileExtension()).increment(rowCount.get());
+        }
+    }
+
+    private void writeNdjson(Stream<ReviewExportRow> rows, OutputStream out, AtomicLong count) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            for (ReviewExportRow row : (Iterable<ReviewExportRow>) rows::iterator) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", row.getId());
+                generator.writeNumberField("productId", row.getProductId());
+                writeNumber(generator, "starRating", row.getStarRating());
+                generator.writeStringField("sentimentLabel", row.getSentimentLabel());
+                generator.writeNumberField("sentimentScore", row.getSentimentScore());
+                generator.writeNumberField("hybridScore", row.getHybridScore());
+                generator.writeStringField("category", row.getCategory());
+                generator.writeStringField("scoringStatus",
+                                           row.getScoringStatus() != null ? row.getScoringStatus().name() : null);
+                generator.writeStringField("createdAt",
+                                           row.getCreatedAt() != null ? row.getCreatedAt().toString() : null);
+                generator.writeStringField("comment", row.getComment());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                if (count.incrementAndGet() % flushEvery == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    private void writeCsv(Stream<ReviewExportRow> rows, OutputStream out, AtomicLong count) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        for (ReviewExportRow row : (Iterable<ReviewExportRow>) rows::iterator) {
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getProductId()));
+            writer.write(',');
+            writer.write(csvValue(row.getStarRating()));
+            writer.write(',');
+            writer.write(csvValue(row.getSentimentLabel()));
+            writer.write(',');
+            writer.write(csvValue(row.getSentimentScore() != null ? row.getSentimentScore().toPlainString() : null));
+            writer.write(',');
+            writer.write(csvValue(row.getHybridScore() != null ? row.getHybridScore().toPlainString() : null));
+            writer.write(',');
+            writer.write(csvValue(row.getCategory()));
+            writer.write(',');
+            writer.write(csvValue(row.getScoringStatus()));
+            writer.write(',');
+            writer.write(csvValue(row.getCreatedAt()));
+            writer.write(',');
+            writer.write(csvValue(row.getComment()));
+            writer.write("\r\n");
+            if (count.incrementAndGet() % flushEvery == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeNumber(JsonGenerator generator, String field, Integer value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    // RFC 4180: virgül, tırnak veya satır sonu içeren alanlar tırnak içine alınır, tırnaklar ikilenir
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
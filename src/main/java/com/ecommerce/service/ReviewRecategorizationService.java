@@ -0,0 +1,266 @@
+package com.ecommerce.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.entity.ReviewCategory;
+import com.ecommerce.event.KeywordDictionaryChangedEvent;
+import com.ecommerce.event.ProductReviewsChangedEvent;
+import com.ecommerce.event.ReviewTrendsStaleEvent;
+import com.ecommerce.event.ReviewsUpdatedEvent;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Anahtar kelime sözlüğü değiştiğinde mevcut yorumları yeni sözlükle yeniden kategorilendirir
+ * (keywords.recategorize-on-change=true ise; varsayılan kapalı, yalnızca yeni yorumlar yeni sözlüğü kullanır).
+ *
+ * - Yorumlar ID sırasıyla parça parça taranır; her parça kendi kısa transaction'ındadır, yalnızca kategorisi
+ *   değişen satırlar yazılır ve parçalar arasında beklenir
+ * - Satır ancak okunduğu maskeyle hâlâ aynıysa güncellenir; review_categories satırları aynı transaction'da yenilenir
+ * - Tarama sırasında sözlük yeniden değişirse tarama bırakılır ve yeni sözlükle baştan başlar
+ * - Kategorisi değişen ürünlerin puanları tarama sonunda reviews tablosundan yeniden hesaplanır
+ *
+ * Henüz taşınmamış satırlar (category_mask NULL) atlanır; ReviewCategoryMigration onları eski değerleriyle taşır.
+ */
+@Service
+public class ReviewRecategorizationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewRecategorizationService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private KeywordService keywordService;
+
+    @Autowired
+    private ProductScoreAggregator productScoreAggregator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${keywords.recategorize-on-change:false}")
+    private boolean enabled;
+
+    @Value("${keywords.recategorize.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${keywords.recategorize.pause-ms:50}")
+    private long pauseMs;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong scannedReviews = new AtomicLong();
+    private final AtomicLong changedReviews = new AtomicLong();
+
+    // Kategorisi değişmiş, puanları henüz yeniden hesaplanmamış ürünler (yarıda bırakılan taramadan sonrakine devreder)
+    private final Set<Long> pendingProducts = ConcurrentHashMap.newKeySet();
+
+    // Taranması istenen en son sözlük sürümü; çalışan tarama bundan eskiyse durur
+    private volatile long targetVersion;
+    private volatile long runningVersion;
+    private volatile long completedVersion;
+
+    private ExecutorService executor;
+
+    public ReviewRecategorizationService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (chunkSize < 1 || pauseMs < 0) {
+            throw new IllegalStateException("Invalid recategorization settings: chunkSize=" + chunkSize + ", pauseMs=" + pauseMs);
+        }
+        FunctionCounter.builder("reviews.recategorization.scanned", scannedReviews, AtomicLong::get)
+            .description("Sözlük değişikliği sonrası yeniden kategorilendirme için taranan yorumlar")
+            .register(meterRegistry);
+        FunctionCounter.builder("reviews.recategorization.changed", changedReviews, AtomicLong::get)
+            .description("Kategorisi değişen yorumlar")
+            .register(meterRegistry);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "review-recategorization");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        // Yarım kalan tarama sürdürülmez: yeni yorumlar zaten güncel sözlükle kategorilendirilir
+        executor.shutdownNow();
+    }
+
+    @EventListener
+    public void onDictionaryChanged(KeywordDictionaryChangedEvent event) {
+        if (!enabled) {
+            logger.info("Keyword dictionary v{} does not recategorize existing reviews (keywords.recategorize-on-change=false)",
+                       event.getVersion());
+            return;
+        }
+        targetVersion = event.getVersion();
+        executor.execute(() -> run(event.getVersion()));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("runningVersion", runningVersion == 0 ? null : runningVersion);
+        stats.put("completedVersion", completedVersion == 0 ? null : completedVersion);
+        stats.put("scannedReviews", scannedReviews.get());
+        stats.put("changedReviews", changedReviews.get());
+        return stats;
+    }
+
+    private void run(long version) {
+        if (version != targetVersion) {
+            return;
+        }
+        runningVersion = version;
+        long start = System.currentTimeMillis();
+        long scanned = 0;
+        long changed = 0;
+        try {
+            long afterId = 0;
+            while (true) {
+                if (version != targetVersion || Thread.currentThread().isInterrupted()) {
+                    logger.info("Recategorization for keyword dictionary v{} superseded after {} reviews", version, scanned);
+                    return;
+                }
+                ChunkResult chunk = recategorizeChunk(afterId);
+                if (chunk == null) {
+                    break;
+                }
+                scanned += chunk.scanned;
+                changed += chunk.changed;
+                pendingProducts.addAll(chunk.changedProducts);
+                afterId = chunk.lastId;
+                if (pauseMs > 0) {
+                    Thread.sleep(pauseMs);
+                }
+            }
+
+            int products = pendingProducts.size();
+            for (Long productId : List.copyOf(pendingProducts)) {
+                pendingProducts.remove(productId);
+                try {
+                    productScoreAggregator.recalculate(productId);
+                } catch (RuntimeException e) {
+                    // Ürün bu arada silinmiş olabilir
+                    logger.debug("Skipping product {} during recategorization: {}", productId, e.getMessage());
+                }
+            }
+            completedVersion = version;
+            logger.info("Recategorization for keyword dictionary v{} finished in {} ms: {} reviews scanned, {} changed, {} products recalculated",
+                       version, System.currentTimeMillis() - start, scanned, changed, products);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Recategorization for keyword dictionary v{} failed after {} reviews: {}",
+                        version, scanned, e.getMessage(), e);
+        } finally {
+            runningVersion = 0;
+        }
+    }
+
+    /**
+     * @return Parçanın sonucu; taranacak yorum kalmadıysa null
+     */
+    private ChunkResult recategorizeChunk(long afterId) {
+        return transactionTemplate.execute(status -> {
+            List<Object[]> rows = jdbcTemplate.query(
+                "SELECT id, product_id, comment, category_mask, created_at FROM reviews "
+                    + "WHERE id > ? AND category_mask IS NOT NULL ORDER BY id LIMIT ?",
+                (rs, rowNum) -> {
+                    Timestamp createdAt = rs.getTimestamp(5);
+                    return new Object[] { rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getInt(4),
+                                          createdAt != null ? createdAt.toLocalDateTime() : null };
+                },
+                afterId, chunkSize);
+            if (rows.isEmpty()) {
+                return null;
+            }
+
+            List<Object[]> updates = new ArrayList<>();
+            for (Object[] row : rows) {
+                int mask = ReviewCategory.maskOfKeys(keywordService.getMatchedCategories((String) row[2]));
+                if (mask != (Integer) row[3]) {
+                    updates.add(new Object[] { mask, row[0], row[3], row[1], row[4] });
+                }
+            }
+
+            ChunkResult result = new ChunkResult((Long) rows.get(rows.size() - 1)[0], rows.size());
+            if (!updates.isEmpty()) {
+                // Yalnızca okunduğundan beri değişmemiş satırlar
+                int[] updated = jdbcTemplate.batchUpdate(
+                    "UPDATE reviews SET category_mask = ? WHERE id = ? AND category_mask = ?",
+                    updates.stream().map(update -> new Object[] { update[0], update[1], update[2] }).toList());
+                Map<Long, Integer> masks = new LinkedHashMap<>();
+                Map<Long, List<LocalDateTime>> changedCreatedAt = new LinkedHashMap<>();
+                for (int i = 0; i < updates.size(); i++) {
+                    // Sürücü etkilenen satır sayısını bildirmeyebilir (SUCCESS_NO_INFO)
+                    if (updated[i] != 0) {
+                        masks.put((Long) updates.get(i)[1], (Integer) updates.get(i)[0]);
+                        result.changedProducts.add((Long) updates.get(i)[3]);
+                        changedCreatedAt.computeIfAbsent((Long) updates.get(i)[3], id -> new ArrayList<>())
+                            .add((LocalDateTime) updates.get(i)[4]);
+                    }
+                }
+                ReviewCategoryMigration.replaceCategoryRows(jdbcTemplate, masks);
+                result.changed = masks.size();
+                if (!masks.isEmpty()) {
+                    eventPublisher.publishEvent(new ReviewsUpdatedEvent(masks.keySet()));
+                }
+                changedCreatedAt.forEach((productId, createdAt) ->
+                    eventPublisher.publishEvent(new ReviewTrendsStaleEvent(productId, createdAt)));
+            }
+            // Yorum listeleri hemen, ürün puanları tarama sonunda güncellenir
+            result.changedProducts.forEach(productId -> eventPublisher.publishEvent(new ProductReviewsChangedEvent(productId)));
+
+            scannedReviews.addAndGet(result.scanned);
+            changedReviews.addAndGet(result.changed);
+            return result;
+        });
+    }
+
+    private static final class ChunkResult {
+        private final long lastId;
+        private final int scanned;
+        private int changed;
+        private final Set<Long> changedProducts = new HashSet<>();
+
+        ChunkResult(long lastId, int scanned) {
+            this.lastId = lastId;
+            this.scanned = scanned;
+        }
+    }
+}
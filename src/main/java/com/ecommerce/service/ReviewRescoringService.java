@@ -0,0 +1,382 @@
+package com.ecommerce.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.entity.RescoringJob;
+import com.ecommerce.entity.RescoringJobStatus;
+import com.ecommerce.event.ProductReviewsChangedEvent;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.RescoringJobRepository;
+import com.ecommerce.repository.ReviewRepository;
+import com.ecommerce.repository.ReviewScoringInputs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Puanlama yapılandırması değiştiğinde tüm yorumların hibrit puanlarını ve ürün puanlarını
+ * arka planda yeniden hesaplayan iş.
+ *
+ * - Yorumlar ID sırasıyla küçük parçalar halinde işlenir; her parça kendi kısa transaction'ındadır
+ *   ve sadece o parçanın satırlarını günceller (tablo kilitlenmez)
+ * - İlerleme parça ile aynı transaction'da rescoring_jobs tablosuna yazılır; uygulama yeniden
+ *   başlatılırsa iş kaldığı parçadan devam eder
+ * - Parçalar arasında bekleme yapılarak veritabanı yükü sınırlanır
+ * - Yorum aşaması bitince, eş zamanlı yazımlar yüzünden eski sürümle kalan yorumlar için tarama
+ *   tekrarlanır; ardından her ürün kendi transaction'ında baştan hesaplanır
+ */
+@Service
+public class ReviewRescoringService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewRescoringService.class);
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private RescoringJobRepository rescoringJobRepository;
+
+    @Autowired
+    private HybridScoreService hybridScoreService;
+
+    @Autowired
+    private ProductScoreAggregator productScoreAggregator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${scoring.rescore.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${scoring.rescore.product-chunk-size:100}")
+    private int productChunkSize;
+
+    @Value("${scoring.rescore.pause-ms:50}")
+    private long pauseMs;
+
+    @Value("${scoring.rescore.max-review-passes:3}")
+    private int maxReviewPasses;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Aynı anda tek iş çalışır; yeni iş, öncekinin bir sonraki parçada durmasını bekler
+    private ExecutorService executor;
+
+    public ReviewRescoringService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "review-rescoring");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        // Çalışan iş RUNNING olarak kalır ve yeniden başlatmada kaldığı yerden sürdürülür
+        executor.shutdownNow();
+    }
+
+    /**
+     * Uygulama kapanırken yarım kalan işi sürdürür
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJob() {
+        List<RescoringJob> running = rescoringJobRepository.findByStatusOrderByIdDesc(RescoringJobStatus.RUNNING);
+        if (running.isEmpty()) {
+            return;
+        }
+
+        RescoringJob latest = running.get(0);
+        rescoringJobRepository.updateStatusExcept(RescoringJobStatus.RUNNING, RescoringJobStatus.SUPERSEDED, latest.getId());
+
+        long activeVersion = hybridScoreService.getWeights().getVersion();
+        if (latest.getConfigVersion() != activeVersion) {
+            rescoringJobRepository.updateStatus(latest.getId(), RescoringJobStatus.RUNNING, RescoringJobStatus.SUPERSEDED);
+            start(activeVersion);
+            return;
+        }
+
+        logger.info("Resuming rescoring job {} (config v{}, phase={}, lastReviewId={}, lastProductId={})",
+                   latest.getId(), latest.getConfigVersion(), latest.getPhase(),
+                   latest.getLastReviewId(), latest.getLastProductId());
+        launch(latest.getId());
+    }
+
+    /**
+     * Verilen yapılandırma sürümü için yeni bir yeniden puanlama işi başlatır; çalışan iş varsa yerine geçer
+     */
+    public synchronized RescoringJob start(long configVersion) {
+        RescoringJob job = rescoringJobRepository.save(
+            new RescoringJob(configVersion, reviewRepository.count(), productRepository.count()));
+        rescoringJobRepository.updateStatusExcept(RescoringJobStatus.RUNNING, RescoringJobStatus.SUPERSEDED, job.getId());
+
+        logger.info("Rescoring job {} started for config v{}: {} reviews, {} products",
+                   job.getId(), configVersion, job.getTotalReviews(), job.getTotalProducts());
+        launch(job.getId());
+        return job;
+    }
+
+    /**
+     * Son işi iptal eder (parça tamamlandıktan sonra durur)
+     */
+    public RescoringJob cancel() {
+        RescoringJob job = getLatestJob();
+        if (job == null || job.getStatus() != RescoringJobStatus.RUNNING) {
+            throw new IllegalArgumentException("No running rescoring job");
+        }
+        rescoringJobRepository.updateStatus(job.getId(), RescoringJobStatus.RUNNING, RescoringJobStatus.CANCELLED);
+        logger.info("Rescoring job {} cancelled", job.getId());
+        return rescoringJobRepository.findById(job.getId()).orElse(job);
+    }
+
+    /**
+     * İptal edilen veya hata alan son işi kaldığı yerden sürdürür
+     */
+    public synchronized RescoringJob resume() {
+        RescoringJob job = getLatestJob();
+        if (job == null || (job.getStatus() != RescoringJobStatus.CANCELLED && job.getStatus() != RescoringJobStatus.FAILED)) {
+            throw new IllegalArgumentException("No cancelled or failed rescoring job to resume");
+        }
+        if (job.getConfigVersion() != hybridScoreService.getWeights().getVersion()) {
+            throw new IllegalArgumentException("Rescoring job " + job.getId() + " belongs to an outdated scoring config");
+        }
+
+        job.setStatus(RescoringJobStatus.RUNNING);
+        job.setErrorMessage(null);
+        job.setFinishedAt(null);
+        job = rescoringJobRepository.save(job);
+        logger.info("Rescoring job {} resumed", job.getId());
+        launch(job.getId());
+        return job;
+    }
+
+    public RescoringJob getLatestJob() {
+        return rescoringJobRepository.findTopByOrderByIdDesc().orElse(null);
+    }
+
+    private void launch(Long jobId) {
+        executor.execute(() -> run(jobId));
+    }
+
+    private void run(Long jobId) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                RescoringJob job = rescoringJobRepository.findById(jobId).orElse(null);
+                if (job == null || job.getStatus() != RescoringJobStatus.RUNNING) {
+                    return;
+                }
+
+                boolean hasMore = job.getPhase() == RescoringJob.Phase.REVIEWS
+                    ? rescoreReviewChunk(jobId)
+                    : recalculateProductChunk(job);
+                if (!hasMore) {
+                    return;
+                }
+                pause();
+            }
+        } catch (InterruptedException e) {
+            // Uygulama kapanıyor: iş RUNNING kalır ve yeniden başlatmada sürdürülür
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            logger.error("Rescoring job {} failed: {}", jobId, e.getMessage(), e);
+            markFailed(jobId, e);
+        }
+    }
+
+    /**
+     * Bir parça yorumun hibrit puanını yeniden hesaplar
+     *
+     * @return İş devam ediyorsa true
+     */
+    private boolean rescoreReviewChunk(Long jobId) {
+        long start = System.nanoTime();
+        Boolean hasMore = transactionTemplate.execute(status -> {
+            RescoringJob job = lockActiveJob(jobId);
+            if (job == null) {
+                return false;
+            }
+            HybridWeights weights = hybridScoreService.getWeights();
+
+            List<ReviewScoringInputs> chunk = reviewRepository.findScoringInputsForRescoring(
+                job.getLastReviewId(), job.getConfigVersion(), PageRequest.of(0, chunkSize));
+
+            if (chunk.isEmpty()) {
+                finishReviewPass(job);
+                rescoringJobRepository.save(job);
+                return true;
+            }
+
+            long changed = 0;
+            Set<Long> changedProducts = new HashSet<>();
+            for (ReviewScoringInputs review : chunk) {
+                BigDecimal hybridScore = rescore(weights, review);
+                int scoringAttempts = review.getScoringAttempts() == null ? 0 : review.getScoringAttempts();
+                int updated = reviewRepository.updateHybridScoreIfUnchanged(
+                    review.getId(), hybridScore, weights.getVersion(), scoringAttempts);
+                if (updated > 0 && (review.getHybridScore() == null || review.getHybridScore().compareTo(hybridScore) != 0)) {
+                    changed++;
+                    changedProducts.add(review.getProductId());
+                }
+            }
+            // Ürün puanları ürün aşamasında yeniden hesaplanır; yorum listeleri şimdiden değişti
+            changedProducts.forEach(productId -> eventPublisher.publishEvent(new ProductReviewsChangedEvent(productId)));
+
+            job.setLastReviewId(chunk.get(chunk.size() - 1).getId());
+            job.setProcessedReviews(job.getProcessedReviews() + chunk.size());
+            job.setChangedReviews(job.getChangedReviews() + changed);
+            rescoringJobRepository.save(job);
+            return true;
+        });
+        // Parça başına tek ölçüm; satır başına puan hesabı ölçülmez
+        meterRegistry.timer("scoring.rescore.chunk").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Boolean.TRUE.equals(hasMore);
+    }
+
+    private void finishReviewPass(RescoringJob job) {
+        // Tarama sırasında eski ağırlıklarla yazılan yorumlar kaldıysa baştan bir tarama daha yap
+        long remaining = reviewRepository.countNotScoredWithConfigVersion(job.getConfigVersion());
+        if (remaining > 0 && job.getReviewPass() < maxReviewPasses) {
+            logger.info("Rescoring job {}: {} reviews still on an older config after pass {}, rescanning",
+                       job.getId(), remaining, job.getReviewPass());
+            job.setReviewPass(job.getReviewPass() + 1);
+            job.setLastReviewId(0L);
+            return;
+        }
+        if (remaining > 0) {
+            // Kalanlar duygu analizi tamamlandığında veya bir sonraki yapılandırma değişikliğinde güncellenir
+            logger.warn("Rescoring job {}: {} reviews left on an older config after {} passes",
+                       job.getId(), remaining, job.getReviewPass());
+        }
+
+        logger.info("Rescoring job {}: reviews done ({} processed, {} changed), recalculating products",
+                   job.getId(), job.getProcessedReviews(), job.getChangedReviews());
+        job.setPhase(RescoringJob.Phase.PRODUCTS);
+        job.setLastProductId(0L);
+    }
+
+    /**
+     * Bir parça ürünün toplamlarını ve puanlarını baştan hesaplar (her ürün kendi transaction'ında)
+     *
+     * @return İş devam ediyorsa true
+     */
+    private boolean recalculateProductChunk(RescoringJob snapshot) {
+        List<Long> productIds = productRepository.findIdsAfter(snapshot.getLastProductId(),
+                                                               PageRequest.of(0, productChunkSize));
+        for (Long productId : productIds) {
+            try {
+                productScoreAggregator.recalculate(productId);
+            } catch (RuntimeException e) {
+                // Ürün bu arada silinmiş olabilir
+                logger.debug("Skipping product {} during rescoring: {}", productId, e.getMessage());
+            }
+        }
+
+        Boolean hasMore = transactionTemplate.execute(status -> {
+            RescoringJob job = lockActiveJob(snapshot.getId());
+            if (job == null) {
+                return false;
+            }
+            if (productIds.isEmpty()) {
+                job.setStatus(RescoringJobStatus.COMPLETED);
+                job.setFinishedAt(LocalDateTime.now());
+                rescoringJobRepository.save(job);
+                logger.info("Rescoring job {} completed: {} reviews processed, {} changed, {} products recalculated",
+                           job.getId(), job.getProcessedReviews(), job.getChangedReviews(), job.getProcessedProducts());
+                return false;
+            }
+            job.setLastProductId(productIds.get(productIds.size() - 1));
+            job.setProcessedProducts(job.getProcessedProducts() + productIds.size());
+            rescoringJobRepository.save(job);
+            return true;
+        });
+        return Boolean.TRUE.equals(hasMore);
+    }
+
+    /**
+     * İş satırını kilitler; iş iptal edildiyse veya yapılandırma yeniden değiştiyse null döner
+     */
+    private RescoringJob lockActiveJob(Long jobId) {
+        RescoringJob job = rescoringJobRepository.findByIdForUpdate(jobId).orElse(null);
+        if (job == null || job.getStatus() != RescoringJobStatus.RUNNING) {
+            return null;
+        }
+        if (job.getConfigVersion() != hybridScoreService.getWeights().getVersion()) {
+            job.setStatus(RescoringJobStatus.SUPERSEDED);
+            job.setFinishedAt(LocalDateTime.now());
+            rescoringJobRepository.save(job);
+            return null;
+        }
+        return job;
+    }
+
+    private BigDecimal rescore(HybridWeights weights, ReviewScoringInputs review) {
+        BigDecimal sentimentScore = review.getSentimentScore();
+        long sentimentUnits = sentimentScore == null ? ScoreMath.NOT_REPRESENTABLE : ScoreMath.toUnits(sentimentScore);
+        if (sentimentUnits == ScoreMath.NOT_REPRESENTABLE) {
+            // Duygu skoru yoksa (sadece yıldız puanı) BigDecimal yolu kullanılır
+            return hybridScoreService.calculateHybridScore(weights, review.getStarRating(), sentimentScore,
+                                                           review.getSentimentLabel())
+                .setScale(ScoreMath.SCORE_SCALE, RoundingMode.HALF_UP);
+        }
+        return ScoreMath.hundredthsToDecimal(hybridScoreService.calculateHybridScoreHundredths(
+            weights, review.getStarRating(), sentimentUnits, review.getSentimentLabel()));
+    }
+
+    private void pause() throws InterruptedException {
+        if (pauseMs > 0) {
+            Thread.sleep(pauseMs);
+        }
+    }
+
+    private void markFailed(Long jobId, Exception e) {
+        try {
+            rescoringJobRepository.findById(jobId).ifPresent(job -> {
+                if (job.getStatus() == RescoringJobStatus.RUNNING) {
+                    job.setStatus(RescoringJobStatus.FAILED);
+                    job.setFinishedAt(LocalDateTime.now());
+                    String message = String.valueOf(e.getMessage());
+                    job.setErrorMessage(message.length() > 500 ? message.substring(0, 500) : message);
+                    rescoringJobRepository.save(job);
+                }
+            });
+        } catch (Exception ignored) {
+            // Durum yazılamazsa iş RUNNING kalır ve yeniden başlatmada sürdürülür
+        }
+    }
+}
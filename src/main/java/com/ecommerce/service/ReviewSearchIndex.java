@@ -0,0 +1,675 @@
+package com.ecommerce.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tr.TurkishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ecommerce.dto.ReviewSearchHit;
+import com.ecommerce.dto.ReviewSearchResponse;
+import com.ecommerce.entity.ReviewCategory;
+import com.ecommerce.entity.ScoringStatus;
+import com.ecommerce.event.ProductRankingChangedEvent;
+import com.ecommerce.event.ReviewsUpdatedEvent;
+import com.ecommerce.repository.ReviewExportRow;
+import com.ecommerce.repository.ReviewRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Yorum metinleri üzerinde gömülü tam metin arama indeksi (Apache Lucene, reviews.search.index-path dizininde).
+ *
+ * - Metin Türkçe çözümleyiciyle indekslenir: kesme işaretinden sonrası atılır, Türkçe küçük harfe çevrilir
+ *   (I/ı, İ/i), durak kelimeler çıkarılır ve ekler Snowball kök bulucusuyla atılır; sonuçlar BM25 ile sıralanır
+ * - Ürün, duygu etiketi, kategori ve yıldız filtreleri puanlamaya katılmayan filtre koşullarıdır
+ * - Yorumlar commit sonrası ReviewsUpdatedEvent ile kuyruğa alınır; tek indeksleme thread'i onları parça parça
+ *   veritabanından okuyup yazar (bulunamayanlar silinir), silinen ürünlerin yorumlarını da indeksten çıkarır
+ * - Değişiklikler refresh-interval-ms içinde aramada görünür; indeks commit-interval-ms'de bir ve kapanışta diske
+ *   yazılır. Açılışta geçerli bir anlık görüntü varsa arama hemen açılır, yalnızca sonradan eklenen yorumlar ve
+ *   henüz puanlanmamış görünenler yeniden okunur; belge sayısı tabloyla tutmazsa indeks arka planda yeniden
+ *   oluşturulur. Anlık görüntü yoksa ilk oluşturma bitene kadar arama kullanılamaz (isReady false)
+ *
+ * Her uygulama örneğinin kendi indeksi vardır; diğer örneklerin yazdığı yorumlar bir sonraki yeniden
+ * oluşturmaya kadar görünmez.
+ */
+@Component
+public class ReviewSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewSearchIndex.class);
+
+    // Belge yapısı veya çözümleyici değişirse artırılmalı: eski anlık görüntüler kullanılmaz, indeks yeniden oluşturulur
+    static final String SCHEMA_VERSION = "2";
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_PRODUCT = "productId";
+    private static final String FIELD_STARS = "starRating";
+    private static final String FIELD_SENTIMENT = "sentimentLabel";
+    private static final String FIELD_CATEGORY = "category";
+    private static final String FIELD_STATUS = "scoringStatus";
+    private static final String FIELD_CREATED_AT = "createdAt";
+    private static final String FIELD_COMMENT = "comment";
+    private static final String FIELD_GENERATION = "generation";
+
+    private static final String COMMIT_SCHEMA = "schema";
+    private static final String COMMIT_GENERATION = "generation";
+    private static final String COMMIT_MAX_INDEXED_ID = "maxIndexedId";
+    private static final String COMMIT_COMPLETE = "complete";
+
+    private static final int MAX_QUERY_TERMS = 32;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reviews.search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reviews.search.index-path:data/review-index}")
+    private String indexPath;
+
+    @Value("${reviews.search.batch-size:500}")
+    private int batchSize;
+
+    @Value("${reviews.search.refresh-interval-ms:1000}")
+    private long refreshIntervalMs;
+
+    @Value("${reviews.search.commit-interval-ms:30000}")
+    private long commitIntervalMs;
+
+    @Value("${reviews.search.max-limit:100}")
+    private int maxLimit;
+
+    @Value("${reviews.search.max-window:1000}")
+    private int maxWindow;
+
+    private final Analyzer analyzer = new TurkishAnalyzer();
+    private final BlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong indexedReviews = new AtomicLong();
+    private final AtomicLong deletedReviews = new AtomicLong();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private Thread indexer;
+
+    // Yalnızca indeksleme thread'inde (ve thread durduktan sonra kapanışta) değiştirilir
+    private long generation;
+    private volatile Scan scan;
+    private boolean dirty;
+    private boolean uncommitted;
+    private long lastRefresh;
+    private long lastCommit;
+
+    private volatile long maxIndexedId;
+    private volatile boolean restoredFromSnapshot;
+    private volatile boolean rebuildRequested;
+    private volatile boolean running;
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (batchSize < 1 || refreshIntervalMs < 1 || commitIntervalMs < 1 || maxLimit < 1 || maxWindow < maxLimit) {
+            throw new IllegalStateException("Invalid review search settings: batchSize=" + batchSize
+                + ", refreshIntervalMs=" + refreshIntervalMs + ", commitIntervalMs=" + commitIntervalMs
+                + ", maxLimit=" + maxLimit + ", maxWindow=" + maxWindow);
+        }
+        FunctionCounter.builder("reviews.search.indexed", indexedReviews, AtomicLong::get)
+            .description("Arama indeksine yazılan yorumlar")
+            .register(meterRegistry);
+        FunctionCounter.builder("reviews.search.deleted", deletedReviews, AtomicLong::get)
+            .description("Veritabanında bulunamadığı için arama indeksinden silinen yorumlar")
+            .register(meterRegistry);
+        Gauge.builder("reviews.search.queue", queue, BlockingQueue::size)
+            .description("İndekslenmeyi bekleyen yorum ve ürün değişiklikleri")
+            .register(meterRegistry);
+        if (!enabled) {
+            return;
+        }
+
+        Path path = Paths.get(indexPath);
+        Files.createDirectories(path);
+        directory = FSDirectory.open(path);
+        Map<String, String> snapshot = readSnapshot();
+        restoredFromSnapshot = snapshot != null;
+        if (restoredFromSnapshot) {
+            generation = Long.parseLong(snapshot.get(COMMIT_GENERATION));
+            maxIndexedId = Long.parseLong(snapshot.get(COMMIT_MAX_INDEXED_ID));
+        }
+        // Benzerlik varsayılan olarak BM25'tir
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+            .setOpenMode(restoredFromSnapshot ? IndexWriterConfig.OpenMode.APPEND : IndexWriterConfig.OpenMode.CREATE);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+        ready = restoredFromSnapshot;
+
+        Gauge.builder("reviews.search.documents", writer, indexWriter -> indexWriter.getDocStats().numDocs)
+            .description("Arama indeksindeki yorumlar")
+            .register(meterRegistry);
+        logger.info("Review search index at {}: {}", path.toAbsolutePath(), restoredFromSnapshot
+            ? "restored snapshot with " + writer.getDocStats().numDocs + " reviews (up to ID " + maxIndexedId + ")"
+            : "no usable snapshot, building from the reviews table");
+    }
+
+    /**
+     * Anlık görüntüden açıldıysa sonradan eklenen ve puanlanmamış görünen yorumları yeniden okur;
+     * aksi halde indeksi baştan oluşturur. İndeksleme thread'ini başlatır.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (restoredFromSnapshot) {
+            // Kapanmadan önce uygulanan ama son anlık görüntüye girmemiş duygu sonuçları
+            List<Long> pending = findPendingReviewIds();
+            pending.forEach(reviewId -> queue.add(Task.review(reviewId)));
+            scan = new Scan(maxIndexedId, false);
+            logger.info("Review search index catching up: reviews after ID {} and {} pending reviews", maxIndexedId,
+                       pending.size());
+        } else {
+            scan = new Scan(0, true);
+            generation++;
+        }
+        running = true;
+        lastRefresh = System.currentTimeMillis();
+        lastCommit = lastRefresh;
+        indexer = new Thread(this::indexLoop, "review-search-indexer");
+        indexer.setDaemon(true);
+        indexer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // Lucene dosya kanalları kesilen thread'de kapanır: thread kesilmez, bayrakla durdurulur
+        running = false;
+        if (indexer != null) {
+            indexer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        try {
+            commit();
+        } finally {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReviewsUpdated(ReviewsUpdatedEvent event) {
+        if (writer != null) {
+            event.getReviewIds().forEach(reviewId -> queue.add(Task.review(reviewId)));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRankingChanged(ProductRankingChangedEvent event) {
+        // Ürünün yorumları cascade ile silindi
+        if (writer != null && event.isRemoved()) {
+            queue.add(Task.product(event.getProductId()));
+        }
+    }
+
+    /**
+     * İlk oluşturma veya anlık görüntüden açılış tamamlandı mı (öncesinde arama yapılamaz)
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * İndeksi tablodan arka planda yeniden oluşturur; bu sırada arama mevcut içerikle yanıtlanır
+     */
+    public void requestRebuild() {
+        if (!enabled) {
+            throw new IllegalStateException("Review search is disabled");
+        }
+        rebuildRequested = true;
+    }
+
+    /**
+     * Yorum metinlerinde BM25 ile sıralı arama
+     *
+     * @param text Aranacak kelimeler (herhangi biri eşleşen yorumlar döner, çok eşleşen üstte)
+     * @param category Kategori anahtarı veya "general"
+     * @param limit En fazla reviews.search.max-limit
+     * @param offset offset + limit en fazla reviews.search.max-window
+     */
+    public ReviewSearchResponse search(String text, Long productId, String sentimentLabel, String category,
+                                       Integer minStars, Integer maxStars, int limit, int offset) throws IOException {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("q must not be empty");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        if (offset < 0 || offset + limit > maxWindow) {
+            throw new IllegalArgumentException("offset + limit must be between 1 and " + maxWindow);
+        }
+        if ((minStars != null && (minStars < 1 || minStars > 5)) || (maxStars != null && (maxStars < 1 || maxStars > 5))
+            || (minStars != null && maxStars != null && minStars > maxStars)) {
+            throw new IllegalArgumentException("minStars and maxStars must be between 1 and 5, minStars <= maxStars");
+        }
+        if (category != null && !ReviewCategory.GENERAL.equals(category) && ReviewCategory.fromKey(category) == null) {
+            throw new IllegalArgumentException("Unknown category: " + category);
+        }
+
+        long start = System.nanoTime();
+        ReviewSearchResponse response = new ReviewSearchResponse();
+        response.setQuery(text);
+        response.setLimit(limit);
+        response.setOffset(offset);
+        List<ReviewSearchHit> hits = new ArrayList<>();
+
+        Set<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            // Yalnızca durak kelimeler veya noktalama
+            response.setTotalHits(0L);
+            response.setTotalHitsExact(true);
+        } else {
+            BooleanQuery.Builder textQuery = new BooleanQuery.Builder();
+            terms.forEach(term -> textQuery.add(new TermQuery(new Term(FIELD_COMMENT, term)), BooleanClause.Occur.SHOULD));
+            BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(textQuery.build(), BooleanClause.Occur.MUST);
+            if (productId != null) {
+                query.add(LongPoint.newExactQuery(FIELD_PRODUCT, productId), BooleanClause.Occur.FILTER);
+            }
+            if (sentimentLabel != null) {
+                query.add(new TermQuery(new Term(FIELD_SENTIMENT, sentimentLabel.toLowerCase(Locale.ROOT))),
+                          BooleanClause.Occur.FILTER);
+            }
+            if (category != null) {
+                query.add(new TermQuery(new Term(FIELD_CATEGORY, category)), BooleanClause.Occur.FILTER);
+            }
+            if (minStars != null || maxStars != null) {
+                query.add(IntPoint.newRangeQuery(FIELD_STARS, minStars != null ? minStars : 1, maxStars != null ? maxStars : 5),
+                          BooleanClause.Occur.FILTER);
+            }
+
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query.build(), offset + limit);
+                StoredFields storedFields = searcher.storedFields();
+                for (int i = offset; i < top.scoreDocs.length; i++) {
+                    ScoreDoc scoreDoc = top.scoreDocs[i];
+                    hits.add(toHit(storedFields.document(scoreDoc.doc), scoreDoc.score));
+                }
+                response.setTotalHits(top.totalHits.value);
+                response.setTotalHitsExact(top.totalHits.relation == TotalHits.Relation.EQUAL_TO);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        meterRegistry.timer("reviews.search.query").record(elapsed, TimeUnit.NANOSECONDS);
+        response.setResults(hits);
+        response.setTookMs(TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return response;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ready", ready);
+        stats.put("indexPath", enabled ? Paths.get(indexPath).toAbsolutePath().toString() : null);
+        stats.put("restoredFromSnapshot", restoredFromSnapshot);
+        stats.put("documents", writer != null ? writer.getDocStats().numDocs : 0);
+        stats.put("queued", queue.size());
+        Scan current = scan;
+        stats.put("rebuilding", current != null && current.full);
+        stats.put("catchingUp", current != null && !current.full);
+        stats.put("maxIndexedId", maxIndexedId);
+        stats.put("indexedReviews", indexedReviews.get());
+        stats.put("deletedReviews", deletedReviews.get());
+        return stats;
+    }
+
+    private void indexLoop() {
+        while (running) {
+            List<Task> tasks = new ArrayList<>();
+            try {
+                // Tarama sürerken kuyruk beklenmeden boşaltılır: değişiklikler tarama parçaları arasında uygulanır
+                Task first = scan != null ? queue.poll() : queue.poll(refreshIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    tasks.add(first);
+                    queue.drainTo(tasks, batchSize - 1);
+                    apply(tasks);
+                    tasks.clear();
+                }
+                if (rebuildRequested && (scan == null || !scan.full)) {
+                    rebuildRequested = false;
+                    generation++;
+                    scan = new Scan(0, true);
+                    logger.info("Review search index rebuild started (generation {})", generation);
+                }
+                if (scan != null) {
+                    scanChunk();
+                }
+                long now = System.currentTimeMillis();
+                if (dirty && now - lastRefresh >= refreshIntervalMs) {
+                    searcherManager.maybeRefresh();
+                    dirty = false;
+                    lastRefresh = now;
+                }
+                if (uncommitted && now - lastCommit >= commitIntervalMs) {
+                    commit();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                // Veritabanı geçici olarak erişilemiyor olabilir: uygulanamayan değişiklikler kuyruğa geri alınır
+                logger.error("Review search indexing failed, retrying: {}", e.getMessage(), e);
+                queue.addAll(tasks);
+                try {
+                    Thread.sleep(refreshIntervalMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void apply(List<Task> tasks) throws IOException {
+        Set<Long> reviewIds = new LinkedHashSet<>();
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (Task task : tasks) {
+            if (task.reviewId != null) {
+                reviewIds.add(task.reviewId);
+            } else {
+                productIds.add(task.productId);
+            }
+        }
+        if (!reviewIds.isEmpty()) {
+            Set<Long> found = new HashSet<>();
+            for (ReviewExportRow row : reviewRepository.findSearchRowsByIds(reviewIds)) {
+                index(row);
+                found.add(row.getId());
+            }
+            for (Long reviewId : reviewIds) {
+                if (!found.contains(reviewId)) {
+                    writer.deleteDocuments(new Term(FIELD_ID, reviewId.toString()));
+                    deletedReviews.incrementAndGet();
+                }
+            }
+        }
+        for (Long productId : productIds) {
+            writer.deleteDocuments(LongPoint.newExactQuery(FIELD_PRODUCT, productId));
+        }
+        dirty = true;
+        uncommitted = true;
+    }
+
+    private void scanChunk() throws IOException {
+        List<ReviewExportRow> rows = reviewRepository.findSearchRowsAfter(scan.afterId, PageRequest.of(0, batchSize));
+        for (ReviewExportRow row : rows) {
+            index(row);
+        }
+        if (!rows.isEmpty()) {
+            scan.afterId = rows.get(rows.size() - 1).getId();
+            scan.rows += rows.size();
+            dirty = true;
+            uncommitted = true;
+            return;
+        }
+
+        Scan finished = scan;
+        scan = null;
+        long elapsed = System.currentTimeMillis() - finished.startedAt;
+        if (finished.full) {
+            // Taramada görülmeyen ve bu arada güncellenmeyen belgelerin yorumları silinmiştir
+            writer.deleteDocuments(LongPoint.newRangeQuery(FIELD_GENERATION, Long.MIN_VALUE, generation - 1));
+            searcherManager.maybeRefreshBlocking();
+            ready = true;
+            commit();
+            logger.info("Review search index built: {} reviews in {} ms", finished.rows, elapsed);
+            return;
+        }
+
+        searcherManager.maybeRefreshBlocking();
+        int documents = countDocuments();
+        long reviews = reviewRepository.count();
+        logger.info("Review search index caught up: {} reviews in {} ms ({} documents, {} reviews in table)",
+                   finished.rows, elapsed, documents, reviews);
+        if (documents != reviews) {
+            // Son anlık görüntüden sonra silinen veya atlanan yorumlar var
+            logger.info("Review search index out of sync with the reviews table, rebuilding in the background");
+            rebuildRequested = true;
+        }
+    }
+
+    private void index(ReviewExportRow row) throws IOException {
+        writer.updateDocument(new Term(FIELD_ID, row.getId().toString()), toDocument(row));
+        indexedReviews.incrementAndGet();
+        if (row.getId() > maxIndexedId) {
+            maxIndexedId = row.getId();
+        }
+    }
+
+    private Document toDocument(ReviewExportRow row) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, row.getId().toString(), Field.Store.YES));
+        document.add(new LongPoint(FIELD_PRODUCT, row.getProductId()));
+        document.add(new StoredField(FIELD_PRODUCT, row.getProductId()));
+        document.add(new LongPoint(FIELD_GENERATION, generation));
+        if (row.getStarRating() != null) {
+            document.add(new IntPoint(FIELD_STARS, row.getStarRating()));
+            document.add(new StoredField(FIELD_STARS, row.getStarRating()));
+        }
+        if (row.getSentimentLabel() != null) {
+            // Puanlanan yorumların etiketi "Positive" gibi büyük harfle gelir; filtre küçük harfle eşleşir,
+            // sonuçta yorumdaki haliyle döner
+            document.add(new StringField(FIELD_SENTIMENT, row.getSentimentLabel().toLowerCase(Locale.ROOT), Field.Store.NO));
+            document.add(new StoredField(FIELD_SENTIMENT, row.getSentimentLabel()));
+        }
+        for (String category : row.getCategory().split(",")) {
+            document.add(new StringField(FIELD_CATEGORY, category, Field.Store.YES));
+        }
+        if (row.getScoringStatus() != null) {
+            document.add(new StringField(FIELD_STATUS, row.getScoringStatus().name(), Field.Store.NO));
+        }
+        if (row.getCreatedAt() != null) {
+            document.add(new StoredField(FIELD_CREATED_AT, row.getCreatedAt().toString()));
+        }
+        document.add(new TextField(FIELD_COMMENT, row.getComment() != null ? row.getComment() : "", Field.Store.YES));
+        return document;
+    }
+
+    private static ReviewSearchHit toHit(Document document, float score) {
+        ReviewSearchHit hit = new ReviewSearchHit();
+        hit.setReviewId(Long.valueOf(document.get(FIELD_ID)));
+        hit.setProductId(document.getField(FIELD_PRODUCT).numericValue().longValue());
+        hit.setScore(score);
+        hit.setComment(document.get(FIELD_COMMENT));
+        if (document.getField(FIELD_STARS) != null) {
+            hit.setStarRating(document.getField(FIELD_STARS).numericValue().intValue());
+        }
+        hit.setSentimentLabel(document.get(FIELD_SENTIMENT));
+        hit.setCategory(String.join(",", document.getValues(FIELD_CATEGORY)));
+        String createdAt = document.get(FIELD_CREATED_AT);
+        hit.setCreatedAt(createdAt != null ? LocalDateTime.parse(createdAt) : null);
+        return hit;
+    }
+
+    /**
+     * Sorgu metnini indeksleme ile aynı çözümleyiciden geçirir (küçük harf, durak kelimeler, kök)
+     */
+    private Set<String> analyze(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream stream = analyzer.tokenStream(FIELD_COMMENT, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            throw new IllegalArgumentException("q must contain at most " + MAX_QUERY_TERMS + " terms");
+        }
+        return terms;
+    }
+
+    /**
+     * @return Son commit'in kullanıcı verisi; indeks yoksa, okunamıyorsa, eski şemadaysa veya ilk oluşturma
+     *         yarıda kaldıysa null
+     */
+    private Map<String, String> readSnapshot() {
+        try {
+            if (!DirectoryReader.indexExists(directory)) {
+                return null;
+            }
+            Map<String, String> data = SegmentInfos.readLatestCommit(directory).getUserData();
+            if (!SCHEMA_VERSION.equals(data.get(COMMIT_SCHEMA)) || !Boolean.parseBoolean(data.get(COMMIT_COMPLETE))) {
+                logger.info("Review search index snapshot is outdated or incomplete ({}), rebuilding", data);
+                return null;
+            }
+            return data;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Review search index snapshot is unreadable, rebuilding: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private List<Long> findPendingReviewIds() throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TermQuery query = new TermQuery(new Term(FIELD_STATUS, ScoringStatus.PENDING.name()));
+            int count = searcher.count(query);
+            List<Long> reviewIds = new ArrayList<>(count);
+            if (count > 0) {
+                StoredFields storedFields = searcher.storedFields();
+                for (ScoreDoc scoreDoc : searcher.search(query, count).scoreDocs) {
+                    reviewIds.add(Long.valueOf(storedFields.document(scoreDoc.doc).get(FIELD_ID)));
+                }
+            }
+            return reviewIds;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private int countDocuments() throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.getIndexReader().numDocs();
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // İndeksleme thread'inde veya thread durduktan sonra çağrılır
+    private void commit() throws IOException {
+        Map<String, String> data = new LinkedHashMap<>();
+        data.put(COMMIT_SCHEMA, SCHEMA_VERSION);
+        data.put(COMMIT_GENERATION, Long.toString(generation));
+        data.put(COMMIT_MAX_INDEXED_ID, Long.toString(maxIndexedId));
+        // İlk oluşturma bitmeden alınan anlık görüntü açılışta kullanılmaz
+        data.put(COMMIT_COMPLETE, Boolean.toString(ready));
+        writer.setLiveCommitData(data.entrySet());
+        writer.commit();
+        uncommitted = false;
+        lastCommit = System.currentTimeMillis();
+    }
+
+    /**
+     * Kuyruktaki değişiklik: yeniden okunacak yorum veya yorumları silinecek ürün
+     */
+    private static final class Task {
+        private final Long reviewId;
+        private final Long productId;
+
+        private Task(Long reviewId, Long productId) {
+            this.reviewId = reviewId;
+            this.productId = productId;
+        }
+
+        static Task review(Long reviewId) {
+            return new Task(reviewId, null);
+        }
+
+        static Task product(Long productId) {
+            return new Task(null, productId);
+        }
+    }
+
+    /**
+     * Tablonun ID sırasıyla taranması: tam yeniden oluşturma veya anlık görüntüden sonraki yorumlar
+     */
+    private static final class Scan {
+        private long afterId;
+        private final boolean full;
+        private final long startedAt = System.currentTimeMillis();
+        private long rows;
+
+        Scan(long afterId, boolean full) {
+            this.afterId = afterId;
+            this.full = full;
+        }
+    }
+}
@@ -1,23 +1,39 @@
 package com.ecommerce.service;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ecommerce.dto.ReviewPageResponse;
 import com.ecommerce.dto.ReviewRequest;
 import com.ecommerce.dto.ReviewResponse;
+import com.ecommerce.dto.ReviewSortOrder;
 import com.ecommerce.entity.Product;
 import com.ecommerce.entity.Review;
+import com.ecommerce.entity.ReviewCategory;
+import com.ecommerce.entity.ScoringStatus;
+import com.ecommerce.event.ProductReviewsChangedEvent;
+import com.ecommerce.event.ProductScoresStaleEvent;
+import com.ecommerce.event.ReviewScoringRequestedEvent;
+import com.ecommerce.event.ReviewTrendsStaleEvent;
+import com.ecommerce.event.ReviewsUpdatedEvent;
 import com.ecommerce.repository.ProductRepository;
 import com.ecommerce.repository.ReviewRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Service
 public class ReviewService {
     
@@ -29,17 +45,44 @@ public class ReviewService {
     @Autowired
     private ProductRepository productRepository;
     
-    @Autowired
-    private SentimentAnalysisService sentimentAnalysisService;
-    
     @Autowired
     private HybridScoreService hybridScoreService;
     
     @Autowired
     private KeywordService keywordService;
     
+    @Autowired
+    private ProductScoreAggregator productScoreAggregator;
+    
+    @Autowired
+    private ProductScoreUpdateCoalescer productScoreUpdateCoalescer;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private ReviewEventLog reviewEventLog;
+    
+    @Value("${reviews.page.default-size:20}")
+    private int defaultPageSize;
+    
+    @Value("${reviews.page.max-size:100}")
+    private int maxPageSize;
+    
     @Transactional
     public ReviewResponse createReview(ReviewRequest request) {
+        return createReview(request, false);
+    }
+    
+    /**
+     * @param syncScores true ise ürün puanları yazma birleştirme açık olsa da bu transaction'da güncellenir
+     *                   (gönderen istemci sonraki okumasında kendi yorumunu puanlara yansımış görür)
+     */
+    @Transactional
+    public ReviewResponse createReview(ReviewRequest request, boolean syncScores) {
         // Validation
         if (request == null) {
             throw new IllegalArgumentException("Review request cannot be null");
@@ -54,107 +97,217 @@ public class ReviewService {
             throw new IllegalArgumentException("Star rating must be between 1 and 5");
         }
         
-        logger.info("Creating review for product ID: {}", request.getProductId());
-        
-        // Ürünü bul
-        Product product = productRepository.findById(request.getProductId())
+        // Ürünü bul. Puanlar bu transaction'da güncellenecekse kilitleyerek (yorum eklenmeden önce; eş zamanlı
+        // puan güncellemeleri sıraya girer); birleştirmede ürün satırına yazılmadığından kilit alınmaz
+        boolean coalesce = productScoreUpdateCoalescer.isEnabled() && !syncScores;
+        Product product = (coalesce ? productRepository.findById(request.getProductId())
+                                    : productRepository.findByIdForUpdate(request.getProductId()))
             .orElseThrow(() -> new RuntimeException("Product not found with ID: " + request.getProductId()));
         
         // Önce yorumu temel bilgilerle kaydet
+        Review review = newPendingReview(product, request, hybridScoreService.getWeights());
+        
+        // Önce kaydet
+        Review savedReview = reviewRepository.save(review);
+        if (reviewEventLog.isTraced(savedReview.getId())) {
+            reviewEventLog.trace(savedReview.getId(), "review.created",
+                                 "productId", product.getId(), "starRating", savedReview.getStarRating(),
+                                 "category", savedReview.getCategory(), "comment", savedReview.getComment(),
+                                 "tempHybridScore", savedReview.getHybridScore());
+        }
+        
+        // Sentiment analysis arka planda yapılır (commit sonrası SentimentScoringWorker'a gönderilir)
+        // Python API gecikmesi istek thread'ini ve DB bağlantısını bekletmez
+        eventPublisher.publishEvent(new ReviewScoringRequestedEvent(savedReview.getId()));
+        eventPublisher.publishEvent(ReviewsUpdatedEvent.of(savedReview.getId()));
+        eventPublisher.publishEvent(ReviewTrendsStaleEvent.of(product.getId(), savedReview.getCreatedAt()));
+        
+        // Ürün puanlarını güncelle (geçici puanlarla, yalnızca bu yorumun katkısı eklenir) veya boşaltmaya bırak
+        if (coalesce) {
+            eventPublisher.publishEvent(new ProductScoresStaleEvent(product.getId()));
+        } else {
+            productScoreAggregator.applyDelta(product.getId(), null, ProductScoreAggregator.ScoreContribution.of(savedReview));
+        }
+        
+        return convertToResponse(savedReview);
+    }
+    
+    /**
+     * Yıldız puanına dayalı geçici puanlarla, kategorisi belirlenmiş ve duygu analizi bekleyen (PENDING) yorum oluşturur
+     */
+    Review newPendingReview(Product product, ReviewRequest request, HybridWeights weights) {
         Review review = new Review();
         review.setProduct(product);
         review.setComment(request.getComment().trim());
         review.setStarRating(request.getStarRating());
         
         // Geçici sentiment değerleri (yıldız puanına göre)
-        BigDecimal tempSentimentScore = BigDecimal.valueOf(request.getStarRating()).divide(BigDecimal.valueOf(5), 2, BigDecimal.ROUND_HALF_UP);
+        BigDecimal tempSentimentScore = ScoreMath.starRatingAsSentiment(request.getStarRating());
         review.setSentimentScore(tempSentimentScore);
         review.setSentimentLabel("neutral");
         
         // Geçici hibrit puan
-        BigDecimal tempHybridScore = hybridScoreService.calculateHybridScore(request.getStarRating(), tempSentimentScore);
+        BigDecimal tempHybridScore = hybridScoreService.calculateHybridScore(weights, request.getStarRating(),
+                                                                             tempSentimentScore, "unknown");
         review.setHybridScore(tempHybridScore);
+        review.setScoringConfigVersion(weights.getVersion());
         
         // Kategori belirle
-        String category = determineCategory(request.getComment());
-        review.setCategory(category);
+        review.setCategories(determineCategories(request.getComment()));
         
-        // Önce kaydet
-        Review savedReview = reviewRepository.save(review);
-        logger.info("Review created successfully with ID: {}", savedReview.getId());
-        
-        // Şimdi sentiment analysis yap (arka planda - Python API'ye gönder)
-        try {
-            logger.info("Sending comment to Python API for sentiment analysis: {}", request.getComment());
-            SentimentAnalysisService.SentimentResult sentimentResult = sentimentAnalysisService.analyzeSentiment(request.getComment());
-            
-            // Sentiment sonuçlarını al
-            BigDecimal sentimentScore = sentimentResult.getNormalizedScore();
-            String sentimentLabel = sentimentResult.getLabel();
-            BigDecimal originalScore = sentimentResult.getOriginalScore();
-            
-            logger.info("📊 Sentiment Analysis Results:");
-            logger.info("   - Label: {}", sentimentLabel);
-            logger.info("   - Original Score: {}", originalScore);
-            logger.info("   - Normalized Sentiment Score: {}", sentimentScore);
-            
-            // Sentiment bilgilerini güncelle (artık değiştirmiyoruz)
-            savedReview.setSentimentScore(sentimentScore);
-            savedReview.setSentimentLabel(sentimentLabel);
-            
-            // Hibrit puanı yeni sistem ile hesapla (nötr duygu = sadece yıldız puanı)
-            BigDecimal hybridScore = hybridScoreService.calculateHybridScore(request.getStarRating(), sentimentScore, sentimentLabel);
-            savedReview.setHybridScore(hybridScore);
-            
-            logger.info("🎯 Hybrid Score Calculation:");
-            logger.info("   - Star Rating: {} (normalized: {})", request.getStarRating(), 
-                       BigDecimal.valueOf(request.getStarRating()).divide(BigDecimal.valueOf(5), 2, BigDecimal.ROUND_HALF_UP));
-            logger.info("   - Sentiment Score: {} (label: {})", sentimentScore, sentimentLabel);
-            logger.info("   - Final Hybrid Score: {}", hybridScore);
-            
-            // Güncellenmiş review'ı kaydet
-            Review updatedReview = reviewRepository.save(savedReview);
-            logger.info("✅ Python API sentiment analysis completed and saved to database:");
-            logger.info("   - Review ID: {}", updatedReview.getId());
-            logger.info("   - Sentiment Label: {}", updatedReview.getSentimentLabel());
-            logger.info("   - Sentiment Score: {}", updatedReview.getSentimentScore());
-            logger.info("   - Hybrid Score: {}", updatedReview.getHybridScore());
-            
-        } catch (Exception e) {
-            logger.error("❌ Python API sentiment analysis failed, but review was saved: {}", e.getMessage());
-            // Sentiment analysis başarısız olsa bile yorum kaydedildi - kullanıcı deneyimi kesintisiz
+        // Duygu analizi arka planda yapılacak
+        review.setScoringStatus(ScoringStatus.PENDING);
+        review.setScoringAttempts(0);
+        return review;
+    }
+    
+    /**
+     * Python API'den gelen duygu analizi sonucunu yoruma uygular ve ürün puanlarını günceller
+     * 
+     * @param reviewId Puanlanan yorum
+     * @param sentimentResult Python API sonucu
+     */
+    @Transactional
+    public void applySentimentResult(Long reviewId, SentimentAnalysisService.SentimentResult sentimentResult) {
+        Review review = reviewRepository.findById(reviewId).orElse(null);
+        if (review == null) {
+            // Yorum puanlama sırasında silinmiş olabilir
+            logger.debug("Review {} no longer exists, skipping sentiment result", reviewId);
+            return;
         }
         
-        // Ürün puanlarını güncelle
-        updateProductScores(product.getId());
+        // Ürün toplamlarından çıkarılacak eski katkı
+        ProductScoreAggregator.ScoreContribution previous = ProductScoreAggregator.ScoreContribution.of(review);
+        
+        // Sentiment sonuçlarını al
+        BigDecimal sentimentScore = sentimentResult.getNormalizedScore();
+        String sentimentLabel = sentimentResult.getLabel();
+        
+        review.setSentimentScore(sentimentScore);
+        review.setSentimentLabel(sentimentLabel);
+        
+        // Hibrit puanı geçerli ağırlıklarla hesapla (varsayılan: nötr duygu = sadece yıldız puanı)
+        HybridWeights weights = hybridScoreService.getWeights();
+        BigDecimal hybridScore = hybridScoreService.calculateHybridScore(weights, review.getStarRating(),
+                                                                         sentimentScore, sentimentLabel);
+        review.setHybridScore(hybridScore);
+        review.setScoringConfigVersion(weights.getVersion());
+        review.setScoringStatus(ScoringStatus.SCORED);
+        review.setScoringAttempts(valueOrZero(review.getScoringAttempts()) + 1);
+        
+        reviewRepository.save(review);
+        if (reviewEventLog.isTraced(reviewId)) {
+            reviewEventLog.trace(reviewId, "review.hybrid",
+                                 "modelScore", sentimentResult.getOriginalScore(), "sentimentScore", sentimentScore,
+                                 "weights", weights, "hybridScore", hybridScore);
+        }
+        // Yorum başına tek yapılandırılmış olay
+        reviewEventLog.scored(review, review.getProduct().getId());
+        eventPublisher.publishEvent(ReviewsUpdatedEvent.of(reviewId));
+        eventPublisher.publishEvent(ReviewTrendsStaleEvent.of(review.getProduct().getId(), review.getCreatedAt()));
         
-        return convertToResponse(savedReview);
+        if (productScoreUpdateCoalescer.isEnabled()) {
+            eventPublisher.publishEvent(new ProductScoresStaleEvent(review.getProduct().getId()));
+        } else {
+            productScoreAggregator.applyDelta(review.getProduct().getId(), previous,
+                                              ProductScoreAggregator.ScoreContribution.of(review));
+        }
+    }
+    
+    /**
+     * Başarısız bir puanlama denemesini kaydeder. Deneme limiti aşılırsa yorum FAILED olur
+     * ve yıldız puanına dayalı geçici puanını korur.
+     */
+    @Transactional
+    public void recordScoringFailure(Long reviewId, int maxAttempts) {
+        Review review = reviewRepository.findById(reviewId).orElse(null);
+        if (review == null) {
+            return;
+        }
+        
+        int attempts = valueOrZero(review.getScoringAttempts()) + 1;
+        review.setScoringAttempts(attempts);
+        if (attempts >= maxAttempts) {
+            review.setScoringStatus(ScoringStatus.FAILED);
+        }
+        reviewRepository.save(review);
+        if (review.getScoringStatus() == ScoringStatus.FAILED) {
+            reviewEventLog.failed(review, review.getProduct().getId());
+            eventPublisher.publishEvent(new ProductReviewsChangedEvent(review.getProduct().getId()));
+            eventPublisher.publishEvent(ReviewsUpdatedEvent.of(reviewId));
+            eventPublisher.publishEvent(ReviewTrendsStaleEvent.of(review.getProduct().getId(), review.getCreatedAt()));
+        }
+    }
+    
+    private static int valueOrZero(Integer value) {
+        return value == null ? 0 : value;
     }
     
-    public List<ReviewResponse> getReviewsByProductId(Long productId) {
+    /**
+     * Ürünün yorumlarını (createdAt, id) imleciyle sayfa sayfa döndürür.
+     * Her istek en fazla limit + 1 satır okur; maliyet tablonun büyüklüğünden bağımsızdır.
+     *
+     * @throws IllegalArgumentException İmleç, sıralama veya limit geçersizse
+     */
+    public ReviewPageResponse getReviewsByProductId(Long productId, String cursor, Integer limit, String sort) {
         if (productId == null) {
             throw new IllegalArgumentException("Product ID cannot be null");
         }
         
-        logger.debug("Fetching reviews for product ID: {}", productId);
+        ReviewSortOrder order = ReviewSortOrder.from(sort);
+        int pageSize = resolvePageSize(limit);
+        ReviewCursor after = ReviewCursor.decode(cursor, order == ReviewSortOrder.NEWEST);
+        logger.debug("Fetching reviews for product ID: {} (sort: {}, limit: {})", productId, order, pageSize);
         
-        return reviewRepository.findByProductId(productId)
-            .stream()
-            .map(this::convertToResponse)
-            .collect(Collectors.toList());
+        Pageable page = PageRequest.of(0, pageSize + 1);
+        List<Review> reviews = order == ReviewSortOrder.NEWEST
+            ? reviewRepository.findPageByProductIdNewestFirst(productId, after.getCreatedAt(), after.getId(), page)
+            : reviewRepository.findPageByProductIdOldestFirst(productId, after.getCreatedAt(), after.getId(), page);
+        return toPage(reviews, pageSize, order);
     }
     
-    public List<ReviewResponse> getReviewsBySentimentLabel(String sentimentLabel) {
+    public ReviewPageResponse getReviewsBySentimentLabel(String sentimentLabel, String cursor, Integer limit, String sort) {
         if (sentimentLabel == null || sentimentLabel.trim().isEmpty()) {
             throw new IllegalArgumentException("Sentiment label cannot be null or empty");
         }
         
-        logger.debug("Fetching reviews with sentiment label: {}", sentimentLabel);
+        ReviewSortOrder order = ReviewSortOrder.from(sort);
+        int pageSize = resolvePageSize(limit);
+        ReviewCursor after = ReviewCursor.decode(cursor, order == ReviewSortOrder.NEWEST);
+        logger.debug("Fetching reviews with sentiment label: {} (sort: {}, limit: {})", sentimentLabel, order, pageSize);
+        
+        String label = sentimentLabel.trim();
+        Pageable page = PageRequest.of(0, pageSize + 1);
+        List<Review> reviews = order == ReviewSortOrder.NEWEST
+            ? reviewRepository.findPageBySentimentLabelNewestFirst(label, after.getCreatedAt(), after.getId(), page)
+            : reviewRepository.findPageBySentimentLabelOldestFirst(label, after.getCreatedAt(), after.getId(), page);
+        return toPage(reviews, pageSize, order);
+    }
+    
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+    
+    // Sorgu limit + 1 satır getirir; fazladan satır varsa sonraki sayfa vardır
+    private ReviewPageResponse toPage(List<Review> reviews, int pageSize, ReviewSortOrder order) {
+        boolean hasMore = reviews.size() > pageSize;
+        List<Review> pageReviews = hasMore ? reviews.subList(0, pageSize) : reviews;
         
-        return reviewRepository.findBySentimentLabel(sentimentLabel.trim())
-            .stream()
+        ReviewPageResponse response = new ReviewPageResponse();
+        response.setContent(pageReviews.stream()
             .map(this::convertToResponse)
-            .collect(Collectors.toList());
+            .collect(Collectors.toList()));
+        response.setLimit(pageSize);
+        response.setSort(order);
+        response.setHasMore(hasMore);
+        response.setNextCursor(hasMore ? ReviewCursor.of(pageReviews.get(pageSize - 1)).encode() : null);
+        return response;
     }
     
     public ReviewResponse getReviewById(Long reviewId) {
@@ -171,6 +324,14 @@ public class ReviewService {
     
     @Transactional
     public void deleteReview(Long reviewId) {
+        deleteReview(reviewId, false);
+    }
+    
+    /**
+     * @param syncScores true ise ürün puanları yazma birleştirme açık olsa da bu transaction'da güncellenir
+     */
+    @Transactional
+    public void deleteReview(Long reviewId, boolean syncScores) {
         if (reviewId == null) {
             throw new IllegalArgumentException("Review ID cannot be null");
         }
@@ -183,136 +344,57 @@ public class ReviewService {
         // Ürün ID'sini al (silmeden önce)
         Long productId = review.getProduct().getId();
         
+        ProductScoreAggregator.ScoreContribution removed = ProductScoreAggregator.ScoreContribution.of(review);
+        
         // Yorumu sil
         reviewRepository.delete(review);
         logger.info("Review deleted successfully with ID: {}", reviewId);
+        eventPublisher.publishEvent(ReviewsUpdatedEvent.of(reviewId));
+        eventPublisher.publishEvent(ReviewTrendsStaleEvent.of(productId, review.getCreatedAt()));
         
-        // Ürün puanlarını güncelle
-        updateProductScores(productId);
+        // Ürün puanlarını güncelle (yalnızca silinen yorumun katkısı çıkarılır) veya boşaltmaya bırak
+        if (productScoreUpdateCoalescer.isEnabled() && !syncScores) {
+            eventPublisher.publishEvent(new ProductScoresStaleEvent(productId));
+        } else {
+            productScoreAggregator.applyDelta(productId, removed, null);
+        }
     }
     
+    /**
+     * Ürün puanlarını tüm yorumlardan baştan hesaplar (artımlı toplamları da yeniden oluşturur)
+     */
     @Transactional
     public void updateProductScores(Long productId) {
         if (productId == null) {
             throw new IllegalArgumentException("Product ID cannot be null");
         }
         
-        logger.debug("Updating product scores for product ID: {}", productId);
-        
-        Product product = productRepository.findById(productId)
-            .orElseThrow(() -> new RuntimeException("Product not found with ID: " + productId));
-        
-        // Yorum sayısını kontrol et
-        Long reviewCount = reviewRepository.getReviewCountByProductId(productId);
-        product.setTotalReviews(reviewCount.intValue());
-        logger.debug("Total reviews count: {}", reviewCount);
-        
-        // Eğer hiç yorum yoksa tüm puanları sıfırla
-        if (reviewCount == 0) {
-            product.setAverageRating(BigDecimal.ZERO);
-            product.setHybridScore(BigDecimal.ZERO);
-            product.setShippingScore(BigDecimal.ZERO);
-            product.setQualityScore(BigDecimal.ZERO);
-            product.setPerformanceScore(BigDecimal.ZERO);
-            logger.info("No reviews found, resetting all scores to zero for product ID: {}", productId);
-        } else {
-            // Ortalama yıldız puanı
-            BigDecimal avgStarRating = reviewRepository.getAverageStarRatingByProductId(productId);
-            if (avgStarRating != null) {
-                product.setAverageRating(avgStarRating);
-                logger.debug("Updated average star rating: {}", avgStarRating);
-            }
-            
-            // Ortalama duygu skoru
-            BigDecimal avgSentimentScore = reviewRepository.getAverageSentimentScoreByProductId(productId);
-            
-            // Hibrit puan hesapla (ürün seviyesinde eşit ağırlık kullan)
-            BigDecimal hybridScore = hybridScoreService.calculateProductHybridScore(avgStarRating, avgSentimentScore);
-            product.setHybridScore(hybridScore);
-            logger.debug("Updated hybrid score: {}", hybridScore);
-            
-            // Kategori bazlı puanları hesapla
-            calculateCategoryScores(product);
-        }
-        
-        productRepository.save(product);
+        logger.debug("Recalculating product scores for product ID: {}", productId);
+        productScoreAggregator.recalculate(productId);
         logger.info("Product scores updated successfully for product ID: {}", productId);
     }
     
-    private void calculateCategoryScores(Product product) {
-        List<Review> reviews = reviewRepository.findByProductId(product.getId());
-        
-        // Yeni kategori bazlı puanları hesapla
-        BigDecimal qualityDurabilityScore = calculateCategoryScore(reviews, "quality_durability");
-        BigDecimal usagePerformanceScore = calculateCategoryScore(reviews, "usage_performance");
-        BigDecimal serviceDeliveryScore = calculateCategoryScore(reviews, "service_delivery");
-        
-        // Eski alanları yeni kategorilerle güncelle (geriye uyumluluk için)
-        product.setShippingScore(serviceDeliveryScore);  // Hizmet & Teslimat
-        product.setQualityScore(qualityDurabilityScore); // Kalite & Dayanıklılık
-        product.setPerformanceScore(usagePerformanceScore); // Kullanım & Performans
-        
-        logger.debug("Category scores - Quality & Durability: {}, Usage & Performance: {}, Service & Delivery: {}", 
-                   qualityDurabilityScore, usagePerformanceScore, serviceDeliveryScore);
-    }
-    
-    private BigDecimal calculateCategoryScore(List<Review> reviews, String category) {
-        // Birden fazla kategoriye ait yorumları da dahil et
-        List<Review> categoryReviews = reviews.stream()
-            .filter(r -> {
-                String reviewCategory = r.getCategory();
-                if (reviewCategory == null) return false;
-                
-                // Tam eşleşme veya virgülle ayrılmış kategorilerde eşleşme
-                return reviewCategory.equals(category) || 
-                       reviewCategory.contains(category + ",") || 
-                       reviewCategory.contains("," + category) ||
-                       reviewCategory.contains("," + category + ",");
-            })
-            .collect(Collectors.toList());
-        
-        if (categoryReviews.isEmpty()) {
-            return BigDecimal.ZERO; // Kategori için yorum yoksa 0 döndür
-        }
-        
-        BigDecimal totalScore = categoryReviews.stream()
-            .map(Review::getHybridScore)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal averageScore = totalScore.divide(BigDecimal.valueOf(categoryReviews.size()), 2, BigDecimal.ROUND_HALF_UP);
-        
-        logger.debug("Category '{}' score calculation: {} reviews, total score: {}, average: {}", 
-                   category, categoryReviews.size(), totalScore, averageScore);
-        
-        return averageScore;
-    }
-    
-    private String determineCategory(String comment) {
+    private Set<ReviewCategory> determineCategories(String comment) {
         // Yeni kategori sistemi: Birden fazla kategoriye ait olabilir
-        List<String> matchedCategories = new ArrayList<>();
-        
-        // 1. Kalite & Dayanıklılık
-        if (keywordService.containsKeyword("quality_durability", comment)) {
-            matchedCategories.add("quality_durability");
-        }
+        // Tüm kategoriler tek taramada belirlenir (Kalite & Dayanıklılık, Kullanım & Performans, Hizmet & Teslimat)
+        List<String> matchedCategories = keywordService.getMatchedCategories(comment);
         
-        // 2. Kullanım & Performans  
-        if (keywordService.containsKeyword("usage_performance", comment)) {
-            matchedCategories.add("usage_performance");
-        }
-        
-        // 3. Hizmet & Teslimat (Müşteri Deneyimi)
-        if (keywordService.containsKeyword("service_delivery", comment)) {
-            matchedCategories.add("service_delivery");
-        }
-        
-        // Eğer hiç kategori eşleşmezse genel kategori
+        // Eğer hiç kategori eşleşmezse genel kategori (boş küme, maske 0)
         if (matchedCategories.isEmpty()) {
-            return "general";
+            meterRegistry.counter("reviews.categories", "category", ReviewCategory.GENERAL).increment();
+            return EnumSet.noneOf(ReviewCategory.class);
         }
         
-        // Birden fazla kategori eşleşirse, virgülle ayırarak döndür
-        return String.join(",", matchedCategories);
+        // Kategori dağılımı: çok kategorili yorum her kategoriye bir kez sayılır
+        Set<ReviewCategory> categories = EnumSet.noneOf(ReviewCategory.class);
+        for (String key : matchedCategories) {
+            meterRegistry.counter("reviews.categories", "category", key).increment();
+            ReviewCategory category = ReviewCategory.fromKey(key);
+            if (category != null) {
+                categories.add(category);
+            }
+        }
+        return categories;
     }
     
     
@@ -327,13 +409,7 @@ public class ReviewService {
         response.setHybridScore(review.getHybridScore());
         response.setCategory(review.getCategory());
         response.setCreatedAt(review.getCreatedAt());
-        
-        logger.debug("📋 Converting Review to Response:");
-        logger.debug("   - ID: {}", response.getId());
-        logger.debug("   - Sentiment Label: {}", response.getSentimentLabel());
-        logger.debug("   - Sentiment Score: {}", response.getSentimentScore());
-        logger.debug("   - Hybrid Score: {}", response.getHybridScore());
-        
+        response.setScoringStatus(review.getScoringStatus());
         return response;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,700 @@
+package com.ecommerce.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.dto.CategoryTrend;
+import com.ecommerce.dto.SentimentTrendBucket;
+import com.ecommerce.dto.SentimentTrendResponse;
+import com.ecommerce.entity.ReviewCategory;
+import com.ecommerce.entity.ScoringStatus;
+import com.ecommerce.entity.TrendGranularity;
+import com.ecommerce.event.ProductRankingChangedEvent;
+import com.ecommerce.event.ReviewTrendsStaleEvent;
+import com.ecommerce.repository.ProductRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Ürün başına saatlik ve günlük duygu eğilimi özetlerini (review_trend_rollups) tutar ve eğilim sorgularını
+ * yalnızca bu tablodan yanıtlar: 90 günlük eğilim, ürünün yorum sayısından bağımsız olarak en fazla 90 satır okur.
+ *
+ * - Yorum ekleme/silme, duygu sonucu, FAILED'a düşme ve yeniden kategorilendirme commit sonrası yorumun saatlik
+ *   dilimini kirli işaretler (ReviewTrendsStaleEvent). Tek bir işçi thread'i flush-interval-ms'de bir her kirli
+ *   saati o saatin yorumlarından ((product_id, created_at) indeksiyle), günü de 24 saatlik satırdan yeniden
+ *   hesaplar; çok yorum alan bir ürünün saati pencere başına bir kez yazılır
+ * - Yeniden hesaplama kaynak veriden yapıldığından kaçırılan veya tekrarlanan işaret toplamları bozmaz;
+ *   başarısız olan saatler sonraki pencereye kalır. Hibrit puan saklanmaz (okurken geçerli ağırlıklarla
+ *   türetilir), bu yüzden yeniden puanlama özetlere dokunmaz
+ * - Doldurma (backfill) özetleri reviews tablosundan ürün ürün baştan oluşturur: tablo boşsa açılışta,
+ *   rebuild-cron ile her gece ve istek üzerine. Aynı işçi thread'inde ürünler arasında kirli saatler boşaltılır;
+ *   böylece doldurma ile artımlı güncellemeler birbirini ezmez
+ *
+ * Uygulama kapanırken kirli saatler son kez boşaltılır; çökmede kalan sapmayı gece doldurması düzeltir.
+ */
+@Service
+public class ReviewTrendRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewTrendRollupService.class);
+
+    // Ortalamaların hibrit puan hesaplamasına giden ara hassasiyeti (ProductScoreAggregator ile aynı)
+    private static final int AVERAGE_SCALE = 10;
+
+    // ReviewCategory sırasıyla, ürün puanlarındaki sütun adlarıyla aynı
+    private static final String[] CATEGORY_PREFIXES = { "quality", "performance", "shipping" };
+
+    private static final List<String> MEASURE_COLUMNS = measureColumns();
+
+    private static final String INSERT_SQL = "INSERT INTO review_trend_rollups (product_id, granularity, bucket_start, "
+        + String.join(", ", MEASURE_COLUMNS) + ") VALUES (?, ?, ?" + ", ?".repeat(MEASURE_COLUMNS.size()) + ")";
+
+    private static final String DELETE_BUCKET_SQL =
+        "DELETE FROM review_trend_rollups WHERE product_id = ? AND granularity = ? AND bucket_start = ?";
+
+    private static final String SUM_HOURS_SQL = "SELECT "
+        + String.join(", ", MEASURE_COLUMNS.stream().map(column -> "COALESCE(SUM(" + column + "), 0) AS " + column).toList())
+        + " FROM review_trend_rollups WHERE product_id = ? AND granularity = 'HOUR' AND bucket_start >= ? AND bucket_start < ?";
+
+    private static final String SELECT_TREND_SQL = "SELECT bucket_start, " + String.join(", ", MEASURE_COLUMNS)
+        + " FROM review_trend_rollups WHERE product_id = ? AND granularity = ? AND bucket_start >= ? AND bucket_start < ?"
+        + " ORDER BY bucket_start";
+
+    private static final String REVIEW_COLUMNS =
+        "star_rating, sentiment_score, sentiment_label, scoring_status, category_mask, category";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private HybridScoreService hybridScoreService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reviews.trends.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reviews.trends.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${reviews.trends.backfill-on-start:true}")
+    private boolean backfillOnStart;
+
+    @Value("${reviews.trends.backfill.page-size:5000}")
+    private int backfillPageSize;
+
+    @Value("${reviews.trends.backfill.pause-ms:20}")
+    private long backfillPauseMs;
+
+    @Value("${reviews.trends.max-days:366}")
+    private int maxDays;
+
+    @Value("${reviews.trends.max-hourly-days:14}")
+    private int maxHourlyDays;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<HourKey> dirtyHours = ConcurrentHashMap.newKeySet();
+    private final Set<Long> removedProducts = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong markedWrites = new AtomicLong();
+    private final AtomicLong recomputedBuckets = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong backfilledProducts = new AtomicLong();
+
+    // Yalnızca işçi thread'inde değiştirilir; null ise doldurma çalışmıyor
+    private volatile Long backfillAfterId;
+    private volatile long backfillStartedAt;
+    private volatile boolean backfillRequested;
+    private volatile boolean running;
+    private Thread worker;
+
+    public ReviewTrendRollupService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (flushIntervalMs < 1 || backfillPageSize < 1 || backfillPauseMs < 0 || maxDays < 1 || maxHourlyDays < 1) {
+            throw new IllegalStateException("Invalid review trend settings: flushIntervalMs=" + flushIntervalMs
+                + ", backfillPageSize=" + backfillPageSize + ", backfillPauseMs=" + backfillPauseMs
+                + ", maxDays=" + maxDays + ", maxHourlyDays=" + maxHourlyDays);
+        }
+        FunctionCounter.builder("reviews.trends.writes", markedWrites, AtomicLong::get)
+            .description("Eğilim özetlerini bayatlatan yorum yazmaları")
+            .register(meterRegistry);
+        FunctionCounter.builder("reviews.trends.buckets.recomputed", recomputedBuckets, AtomicLong::get)
+            .description("Yeniden hesaplanan saatlik ve günlük özet satırları")
+            .register(meterRegistry);
+        FunctionCounter.builder("reviews.trends.failures", failures, AtomicLong::get)
+            .description("Başarısız olup sonraki pencereye bırakılan ürün boşaltmaları")
+            .register(meterRegistry);
+        FunctionCounter.builder("reviews.trends.backfill.products", backfilledProducts, AtomicLong::get)
+            .description("Eğilim özetleri baştan oluşturulan ürünler")
+            .register(meterRegistry);
+        Gauge.builder("reviews.trends.dirty", dirtyHours, Set::size)
+            .description("Yeniden hesaplanmayı bekleyen ürün saatleri")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (backfillOnStart && isEmpty("review_trend_rollups") && !isEmpty("reviews")) {
+            logger.info("Review trend rollups are empty, backfilling from the reviews table");
+            backfillRequested = true;
+        }
+        running = true;
+        worker = new Thread(this::workLoop, "review-trend-rollups");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Bean'ler yok edilmeden önce işçiyi durdurur ve kirli saatleri son kez boşaltır
+     * (yarım kalan doldurma sürdürülmez; kalan ürünlerin özetleri artımlı halleriyle kalır)
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        flush();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTrendsStale(ReviewTrendsStaleEvent event) {
+        if (!enabled || event.getProductId() == null) {
+            return;
+        }
+        for (LocalDateTime createdAt : event.getCreatedAt()) {
+            dirtyHours.add(new HourKey(event.getProductId(), createdAt.truncatedTo(ChronoUnit.HOURS)));
+            markedWrites.incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRankingChanged(ProductRankingChangedEvent event) {
+        // Ürünün yorumları cascade ile silindi
+        if (enabled && event.isRemoved()) {
+            removedProducts.add(event.getProductId());
+        }
+    }
+
+    /**
+     * Özetleri tüm ürünler için reviews tablosundan arka planda baştan oluşturur
+     */
+    public void requestBackfill() {
+        if (!enabled) {
+            throw new IllegalStateException("Review trend rollups are disabled");
+        }
+        backfillRequested = true;
+        LockSupport.unpark(worker);
+    }
+
+    @Scheduled(cron = "${reviews.trends.rebuild-cron:0 15 4 * * *}")
+    public void scheduledBackfill() {
+        if (enabled) {
+            requestBackfill();
+        }
+    }
+
+    /**
+     * Ürünün duygu eğilimi (yalnızca özet tablosundan)
+     *
+     * @param granularity hour, day (varsayılan) veya week
+     * @param days Bugün dahil geriye kaç gün; varsayılan saatlikte 1, diğerlerinde 90. Haftalıkta aralık
+     *             pazartesiye genişletilir
+     */
+    public SentimentTrendResponse getTrend(Long productId, String granularity, Integer days) {
+        TrendGranularity trendGranularity = TrendGranularity.from(granularity);
+        int span = days != null ? days : (trendGranularity == TrendGranularity.HOUR ? 1 : 90);
+        int maxSpan = trendGranularity == TrendGranularity.HOUR ? maxHourlyDays : maxDays;
+        if (span < 1 || span > maxSpan) {
+            throw new IllegalArgumentException("days must be between 1 and " + maxSpan + " for " + trendGranularity);
+        }
+        if (!productRepository.existsById(productId)) {
+            throw new RuntimeException("Product not found with ID: " + productId);
+        }
+
+        LocalDateTime to;
+        LocalDateTime from;
+        if (trendGranularity == TrendGranularity.HOUR) {
+            to = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            from = to.minusHours(24L * span);
+        } else {
+            to = LocalDate.now().plusDays(1).atStartOfDay();
+            from = to.minusDays(span);
+            if (trendGranularity == TrendGranularity.WEEK) {
+                from = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            }
+        }
+
+        long start = System.nanoTime();
+        Map<LocalDateTime, Totals> buckets = new LinkedHashMap<>();
+        TrendGranularity stored = trendGranularity == TrendGranularity.HOUR ? TrendGranularity.HOUR : TrendGranularity.DAY;
+        jdbcTemplate.query(SELECT_TREND_SQL, rs -> {
+            LocalDateTime bucketStart = rs.getTimestamp("bucket_start").toLocalDateTime();
+            if (trendGranularity == TrendGranularity.WEEK) {
+                bucketStart = bucketStart.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            }
+            buckets.computeIfAbsent(bucketStart, key -> new Totals()).add(Totals.fromRow(rs));
+        }, productId, stored.name(), Timestamp.valueOf(from), Timestamp.valueOf(to));
+        meterRegistry.timer("reviews.trends.query", "granularity", trendGranularity.name().toLowerCase())
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        List<SentimentTrendBucket> result = new ArrayList<>(buckets.size());
+        buckets.forEach((bucketStart, totals) -> result.add(toBucket(bucketStart, totals)));
+        SentimentTrendResponse response = new SentimentTrendResponse();
+        response.setProductId(productId);
+        response.setGranularity(trendGranularity);
+        response.setFrom(from);
+        response.setTo(to);
+        response.setBuckets(result);
+        return response;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("flushIntervalMs", flushIntervalMs);
+        stats.put("dirtyHours", dirtyHours.size());
+        stats.put("markedWrites", markedWrites.get());
+        stats.put("recomputedBuckets", recomputedBuckets.get());
+        stats.put("failures", failures.get());
+        stats.put("backfillRunning", backfillAfterId != null);
+        stats.put("backfillRequested", backfillRequested);
+        stats.put("backfilledProducts", backfilledProducts.get());
+        return stats;
+    }
+
+    private void workLoop() {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (running) {
+            // Doldurma sürerken beklenmez: kirli saatler ürünler arasında boşaltılır
+            if (backfillAfterId == null && !backfillRequested) {
+                LockSupport.parkNanos(this, intervalNanos);
+            }
+            if (!running) {
+                break;
+            }
+            try {
+                flush();
+                if (backfillRequested && backfillAfterId == null) {
+                    backfillRequested = false;
+                    backfillStartedAt = System.currentTimeMillis();
+                    backfillAfterId = 0L;
+                }
+                if (backfillAfterId != null) {
+                    backfillNext();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Review trend rollup update failed: {}", e.getMessage(), e);
+                LockSupport.parkNanos(this, intervalNanos);
+            }
+        }
+    }
+
+    /**
+     * Silinen ürünlerin özetlerini siler, kirli saatleri ve günlerini ürün başına tek transaction'da yeniden hesaplar
+     */
+    void flush() {
+        for (Long productId : removedProducts) {
+            if (removedProducts.remove(productId)) {
+                jdbcTemplate.update("DELETE FROM review_trend_rollups WHERE product_id = ?", productId);
+            }
+        }
+
+        Map<Long, SortedSet<LocalDateTime>> hoursByProduct = new TreeMap<>();
+        for (HourKey key : dirtyHours) {
+            // Çıkarma atomiktir: çıkarıldıktan sonra gelen işaret saati yeniden kirletir
+            if (dirtyHours.remove(key)) {
+                hoursByProduct.computeIfAbsent(key.productId, id -> new TreeSet<>()).add(key.hour);
+            }
+        }
+        hoursByProduct.forEach((productId, hours) -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> recompute(productId, hours));
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                logger.warn("Review trend rollups for product {} failed, retrying in next window: {}", productId, e.getMessage());
+                hours.forEach(hour -> dirtyHours.add(new HourKey(productId, hour)));
+            }
+        });
+    }
+
+    private void recompute(Long productId, SortedSet<LocalDateTime> hours) {
+        SortedSet<LocalDate> days = new TreeSet<>();
+        for (LocalDateTime hour : hours) {
+            Totals totals = new Totals();
+            jdbcTemplate.query("SELECT " + REVIEW_COLUMNS + " FROM reviews WHERE product_id = ? AND created_at >= ? AND created_at < ?",
+                               totals::addReview,
+                               productId, Timestamp.valueOf(hour), Timestamp.valueOf(hour.plusHours(1)));
+            write(productId, TrendGranularity.HOUR, hour, totals);
+            days.add(hour.toLocalDate());
+        }
+        for (LocalDate day : days) {
+            Totals totals = jdbcTemplate.queryForObject(SUM_HOURS_SQL, (rs, rowNum) -> Totals.fromRow(rs), productId,
+                                                        Timestamp.valueOf(day.atStartOfDay()),
+                                                        Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+            write(productId, TrendGranularity.DAY, day.atStartOfDay(), totals);
+        }
+        recomputedBuckets.addAndGet(hours.size() + days.size());
+    }
+
+    private void write(Long productId, TrendGranularity granularity, LocalDateTime bucketStart, Totals totals) {
+        jdbcTemplate.update(DELETE_BUCKET_SQL, productId, granularity.name(), Timestamp.valueOf(bucketStart));
+        // Yorumu kalmayan dilim satırsız kalır
+        if (totals.reviewCount > 0) {
+            jdbcTemplate.update(INSERT_SQL, totals.toRow(productId, granularity, bucketStart));
+        }
+    }
+
+    private void backfillNext() throws InterruptedException {
+        List<Long> next = productRepository.findIdsAfter(backfillAfterId, PageRequest.of(0, 1));
+        if (next.isEmpty()) {
+            backfillAfterId = null;
+            logger.info("Review trend rollup backfill finished: {} products in {} ms", backfilledProducts.get(),
+                       System.currentTimeMillis() - backfillStartedAt);
+            return;
+        }
+        Long productId = next.get(0);
+        transactionTemplate.executeWithoutResult(status -> backfill(productId));
+        backfilledProducts.incrementAndGet();
+        backfillAfterId = productId;
+        if (backfillPauseMs > 0) {
+            Thread.sleep(backfillPauseMs);
+        }
+    }
+
+    /**
+     * Ürünün özetlerini yorumlarını (created_at, id) sırasıyla sayfa sayfa okuyarak baştan yazar;
+     * bellekte yalnızca o anki saat ve gün tutulur
+     */
+    private void backfill(Long productId) {
+        jdbcTemplate.update("DELETE FROM review_trend_rollups WHERE product_id = ?", productId);
+        BackfillCursor cursor = new BackfillCursor(productId);
+        while (true) {
+            int rows = cursor.rows;
+            jdbcTemplate.query("SELECT id, created_at, " + REVIEW_COLUMNS + " FROM reviews WHERE product_id = ? "
+                               + "AND (created_at > ? OR (created_at = ? AND id > ?)) ORDER BY created_at, id LIMIT ?",
+                               cursor::accept, productId, Timestamp.valueOf(cursor.lastCreatedAt),
+                               Timestamp.valueOf(cursor.lastCreatedAt), cursor.lastId, backfillPageSize);
+            if (cursor.rows - rows < backfillPageSize) {
+                break;
+            }
+        }
+        cursor.finish();
+    }
+
+    private SentimentTrendBucket toBucket(LocalDateTime start, Totals totals) {
+        SentimentTrendBucket bucket = new SentimentTrendBucket();
+        bucket.setStart(start);
+        bucket.setReviewCount(totals.reviewCount);
+        BigDecimal averageStarRating = average(BigDecimal.valueOf(totals.starRatingSum), totals.reviewCount);
+        BigDecimal averageSentimentScore = average(totals.sentimentScoreSum, totals.sentimentScoreCount);
+        bucket.setAverageStarRating(scaled(averageStarRating));
+        bucket.setAverageSentimentScore(scaled(averageSentimentScore));
+        bucket.setHybridScore(hybridScoreService.calculateProductHybridScore(averageStarRating, averageSentimentScore));
+        bucket.setPositiveCount(totals.positiveCount);
+        bucket.setNegativeCount(totals.negativeCount);
+        bucket.setNeutralCount(totals.neutralCount);
+        bucket.setPendingCount(totals.pendingCount);
+
+        Map<String, CategoryTrend> categories = new LinkedHashMap<>();
+        for (ReviewCategory category : ReviewCategory.values()) {
+            int i = category.ordinal();
+            if (totals.categoryReviewCount[i] == 0) {
+                continue;
+            }
+            CategoryTrend trend = new CategoryTrend();
+            trend.setReviewCount(totals.categoryReviewCount[i]);
+            trend.setAverageStarRating(scaled(average(BigDecimal.valueOf(totals.categoryStarRatingSum[i]),
+                                                      totals.categoryReviewCount[i])));
+            trend.setAverageSentimentScore(scaled(average(totals.categorySentimentScoreSum[i],
+                                                          totals.categorySentimentScoreCount[i])));
+            categories.put(category.getKey(), trend);
+        }
+        bucket.setCategories(categories);
+        return bucket;
+    }
+
+    private static BigDecimal average(BigDecimal sum, long count) {
+        return count > 0 ? sum.divide(BigDecimal.valueOf(count), AVERAGE_SCALE, RoundingMode.HALF_UP) : null;
+    }
+
+    private static BigDecimal scaled(BigDecimal value) {
+        return value != null ? value.setScale(2, RoundingMode.HALF_UP) : null;
+    }
+
+    private boolean isEmpty(String table) {
+        return jdbcTemplate.queryForList("SELECT 1 FROM " + table + " LIMIT 1", Integer.class).isEmpty();
+    }
+
+    private static List<String> measureColumns() {
+        List<String> columns = new ArrayList<>(List.of("review_count", "star_rating_sum", "sentiment_score_sum",
+            "sentiment_score_count", "positive_count", "negative_count", "neutral_count", "pending_count"));
+        for (String prefix : CATEGORY_PREFIXES) {
+            columns.add(prefix + "_review_count");
+            columns.add(prefix + "_star_rating_sum");
+            columns.add(prefix + "_sentiment_score_sum");
+            columns.add(prefix + "_sentiment_score_count");
+        }
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * Bir dilimin toplamları; sütunlar MEASURE_COLUMNS sırasıyla yazılır ve adlarıyla okunur
+     */
+    private static final class Totals {
+        private long reviewCount;
+        private long starRatingSum;
+        private BigDecimal sentimentScoreSum = BigDecimal.ZERO;
+        private long sentimentScoreCount;
+        private long positiveCount;
+        private long negativeCount;
+        private long neutralCount;
+        private long pendingCount;
+        private final long[] categoryReviewCount = new long[CATEGORY_PREFIXES.length];
+        private final long[] categoryStarRatingSum = new long[CATEGORY_PREFIXES.length];
+        private final BigDecimal[] categorySentimentScoreSum = { BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO };
+        private final long[] categorySentimentScoreCount = new long[CATEGORY_PREFIXES.length];
+
+        /**
+         * reviews satırını ekler (REVIEW_COLUMNS); taşınmamış satırın kategorileri eski sütundan okunur
+         */
+        void addReview(ResultSet rs) throws SQLException {
+            int starRating = rs.getInt("star_rating");
+            BigDecimal sentimentScore = rs.getBigDecimal("sentiment_score");
+            String sentimentLabel = rs.getString("sentiment_label");
+            int mask = rs.getInt("category_mask");
+            if (rs.wasNull()) {
+                mask = ReviewCategory.parseLegacy(rs.getString("category"));
+            }
+
+            reviewCount++;
+            starRatingSum += starRating;
+            if (sentimentScore != null) {
+                sentimentScoreSum = sentimentScoreSum.add(sentimentScore);
+                sentimentScoreCount++;
+            }
+            // Bekleyen yorumun "neutral" etiketi geçicidir
+            if (ScoringStatus.PENDING.name().equals(rs.getString("scoring_status"))) {
+                pendingCount++;
+            } else if ("positive".equalsIgnoreCase(sentimentLabel)) {
+                positiveCount++;
+            } else if ("negative".equalsIgnoreCase(sentimentLabel)) {
+                negativeCount++;
+            } else if ("neutral".equalsIgnoreCase(sentimentLabel)) {
+                neutralCount++;
+            }
+            for (ReviewCategory category : ReviewCategory.values()) {
+                if (category.isIn(mask)) {
+                    int i = category.ordinal();
+                    categoryReviewCount[i]++;
+                    categoryStarRatingSum[i] += starRating;
+                    if (sentimentScore != null) {
+                        categorySentimentScoreSum[i] = categorySentimentScoreSum[i].add(sentimentScore);
+                        categorySentimentScoreCount[i]++;
+                    }
+                }
+            }
+        }
+
+        void add(Totals other) {
+            reviewCount += other.reviewCount;
+            starRatingSum += other.starRatingSum;
+            sentimentScoreSum = sentimentScoreSum.add(other.sentimentScoreSum);
+            sentimentScoreCount += other.sentimentScoreCount;
+            positiveCount += other.positiveCount;
+            negativeCount += other.negativeCount;
+            neutralCount += other.neutralCount;
+            pendingCount += other.pendingCount;
+            for (int i = 0; i < CATEGORY_PREFIXES.length; i++) {
+                categoryReviewCount[i] += other.categoryReviewCount[i];
+                categoryStarRatingSum[i] += other.categoryStarRatingSum[i];
+                categorySentimentScoreSum[i] = categorySentimentScoreSum[i].add(other.categorySentimentScoreSum[i]);
+                categorySentimentScoreCount[i] += other.categorySentimentScoreCount[i];
+            }
+        }
+
+        static Totals fromRow(ResultSet rs) throws SQLException {
+            Totals totals = new Totals();
+            totals.reviewCount = rs.getLong("review_count");
+            totals.starRatingSum = rs.getLong("star_rating_sum");
+            totals.sentimentScoreSum = rs.getBigDecimal("sentiment_score_sum");
+            totals.sentimentScoreCount = rs.getLong("sentiment_score_count");
+            totals.positiveCount = rs.getLong("positive_count");
+            totals.negativeCount = rs.getLong("negative_count");
+            totals.neutralCount = rs.getLong("neutral_count");
+            totals.pendingCount = rs.getLong("pending_count");
+            for (int i = 0; i < CATEGORY_PREFIXES.length; i++) {
+                String prefix = CATEGORY_PREFIXES[i];
+                totals.categoryReviewCount[i] = rs.getLong(prefix + "_review_count");
+                totals.categoryStarRatingSum[i] = rs.getLong(prefix + "_star_rating_sum");
+                totals.categorySentimentScoreSum[i] = rs.getBigDecimal(prefix + "_sentiment_score_sum");
+                totals.categorySentimentScoreCount[i] = rs.getLong(prefix + "_sentiment_score_count");
+            }
+            return totals;
+        }
+
+        Object[] toRow(Long productId, TrendGranularity granularity, LocalDateTime bucketStart) {
+            List<Object> row = new ArrayList<>(3 + MEASURE_COLUMNS.size());
+            row.add(productId);
+            row.add(granularity.name());
+            row.add(Timestamp.valueOf(bucketStart));
+            row.addAll(List.of(reviewCount, starRatingSum, sentimentScoreSum, sentimentScoreCount,
+                               positiveCount, negativeCount, neutralCount, pendingCount));
+            for (int i = 0; i < CATEGORY_PREFIXES.length; i++) {
+                row.addAll(List.of(categoryReviewCount[i], categoryStarRatingSum[i], categorySentimentScoreSum[i],
+                                   categorySentimentScoreCount[i]));
+            }
+            return row.toArray();
+        }
+    }
+
+    /**
+     * Doldurmada (created_at, id) sırasıyla gelen yorumları saat ve gün dilimlerine toplar
+     */
+    private final class BackfillCursor {
+        private final Long productId;
+        private final List<Object[]> pendingRows = new ArrayList<>();
+        private LocalDateTime lastCreatedAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+        private long lastId;
+        private int rows;
+        private LocalDateTime hour;
+        private Totals hourTotals;
+        private LocalDate day;
+        private Totals dayTotals;
+
+        BackfillCursor(Long productId) {
+            this.productId = productId;
+        }
+
+        void accept(ResultSet rs) throws SQLException {
+            LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+            LocalDateTime rowHour = createdAt.truncatedTo(ChronoUnit.HOURS);
+            if (!rowHour.equals(hour)) {
+                closeHour();
+                if (!rowHour.toLocalDate().equals(day)) {
+                    closeDay();
+                    day = rowHour.toLocalDate();
+                    dayTotals = new Totals();
+                }
+                hour = rowHour;
+                hourTotals = new Totals();
+            }
+            hourTotals.addReview(rs);
+            lastCreatedAt = createdAt;
+            lastId = rs.getLong("id");
+            rows++;
+        }
+
+        void finish() {
+            closeHour();
+            closeDay();
+            flushRows();
+        }
+
+        private void closeHour() {
+            if (hour == null) {
+                return;
+            }
+            dayTotals.add(hourTotals);
+            pendingRows.add(hourTotals.toRow(productId, TrendGranularity.HOUR, hour));
+            hour = null;
+            if (pendingRows.size() >= 500) {
+                flushRows();
+            }
+        }
+
+        private void closeDay() {
+            if (day == null) {
+                return;
+            }
+            pendingRows.add(dayTotals.toRow(productId, TrendGranularity.DAY, day.atStartOfDay()));
+            day = null;
+        }
+
+        private void flushRows() {
+            if (!pendingRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, pendingRows);
+                recomputedBuckets.addAndGet(pendingRows.size());
+                pendingRows.clear();
+            }
+        }
+    }
+
+    private static final class HourKey {
+        private final Long productId;
+        private final LocalDateTime hour;
+
+        HourKey(Long productId, LocalDateTime hour) {
+            this.productId = productId;
+            this.hour = hour;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof HourKey key && productId.equals(key.productId) && hour.equals(key.hour);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(productId, hour);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.ecommerce.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Hibrit puanlamanın ilkel (long) sabit noktalı çekirdeği.
+ *
+ * Tüm ara değerler 10^-10 birimli long sayılardır, ağırlıklar 10^-4 birimlidir (5000 = 0.5).
+ * Çarpma ve toplama tam (exact) olduğu için sonuçlar BigDecimal ile yapılan hesapla
+ * (ağırlıklandırma, 0-1 aralığına sınırlama, 2 basamağa HALF_UP yuvarlama) birebir aynıdır;
+ * BigDecimal'e yalnızca kalıcılık/DTO sınırında dönüştürülür.
+ */
+public final class ScoreMath {
+
+    /** Ara değerlerin ondalık basamak sayısı (10^-10 birim) */
+    public static final int UNIT_SCALE = 10;
+    public static final long UNIT_ONE = 10_000_000_000L;
+
+    /** Ağırlıkların ondalık basamak sayısı (10^-4 birim) */
+    public static final int WEIGHT_SCALE = 4;
+    public static final int WEIGHT_ONE = 10_000;
+
+    /** Kalıcı puanların ondalık basamak sayısı (DECIMAL(3,2)) */
+    public static final int SCORE_SCALE = 2;
+
+    /** BigDecimal değer 10^-10 birimle tam olarak ifade edilemiyorsa */
+    public static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+
+    // Ağırlıklı toplam 10^-14 birimdedir: 1.0 ve yüzde birlik yuvarlama böleni
+    private static final long WEIGHTED_ONE = UNIT_ONE * WEIGHT_ONE;
+    private static final long HUNDREDTH_DIVISOR = WEIGHTED_ONE / 100;
+    private static final long HALF_HUNDREDTH = HUNDREDTH_DIVISOR / 2;
+
+    // Bir yıldızın normalize karşılığı: 1/5 = 0.2
+    private static final long UNITS_PER_STAR = UNIT_ONE / 5;
+
+    // Dönüştürülebilir değerlerin üst sınırı: |değer| < 1000 (ağırlıklı toplamda taşmayı önler)
+    private static final long MAX_INPUT_UNITS = 1_000 * UNIT_ONE;
+    private static final BigDecimal STAR_TO_TEN_THOUSANDTHS = BigDecimal.valueOf(2000);
+
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L,
+        100_000_000L, 1_000_000_000L, 10_000_000_000L
+    };
+
+    private ScoreMath() {
+    }
+
+    /**
+     * Tam sayı yıldız puanını (1-5 aralığına sınırlayarak) 0-1 aralığına normalize eder
+     *
+     * @return 10^-10 birimli normalize puan
+     */
+    public static long normalizeStarRating(int starRating) {
+        int rating = Math.max(1, Math.min(5, starRating));
+        return rating * UNITS_PER_STAR;
+    }
+
+    /**
+     * Ondalıklı yıldız puanını (ürün ortalaması) 1-5 aralığına sınırlayıp normalize eder.
+     * Sonuç, BigDecimal.valueOf(puan) / 5 işleminin 4 basamağa HALF_UP yuvarlanmış halidir.
+     *
+     * @return 10^-10 birimli normalize puan
+     */
+    public static long normalizeStarRating(double starRating) {
+        double rating = Math.max(1, Math.min(5, starRating));
+        if (rating == Math.rint(rating)) {
+            return (long) rating * UNITS_PER_STAR;
+        }
+        // Kesirli ortalamalarda ondalık gösterim üzerinden tam yuvarlama: puan/5 * 10^4 = puan * 2000
+        long tenThousandths = BigDecimal.valueOf(rating).multiply(STAR_TO_TEN_THOUSANDTHS)
+            .setScale(0, RoundingMode.HALF_UP).longValue();
+        return tenThousandths * POWERS_OF_TEN[UNIT_SCALE - 4];
+    }
+
+    /**
+     * Ağırlıklı hibrit puanı hesaplar, 0-1 aralığına sınırlar ve yüzde birliğe (HALF_UP) yuvarlar
+     *
+     * @param normalizedStar 10^-10 birimli normalize yıldız puanı
+     * @param sentiment 10^-10 birimli duygu skoru
+     * @param starWeight 10^-4 birimli yıldız ağırlığı
+     * @param sentimentWeight 10^-4 birimli duygu ağırlığı
+     * @return Yüzde birlik birimde hibrit puan (0-100)
+     */
+    public static int weightedScoreHundredths(long normalizedStar, long sentiment, int starWeight, int sentimentWeight) {
+        long weighted = normalizedStar * starWeight + sentiment * sentimentWeight;
+        if (weighted <= 0) {
+            return 0;
+        }
+        if (weighted >= WEIGHTED_ONE) {
+            return 100;
+        }
+        return (int) ((weighted + HALF_HUNDREDTH) / HUNDREDTH_DIVISOR);
+    }
+
+    /**
+     * Tek yorum hibrit puanı (yüzde birlik birimde)
+     */
+    public static int reviewHybridHundredths(int starRating, long sentiment, int starWeight, int sentimentWeight) {
+        return weightedScoreHundredths(normalizeStarRating(starRating), sentiment, starWeight, sentimentWeight);
+    }
+
+    /**
+     * BigDecimal değeri 10^-10 birimli long'a tam olarak dönüştürür
+     *
+     * @return Dönüştürülen değer veya tam ifade edilemiyorsa {@link #NOT_REPRESENTABLE}
+     */
+    public static long toUnits(BigDecimal value) {
+        if (value.scale() > UNIT_SCALE) {
+            value = value.stripTrailingZeros();
+            if (value.scale() > UNIT_SCALE) {
+                return NOT_REPRESENTABLE;
+            }
+        }
+        if (value.scale() < 0) {
+            value = value.setScale(0);
+        }
+        if (value.precision() - value.scale() > 3) {
+            return NOT_REPRESENTABLE;
+        }
+        long units = value.unscaledValue().longValue() * POWERS_OF_TEN[UNIT_SCALE - value.scale()];
+        return Math.abs(units) >= MAX_INPUT_UNITS ? NOT_REPRESENTABLE : units;
+    }
+
+    /**
+     * Ondalık ağırlığı (0.0-1.0) 10^-4 birime dönüştürür
+     *
+     * @throws IllegalArgumentException Ağırlık 4 basamaktan fazla ondalık içeriyorsa
+     */
+    public static int toWeightUnits(double weight) {
+        return toWeightUnits(BigDecimal.valueOf(weight));
+    }
+
+    public static int toWeightUnits(BigDecimal weight) {
+        BigDecimal units = weight.movePointRight(WEIGHT_SCALE);
+        try {
+            return units.setScale(0, RoundingMode.UNNECESSARY).intValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Weights must be between 0.0 and 1.0 with at most "
+                + WEIGHT_SCALE + " decimal places: " + weight);
+        }
+    }
+
+    /**
+     * Yüzde birlik birimli puanı kalıcı (scale 2) BigDecimal'e dönüştürür
+     */
+    public static BigDecimal hundredthsToDecimal(int hundredths) {
+        return BigDecimal.valueOf(hundredths, SCORE_SCALE);
+    }
+
+    /**
+     * 10^-10 birimli normalize yıldız puanını eski hesaplamadaki gibi 4 basamaklı BigDecimal'e dönüştürür
+     * (normalize değer 4 basamakla her zaman tam ifade edilir)
+     */
+    public static BigDecimal normalizedStarToDecimal(long normalizedStar) {
+        return BigDecimal.valueOf(normalizedStar / POWERS_OF_TEN[UNIT_SCALE - 4], 4);
+    }
+
+    /**
+     * Yıldız puanından türetilen geçici duygu skoru: yıldız/5, 2 basamak
+     */
+    public static BigDecimal starRatingAsSentiment(int starRating) {
+        return BigDecimal.valueOf(starRating * 20L, SCORE_SCALE);
+    }
+}
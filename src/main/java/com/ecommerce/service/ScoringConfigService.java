@@ -0,0 +1,86 @@
+package com.ecommerce.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.entity.NeutralSentimentPolicy;
+import com.ecommerce.entity.ScoringConfig;
+import com.ecommerce.repository.ScoringConfigRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Hibrit puan ağırlıklarının ve nötr duygu kuralının sürümlü yapılandırması.
+ * Açılışta son sürüm yüklenir; değişiklik yeni sürüm olarak kaydedilir, hemen etkinleştirilir
+ * ve mevcut puanlar için arka planda yeniden puanlama işi başlatılır.
+ */
+@Service
+public class ScoringConfigService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoringConfigService.class);
+
+    @Autowired
+    private ScoringConfigRepository scoringConfigRepository;
+
+    @Autowired
+    private HybridScoreService hybridScoreService;
+
+    @Autowired
+    private ReviewRescoringService reviewRescoringService;
+
+    @PostConstruct
+    public void loadActiveConfig() {
+        scoringConfigRepository.findTopByOrderByVersionDesc().ifPresentOrElse(
+            config -> hybridScoreService.applyWeights(toWeights(config)),
+            () -> logger.info("No scoring config saved yet, using defaults: {}", HybridWeights.DEFAULT));
+    }
+
+    public HybridWeights getActiveWeights() {
+        return hybridScoreService.getWeights();
+    }
+
+    public List<ScoringConfig> getHistory() {
+        return scoringConfigRepository.findAllByOrderByVersionDesc();
+    }
+
+    /**
+     * Yeni yapılandırma sürümünü kaydeder, etkinleştirir ve yeniden puanlamayı başlatır.
+     * Verilmeyen alanlar geçerli yapılandırmadan alınır; hiçbir şey değişmiyorsa yeni sürüm oluşturulmaz.
+     *
+     * @throws IllegalArgumentException Ağırlıklar geçersizse (0-1 dışında, toplamı 1.0 değil, 4 basamaktan fazla ondalık)
+     */
+    public synchronized HybridWeights updateConfig(BigDecimal starRatingWeight, BigDecimal sentimentWeight,
+                                                   NeutralSentimentPolicy neutralPolicy) {
+        HybridWeights current = hybridScoreService.getWeights();
+        HybridWeights requested = HybridWeights.of(
+            current.getVersion(),
+            starRatingWeight != null ? starRatingWeight : current.getStarRatingWeightDecimal(),
+            sentimentWeight != null ? sentimentWeight : current.getSentimentWeightDecimal(),
+            neutralPolicy != null ? neutralPolicy : current.getNeutralPolicy());
+
+        if (requested.getStarRatingWeight() == current.getStarRatingWeight()
+                && requested.getSentimentWeight() == current.getSentimentWeight()
+                && requested.getNeutralPolicy() == current.getNeutralPolicy()) {
+            logger.info("Scoring config unchanged, keeping {}", current);
+            return current;
+        }
+
+        ScoringConfig saved = scoringConfigRepository.save(new ScoringConfig(
+            requested.getStarRatingWeightDecimal(), requested.getSentimentWeightDecimal(), requested.getNeutralPolicy()));
+        HybridWeights weights = toWeights(saved);
+
+        hybridScoreService.applyWeights(weights);
+        reviewRescoringService.start(weights.getVersion());
+        return weights;
+    }
+
+    private static HybridWeights toWeights(ScoringConfig config) {
+        return HybridWeights.of(config.getVersion(), config.getStarRatingWeight(), config.getSentimentWeight(),
+                                config.getNeutralPolicy());
+    }
+}
@@ -1,100 +1,591 @@
 package com.ecommerce.service;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
-import java.util.HashMap;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 @Service
 public class SentimentAnalysisService {
 
     private static final Logger logger = LoggerFactory.getLogger(SentimentAnalysisService.class);
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    // İstek gövdeleri doğrudan yazılır, yanıtlar gövde akışından belirteç belirteç okunur (ara String/ağaç yok)
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // python_rest.py'deki label_map ile aynı; ONNX sonuçları da bu etiketlerle adlandırılır
+    private static final Map<String, String> LABEL_SENTIMENTS = Map.of(
+        "LABEL_0", "Neutral",
+        "LABEL_1", "Positive",
+        "LABEL_2", "Negative");
+
+    // python_rest.py MAX_BATCH_SIZE; daha büyük batch'ler 400 ile reddedilir
+    static final int PYTHON_MAX_BATCH_SIZE = 64;
+
+    // Çıkarım arka ucu: python (HTTP servis) veya onnx (JVM içinde OnnxSentimentEngine)
+    @Value("${sentiment.backend:python}")
+    private String backend;
+
+    @Autowired(required = false)
+    private OnnxSentimentEngine onnxEngine;
+
+    @Autowired
+    private SentimentTransport sentimentTransport;
+
+    @Autowired
+    private SentimentHttpSettings httpSettings;
+
+    @Autowired
+    private SentimentCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Bulkhead: servise aynı anda giden çıkarım (inference) çağrısı sınırı; dolunca çağrı beklemeden reddedilir
+    @Value("${sentiment.bulkhead.max-concurrent:8}")
+    private int bulkheadMaxConcurrent;
+
+    @Value("${sentiment.bulkhead.max-wait-ms:500}")
+    private long bulkheadMaxWaitMs;
+
+    // Uyarlamalı okuma zaman aşımı: p99 * çarpan, [min-ms, uç noktanın yapılandırılmış okuma zaman aşımı] aralığında
+    @Value("${sentiment.timeout.adaptive.enabled:true}")
+    private boolean adaptiveTimeoutEnabled;
+
+    @Value("${sentiment.timeout.adaptive.window-size:500}")
+    private int adaptiveTimeoutWindowSize;
+
+    @Value("${sentiment.timeout.adaptive.min-samples:100}")
+    private int adaptiveTimeoutMinSamples;
+
+    @Value("${sentiment.timeout.adaptive.multiplier:3.0}")
+    private double adaptiveTimeoutMultiplier;
+
+    @Value("${sentiment.timeout.adaptive.min-ms:1000}")
+    private long adaptiveTimeoutMinMs;
 
-    @Value("${python.api.url:http://localhost:5000}")
-    private String pythonApiUrl;
+    private Semaphore inferenceBulkhead;
+    private final AtomicLong bulkheadRejections = new AtomicLong();
+    private final Map<SentimentEndpoint, AdaptiveTimeout> adaptiveTimeouts = new EnumMap<>(SentimentEndpoint.class);
 
-    public SentimentAnalysisService() {
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+    // Micro-batching: eş zamanlı istekleri /predict_batch çağrılarında birleştirir
+    @Value("${sentiment.batch.enabled:false}")
+    private boolean batchEnabled;
 
-        // Timeout ayarları
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(10000); // 10 saniye
-        factory.setReadTimeout(30000);    // 30 saniye
-        this.restTemplate.setRequestFactory(factory);
+    @Value("${sentiment.batch.max-size:16}")
+    private int batchMaxSize;
+
+    @Value("${sentiment.batch.max-wait-ms:20}")
+    private long batchMaxWaitMs;
+
+    @Value("${sentiment.batch.max-concurrent:2}")
+    private int batchMaxConcurrent;
+
+    private SentimentBatchCoalescer<SentimentResult> batchCoalescer;
+
+    @Autowired
+    private SentimentResultCache sentimentResultCache;
+
+    @PostConstruct
+    public void initResilience() {
+        if (!"python".equals(backend) && !"onnx".equals(backend)) {
+            throw new IllegalStateException("sentiment.backend must be python or onnx: " + backend);
+        }
+        inferenceBulkhead = new Semaphore(bulkheadMaxConcurrent);
+        if (adaptiveTimeoutEnabled) {
+            for (SentimentEndpoint endpoint : List.of(SentimentEndpoint.PREDICT, SentimentEndpoint.PREDICT_BATCH)) {
+                Duration max = httpSettings.readTimeout(endpoint);
+                adaptiveTimeouts.put(endpoint, new AdaptiveTimeout(adaptiveTimeoutWindowSize, adaptiveTimeoutMinSamples,
+                    adaptiveTimeoutMultiplier, Duration.ofMillis(Math.min(adaptiveTimeoutMinMs, max.toMillis())), max));
+            }
+        }
+        logger.info("Sentiment inference backend={}, bulkhead: maxConcurrent={}, maxWaitMs={}, adaptiveTimeout={}",
+                backend, bulkheadMaxConcurrent, bulkheadMaxWaitMs, adaptiveTimeoutEnabled);
+
+        Gauge.builder("sentiment.bulkhead.in.flight", inferenceBulkhead,
+                      bulkhead -> bulkheadMaxConcurrent - bulkhead.availablePermits())
+            .description("Servise giden eş zamanlı çıkarım çağrıları")
+            .register(meterRegistry);
+        FunctionCounter.builder("sentiment.bulkhead.rejected", bulkheadRejections, AtomicLong::get)
+            .description("Bulkhead dolu olduğu için reddedilen çağrılar")
+            .register(meterRegistry);
+        adaptiveTimeouts.forEach((endpoint, timeout) ->
+            Gauge.builder("sentiment.http.read.timeout", timeout, t -> t.current().toMillis())
+                .tag("endpoint", endpoint.getPropertyKey())
+                .baseUnit("milliseconds")
+                .description("Uyarlamalı okuma zaman aşımı")
+                .register(meterRegistry));
     }
 
+    @PostConstruct
+    public void initBatching() {
+        if (batchEnabled) {
+            // Sınır aşılırsa her batch 400 alır ve devre kesicide hata sayılır; açılışta reddet
+            if (onnxEngine == null && batchMaxSize > PYTHON_MAX_BATCH_SIZE) {
+                throw new IllegalStateException("sentiment.batch.max-size must not exceed the Python service's "
+                    + "MAX_BATCH_SIZE (" + PYTHON_MAX_BATCH_SIZE + "): " + batchMaxSize);
+            }
+            batchCoalescer = new SentimentBatchCoalescer<>(this::analyzeSentimentBatch,
+                    batchMaxSize, batchMaxWaitMs, batchMaxConcurrent, httpSettings.isVirtualThreads());
+            logger.info("Sentiment micro-batching enabled: maxSize={}, maxWaitMs={}, maxConcurrent={}",
+                    batchMaxSize, batchMaxWaitMs, batchMaxConcurrent);
+        }
+    }
+
+    /**
+     * Python servisinin yüklü model sürümünü /health üzerinden öğrenir (önbellek geçersizleştirme için).
+     * Servis henüz ayakta değilse sürüm ilk tahmin yanıtından öğrenilir. ONNX arka ucunda sürüm yerel modelindir.
+     */
+    @PostConstruct
+    public void refreshModelVersion() {
+        if (onnxEngine != null) {
+            sentimentResultCache.onModelVersion(onnxEngine.getModelVersion());
+            return;
+        }
+        try {
+            String modelVersion = sentimentTransport.get(SentimentEndpoint.HEALTH, this::readModelVersion);
+            sentimentResultCache.onModelVersion(modelVersion);
+        } catch (Exception e) {
+            logger.warn("Python API model sürümü alınamadı: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdownBatching() {
+        if (batchCoalescer != null) {
+            batchCoalescer.shutdown();
+        }
+    }
+
+    /**
+     * Metni analiz eder (önbellek, gerekiyorsa micro-batch üzerinden)
+     *
+     * @throws SentimentUnavailableException Devre açıksa veya bulkhead doluysa; çağrı servise gönderilmemiştir
+     */
     public SentimentResult analyzeSentiment(String text) {
         if (text == null || text.trim().isEmpty()) {
             logger.warn("Boş metin gönderildi");
             return new SentimentResult("neutral", BigDecimal.ZERO, BigDecimal.ZERO);
         }
 
+        // sentiment.analysis: kaynak (cache/single/batch) ve sonuca (success/error/rejected) göre gecikme
+        long start = System.nanoTime();
+        String source = "cache";
+        String outcome = "error";
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+            // Aynı (normalize edilmiş) metin daha önce analiz edildiyse Python API'ye gitme
+            SentimentResult cached = sentimentResultCache.get(text);
+            if (cached != null) {
+                logger.debug("Sentiment cache hit");
+                outcome = "success";
+                return cached;
+            }
 
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("text", text);
+            source = batchCoalescer != null ? "batch" : "single";
+            // Devre açıkken batch kuyruğuna bile girmeden hemen reddet (çağıran yıldız bazlı puanla devam eder).
+            // Yerel ONNX arka ucunda uzak servis olmadığından devre kesici kullanılmaz.
+            if (onnxEngine == null && !circuitBreaker.isCallPermitted()) {
+                throw new SentimentUnavailableException(SentimentUnavailableException.Reason.CIRCUIT_OPEN,
+                        "Sentiment service circuit is open");
+            }
 
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+            SentimentResult result = batchCoalescer != null
+                    ? awaitBatchResult(batchCoalescer.submit(text))
+                    : requestSingle(text);
+            sentimentResultCache.put(text, result);
+            meterRegistry.counter("sentiment.analysis.results", "label", String.valueOf(result.getLabel())).increment();
+            outcome = "success";
+            return result;
+        } catch (SentimentUnavailableException e) {
+            outcome = "rejected";
+            meterRegistry.counter("sentiment.analysis.errors", "reason", e.getReason().name().toLowerCase()).increment();
+            throw e;
+        } catch (RuntimeException e) {
+            meterRegistry.counter("sentiment.analysis.errors", "reason", rootCauseName(e)).increment();
+            throw e;
+        } finally {
+            meterRegistry.timer("sentiment.analysis", "source", source, "outcome", outcome)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
 
-            logger.info("Python API'ye gönderilen metin: {}", text);
+    private static String rootCauseName(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getClass().getSimpleName();
+    }
 
-            ResponseEntity<String> response = restTemplate.postForEntity(pythonApiUrl + "/predict", request, String.class);
+    private SentimentResult requestSingle(String text) {
+        if (onnxEngine != null) {
+            return toSentimentResult(classifyLocally(List.of(text)).get(0));
+        }
+        try {
+            // Yeni sade yapı: root direkt sonucu içeriyor
+            Prediction prediction = guardedPost(SentimentEndpoint.PREDICT, singleRequestBody(text),
+                                                this::readSinglePrediction);
+            sentimentResultCache.onModelVersion(prediction.modelVersion);
+            return toSentimentResult(prediction);
 
-            logger.info("Python API Raw Response: {}", response.getBody());
+        } catch (SentimentUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Python API sentiment analizi hatası: {}", e.getMessage(), e);
+            throw new RuntimeException("Python API sentiment analizi başarısız: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Birden fazla metni tek bir /predict_batch çağrısıyla (ONNX arka ucunda tek bir yerel batch'le) analiz eder
+     *
+     * @param texts Analiz edilecek metinler
+     * @return Metinlerle aynı sırada sonuçlar
+     */
+    public List<SentimentResult> analyzeSentimentBatch(List<String> texts) {
+        if (texts == null || texts.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                JsonNode root = objectMapper.readTree(response.getBody());
+        meterRegistry.summary("sentiment.batch.size").record(texts.size());
+        if (onnxEngine != null) {
+            List<SentimentResult> sentimentResults = new ArrayList<>(texts.size());
+            for (Prediction prediction : classifyLocally(texts)) {
+                sentimentResults.add(toSentimentResult(prediction));
+            }
+            return sentimentResults;
+        }
+        try {
+            logger.debug("Python API'ye {} metinlik batch gönderiliyor", texts.size());
 
-                // Yeni sade yapı: root direkt sonucu içeriyor
-                String label = root.get("label").asText();
-                String sentiment = root.get("sentiment").asText();
-                double score = root.get("score").asDouble();
+            BatchPrediction batch = guardedPost(SentimentEndpoint.PREDICT_BATCH, batchRequestBody(texts),
+                                                this::readBatchPrediction);
+            sentimentResultCache.onModelVersion(batch.modelVersion);
 
-                BigDecimal normalizedScore;
-                if ("LABEL_1".equals(label)) {
-                    normalizedScore = BigDecimal.valueOf(score);
-                    logger.info("📊 Positive sentiment detected (LABEL_1), using score directly: {}", normalizedScore);
-                } else if ("LABEL_2".equals(label)) {
-                    normalizedScore = BigDecimal.ONE.subtract(BigDecimal.valueOf(score));
-                    logger.info("📊 Negative sentiment detected (LABEL_2), converting to positive: 1 - {} = {}", score, normalizedScore);
-                } else {
-                    normalizedScore = new BigDecimal("0.5");
-                    logger.info("📊 Neutral sentiment detected (LABEL_0), using neutral score: {}", normalizedScore);
+            if (batch.results.size() != texts.size()) {
+                throw new RuntimeException("Python API batch yanıtı metin sayısıyla eşleşmiyor");
+            }
+
+            List<SentimentResult> sentimentResults = new ArrayList<>(batch.results.size());
+            for (Prediction prediction : batch.results) {
+                sentimentResults.add(toSentimentResult(prediction));
+            }
+            return sentimentResults;
+
+        } catch (SentimentUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Python API batch sentiment analizi hatası: {}", e.getMessage(), e);
+            throw new RuntimeException("Python API batch sentiment analizi başarısız: " + e.getMessage(), e);
+        }
+    }
+
+    private SentimentResult awaitBatchResult(CompletableFuture<SentimentResult> future) {
+        try {
+            // Batch bekleme süresi + HTTP okuma süresi kadar bekle
+            return future.get(batchMaxWaitMs + httpSettings.readTimeout(SentimentEndpoint.PREDICT_BATCH).toMillis(),
+                              TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SentimentUnavailableException unavailable) {
+                throw unavailable;
+            }
+            throw new RuntimeException("Python API sentiment analizi başarısız: " + cause.getMessage(), cause);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new RuntimeException("Python API sentiment analizi zaman aşımına uğradı", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Python API sentiment analizi kesildi", e);
+        }
+    }
+
+    /**
+     * Servise yapılan her çıkarım çağrısı: bulkhead slotu, devre kesici izni ve uyarlamalı zaman aşımı ile.
+     * Bulkhead veya devre reddi servise gitmeden SentimentUnavailableException olarak döner ve devre kesicide
+     * hata sayılmaz. Yarı açık devredeki deneme çağrıları yapılandırılmış (en uzun) zaman aşımını kullanır.
+     */
+    private <T> T guardedPost(SentimentEndpoint endpoint, byte[] body, SentimentTransport.ResponseHandler<T> handler)
+            throws IOException {
+        acquireBulkhead();
+        try {
+            SentimentCircuitBreaker.Permit permit = circuitBreaker.tryAcquirePermission();
+            if (permit == null) {
+                throw new SentimentUnavailableException(SentimentUnavailableException.Reason.CIRCUIT_OPEN,
+                        "Sentiment service circuit is open");
+            }
+
+            AdaptiveTimeout adaptiveTimeout = adaptiveTimeouts.get(endpoint);
+            Duration readTimeout = adaptiveTimeout == null ? null
+                    : permit.isProbe() ? adaptiveTimeout.max() : adaptiveTimeout.current();
+            long start = System.nanoTime();
+            try {
+                T result = sentimentTransport.post(endpoint, body, readTimeout, handler);
+                long elapsedNanos = System.nanoTime() - start;
+                if (adaptiveTimeout != null) {
+                    adaptiveTimeout.recordSuccess(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
                 }
+                recordHttpCall(endpoint, "success", elapsedNanos);
+                circuitBreaker.onSuccess(permit);
+                return result;
+            } catch (IOException | RuntimeException e) {
+                long elapsedNanos = System.nanoTime() - start;
+                boolean timedOut = readTimeout != null && elapsedNanos >= readTimeout.toNanos();
+                if (adaptiveTimeout != null) {
+                    adaptiveTimeout.recordFailure(TimeUnit.NANOSECONDS.toMillis(elapsedNanos), readTimeout);
+                }
+                recordHttpCall(endpoint, timedOut ? "timeout" : "error", elapsedNanos);
+                circuitBreaker.onFailure(permit);
+                throw e;
+            }
+        } finally {
+            inferenceBulkhead.release();
+        }
+    }
+
+    /**
+     * ONNX arka ucu: çıkarım bulkhead slotu altında JVM içinde yapılır (zaman aşımı ve devre kesici yok).
+     * Sonuçlar Python servisinin yanıtıyla aynı biçime getirilir: label_map adları ve 4 basamağa yuvarlanmış skor.
+     */
+    private List<Prediction> classifyLocally(List<String> texts) {
+        acquireBulkhead();
+        try {
+            List<OnnxSentimentEngine.Classification> classifications = onnxEngine.classify(texts);
+            List<Prediction> predictions = new ArrayList<>(classifications.size());
+            for (OnnxSentimentEngine.Classification classification : classifications) {
+                Prediction prediction = new Prediction();
+                prediction.label = "LABEL_" + classification.getLabelIndex();
+                prediction.sentiment = sentimentOf(prediction.label);
+                prediction.score = roundScore(classification.getScore());
+                prediction.modelVersion = onnxEngine.getModelVersion();
+                predictions.add(prediction);
+            }
+            return predictions;
+        } finally {
+            inferenceBulkhead.release();
+        }
+    }
+
+    /**
+     * Model etiketinin (LABEL_n) python_rest.py'deki label_map adı; tanımsız etiket olduğu gibi döner
+     */
+    static String sentimentOf(String label) {
+        return LABEL_SENTIMENTS.getOrDefault(label, label);
+    }
+
+    /**
+     * Python'daki round(score, 4) ile aynı: double'ın tam değeri, yarıda çifte yuvarlama
+     */
+    static double roundScore(double score) {
+        return new BigDecimal(score).setScale(4, RoundingMode.HALF_EVEN).doubleValue();
+    }
+
+    private void recordHttpCall(SentimentEndpoint endpoint, String outcome, long elapsedNanos) {
+        meterRegistry.timer("sentiment.http.requests", "endpoint", endpoint.getPropertyKey(), "outcome", outcome)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void acquireBulkhead() {
+        boolean acquired;
+        try {
+            acquired = inferenceBulkhead.tryAcquire(bulkheadMaxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Python API sentiment analizi kesildi", e);
+        }
+        if (!acquired) {
+            bulkheadRejections.incrementAndGet();
+            throw new SentimentUnavailableException(SentimentUnavailableException.Reason.BULKHEAD_FULL,
+                    "Sentiment inference bulkhead is full (" + bulkheadMaxConcurrent + " concurrent calls)");
+        }
+    }
+
+    /**
+     * Devre kesici, bulkhead ve uyarlamalı zaman aşımı durumu
+     */
+    public Map<String, Object> getResilienceStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("circuitBreaker", circuitBreaker.getStats());
+
+        Map<String, Object> bulkhead = new LinkedHashMap<>();
+        bulkhead.put("maxConcurrent", bulkheadMaxConcurrent);
+        bulkhead.put("inFlight", bulkheadMaxConcurrent - inferenceBulkhead.availablePermits());
+        bulkhead.put("rejectedCalls", bulkheadRejections.get());
+        stats.put("bulkhead", bulkhead);
+
+        Map<String, Object> timeouts = new LinkedHashMap<>();
+        adaptiveTimeouts.forEach((endpoint, timeout) -> timeouts.put(endpoint.getPropertyKey(), timeout.getStats()));
+        stats.put("adaptiveTimeouts", timeouts);
+        return stats;
+    }
+
+    /**
+     * Python API'den (veya ONNX arka ucundan) gelen tek bir sonucu (label, sentiment, score) normalize eder
+     */
+    private SentimentResult toSentimentResult(Prediction prediction) {
+        String label = prediction.label;
+        String sentiment = prediction.sentiment;
+        double score = prediction.score;
+
+        BigDecimal normalizedScore;
+        if ("LABEL_1".equals(label)) {
+            normalizedScore = BigDecimal.valueOf(score);
+        } else if ("LABEL_2".equals(label)) {
+            normalizedScore = BigDecimal.ONE.subtract(BigDecimal.valueOf(score));
+        } else {
+            normalizedScore = new BigDecimal("0.5");
+        }
+
+        logger.debug("Python API sonucu - Label: {}, Sentiment: {}, Skor: {}, Normalize: {}",
+                label, sentiment, score, normalizedScore);
 
-                logger.info("✅ Python API Sonucu - Label: {}, Sentiment: {}, Skor: {}, Normalize: {}",
-                        label, sentiment, score, normalizedScore);
+        return new SentimentResult(sentiment, BigDecimal.valueOf(score), normalizedScore);
+    }
 
-                return new SentimentResult(sentiment, BigDecimal.valueOf(score), normalizedScore);
+    private byte[] singleRequestBody(String text) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(text.length() + 16);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("text", text);
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] batchRequestBody(List<String> texts) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(texts.size() * 128);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("texts");
+            for (String text : texts) {
+                generator.writeString(text);
             }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
 
-            throw new RuntimeException("Python API'den geçersiz yanıt");
+    /**
+     * /predict yanıtı: {"label", "sentiment", "score", "model_version"}
+     */
+    private Prediction readSinglePrediction(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            return readPrediction(parser);
+        }
+    }
 
-        } catch (Exception e) {
-            logger.error("Python API sentiment analizi hatası: {}", e.getMessage(), e);
-            throw new RuntimeException("Python API sentiment analizi başarısız: " + e.getMessage(), e);
+    /**
+     * /predict_batch yanıtı: {"results": [{...}, ...], "model_version"}
+     */
+    private BatchPrediction readBatchPrediction(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            BatchPrediction batch = new BatchPrediction();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("results".equals(field)) {
+                    expect(parser, value, JsonToken.START_ARRAY);
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        batch.results.add(readPrediction(parser));
+                    }
+                } else if ("model_version".equals(field)) {
+                    batch.modelVersion = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return batch;
         }
     }
 
+    private String readModelVersion(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("model_version".equals(field)) {
+                    return parser.getValueAsString();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    // Ayrıştırıcı bir sonuç nesnesinin START_OBJECT belirtecindedir
+    private static Prediction readPrediction(JsonParser parser) throws IOException {
+        Prediction prediction = new Prediction();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "label" -> prediction.label = parser.getValueAsString();
+                case "sentiment" -> prediction.sentiment = parser.getValueAsString();
+                case "score" -> prediction.score = parser.getValueAsDouble(Double.NaN);
+                case "model_version" -> prediction.modelVersion = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+        if (prediction.label == null || prediction.sentiment == null || Double.isNaN(prediction.score)) {
+            throw new IOException("Python API yanıtında label/sentiment/score eksik");
+        }
+        return prediction;
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Python API'den geçersiz yanıt: " + expected + " bekleniyordu, " + actual + " geldi ("
+                + parser.currentLocation() + ")");
+        }
+    }
+
+    private static final class Prediction {
+        private String label;
+        private String sentiment;
+        private double score = Double.NaN;
+        private String modelVersion;
+    }
+
+    private static final class BatchPrediction {
+        private final List<Prediction> results = new ArrayList<>();
+        private String modelVersion;
+    }
+
     public static class SentimentResult {
         private final String label;
         private final BigDecimal originalScore;
@@ -0,0 +1,199 @@
+package com.ecommerce.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Eş zamanlı gelen tekil duygu analizi isteklerini toplu (batch) isteklere dönüştürür.
+ *
+ * Bir dağıtıcı thread kuyruktaki ilk isteği bekler, ardından batch dolana (maxBatchSize)
+ * veya bekleme süresi (maxWaitMillis) dolana kadar yeni istekleri toplar. Oluşan batch
+ * tek bir /predict_batch çağrısıyla gönderilir ve sonuçlar sırasıyla çağıranlara dağıtılır.
+ * Aynı anda en fazla maxConcurrentBatches batch işlenir; tüm slotlar doluyken gelen
+ * istekler kuyrukta birikir ve bir sonraki batch'i büyütür.
+ * Sanal thread modunda dağıtıcı ve batch thread'leri sanal thread'dir; eş zamanlılığı yine batch slotları sınırlar.
+ */
+class SentimentBatchCoalescer<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SentimentBatchCoalescer.class);
+
+    private final Function<List<String>, List<T>> batchFunction;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<PendingRequest<T>> queue = new LinkedBlockingQueue<>();
+    private final Semaphore batchSlots;
+    private final ExecutorService batchExecutor;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    SentimentBatchCoalescer(Function<List<String>, List<T>> batchFunction,
+                            int maxBatchSize, long maxWaitMillis, int maxConcurrentBatches, boolean virtualThreads) {
+        if (maxBatchSize < 1 || maxWaitMillis < 0 || maxConcurrentBatches < 1) {
+            throw new IllegalArgumentException("Invalid batch settings: size=" + maxBatchSize
+                + ", waitMs=" + maxWaitMillis + ", concurrency=" + maxConcurrentBatches);
+        }
+        this.batchFunction = batchFunction;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.batchSlots = new Semaphore(maxConcurrentBatches);
+
+        if (virtualThreads) {
+            this.batchExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("sentiment-batch-", 1).factory());
+            this.dispatcher = Thread.ofVirtual().name("sentiment-batch-dispatcher").unstarted(this::dispatchLoop);
+        } else {
+            AtomicInteger threadCounter = new AtomicInteger();
+            this.batchExecutor = Executors.newFixedThreadPool(maxConcurrentBatches, runnable -> {
+                Thread thread = new Thread(runnable, "sentiment-batch-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.dispatcher = new Thread(this::dispatchLoop, "sentiment-batch-dispatcher");
+            this.dispatcher.setDaemon(true);
+        }
+        this.dispatcher.start();
+    }
+
+    /**
+     * Metni bir sonraki batch'e ekler
+     *
+     * @return Batch sonucu geldiğinde tamamlanan future
+     */
+    CompletableFuture<T> submit(String text) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (!running) {
+            future.completeExceptionally(stopped());
+            return future;
+        }
+        PendingRequest<T> request = new PendingRequest<>(text, future);
+        queue.add(request);
+        // shutdown() kuyruğu bu ekleme öncesinde boşaltmış olabilir; istek hâlâ kuyruktaysa onu kimse almayacak
+        if (!running && queue.remove(request)) {
+            future.completeExceptionally(stopped());
+        }
+        return future;
+    }
+
+    void shutdown() {
+        running = false;
+        dispatcher.interrupt();
+        batchExecutor.shutdown();
+        List<PendingRequest<T>> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        fail(remaining, stopped());
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                batchSlots.acquire();
+                List<PendingRequest<T>> batch;
+                try {
+                    batch = collectBatch();
+                } catch (InterruptedException e) {
+                    batchSlots.release();
+                    throw e;
+                }
+                try {
+                    batchExecutor.execute(() -> {
+                        try {
+                            execute(batch);
+                        } finally {
+                            batchSlots.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // Toplama sırasında kapatıldı
+                    batchSlots.release();
+                    fail(batch, stopped());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private List<PendingRequest<T>> collectBatch() throws InterruptedException {
+        List<PendingRequest<T>> batch = new ArrayList<>(maxBatchSize);
+        // İlk isteği süresiz bekle, sonra süre dolana kadar batch'i doldur
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + maxWaitNanos;
+        try {
+            while (batch.size() < maxBatchSize) {
+                // Zaten bekleyen istekleri beklemeden al
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                if (batch.size() >= maxBatchSize) {
+                    break;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                PendingRequest<T> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+        } catch (InterruptedException e) {
+            // Kuyruktan alınmış istekler shutdown()'ın boşaltmasında görünmez
+            fail(batch, stopped());
+            throw e;
+        }
+        return batch;
+    }
+
+    private void execute(List<PendingRequest<T>> batch) {
+        List<String> texts = new ArrayList<>(batch.size());
+        for (PendingRequest<T> request : batch) {
+            texts.add(request.text);
+        }
+
+        try {
+            List<T> results = batchFunction.apply(texts);
+            if (results == null || results.size() != batch.size()) {
+                throw new IllegalStateException("Batch result size mismatch: expected " + batch.size()
+                    + ", got " + (results == null ? 0 : results.size()));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(results.get(i));
+            }
+            logger.debug("Sentiment batch completed: size={}", batch.size());
+        } catch (RuntimeException e) {
+            logger.warn("Sentiment batch of {} texts failed: {}", batch.size(), e.getMessage());
+            fail(batch, e);
+        }
+    }
+
+    private static <T> void fail(List<PendingRequest<T>> requests, Throwable cause) {
+        requests.forEach(request -> request.future.completeExceptionally(cause));
+    }
+
+    private static IllegalStateException stopped() {
+        return new IllegalStateException("Sentiment batch coalescer is stopped");
+    }
+
+    private static final class PendingRequest<T> {
+        private final String text;
+        private final CompletableFuture<T> future;
+
+        private PendingRequest(String text, CompletableFuture<T> future) {
+            this.text = text;
+            this.future = future;
+        }
+    }
+}
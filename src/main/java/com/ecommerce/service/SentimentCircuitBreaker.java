@@ -0,0 +1,316 @@
+package com.ecommerce.service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.event.SentimentCircuitStateChangedEvent;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Python duygu analizi servisi için devre kesici (circuit breaker).
+ *
+ * - CLOSED: Çağrılar serbest; son sliding-window-size çağrının hata oranı eşiği geçerse devre açılır
+ * - OPEN: Çağrılar servise gitmeden reddedilir; open-duration-ms dolunca devre yarı açılır
+ * - HALF_OPEN: En fazla half-open-probes deneme çağrısına izin verilir; hepsi başarılıysa devre kapanır,
+ *   biri bile başarısızsa yeniden açılır
+ *
+ * Her durum değişikliği SentimentCircuitStateChangedEvent olarak yayınlanır. Bir durumda alınan izinle
+ * yapılan çağrının sonucu, durum bu arada değiştiyse yok sayılır (izin nesli eşleşmez).
+ * Durum (sentiment.circuit.state), geçiş sayıları ve reddedilen çağrılar Micrometer ile yayınlanır.
+ */
+@Component
+public class SentimentCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(SentimentCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    // Devre kesici kapalıyken verilen izin: sonucu hiçbir sayaca yazılmaz
+    private static final Permit UNGUARDED = new Permit(-1, false);
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sentiment.circuit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sentiment.circuit.sliding-window-size:20}")
+    private int slidingWindowSize;
+
+    @Value("${sentiment.circuit.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${sentiment.circuit.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${sentiment.circuit.open-duration-ms:30000}")
+    private long openDurationMs;
+
+    @Value("${sentiment.circuit.half-open-probes:3}")
+    private int halfOpenProbes;
+
+    // CLOSED durumundaki son çağrıların sonuçları (true = hata), halka tampon
+    private boolean[] outcomes;
+    private int outcomeCount;
+    private int outcomeFailures;
+    private int nextOutcome;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAtNanos;
+    private int probesInFlight;
+    private int probeSuccesses;
+    private LocalDateTime lastTransitionAt;
+
+    private final Map<State, AtomicLong> transitions = new EnumMap<>(State.class);
+    private final AtomicLong notPermittedCalls = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        if (slidingWindowSize < 1 || minimumCalls < 1 || minimumCalls > slidingWindowSize
+                || failureRateThreshold < 1 || failureRateThreshold > 100 || openDurationMs < 0 || halfOpenProbes < 1) {
+            throw new IllegalStateException("Invalid sentiment circuit breaker settings: window=" + slidingWindowSize
+                + ", minimumCalls=" + minimumCalls + ", failureRate=" + failureRateThreshold
+                + ", openMs=" + openDurationMs + ", probes=" + halfOpenProbes);
+        }
+        outcomes = new boolean[slidingWindowSize];
+        for (State target : State.values()) {
+            transitions.put(target, new AtomicLong());
+            // Her durum için ayrı seri: geçerli durum 1, diğerleri 0
+            Gauge.builder("sentiment.circuit.state", this, breaker -> breaker.currentState() == target ? 1 : 0)
+                .tag("state", target.name())
+                .description("Devre kesicinin geçerli durumu")
+                .register(meterRegistry);
+            FunctionCounter.builder("sentiment.circuit.transitions", transitions.get(target), AtomicLong::get)
+                .tag("state", target.name())
+                .description("Bu duruma yapılan geçişler")
+                .register(meterRegistry);
+        }
+        FunctionCounter.builder("sentiment.circuit.not.permitted", notPermittedCalls, AtomicLong::get)
+            .description("Devre açık olduğu için servise gönderilmeyen çağrılar")
+            .register(meterRegistry);
+        logger.info("Sentiment circuit breaker: enabled={}, window={}, minimumCalls={}, failureRate={}%, openMs={}, probes={}",
+                   enabled, slidingWindowSize, minimumCalls, failureRateThreshold, openDurationMs, halfOpenProbes);
+    }
+
+    /**
+     * Servise bir çağrı yapmak için izin ister
+     *
+     * @return Çağrı izni veya devre açıksa / yarı açık devrenin deneme hakkı dolduysa null
+     */
+    public Permit tryAcquirePermission() {
+        if (!enabled) {
+            return UNGUARDED;
+        }
+        Permit permit = null;
+        SentimentCircuitStateChangedEvent event;
+        synchronized (this) {
+            event = halfOpenIfDue();
+            if (state == State.CLOSED) {
+                permit = new Permit(generation, false);
+            } else if (state == State.HALF_OPEN && probesInFlight + probeSuccesses < halfOpenProbes) {
+                probesInFlight++;
+                permit = new Permit(generation, true);
+            }
+        }
+        publish(event);
+        if (permit == null) {
+            notPermittedCalls.incrementAndGet();
+        }
+        return permit;
+    }
+
+    /**
+     * İzin almadan hızlı ön kontrol (örneğin batch kuyruğuna girmeden önce): devre açıksa false döner
+     * ve çağrı reddedilmiş olarak sayılır
+     */
+    public boolean isCallPermitted() {
+        if (getState() != State.OPEN) {
+            return true;
+        }
+        notPermittedCalls.incrementAndGet();
+        return false;
+    }
+
+    public void onSuccess(Permit permit) {
+        SentimentCircuitStateChangedEvent event = null;
+        synchronized (this) {
+            if (permit.generation != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                probesInFlight--;
+                probeSuccesses++;
+                if (probeSuccesses >= halfOpenProbes) {
+                    event = transitionTo(State.CLOSED);
+                }
+            } else if (state == State.CLOSED) {
+                recordOutcome(false);
+            }
+        }
+        publish(event);
+    }
+
+    public void onFailure(Permit permit) {
+        SentimentCircuitStateChangedEvent event = null;
+        synchronized (this) {
+            if (permit.generation != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                event = transitionTo(State.OPEN);
+            } else if (state == State.CLOSED) {
+                recordOutcome(true);
+                if (outcomeCount >= minimumCalls && outcomeFailures * 100L >= (long) failureRateThreshold * outcomeCount) {
+                    event = transitionTo(State.OPEN);
+                }
+            }
+        }
+        publish(event);
+    }
+
+    /**
+     * Geçerli durum (açık kalma süresi dolmuşsa devre bu çağrıyla yarı açılır)
+     */
+    public State getState() {
+        if (!enabled) {
+            return State.CLOSED;
+        }
+        SentimentCircuitStateChangedEvent event;
+        State current;
+        synchronized (this) {
+            event = halfOpenIfDue();
+            current = state;
+        }
+        publish(event);
+        return current;
+    }
+
+    // Yan etkisiz okuma (metrik toplama sırasında devre yarı açılmaz)
+    private synchronized State currentState() {
+        return enabled ? state : State.CLOSED;
+    }
+
+    public Map<String, Object> getStats() {
+        State current = getState();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("state", current.name());
+        synchronized (this) {
+            stats.put("bufferedCalls", outcomeCount);
+            stats.put("failedCalls", outcomeFailures);
+            stats.put("failureRatePercent", outcomeCount == 0 ? 0.0
+                : Math.round(outcomeFailures * 1000.0 / outcomeCount) / 10.0);
+            if (state == State.OPEN) {
+                long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openedAtNanos);
+                stats.put("openRemainingMs", Math.max(0, openDurationMs - elapsedMs));
+            }
+            stats.put("lastTransitionAt", lastTransitionAt);
+        }
+        Map<String, Long> transitionCounts = new LinkedHashMap<>();
+        transitions.forEach((target, count) -> transitionCounts.put(target.name(), count.get()));
+        stats.put("transitions", transitionCounts);
+        stats.put("notPermittedCalls", notPermittedCalls.get());
+        return stats;
+    }
+
+    // Kilit altında çağrılır
+    private SentimentCircuitStateChangedEvent halfOpenIfDue() {
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= TimeUnit.MILLISECONDS.toNanos(openDurationMs)) {
+            return transitionTo(State.HALF_OPEN);
+        }
+        return null;
+    }
+
+    // Kilit altında çağrılır
+    private void recordOutcome(boolean failure) {
+        if (outcomeCount == outcomes.length) {
+            if (outcomes[nextOutcome]) {
+                outcomeFailures--;
+            }
+        } else {
+            outcomeCount++;
+        }
+        outcomes[nextOutcome] = failure;
+        if (failure) {
+            outcomeFailures++;
+        }
+        nextOutcome = (nextOutcome + 1) % outcomes.length;
+    }
+
+    // Kilit altında çağrılır; olay kilit bırakıldıktan sonra yayınlanır
+    private SentimentCircuitStateChangedEvent transitionTo(State target) {
+        State previous = state;
+        state = target;
+        generation++;
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        if (target == State.OPEN) {
+            openedAtNanos = System.nanoTime();
+        }
+        if (target == State.CLOSED) {
+            outcomeCount = 0;
+            outcomeFailures = 0;
+            nextOutcome = 0;
+        }
+        lastTransitionAt = LocalDateTime.now();
+        transitions.get(target).incrementAndGet();
+        return new SentimentCircuitStateChangedEvent(previous, target);
+    }
+
+    private void publish(SentimentCircuitStateChangedEvent event) {
+        if (event == null) {
+            return;
+        }
+        if (event.getState() == State.OPEN) {
+            logger.warn("Sentiment circuit breaker {} -> OPEN, inference calls are rejected for {} ms",
+                       event.getPreviousState(), openDurationMs);
+        } else {
+            logger.info("Sentiment circuit breaker {} -> {}", event.getPreviousState(), event.getState());
+        }
+        eventPublisher.publishEvent(event);
+    }
+
+    /**
+     * tryAcquirePermission ile alınan çağrı izni; sonuç onSuccess/onFailure ile aynı izinle bildirilir
+     */
+    public static final class Permit {
+        private final long generation;
+        private final boolean probe;
+
+        private Permit(long generation, boolean probe) {
+            this.generation = generation;
+            this.probe = probe;
+        }
+
+        /**
+         * Yarı açık devrede yapılan deneme çağrısı mı
+         */
+        public boolean isProbe() {
+            return probe;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.service;
+
+/**
+ * Python duygu analizi servisinin uç noktaları; zaman aşımları sentiment.http.&lt;anahtar&gt;.* özelliklerinden okunur
+ */
+public enum SentimentEndpoint {
+    PREDICT("/predict", "predict"),
+    PREDICT_BATCH("/predict_batch", "predict-batch"),
+    HEALTH("/health", "health");
+
+    private final String path;
+    private final String propertyKey;
+
+    SentimentEndpoint(String path, String propertyKey) {
+        this.path = path;
+        this.propertyKey = propertyKey;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getPropertyKey() {
+        return propertyKey;
+    }
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.service;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Duygu analizi servisi HTTP ayarları: adres, protokol sürümü, bağlantı sınırı ve uç nokta başına zaman aşımları.
+ * Uç noktaya özel değer yoksa (sentiment.http.predict.read-timeout-ms gibi) genel değer kullanılır.
+ */
+@Component
+public class SentimentHttpSettings {
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${python.api.url:http://localhost:5000}")
+    private String baseUrl;
+
+    // HTTP_1_1 (keep-alive) veya HTTP_2 (sunucu desteklemezse HTTP/1.1'e düşer)
+    @Value("${sentiment.http.version:HTTP_1_1}")
+    private String httpVersion;
+
+    // Servise (aynı host:port) aynı anda açık tutulabilecek en fazla istek/bağlantı
+    @Value("${sentiment.http.max-connections:16}")
+    private int maxConnections;
+
+    // Sanal thread modunda HttpClient'ın iç görevleri de sanal thread'lerde çalışır
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${sentiment.http.connect-timeout-ms:10000}")
+    private long connectTimeoutMs;
+
+    @Value("${sentiment.http.read-timeout-ms:30000}")
+    private long readTimeoutMs;
+
+    private final Map<SentimentEndpoint, Duration> connectTimeouts = new EnumMap<>(SentimentEndpoint.class);
+    private final Map<SentimentEndpoint, Duration> readTimeouts = new EnumMap<>(SentimentEndpoint.class);
+
+    public URI uri(SentimentEndpoint endpoint) {
+        return URI.create(baseUrl + endpoint.getPath());
+    }
+
+    @PostConstruct
+    public void resolveEndpointTimeouts() {
+        for (SentimentEndpoint endpoint : SentimentEndpoint.values()) {
+            String prefix = "sentiment.http." + endpoint.getPropertyKey();
+            connectTimeouts.put(endpoint, Duration.ofMillis(
+                environment.getProperty(prefix + ".connect-timeout-ms", Long.class, connectTimeoutMs)));
+            readTimeouts.put(endpoint, Duration.ofMillis(
+                environment.getProperty(prefix + ".read-timeout-ms", Long.class, readTimeoutMs)));
+        }
+    }
+
+    public Duration connectTimeout(SentimentEndpoint endpoint) {
+        return connectTimeouts.get(endpoint);
+    }
+
+    public Duration readTimeout(SentimentEndpoint endpoint) {
+        return readTimeouts.get(endpoint);
+    }
+
+    public boolean isHttp2() {
+        return "HTTP_2".equalsIgnoreCase(httpVersion.trim());
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+}
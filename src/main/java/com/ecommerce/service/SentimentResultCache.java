@@ -0,0 +1,295 @@
+package com.ecommerce.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.entity.SentimentCacheEntry;
+import com.ecommerce.repository.SentimentCacheRepository;
+
+/**
+ * Normalize edilmiş yorum metninin hash'i ile anahtarlanan duygu analizi sonuç önbelleği.
+ *
+ * - Bellek katmanı: LRU (erişim sıralı) + TTL, boyut sınırı aşılınca en eski erişilen kayıt atılır
+ * - Kalıcı katman (opsiyonel): sentiment_cache tablosu, yeniden başlatmadan sonra da isabet sağlar
+ * - Python servisinin bildirdiği model sürümü değiştiğinde tüm kayıtlar geçersiz olur
+ */
+@Service
+public class SentimentResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SentimentResultCache.class);
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr-TR");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Autowired
+    private SentimentCacheRepository sentimentCacheRepository;
+
+    @Value("${sentiment.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sentiment.cache.max-size:50000}")
+    private int maxSize;
+
+    @Value("${sentiment.cache.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${sentiment.cache.persistent:false}")
+    private boolean persistent;
+
+    private final LinkedHashMap<String, CachedResult> entries = new LinkedHashMap<>(1024, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Python servisinin en son bildirdiği model sürümü (henüz bilinmiyorsa null)
+    private volatile String modelVersion;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Metin için önbellekteki sonucu döndürür
+     *
+     * @return Geçerli bir kayıt varsa sonuç, yoksa null
+     */
+    public SentimentAnalysisService.SentimentResult get(String text) {
+        if (!enabled) {
+            return null;
+        }
+
+        String key = keyOf(text);
+        long now = System.currentTimeMillis();
+
+        synchronized (entries) {
+            CachedResult cached = entries.get(key);
+            if (cached != null) {
+                if (isExpired(cached.storedAtMillis, now) || !matchesModelVersion(cached.modelVersion)) {
+                    entries.remove(key);
+                    expirations.incrementAndGet();
+                } else {
+                    hits.incrementAndGet();
+                    return cached.result;
+                }
+            }
+        }
+
+        SentimentAnalysisService.SentimentResult persisted = loadPersistent(key, now);
+        if (persisted != null) {
+            persistentHits.incrementAndGet();
+            putInMemory(key, persisted, now);
+            return persisted;
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Python servisinden gelen sonucu önbelleğe ekler
+     */
+    public void put(String text, SentimentAnalysisService.SentimentResult result) {
+        if (!enabled || result == null) {
+            return;
+        }
+
+        String key = keyOf(text);
+        long now = System.currentTimeMillis();
+        putInMemory(key, result, now);
+
+        if (persistent) {
+            try {
+                sentimentCacheRepository.save(new SentimentCacheEntry(key, result.getLabel(),
+                    result.getOriginalScore(), result.getNormalizedScore(), modelVersion, LocalDateTime.now()));
+            } catch (Exception e) {
+                // Kalıcı katman hatası analiz akışını durdurmamalı
+                logger.warn("Failed to persist sentiment cache entry: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Python servisinin bildirdiği model sürümünü kaydeder. Sürüm değiştiyse tüm önbellek geçersiz olur.
+     */
+    public void onModelVersion(String reportedVersion) {
+        if (reportedVersion == null || reportedVersion.isBlank() || reportedVersion.equals(modelVersion)) {
+            return;
+        }
+
+        String previousVersion = modelVersion;
+        modelVersion = reportedVersion;
+
+        // İlk öğrenilen sürümde eski sürümlü kalıcı kayıtlar da temizlenir
+        synchronized (entries) {
+            entries.values().removeIf(cached -> !reportedVersion.equals(cached.modelVersion));
+        }
+        invalidations.incrementAndGet();
+
+        if (persistent) {
+            try {
+                int deleted = sentimentCacheRepository.deleteByModelVersionNot(reportedVersion);
+                logger.info("Removed {} persistent sentiment cache entries from other model versions", deleted);
+            } catch (Exception e) {
+                logger.warn("Failed to invalidate persistent sentiment cache: {}", e.getMessage());
+            }
+        }
+
+        logger.info("Sentiment model version changed: {} -> {}, cache invalidated", previousVersion, reportedVersion);
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        if (persistent) {
+            sentimentCacheRepository.deleteAllInBatch();
+        }
+        invalidations.incrementAndGet();
+        logger.info("Sentiment cache cleared");
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.get() + persistentHits.get();
+        long requestCount = hitCount + misses.get();
+
+        stats.put("enabled", enabled);
+        stats.put("persistent", persistent);
+        stats.put("modelVersion", modelVersion);
+        stats.put("size", size);
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hits.get());
+        stats.put("persistentHits", persistentHits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("hitRate", requestCount == 0 ? 0.0 : (double) hitCount / requestCount);
+        return stats;
+    }
+
+    /**
+     * Süresi dolmuş kayıtları bellekten ve kalıcı katmandan temizler
+     */
+    @Scheduled(fixedDelayString = "${sentiment.cache.cleanup-interval-ms:600000}")
+    public void removeExpiredEntries() {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Iterator<CachedResult> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (isExpired(iterator.next().storedAtMillis, now)) {
+                    iterator.remove();
+                    expirations.incrementAndGet();
+                }
+            }
+        }
+
+        if (persistent) {
+            try {
+                sentimentCacheRepository.deleteByCreatedAtBefore(LocalDateTime.now().minusMinutes(ttlMinutes));
+            } catch (Exception e) {
+                logger.warn("Failed to remove expired persistent sentiment cache entries: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Türkçe kurallarına göre küçük harfe çevirir (İ→i, I→ı) ve boşlukları tek boşluğa indirger
+     */
+    static String normalize(String text) {
+        return WHITESPACE.matcher(text.trim()).replaceAll(" ").toLowerCase(TURKISH);
+    }
+
+    static String keyOf(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(normalize(text).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void putInMemory(String key, SentimentAnalysisService.SentimentResult result, long now) {
+        synchronized (entries) {
+            entries.put(key, new CachedResult(result, modelVersion, now));
+            // Boyut sınırı aşıldıysa en uzun süredir erişilmeyen kayıtları at
+            Iterator<CachedResult> iterator = entries.values().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private SentimentAnalysisService.SentimentResult loadPersistent(String key, long now) {
+        // Model sürümü bilinmeden kalıcı kayıtlara güvenilmez
+        if (!persistent || modelVersion == null) {
+            return null;
+        }
+        try {
+            SentimentCacheEntry entry = sentimentCacheRepository.findById(key).orElse(null);
+            if (entry == null || !modelVersion.equals(entry.getModelVersion())
+                    || entry.getCreatedAt().isBefore(LocalDateTime.now().minusMinutes(ttlMinutes))) {
+                return null;
+            }
+            return new SentimentAnalysisService.SentimentResult(
+                entry.getLabel(), entry.getOriginalScore(), entry.getNormalizedScore());
+        } catch (Exception e) {
+            logger.warn("Failed to read persistent sentiment cache: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean isExpired(long storedAtMillis, long now) {
+        return now - storedAtMillis > ttlMinutes * 60_000L;
+    }
+
+    private boolean matchesModelVersion(String entryVersion) {
+        String current = modelVersion;
+        return current == null || Objects.equals(current, entryVersion);
+    }
+
+    private static final class CachedResult {
+        private final SentimentAnalysisService.SentimentResult result;
+        private final String modelVersion;
+        private final long storedAtMillis;
+
+        private CachedResult(SentimentAnalysisService.SentimentResult result, String modelVersion, long storedAtMillis) {
+            this.result = result;
+            this.modelVersion = modelVersion;
+            this.storedAtMillis = storedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.ecommerce.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ecommerce.entity.Review;
+import com.ecommerce.entity.ScoringStatus;
+import com.ecommerce.event.ReviewScoringRequestedEvent;
+import com.ecommerce.event.SentimentCircuitStateChangedEvent;
+import com.ecommerce.repository.ReviewRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Yorumların duygu analizini istek thread'inden bağımsız olarak yapan arka plan işçisi.
+ *
+ * Kalıcı kuyruk olarak reviews tablosundaki PENDING kayıtlar kullanılır:
+ * - Yeni yorum commit edildiğinde ID'si sınırlı kapasiteli thread havuzuna verilir
+ * - Havuz doluysa veya uygulama yeniden başlatıldıysa, zamanlanmış tarama PENDING kayıtları tekrar kuyruğa alır
+ * - Python API hatalarında deneme sayısı artırılır, limit aşılınca yorum FAILED olarak işaretlenir
+ * - Devre açıkken (veya bulkhead doluyken) çağrı reddedilir; deneme sayılmaz, yorum yıldız bazlı geçici puanıyla
+ *   PENDING kalır. Devre kapandığında bekleyen yorumlar yaş beklemeden tekrar kuyruğa alınır
+ * - spring.threads.virtual.enabled=true iken işçiler sanal thread'dir ve sayıları virtual-worker-threads ile
+ *   belirlenir; Python servisine giden çağrıları bulkhead ve batch slotları, DB erişimini HikariCP havuzu sınırlar
+ */
+@Service
+public class SentimentScoringWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(SentimentScoringWorker.class);
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private SentimentAnalysisService sentimentAnalysisService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private SentimentCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sentiment.scoring.worker-threads:4}")
+    private int workerThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // Sanal thread modunda eş zamanlı puanlanan en fazla yorum (bekleyen işçi ucuzdur, batch'ler daha dolu gider)
+    @Value("${sentiment.scoring.virtual-worker-threads:64}")
+    private int virtualWorkerThreads;
+
+    @Value("${sentiment.scoring.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${sentiment.scoring.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${sentiment.scoring.stale-after-ms:60000}")
+    private long staleAfterMs;
+
+    // Kuyrukta veya işlenmekte olan yorumlar (aynı yorumun iki kez kuyruğa girmesini engeller)
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        int threads = virtualThreads ? virtualWorkerThreads : workerThreads;
+        executor = new ThreadPoolExecutor(
+            threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            workerThreadFactory(),
+            new ThreadPoolExecutor.AbortPolicy());
+        logger.info("Sentiment scoring worker started: threads={} ({}), queueCapacity={}",
+                   threads, virtualThreads ? "virtual" : "platform", queueCapacity);
+
+        Gauge.builder("sentiment.scoring.queue.size", executor, pool -> pool.getQueue().size())
+            .description("Puanlama kuyruğunda bekleyen yorumlar")
+            .register(meterRegistry);
+        Gauge.builder("sentiment.scoring.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Puanlanmakta olan yorumlar")
+            .register(meterRegistry);
+    }
+
+    private ThreadFactory workerThreadFactory() {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name("sentiment-worker-", 1).factory();
+        }
+        AtomicInteger threadCounter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "sentiment-worker-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            // Kalan işler PENDING olarak kalır, yeniden başlatmada tarama ile tekrar alınır
+            executor.shutdownNow();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onScoringRequested(ReviewScoringRequestedEvent event) {
+        submit(event.getReviewId());
+    }
+
+    /**
+     * Devre yarı açıktan kapalıya geçtiğinde, açık kaldığı sürece ertelenen yorumları hemen kuyruğa alır
+     */
+    @EventListener
+    public void onCircuitStateChanged(SentimentCircuitStateChangedEvent event) {
+        if (event.getState() == SentimentCircuitBreaker.State.CLOSED
+                && event.getPreviousState() == SentimentCircuitBreaker.State.HALF_OPEN) {
+            int submitted = requeuePending(LocalDateTime.now());
+            logger.info("Sentiment service recovered, re-queued {} pending reviews", submitted);
+        }
+    }
+
+    /**
+     * Yorumu puanlama kuyruğuna ekler. Kuyruk doluysa yorum PENDING kalır ve sonraki taramada alınır.
+     *
+     * @return Yorum kuyruğa alındıysa true
+     */
+    public boolean submit(Long reviewId) {
+        if (reviewId == null || !inFlight.add(reviewId)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    score(reviewId);
+                } finally {
+                    inFlight.remove(reviewId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(reviewId);
+            logger.warn("Scoring queue is full, review {} stays PENDING until next sweep", reviewId);
+            return false;
+        }
+    }
+
+    /**
+     * Toplu eklenen yorumları kuyruk kapasitesi kadar puanlamaya verir; kuyruk dolunca kalanlar
+     * PENDING kalır ve zamanlanmış tarama ile (mikro-batch açıksa /predict_batch üzerinden) işlenir.
+     *
+     * @return Kuyruğa alınan yorum sayısı
+     */
+    public int submitAll(List<Long> reviewIds) {
+        int submitted = 0;
+        for (Long reviewId : reviewIds) {
+            if (executor.getQueue().remainingCapacity() == 0) {
+                break;
+            }
+            if (submit(reviewId)) {
+                submitted++;
+            }
+        }
+        if (submitted < reviewIds.size()) {
+            logger.info("Scoring queue is full, {} reviews stay PENDING until next sweep", reviewIds.size() - submitted);
+        }
+        return submitted;
+    }
+
+    /**
+     * Uzun süredir PENDING durumda bekleyen yorumları (kuyruk taşması, yeniden başlatma, geçici hata) tekrar kuyruğa alır
+     */
+    @Scheduled(fixedDelayString = "${sentiment.scoring.sweep-interval-ms:30000}",
+               initialDelayString = "${sentiment.scoring.sweep-interval-ms:30000}")
+    public void sweepPendingReviews() {
+        // Devre açıkken kuyruğa alınan her yorum hemen reddedilir; devre kapanınca olay dinleyicisi tarar
+        if (circuitBreaker.getState() == SentimentCircuitBreaker.State.OPEN) {
+            return;
+        }
+        int submitted = requeuePending(LocalDateTime.now().minusNanos(staleAfterMs * 1_000_000L));
+        if (submitted > 0) {
+            logger.info("Re-queued {} pending reviews for sentiment scoring", submitted);
+        }
+    }
+
+    private int requeuePending(LocalDateTime createdBefore) {
+        int freeSlots = executor.getQueue().remainingCapacity();
+        if (freeSlots == 0) {
+            return 0;
+        }
+
+        List<Long> pendingIds = reviewRepository.findIdsByScoringStatusCreatedBefore(
+            ScoringStatus.PENDING, createdBefore, PageRequest.of(0, freeSlots));
+
+        int submitted = 0;
+        for (Long reviewId : pendingIds) {
+            if (submit(reviewId)) {
+                submitted++;
+            }
+        }
+        return submitted;
+    }
+
+    private void score(Long reviewId) {
+        // Puanlama sırasında yazılan tüm log satırları yorum ID'sini taşır (prod JSON çıktısında mdc alanı)
+        MDC.put("reviewId", String.valueOf(reviewId));
+        try {
+            scoreReview(reviewId);
+        } finally {
+            MDC.remove("reviewId");
+        }
+    }
+
+    private void scoreReview(Long reviewId) {
+        Review review = reviewRepository.findById(reviewId).orElse(null);
+        if (review == null || review.getScoringStatus() != ScoringStatus.PENDING) {
+            return;
+        }
+
+        SentimentAnalysisService.SentimentResult sentimentResult;
+        try {
+            // HTTP çağrısı hiçbir transaction veya DB bağlantısı tutulmadan yapılır
+            sentimentResult = sentimentAnalysisService.analyzeSentiment(review.getComment());
+        } catch (SentimentUnavailableException e) {
+            // Servis denenmedi: yorum geçici puanıyla PENDING kalır, deneme hakkı harcanmaz
+            logger.debug("Sentiment scoring deferred for review {}: {}", reviewId, e.getMessage());
+            meterRegistry.counter("sentiment.scoring.reviews", "outcome", "deferred").increment();
+            return;
+        } catch (Exception e) {
+            logger.error("❌ Python API sentiment analysis failed for review {}: {}", reviewId, e.getMessage());
+            reviewService.recordScoringFailure(reviewId, maxAttempts);
+            meterRegistry.counter("sentiment.scoring.reviews", "outcome", "error").increment();
+            return;
+        }
+
+        reviewService.applySentimentResult(reviewId, sentimentResult);
+        meterRegistry.counter("sentiment.scoring.reviews", "outcome", "scored").increment();
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+
+/**
+ * Python duygu analizi servisine HTTP erişimi. Yanıt gövdesi ara String'e çevrilmeden işleyiciye akış olarak verilir;
+ * işleyici dönünce gövde kapatılır ve bağlantı (keep-alive) havuza geri döner.
+ * Uygulama sentiment.http.transport özelliğiyle seçilir (jdk veya url-connection).
+ */
+public interface SentimentTransport {
+
+    /**
+     * @param readTimeout Bu çağrının okuma zaman aşımı (uyarlamalı zaman aşımı); null ise uç noktanın yapılandırılmış değeri
+     */
+    <T> T post(SentimentEndpoint endpoint, byte[] jsonBody, Duration readTimeout, ResponseHandler<T> handler)
+            throws IOException;
+
+    <T> T get(SentimentEndpoint endpoint, ResponseHandler<T> handler) throws IOException;
+
+    @FunctionalInterface
+    interface ResponseHandler<T> {
+        T handle(InputStream body) throws IOException;
+    }
+}
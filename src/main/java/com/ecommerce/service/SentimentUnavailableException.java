@@ -0,0 +1,24 @@
+package com.ecommerce.service;
+
+/**
+ * Duygu analizi çağrısı servise hiç gönderilmeden reddedildi: devre açık veya eş zamanlı çağrı sınırı (bulkhead) dolu.
+ * Bu bir puanlama hatası sayılmaz; yorum yıldız bazlı geçici puanıyla PENDING kalır ve daha sonra puanlanır.
+ */
+public class SentimentUnavailableException extends RuntimeException {
+
+    public enum Reason {
+        CIRCUIT_OPEN,
+        BULKHEAD_FULL
+    }
+
+    private final Reason reason;
+
+    public SentimentUnavailableException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
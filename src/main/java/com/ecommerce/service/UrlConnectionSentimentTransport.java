@@ -0,0 +1,66 @@
+package com.ecommerce.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+
+/**
+ * HttpURLConnection tabanlı taşıma (sentiment.http.transport=url-connection).
+ * Keep-alive JDK'nın kendi önbelleğiyle yapılır (http.maxConnections sistem özelliği); yalnızca HTTP/1.1 destekler.
+ */
+public class UrlConnectionSentimentTransport implements SentimentTransport {
+
+    private final SentimentHttpSettings settings;
+
+    public UrlConnectionSentimentTransport(SentimentHttpSettings settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    public <T> T post(SentimentEndpoint endpoint, byte[] jsonBody, Duration readTimeout, ResponseHandler<T> handler)
+            throws IOException {
+        HttpURLConnection connection = open(endpoint, readTimeout);
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", "application/json");
+        connection.setDoOutput(true);
+        connection.setFixedLengthStreamingMode(jsonBody.length);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(jsonBody);
+        }
+        return read(endpoint, connection, handler);
+    }
+
+    @Override
+    public <T> T get(SentimentEndpoint endpoint, ResponseHandler<T> handler) throws IOException {
+        HttpURLConnection connection = open(endpoint, null);
+        connection.setRequestMethod("GET");
+        return read(endpoint, connection, handler);
+    }
+
+    private HttpURLConnection open(SentimentEndpoint endpoint, Duration readTimeout) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) settings.uri(endpoint).toURL().openConnection();
+        connection.setConnectTimeout((int) settings.connectTimeout(endpoint).toMillis());
+        connection.setReadTimeout((int) (readTimeout != null ? readTimeout : settings.readTimeout(endpoint)).toMillis());
+        connection.setRequestProperty("Accept", "application/json");
+        return connection;
+    }
+
+    private <T> T read(SentimentEndpoint endpoint, HttpURLConnection connection, ResponseHandler<T> handler)
+            throws IOException {
+        int status = connection.getResponseCode();
+        if (status / 100 != 2) {
+            InputStream error = connection.getErrorStream();
+            if (error != null) {
+                try (error) {
+                    error.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+            throw new IOException(endpoint.getPath() + " returned HTTP " + status);
+        }
+        try (InputStream body = connection.getInputStream()) {
+            return handler.handle(body);
+        }
+    }
+}
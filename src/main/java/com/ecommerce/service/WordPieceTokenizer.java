@@ -0,0 +1,257 @@
+package com.ecommerce.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * BERT WordPiece tokenizer'ı; Hugging Face BertTokenizer ile aynı adımlar:
+ *
+ * - Temizleme: NUL, U+FFFD ve kontrol karakterleri (Cc, Cf, Co, Cn, Cs) atılır, boşluk karakterleri boşluğa çevrilir
+ * - CJK ideogramlarının etrafına boşluk konur, metin boşluklardan bölünür
+ * - lowerCase ise kelime küçük harfe çevrilir ve NFD ile aksanları (Mn) atılır (BERTurk cased modelde kapalı)
+ * - Noktalama işaretleri ayrı kelime olur
+ * - Her kelime en uzun eşleşen alt parçalara bölünür (devam parçaları "##" önekli); bölünemeyen
+ *   veya 100 karakterden uzun kelime [UNK] olur
+ *
+ * Sonuç [CLS] ... [SEP] ile sarılır ve maxLength token'a kırpılır (pipeline'ın truncation=True davranışı).
+ */
+final class WordPieceTokenizer {
+
+    private static final int MAX_CHARS_PER_WORD = 100;
+    private static final String CONTINUATION_PREFIX = "##";
+
+    private final Map<String, Integer> vocab;
+    private final boolean lowerCase;
+    private final int maxLength;
+    private final int clsId;
+    private final int sepId;
+    private final int unkId;
+    private final int padId;
+
+    WordPieceTokenizer(Map<String, Integer> vocab, boolean lowerCase, int maxLength) {
+        if (maxLength < 3) {
+            throw new IllegalArgumentException("maxLength must be at least 3: " + maxLength);
+        }
+        this.vocab = vocab;
+        this.lowerCase = lowerCase;
+        this.maxLength = maxLength;
+        this.clsId = requireToken(vocab, "[CLS]");
+        this.sepId = requireToken(vocab, "[SEP]");
+        this.unkId = requireToken(vocab, "[UNK]");
+        this.padId = requireToken(vocab, "[PAD]");
+    }
+
+    /**
+     * vocab.txt: satır başına bir token, satır numarası token ID'sidir
+     */
+    static WordPieceTokenizer load(Path vocabFile, boolean lowerCase, int maxLength) throws IOException {
+        Map<String, Integer> vocab = new HashMap<>(64 * 1024);
+        try (BufferedReader reader = Files.newBufferedReader(vocabFile, StandardCharsets.UTF_8)) {
+            String line;
+            int id = 0;
+            while ((line = reader.readLine()) != null) {
+                vocab.putIfAbsent(line.strip(), id++);
+            }
+        }
+        return new WordPieceTokenizer(vocab, lowerCase, maxLength);
+    }
+
+    int padId() {
+        return padId;
+    }
+
+    int vocabSize() {
+        return vocab.size();
+    }
+
+    /**
+     * @return [CLS] + WordPiece token ID'leri + [SEP], en fazla maxLength
+     */
+    int[] encode(String text) {
+        List<Integer> ids = new ArrayList<>(Math.min(maxLength, text.length() + 2));
+        ids.add(clsId);
+        int limit = maxLength - 1;
+        for (String word : basicTokens(text)) {
+            if (ids.size() >= limit) {
+                break;
+            }
+            appendWordPieces(word, ids, limit);
+        }
+        ids.add(sepId);
+
+        int[] result = new int[ids.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Temizleme, boşluk ve noktalama bölmesi (BasicTokenizer)
+     */
+    List<String> basicTokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (cp == 0 || cp == 0xFFFD || isControl(cp)) {
+                continue;
+            }
+            if (isWhitespace(cp)) {
+                flush(word, tokens);
+                continue;
+            }
+            if (isCjk(cp)) {
+                flush(word, tokens);
+                tokens.add(new String(Character.toChars(cp)));
+                continue;
+            }
+            word.appendCodePoint(cp);
+        }
+        flush(word, tokens);
+        return tokens;
+    }
+
+    /**
+     * Boşlukla ayrılmış kelimeyi (gerekiyorsa küçük harf ve aksan temizliğinden sonra) noktalamadan böler
+     */
+    private void flush(StringBuilder word, List<String> tokens) {
+        if (word.isEmpty()) {
+            return;
+        }
+        String token = lowerCase ? stripAccents(word.toString().toLowerCase(Locale.ROOT)) : word.toString();
+        word.setLength(0);
+
+        StringBuilder part = new StringBuilder();
+        int i = 0;
+        while (i < token.length()) {
+            int cp = token.codePointAt(i);
+            i += Character.charCount(cp);
+            if (isPunctuation(cp)) {
+                if (!part.isEmpty()) {
+                    tokens.add(part.toString());
+                    part.setLength(0);
+                }
+                tokens.add(new String(Character.toChars(cp)));
+            } else {
+                part.appendCodePoint(cp);
+            }
+        }
+        if (!part.isEmpty()) {
+            tokens.add(part.toString());
+        }
+    }
+
+    /**
+     * Açgözlü en uzun eşleşme; kelime bölünemezse tek [UNK]
+     */
+    private void appendWordPieces(String word, List<Integer> ids, int limit) {
+        if (word.codePointCount(0, word.length()) > MAX_CHARS_PER_WORD) {
+            ids.add(unkId);
+            return;
+        }
+
+        int mark = ids.size();
+        int start = 0;
+        while (start < word.length()) {
+            int end = word.length();
+            Integer match = null;
+            while (start < end) {
+                String piece = start == 0 ? word.substring(start, end) : CONTINUATION_PREFIX + word.substring(start, end);
+                match = vocab.get(piece);
+                if (match != null) {
+                    break;
+                }
+                // Vekil çiftleri bölünmesin
+                end = word.offsetByCodePoints(end, -1);
+            }
+            if (match == null) {
+                ids.subList(mark, ids.size()).clear();
+                ids.add(unkId);
+                return;
+            }
+            ids.add(match);
+            start = end;
+        }
+        // Kırpma kelimenin ortasına denk gelebilir (HF de token düzeyinde kırpar)
+        if (ids.size() > limit) {
+            ids.subList(limit, ids.size()).clear();
+        }
+    }
+
+    private static String stripAccents(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder result = new StringBuilder(decomposed.length());
+        int i = 0;
+        while (i < decomposed.length()) {
+            int cp = decomposed.codePointAt(i);
+            i += Character.charCount(cp);
+            if (Character.getType(cp) != Character.NON_SPACING_MARK) {
+                result.appendCodePoint(cp);
+            }
+        }
+        return result.toString();
+    }
+
+    private static boolean isWhitespace(int cp) {
+        return cp == ' ' || cp == '\t' || cp == '\n' || cp == '\r' || Character.getType(cp) == Character.SPACE_SEPARATOR;
+    }
+
+    /**
+     * Unicode "C*" kategorileri (HF: category.startswith("C")): kontrol, biçim, özel kullanım, atanmamış, vekil
+     */
+    private static boolean isControl(int cp) {
+        if (cp == '\t' || cp == '\n' || cp == '\r') {
+            return false;
+        }
+        int type = Character.getType(cp);
+        return type == Character.CONTROL || type == Character.FORMAT || type == Character.PRIVATE_USE
+            || type == Character.UNASSIGNED || type == Character.SURROGATE;
+    }
+
+    private static boolean isPunctuation(int cp) {
+        // ASCII sembolleri ($, +, ^ gibi) Unicode'da noktalama değildir ama BERT onları da böler
+        if ((cp >= 33 && cp <= 47) || (cp >= 58 && cp <= 64) || (cp >= 91 && cp <= 96) || (cp >= 123 && cp <= 126)) {
+            return true;
+        }
+        switch (Character.getType(cp)) {
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isCjk(int cp) {
+        return (cp >= 0x4E00 && cp <= 0x9FFF) || (cp >= 0x3400 && cp <= 0x4DBF)
+            || (cp >= 0x20000 && cp <= 0x2A6DF) || (cp >= 0x2A700 && cp <= 0x2B73F)
+            || (cp >= 0x2B740 && cp <= 0x2B81F) || (cp >= 0x2B820 && cp <= 0x2CEAF)
+            || (cp >= 0xF900 && cp <= 0xFAFF) || (cp >= 0x2F800 && cp <= 0x2FA1F);
+    }
+
+    private static int requireToken(Map<String, Integer> vocab, String token) {
+        Integer id = vocab.get(token);
+        if (id == null) {
+            throw new IllegalArgumentException("Vocabulary has no " + token + " token");
+        }
+        return id;
+    }
+}
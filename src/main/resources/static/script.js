@@ -746,14 +746,25 @@ async function showProductDetail(productId) {
     }
 }
 
-// Load Reviews
+// Load Reviews (sayfalı uç nokta: imleç ile tüm sayfalar sırayla okunur)
 async function loadReviews(productId) {
     try {
-        const response = await fetch(`${API_BASE_URL}/reviews/product/${productId}`);
-        if (!response.ok) {
-            return [];
-        }
-        return await response.json();
+        const reviews = [];
+        let cursor = null;
+        do {
+            const params = new URLSearchParams({ limit: 100 });
+            if (cursor) {
+                params.set('cursor', cursor);
+            }
+            const response = await fetch(`${API_BASE_URL}/reviews/product/${productId}?${params}`);
+            if (!response.ok) {
+                return reviews;
+            }
+            const page = await response.json();
+            reviews.push(...page.content);
+            cursor = page.hasMore ? page.nextCursor : null;
+        } while (cursor);
+        return reviews;
     } catch (error) {
         console.error('Error loading reviews:', error);
         return [];
@@ -0,0 +1,113 @@
+package com.ecommerce.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ecommerce.entity.NeutralSentimentPolicy;
+
+/**
+ * Sabit noktalı hibrit puan çekirdeğinin (ScoreMath) eski BigDecimal hesabıyla birebir aynı sonucu
+ * (değer ve scale) verdiğini tüm girdi uzayı üzerinde doğrular.
+ */
+class HybridScoreServiceTest {
+
+    private static final List<HybridWeights> WEIGHTS = List.of(
+        HybridWeights.DEFAULT,
+        new HybridWeights(1L, 7_000, 3_000, NeutralSentimentPolicy.STAR_ONLY),
+        new HybridWeights(2L, 3_333, 6_667, NeutralSentimentPolicy.WEIGHTED),
+        new HybridWeights(3L, 10_000, 0, NeutralSentimentPolicy.WEIGHTED),
+        new HybridWeights(4L, 0, 10_000, NeutralSentimentPolicy.STAR_ONLY));
+
+    // Puanlanan yorumların etiketleri (python_rest.py label_map)
+    private static final List<String> LABELS = List.of("Positive", "Negative", "Neutral");
+
+    // Sınırlama (clamp) yollarını da kapsamak için 1-5 dışındaki yıldızlar dahil
+    private static final int MIN_STAR = -1;
+    private static final int MAX_STAR = 7;
+
+    // Duygu skorları 4 basamakla: -1.0000 ile 2.0000 arası (0-1 dışı değerler sınırlamayı sınar)
+    private static final int MIN_SENTIMENT = -10_000;
+    private static final int MAX_SENTIMENT = 20_000;
+    private static final int SENTIMENT_SCALE = 4;
+
+    @Test
+    void calculateHybridScoreMatchesBigDecimalBaselineExhaustively() {
+        HybridScoreService service = new HybridScoreService();
+        long cases = 0;
+        for (HybridWeights weights : WEIGHTS) {
+            for (int star = MIN_STAR; star <= MAX_STAR; star++) {
+                for (int unscaled = MIN_SENTIMENT; unscaled <= MAX_SENTIMENT; unscaled++) {
+                    BigDecimal sentiment = BigDecimal.valueOf(unscaled, SENTIMENT_SCALE);
+                    long sentimentUnits = ScoreMath.toUnits(sentiment);
+                    for (String label : LABELS) {
+                        BigDecimal expected = baseline(weights, star, sentiment, label);
+                        BigDecimal actual = service.calculateHybridScore(weights, star, sentiment, label);
+                        // equals: değer ve scale birlikte
+                        if (!expected.equals(actual)) {
+                            fail("calculateHybridScore(" + weights + ", " + star + ", " + sentiment + ", " + label
+                                 + "): expected " + expected + " but was " + actual);
+                        }
+
+                        int hundredths = service.calculateHybridScoreHundredths(weights, star, sentimentUnits, label);
+                        // Sadece yıldız yolunda eski hesap 4 basamaklı normalize değeri döner; değer aynı olmalı
+                        BigDecimal primitive = ScoreMath.hundredthsToDecimal(hundredths);
+                        boolean same = weights.isStarOnly(label)
+                            ? primitive.compareTo(expected) == 0
+                            : primitive.equals(expected);
+                        if (!same) {
+                            fail("calculateHybridScoreHundredths(" + weights + ", " + star + ", " + sentiment + ", "
+                                 + label + "): expected " + expected + " but was " + primitive);
+                        }
+                        cases++;
+                    }
+                }
+            }
+        }
+        assertEquals((long) WEIGHTS.size() * (MAX_STAR - MIN_STAR + 1) * (MAX_SENTIMENT - MIN_SENTIMENT + 1)
+                     * LABELS.size(), cases);
+    }
+
+    @Test
+    void missingSentimentFallsBackToStarRating() {
+        HybridScoreService service = new HybridScoreService();
+        for (HybridWeights weights : WEIGHTS) {
+            for (int star = MIN_STAR; star <= MAX_STAR; star++) {
+                for (String label : LABELS) {
+                    assertEquals(baseline(weights, star, null, label),
+                                 service.calculateHybridScore(weights, star, null, label));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sabit nokta çekirdeğinden önceki BigDecimal hesabı (ağırlıklar yapılandırılabilir hale getirilmiş haliyle)
+     */
+    private static BigDecimal baseline(HybridWeights weights, int starRating, BigDecimal sentimentScore,
+                                       String sentimentLabel) {
+        double rating = starRating;
+        if (rating < 1) rating = 1;
+        if (rating > 5) rating = 5;
+        BigDecimal normalizedStarRating = BigDecimal.valueOf(rating).divide(BigDecimal.valueOf(5), 4, RoundingMode.HALF_UP);
+
+        if (weights.isStarOnly(sentimentLabel) || sentimentScore == null) {
+            return normalizedStarRating;
+        }
+
+        BigDecimal weightedStar = normalizedStarRating.multiply(weights.getStarRatingWeightDecimal());
+        BigDecimal weightedSentiment = sentimentScore.multiply(weights.getSentimentWeightDecimal());
+        BigDecimal hybridScore = weightedStar.add(weightedSentiment);
+        if (hybridScore.compareTo(BigDecimal.ONE) > 0) {
+            hybridScore = BigDecimal.ONE;
+        } else if (hybridScore.compareTo(BigDecimal.ZERO) < 0) {
+            hybridScore = BigDecimal.ZERO;
+        }
+        return hybridScore.setScale(2, RoundingMode.HALF_UP);
+    }
+}
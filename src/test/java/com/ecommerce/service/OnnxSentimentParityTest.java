@@ -0,0 +1,70 @@
+package com.ecommerce.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ONNX arka ucunun sonuçlarının Python servisiyle (python_rest.py) aynı biçimde olduğunu doğrular:
+ * softmax top-1 → LABEL_n → label_map adı ve round(score, 4). Beklenen değerler Python'da hesaplanmıştır
+ * (sentiment/*.tsv).
+ */
+class OnnxSentimentParityTest {
+
+    @Test
+    void softmaxTop1MapsToPythonLabelsAndScores() throws Exception {
+        List<String[]> rows = readTsv("/sentiment/softmax-top1.tsv");
+        for (String[] row : rows) {
+            String[] values = row[0].split(" ");
+            float[] logits = new float[values.length];
+            for (int i = 0; i < values.length; i++) {
+                logits[i] = Float.parseFloat(values[i]);
+            }
+            OnnxSentimentEngine.Classification classification = OnnxSentimentEngine.softmaxTop1(logits);
+            String sentiment = SentimentAnalysisService.sentimentOf("LABEL_" + classification.getLabelIndex());
+            assertEquals(row[1], sentiment, "logits " + row[0]);
+            assertEquals(Double.parseDouble(row[2]), SentimentAnalysisService.roundScore(classification.getScore()),
+                         "logits " + row[0]);
+        }
+        assertEquals(50, rows.size());
+    }
+
+    @Test
+    void labelMapMatchesPythonService() {
+        assertEquals("Neutral", SentimentAnalysisService.sentimentOf("LABEL_0"));
+        assertEquals("Positive", SentimentAnalysisService.sentimentOf("LABEL_1"));
+        assertEquals("Negative", SentimentAnalysisService.sentimentOf("LABEL_2"));
+        // label_map.get(label, label)
+        assertEquals("LABEL_3", SentimentAnalysisService.sentimentOf("LABEL_3"));
+    }
+
+    @Test
+    void roundScoreMatchesPythonRound() throws Exception {
+        List<String[]> rows = readTsv("/sentiment/round-4.tsv");
+        for (String[] row : rows) {
+            assertEquals(Double.parseDouble(row[1]), SentimentAnalysisService.roundScore(Double.parseDouble(row[0])),
+                         "round(" + row[0] + ", 4)");
+        }
+        assertEquals(1117, rows.size());
+    }
+
+    private List<String[]> readTsv(String resource) throws Exception {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(getClass().getResourceAsStream(resource), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    rows.add(line.split("\t"));
+                }
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,316 @@
+package com.ecommerce.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.ecommerce.config.SentimentTransportConfig;
+import com.ecommerce.repository.SentimentCacheRepository;
+import com.ecommerce.service.SentimentAnalysisService.SentimentResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Batch birleştiriciyi gerçek SentimentAnalysisService.analyzeSentimentBatch (istek yazıcı, akış halinde yanıt
+ * ayrıştırıcı, sonuç sayısı/sırası kontrolü ve HTTP taşıması) ile, python_rest.py /predict_batch sözleşmesini
+ * taklit eden bir JDK HttpServer'a karşı sınar: maxBatchSize'a kadar birleştirme, maxWait ile boşaltma, sonuç
+ * sayısı uyuşmazlığı, hataların batch'teki tüm çağıranlara iletilmesi ve kapatma sırasında bekleyen isteklerin
+ * sonlandırılması.
+ */
+class SentimentBatchCoalescerTest {
+
+    // Stub'ın davranışını değiştiren özel metinler
+    private static final String SHORT_RESULT = "__short__";
+    private static final String SERVER_ERROR = "__error__";
+    private static final String BLOCK = "__block__";
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<List<String>> receivedBatches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private final CountDownLatch blocked = new CountDownLatch(1);
+
+    private HttpServer server;
+    private ApplicationContextRunner contextRunner;
+    private SentimentBatchCoalescer<SentimentResult> coalescer;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/predict_batch", this::predictBatch);
+        server.createContext("/health", exchange ->
+            respond(exchange, 200, mapper.writeValueAsBytes(Map.of("status", "ok", "model_version", "stub"))));
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        // Servisin kendi birleştiricisi kapalı; testler farklı ayarlarla kendi birleştiricilerini kurar
+        contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(SentimentAnalysisService.class, SentimentHttpSettings.class,
+                                   SentimentCircuitBreaker.class, SentimentResultCache.class,
+                                   SentimentTransportConfig.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withBean(SentimentCacheRepository.class, () -> mock(SentimentCacheRepository.class))
+            .withPropertyValues(
+                "python.api.url=http://127.0.0.1:" + server.getAddress().getPort(),
+                "sentiment.batch.enabled=false",
+                "sentiment.cache.enabled=false",
+                "sentiment.circuit.enabled=false",
+                "sentiment.timeout.adaptive.enabled=false");
+    }
+
+    @AfterEach
+    void stopServer() {
+        unblock.countDown();
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void coalescesConcurrentRequestsUpToMaxBatchSize() {
+        contextRunner.run(context -> {
+            coalescer = coalescer(context.getBean(SentimentAnalysisService.class), 4, 5_000);
+
+            // İlk batch sunucuda beklerken sonraki 8 istek kuyrukta birikir
+            long start = System.nanoTime();
+            List<String> texts = new ArrayList<>(List.of(BLOCK, "a", "b", "c"));
+            List<CompletableFuture<SentimentResult>> futures = submitAll(texts);
+            assertTrue(blocked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            List<String> queued = List.of("çok güzel", "kötü kargo", "\"tırnaklı\" yorum", "satır\nsonu",
+                                          "İyi", "berbat, kötü", "idare eder", "harika ürün");
+            texts.addAll(queued);
+            futures.addAll(submitAll(queued));
+            unblock.countDown();
+
+            for (int i = 0; i < futures.size(); i++) {
+                assertResult(texts.get(i), futures.get(i).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            }
+            // Dolu batch'ler maxWait beklenmeden gönderilir
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(elapsedMillis < 5_000, "dolu batch maxWait'i bekledi: " + elapsedMillis + " ms");
+            // İstek gövdeleri metinleri sırasıyla ve bozulmadan taşır
+            assertEquals(List.of(texts.subList(0, 4), texts.subList(4, 8), texts.subList(8, 12)), receivedBatches);
+        });
+    }
+
+    @Test
+    void flushesPartialBatchAfterMaxWait() {
+        contextRunner.run(context -> {
+            coalescer = coalescer(context.getBean(SentimentAnalysisService.class), 64, 200);
+
+            long start = System.nanoTime();
+            List<String> texts = List.of("güzel", "kötü", "idare eder");
+            List<CompletableFuture<SentimentResult>> futures = submitAll(texts);
+            for (int i = 0; i < futures.size(); i++) {
+                assertResult(texts.get(i), futures.get(i).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertEquals(List.of(texts), receivedBatches);
+            assertTrue(elapsedMillis >= 150, "batch maxWait dolmadan gönderildi: " + elapsedMillis + " ms");
+        });
+    }
+
+    @Test
+    void failsEveryRequestWhenResultCountDoesNotMatch() {
+        contextRunner.run(context -> {
+            coalescer = coalescer(context.getBean(SentimentAnalysisService.class), 3, 5_000);
+
+            List<CompletableFuture<SentimentResult>> futures = submitAll(List.of("bir", SHORT_RESULT, "üç"));
+            Throwable first = failure(futures.get(0));
+            assertTrue(first.getMessage().contains("metin sayısıyla eşleşmiyor"), first.getMessage());
+            for (CompletableFuture<SentimentResult> future : futures) {
+                assertSame(first, failure(future));
+            }
+        });
+    }
+
+    @Test
+    void propagatesBatchFailureToEachCallerAndKeepsServing() {
+        contextRunner.run(context -> {
+            coalescer = coalescer(context.getBean(SentimentAnalysisService.class), 2, 5_000);
+
+            List<CompletableFuture<SentimentResult>> failed = submitAll(List.of(SERVER_ERROR, "aynı batch"));
+            Throwable cause = failure(failed.get(0));
+            assertTrue(cause.getMessage().contains("/predict_batch returned HTTP 500"), cause.getMessage());
+            assertSame(cause, failure(failed.get(1)));
+
+            List<CompletableFuture<SentimentResult>> next = submitAll(List.of("sonraki", "batch"));
+            assertResult("sonraki", next.get(0).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            assertResult("batch", next.get(1).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            assertEquals(2, receivedBatches.size());
+        });
+    }
+
+    @Test
+    void shutdownFailsQueuedRequestsAndRejectsNewOnes() {
+        contextRunner.run(context -> {
+            coalescer = coalescer(context.getBean(SentimentAnalysisService.class), 4, 5_000);
+
+            // Tek slot sunucuda meşgulken kuyrukta bekleyen istekler
+            List<CompletableFuture<SentimentResult>> inFlight = submitAll(List.of(BLOCK, "a", "b", "c"));
+            assertTrue(blocked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            CompletableFuture<SentimentResult> queued = coalescer.submit("kuyrukta");
+
+            coalescer.shutdown();
+            assertStopped(queued);
+            assertStopped(coalescer.submit("kapandıktan sonra"));
+
+            // Sunucuya gönderilmiş batch kapanıştan etkilenmez
+            unblock.countDown();
+            assertResult(BLOCK, inFlight.get(0).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        });
+    }
+
+    @Test
+    void shutdownFailsRequestsTakenIntoBatchBeingCollected() {
+        contextRunner.run(context -> {
+            coalescer = coalescer(context.getBean(SentimentAnalysisService.class), 4, 60_000);
+
+            // Dağıtıcı isteği kuyruktan almış, maxWait boyunca batch'i doldurmayı bekliyor
+            CompletableFuture<SentimentResult> collecting = coalescer.submit("toplanıyor");
+            Thread.sleep(100);
+
+            coalescer.shutdown();
+            assertStopped(collecting);
+            assertTrue(receivedBatches.isEmpty());
+        });
+    }
+
+    @Test
+    void rejectsBatchSizeAbovePythonServiceLimit() {
+        contextRunner
+            .withPropertyValues("sentiment.batch.enabled=true",
+                                "sentiment.batch.max-size=" + (SentimentAnalysisService.PYTHON_MAX_BATCH_SIZE + 1))
+            .run(context -> {
+                Throwable failure = context.getStartupFailure();
+                assertNotNull(failure);
+                Throwable cause = failure;
+                while (cause.getCause() != null && !(cause instanceof IllegalStateException)) {
+                    cause = cause.getCause();
+                }
+                assertInstanceOf(IllegalStateException.class, cause);
+                assertTrue(cause.getMessage().contains("sentiment.batch.max-size"), cause.getMessage());
+            });
+
+        contextRunner
+            .withPropertyValues("sentiment.batch.enabled=true",
+                                "sentiment.batch.max-size=" + SentimentAnalysisService.PYTHON_MAX_BATCH_SIZE)
+            .run(context -> assertNull(context.getStartupFailure()));
+    }
+
+    private static SentimentBatchCoalescer<SentimentResult> coalescer(SentimentAnalysisService service,
+                                                                      int maxBatchSize, long maxWaitMillis) {
+        return new SentimentBatchCoalescer<>(service::analyzeSentimentBatch, maxBatchSize, maxWaitMillis, 1, false);
+    }
+
+    private List<CompletableFuture<SentimentResult>> submitAll(List<String> texts) {
+        List<CompletableFuture<SentimentResult>> futures = new ArrayList<>();
+        for (String text : texts) {
+            futures.add(coalescer.submit(text));
+        }
+        return futures;
+    }
+
+    private void predictBatch(HttpExchange exchange) throws IOException {
+        List<String> texts = new ArrayList<>();
+        for (JsonNode text : mapper.readTree(exchange.getRequestBody()).get("texts")) {
+            texts.add(text.asText());
+        }
+        receivedBatches.add(texts);
+
+        if (texts.contains(BLOCK)) {
+            blocked.countDown();
+            try {
+                unblock.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (texts.contains(SERVER_ERROR)) {
+            respond(exchange, 500, mapper.writeValueAsBytes(Map.of("error", "model failure")));
+            return;
+        }
+
+        ArrayNode results = mapper.createArrayNode();
+        for (String text : texts) {
+            boolean negative = text.contains("kötü") || text.contains("berbat");
+            results.addObject()
+                .put("label", negative ? "LABEL_2" : "LABEL_1")
+                .put("sentiment", negative ? "Negative" : "Positive")
+                .put("score", score(text));
+        }
+        if (texts.contains(SHORT_RESULT)) {
+            results.remove(results.size() - 1);
+        }
+        ObjectNode response = mapper.createObjectNode();
+        response.set("results", results);
+        response.put("model_version", "stub");
+        respond(exchange, 200, mapper.writeValueAsBytes(response));
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // Her metin için ayırt edilebilir skor; sonuçların doğru çağırana dağıtıldığını gösterir
+    private static double score(String text) {
+        return 0.5 + text.length() / 1000.0;
+    }
+
+    private static void assertResult(String text, SentimentResult result) {
+        boolean negative = text.contains("kötü") || text.contains("berbat");
+        BigDecimal score = BigDecimal.valueOf(score(text));
+        assertEquals(negative ? "Negative" : "Positive", result.getLabel(), text);
+        assertEquals(score, result.getOriginalScore(), text);
+        assertEquals(negative ? BigDecimal.ONE.subtract(score) : score, result.getNormalizedScore(), text);
+    }
+
+    private static Throwable failure(CompletableFuture<?> future) {
+        ExecutionException e = assertThrows(ExecutionException.class,
+                                            () -> future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        return e.getCause();
+    }
+
+    private static void assertStopped(CompletableFuture<?> future) {
+        Throwable cause = failure(future);
+        assertInstanceOf(IllegalStateException.class, cause);
+        assertEquals("Sentiment batch coalescer is stopped", cause.getMessage());
+    }
+}
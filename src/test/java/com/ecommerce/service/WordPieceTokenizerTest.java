@@ -0,0 +1,54 @@
+package com.ecommerce.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * WordPiece token ID'lerini Hugging Face BertTokenizerFast'in aynı sözlükle ürettikleriyle karşılaştırır
+ * (wordpiece/expected-ids.json, generate_expected_ids.py ile üretilir): Türkçe büyük/küçük harf (İ, I, ı),
+ * aksan temizliği, noktalama, kontrol karakterleri, CJK, [UNK] ve kırpma.
+ */
+class WordPieceTokenizerTest {
+
+    @Test
+    void encodeMatchesHuggingFaceFixture() throws Exception {
+        Path vocab = Path.of(getClass().getResource("/wordpiece/vocab.txt").toURI());
+        Map<String, WordPieceTokenizer> tokenizers = new HashMap<>();
+
+        JsonNode cases;
+        try (InputStream in = getClass().getResourceAsStream("/wordpiece/expected-ids.json")) {
+            cases = new ObjectMapper().readTree(in);
+        }
+        for (JsonNode testCase : cases) {
+            String text = testCase.get("text").asText();
+            boolean lowerCase = testCase.get("lowerCase").asBoolean();
+            int maxLength = testCase.get("maxLength").asInt();
+            WordPieceTokenizer tokenizer = tokenizers.computeIfAbsent(lowerCase + ":" + maxLength, key -> load(vocab, lowerCase, maxLength));
+
+            int[] expected = new int[testCase.get("ids").size()];
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] = testCase.get("ids").get(i).asInt();
+            }
+            assertArrayEquals(expected, tokenizer.encode(text), "lowerCase=" + lowerCase + ", text=" + text);
+        }
+        assertEquals(40, cases.size());
+    }
+
+    private static WordPieceTokenizer load(Path vocab, boolean lowerCase, int maxLength) {
+        try {
+            return WordPieceTokenizer.load(vocab, lowerCase, maxLength);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+"""
+expected-ids.json'u Hugging Face tokenizer'ıyla yeniden üretir (WordPieceTokenizerTest'in referansı).
+
+    pip install transformers
+    python generate_expected_ids.py > expected-ids.json
+
+Duygu pipeline'ı AutoTokenizer ile hızlı (Rust) BertTokenizerFast'i kullanır; truncation=True ile
+[CLS]/[SEP] dahil max_length token'a kırpılır.
+"""
+import json
+
+from transformers import BertTokenizerFast
+
+CASES = [
+    "Ürünler çok güzel!",
+    "ÜRÜNLER ÇOK GÜZEL",
+    "kargoyu hızlı getirdiler",
+    "Kargonun hızı",
+    "İstanbul'a geldi",
+    "ISTANBUL ışık IŞIK",
+    "Işık şahane, ŞAHANE!",
+    "kötü değil ama...",
+    "KÖTÜ DEĞİL",
+    "café CAFÉ café",
+    "5 yıldız (50$)",
+    "\tçok\u00a0güzel\n\r ürün",
+    "ürün\u0000\ufffd\u200b\u0007ler",
+    "ürün\ue000ler",
+    "中中 kargo",
+    "ab" * 60,
+    "a" + "b" * 100 + "x",
+    "bilinmeyen kelime",
+    "",
+    "çok çok çok çok çok çok çok çok çok çok",
+]
+
+# Kırpma davranışı kısa bir max_length ile sınanır
+MAX_LENGTHS = {"çok çok çok çok çok çok çok çok çok çok": 8}
+
+cases = []
+for lower_case in (False, True):
+    tokenizer = BertTokenizerFast("vocab.txt", do_lower_case=lower_case)
+    for text in CASES:
+        max_length = MAX_LENGTHS.get(text, 512)
+        ids = tokenizer(text, truncation=True, max_length=max_length)["input_ids"]
+        cases.append({"text": text, "lowerCase": lower_case, "maxLength": max_length, "ids": ids})
+
+print("[\n" + ",\n".join("  " + json.dumps(case, ensure_ascii=False) for case in cases) + "\n]")